@@ -9,8 +9,10 @@ import com.arefyeconomy.config.ArefyEconomyConfig;
 import com.arefyeconomy.economy.EconomyManager;
 import com.arefyeconomy.locale.Messages;
 import com.arefyeconomy.hud.BalanceHud;
+import com.arefyeconomy.systems.BalanceHudSystem;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.player.AddPlayerToWorldEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -59,6 +61,10 @@ public class Main extends JavaPlugin {
             CONFIG.get().getRateLimitBurst(),
             CONFIG.get().getRateLimitRefill()
         );
+        ArefyEconomyAPI.initAsync(
+            CONFIG.get().isAsyncVirtualThreads(),
+            CONFIG.get().getAsyncThreads()
+        );
         
         // Check for MultipleHUD compatibility
         com.arefyeconomy.util.HudHelper.init();
@@ -78,20 +84,25 @@ public class Main extends JavaPlugin {
                 // Ensure player has an account
                 this.economyManager.ensureAccount(playerRef.getUuid());
                 
-                // Cache player name for leaderboards (H2 only)
-                var h2Storage = this.economyManager.getH2Storage();
-                if (h2Storage != null) {
-                    h2Storage.updatePlayerName(playerRef.getUuid(), playerRef.getUsername());
-                }
+                // Keep player name current (saved in batches, only when changed)
+                this.economyManager.getNameDirectory().update(playerRef.getUuid(), playerRef.getUsername());
                 
                 // Setup Balance HUD if enabled
                 if (Main.CONFIG.get().isEnableHudDisplay()) {
                     BalanceHud hud = new BalanceHud(playerRef);
                     com.arefyeconomy.util.HudHelper.setCustomHud(player, playerRef, hud);
-                    com.arefyeconomy.systems.BalanceHudSystem.registerHud(playerRef.getUuid(), hud);
+                    BalanceHudSystem.registerHud(playerRef.getUuid(), hud);
                 }
             }
         });
+        
+        // Drop the HUD and its balance subscription when the player leaves
+        this.getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, (event) -> {
+            PlayerRef playerRef = event.getPlayerRef();
+            if (playerRef != null) {
+                BalanceHudSystem.removePlayerHud(playerRef.getUuid());
+            }
+        });
 
         this.getLogger().at(Level.INFO).log("ArefyEconomy Economy loaded - HUD balance display active!");
     }
@@ -99,6 +110,8 @@ public class Main extends JavaPlugin {
     @Override
     protected void shutdown() {
         this.getLogger().at(Level.INFO).log("ArefyEconomy shutting down - saving data...");
+        // Let in-flight async API calls land before the final save
+        ArefyEconomyAPI.shutdown(2000);
         if (this.economyManager != null) {
             this.economyManager.shutdown();
         }
@@ -1,10 +1,22 @@
 package com.arefyeconomy.api;
 
 import com.arefyeconomy.economy.EconomyManager;
+import com.arefyeconomy.economy.Hold;
 import com.arefyeconomy.util.RateLimiter;
 
 import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Public API for ArefyEconomy economy plugin.
@@ -15,12 +27,26 @@ import java.util.UUID;
  * - All write operations (deposit, withdraw, transfer, setBalance) are rate limited
  * - Default: 50 burst capacity, 10 operations/second sustained
  * - Read operations (getBalance, hasBalance) are NOT rate limited
- * - Throws ArefyEconomyRateLimitException if rate limit exceeded
+ * - Throws ArefyEconomyRateLimitException if rate limit exceeded, with the exact wait in getRetryAfterMs()
+ * - Plugins should use their own {@link EconomyClient} (see {@link #client(String)}):
+ *   separate quota and usage metrics per plugin; the static methods share the "default" client
  * 
  * Thread Safety:
  * - All methods are thread-safe
  * - Atomic transfers prevent race conditions
  * 
+ * Async:
+ * - depositAsync, withdrawAsync, transferAsync and getBalanceAsync run on the
+ *   economy executor (virtual threads by default) and return a CompletableFuture
+ * - Pass an Executor (e.g. world::execute) to complete back on the calling world,
+ *   so follow-up stages can touch the world without blocking its tick
+ * - A rate-limit rejection completes the future exceptionally
+ * 
+ * Durability:
+ * - A successful write changes the in-memory balance; it reaches disk with the next auto-save
+ * - whenDurable() and the ...Durable write variants return a future that completes once
+ *   the change is part of a committed flush (waiters share one flush, ~1s later)
+ * 
  * Example usage:
  * <pre>
  * // Check if API is available
@@ -40,8 +66,16 @@ import java.util.UUID;
  */
 public final class ArefyEconomyAPI {
     
+    /** Name of the client used by the static write methods */
+    public static final String DEFAULT_CLIENT = "default";
+    
     private static EconomyManager economyManager;
-    private static RateLimiter rateLimiter;
+    private static int defaultBurst = 50;
+    private static int defaultRefill = 10;
+    private static final ConcurrentHashMap<String, EconomyClient> clients = new ConcurrentHashMap<>();
+    private static final EconomyClient defaultClient = client(DEFAULT_CLIENT);
+    private static final AtomicInteger asyncThreadIds = new AtomicInteger();
+    private static volatile ExecutorService asyncExecutor = newAsyncExecutor(true, 4);
     
     private ArefyEconomyAPI() {}
     
@@ -49,16 +83,109 @@ public final class ArefyEconomyAPI {
      * Initialize the API (called by ArefyEconomy plugin on startup).
      */
     public static void init(@Nonnull EconomyManager manager) {
-        economyManager = manager;
-        rateLimiter = new RateLimiter(); // Default: 50 burst, 10/sec
+        init(manager, 50, 10); // Default: 50 burst, 10/sec
     }
     
     /**
-     * Initialize with custom rate limit settings.
+     * Initialize with custom rate limit settings (used by every client
+     * that does not set its own).
      */
     public static void init(@Nonnull EconomyManager manager, int rateLimitBurst, int rateLimitRefill) {
         economyManager = manager;
-        rateLimiter = new RateLimiter(rateLimitBurst, rateLimitRefill);
+        defaultBurst = rateLimitBurst;
+        defaultRefill = rateLimitRefill;
+        for (EconomyClient client : clients.values()) {
+            client.setRateLimit(rateLimitBurst, rateLimitRefill);
+        }
+    }
+    
+    /**
+     * Configure the executor of the async API (called by ArefyEconomy plugin on startup).
+     * Calls still queued on the previous executor finish there.
+     * 
+     * @param virtualThreads One virtual thread per call instead of a fixed pool
+     * @param threads Pool size when virtualThreads is false
+     */
+    public static void initAsync(boolean virtualThreads, int threads) {
+        ExecutorService previous = asyncExecutor;
+        asyncExecutor = newAsyncExecutor(virtualThreads, threads);
+        previous.shutdown();
+    }
+    
+    /**
+     * Stop accepting async calls and wait for running ones
+     * (called by ArefyEconomy plugin before saving on shutdown).
+     * 
+     * @param timeoutMillis Maximum time to wait for running calls
+     */
+    public static void shutdown(long timeoutMillis) {
+        ExecutorService executor = asyncExecutor;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static ExecutorService newAsyncExecutor(boolean virtualThreads, int threads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ArefyEconomy-Async-", 1).factory());
+        }
+        return Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "ArefyEconomy-Async-" + asyncThreadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+    
+    static Executor asyncExecutor() {
+        return asyncExecutor;
+    }
+    
+    // ========== Clients ==========
+    
+    /**
+     * Get the API client of a plugin, creating it with the server's rate
+     * limit on first use. The same name always returns the same client.
+     * 
+     * @param pluginName Name of the calling plugin (shown in /eco clients)
+     */
+    @Nonnull
+    public static EconomyClient client(@Nonnull String pluginName) {
+        return clients.computeIfAbsent(pluginName, ArefyEconomyAPI::createClient);
+    }
+    
+    /**
+     * Get the API client of a plugin with its own rate limit.
+     * 
+     * @param pluginName Name of the calling plugin
+     * @param burst Maximum burst capacity (per player)
+     * @param refillPerSecond Sustained operations per second (per player)
+     */
+    @Nonnull
+    public static EconomyClient client(@Nonnull String pluginName, int burst, int refillPerSecond) {
+        EconomyClient client = client(pluginName);
+        client.setRateLimit(burst, refillPerSecond);
+        return client;
+    }
+    
+    /**
+     * Usage statistics of every client, busiest first.
+     * NOT rate limited.
+     */
+    @Nonnull
+    public static List<EconomyClient.Stats> getClientStats() {
+        List<EconomyClient.Stats> stats = new ArrayList<>();
+        for (EconomyClient client : clients.values()) {
+            stats.add(client.getStats());
+        }
+        stats.sort(Comparator.comparingLong(EconomyClient.Stats::calls).reversed());
+        return stats;
+    }
+    
+    private static EconomyClient createClient(String name) {
+        return new EconomyClient(name, new RateLimiter(defaultBurst, defaultRefill));
     }
     
     /**
@@ -107,7 +234,8 @@ public final class ArefyEconomyAPI {
     }
     
     /**
-     * Check if a player has at least the specified amount.
+     * Check if a player can spend at least the specified amount
+     * (available balance: balance minus active holds).
      * NOT rate limited.
      */
     public static boolean hasBalance(@Nonnull UUID playerUuid, double amount) {
@@ -115,6 +243,29 @@ public final class ArefyEconomyAPI {
         return economyManager.hasBalance(playerUuid, amount);
     }
     
+    /**
+     * Get a player's balance and account version as one consistent pair,
+     * for read-validate-commit loops with compareAndSet()/withdrawIfVersion().
+     * NOT rate limited.
+     * 
+     * @return the snapshot, or null if the player has no account
+     */
+    public static EconomyManager.VersionedBalance getVersionedBalance(@Nonnull UUID playerUuid) {
+        validateAvailable();
+        return economyManager.getVersionedBalance(playerUuid);
+    }
+    
+    /**
+     * Check if a player has an economy account.
+     * Answered from memory unless the account index is unavailable,
+     * in which case storage is asked.
+     * NOT rate limited.
+     */
+    public static boolean hasAccount(@Nonnull UUID playerUuid) {
+        validateAvailable();
+        return economyManager.hasAccount(playerUuid);
+    }
+    
     /**
      * Get the currency symbol (e.g., "$").
      * NOT rate limited.
@@ -183,9 +334,7 @@ public final class ArefyEconomyAPI {
      * @throws ArefyEconomyRateLimitException if rate limit exceeded
      */
     public static boolean deposit(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
-        validateAvailable();
-        checkRateLimit(playerUuid);
-        return economyManager.deposit(playerUuid, amount, reason);
+        return defaultClient.deposit(playerUuid, amount, reason);
     }
     
     /**
@@ -200,9 +349,7 @@ public final class ArefyEconomyAPI {
      * @throws ArefyEconomyRateLimitException if rate limit exceeded
      */
     public static boolean withdraw(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
-        validateAvailable();
-        checkRateLimit(playerUuid);
-        return economyManager.withdraw(playerUuid, amount, reason);
+        return defaultClient.withdraw(playerUuid, amount, reason);
     }
     
     /**
@@ -216,13 +363,31 @@ public final class ArefyEconomyAPI {
      * @param amount Amount to transfer (before fees)
      * @param reason Reason for transfer
      * @return TransferResult indicating success or failure reason
+     *         (ACCOUNT_NOT_FOUND if either player has no account)
      * @throws ArefyEconomyRateLimitException if rate limit exceeded
      */
     public static EconomyManager.TransferResult transfer(@Nonnull UUID from, @Nonnull UUID to, 
                                                           double amount, @Nonnull String reason) {
-        validateAvailable();
-        checkRateLimit(from); // Rate limit based on sender
-        return economyManager.transfer(from, to, amount, reason);
+        return defaultClient.transfer(from, to, amount, reason); // Rate limit based on sender
+    }
+    
+    /**
+     * Pay several players from one account in a single atomic step,
+     * e.g. buyer -> seller, tax treasury and auction house fee.
+     * 
+     * Rate limited: one token, on the sender.
+     * Atomic: either every leg succeeds or none does. The transfer fee
+     * applies to each leg, as with transfer().
+     * 
+     * @param from Sender's UUID
+     * @param legs Recipient -> amount (before fees); use a LinkedHashMap to keep the log order
+     * @param reason Reason for the transfer
+     * @return TransferResult indicating success or why nothing was transferred
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    public static EconomyManager.TransferResult transferMulti(@Nonnull UUID from, @Nonnull java.util.Map<UUID, Double> legs,
+                                                               @Nonnull String reason) {
+        return defaultClient.transferMulti(from, legs, reason);
     }
     
     /**
@@ -237,9 +402,294 @@ public final class ArefyEconomyAPI {
      * @throws ArefyEconomyRateLimitException if rate limit exceeded
      */
     public static void setBalance(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        defaultClient.setBalance(playerUuid, amount, reason);
+    }
+    
+    /**
+     * Withdraw only if the account has not changed since it was read.
+     * Replaces the racy hasBalance() + withdraw() check-then-act:
+     * <pre>
+     * while (true) {
+     *     EconomyManager.VersionedBalance seen = ArefyEconomyAPI.getVersionedBalance(bidder);
+     *     if (seen == null || seen.balance() < bid) break;
+     *     var result = ArefyEconomyAPI.withdrawIfVersion(bidder, seen.version(), bid, "Auction bid");
+     *     if (result != EconomyManager.ConditionalResult.VERSION_CONFLICT) break; // done or failed
+     * }
+     * </pre>
+     * 
+     * Rate limited: 50 burst, 10/second sustained (each attempt).
+     * 
+     * @param expectedVersion Version from getVersionedBalance()
+     * @return SUCCESS, VERSION_CONFLICT (read again and retry) or why it failed
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    public static EconomyManager.ConditionalResult withdrawIfVersion(@Nonnull UUID playerUuid, long expectedVersion,
+                                                                     double amount, @Nonnull String reason) {
+        return defaultClient.withdrawIfVersion(playerUuid, expectedVersion, amount, reason);
+    }
+    
+    /**
+     * Set a balance only if the account has not changed since it was read.
+     * Applied as a deposit/withdrawal of the difference (respects maxBalance,
+     * fires BalanceChangeEvent, logged as earn/spend).
+     * 
+     * Rate limited: 50 burst, 10/second sustained (each attempt).
+     * 
+     * @param expectedVersion Version from getVersionedBalance()
+     * @param newBalance Balance to set (must not be negative)
+     * @return SUCCESS, VERSION_CONFLICT (read again and retry) or why it failed
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    public static EconomyManager.ConditionalResult compareAndSet(@Nonnull UUID playerUuid, long expectedVersion,
+                                                                 double newBalance, @Nonnull String reason) {
+        return defaultClient.compareAndSet(playerUuid, expectedVersion, newBalance, reason);
+    }
+    
+    /**
+     * Start a batch of deposits/withdrawals for bulk payouts.
+     * One commit costs one rate-limit token, one lock pass, one event and one
+     * log batch, however many players it pays.
+     * 
+     * @return Builder; add operations and call commit()
+     */
+    @Nonnull
+    public static EconomyBatch batch() {
+        return defaultClient.batch();
+    }
+    
+    // ========== Async Operations ==========
+    
+    /**
+     * Get a player's balance without blocking the caller (e.g. when the
+     * account may have to be restored from the archive).
+     * NOT rate limited.
+     * 
+     * @return Future completed on the economy executor
+     */
+    @Nonnull
+    public static CompletableFuture<Double> getBalanceAsync(@Nonnull UUID playerUuid) {
+        return defaultClient.getBalanceAsync(playerUuid);
+    }
+    
+    /**
+     * Get a player's balance without blocking the caller.
+     * NOT rate limited.
+     * 
+     * @param completeOn Executor that completes the future (e.g. world::execute)
+     */
+    @Nonnull
+    public static CompletableFuture<Double> getBalanceAsync(@Nonnull UUID playerUuid, @Nonnull Executor completeOn) {
+        return defaultClient.getBalanceAsync(playerUuid, completeOn);
+    }
+    
+    /**
+     * Async deposit(); see {@link #deposit(UUID, double, String)}.
+     * 
+     * @return Future of the result, completed exceptionally with
+     *         ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    @Nonnull
+    public static CompletableFuture<Boolean> depositAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return defaultClient.depositAsync(playerUuid, amount, reason);
+    }
+    
+    /**
+     * Async deposit(), completed on the given executor.
+     * 
+     * @param completeOn Executor that completes the future (e.g. world::execute)
+     */
+    @Nonnull
+    public static CompletableFuture<Boolean> depositAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason,
+                                                          @Nonnull Executor completeOn) {
+        return defaultClient.depositAsync(playerUuid, amount, reason, completeOn);
+    }
+    
+    /**
+     * Async withdraw(); see {@link #withdraw(UUID, double, String)}.
+     * 
+     * @return Future of the result, completed exceptionally with
+     *         ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    @Nonnull
+    public static CompletableFuture<Boolean> withdrawAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return defaultClient.withdrawAsync(playerUuid, amount, reason);
+    }
+    
+    /**
+     * Async withdraw(), completed on the given executor.
+     * 
+     * @param completeOn Executor that completes the future (e.g. world::execute)
+     */
+    @Nonnull
+    public static CompletableFuture<Boolean> withdrawAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason,
+                                                           @Nonnull Executor completeOn) {
+        return defaultClient.withdrawAsync(playerUuid, amount, reason, completeOn);
+    }
+    
+    /**
+     * Async transfer(); see {@link #transfer(UUID, UUID, double, String)}.
+     * 
+     * @return Future of the result, completed exceptionally with
+     *         ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    @Nonnull
+    public static CompletableFuture<EconomyManager.TransferResult> transferAsync(@Nonnull UUID from, @Nonnull UUID to,
+                                                                                 double amount, @Nonnull String reason) {
+        return defaultClient.transferAsync(from, to, amount, reason);
+    }
+    
+    /**
+     * Async transfer(), completed on the given executor.
+     * 
+     * @param completeOn Executor that completes the future (e.g. world::execute)
+     */
+    @Nonnull
+    public static CompletableFuture<EconomyManager.TransferResult> transferAsync(@Nonnull UUID from, @Nonnull UUID to,
+                                                                                 double amount, @Nonnull String reason,
+                                                                                 @Nonnull Executor completeOn) {
+        return defaultClient.transferAsync(from, to, amount, reason, completeOn);
+    }
+    
+    // ========== Holds ==========
+    
+    /**
+     * Get the balance a player can spend: balance minus active holds.
+     * getBalance() still returns the full balance.
+     * NOT rate limited.
+     */
+    public static double getAvailableBalance(@Nonnull UUID playerUuid) {
+        validateAvailable();
+        return economyManager.getAvailableBalance(playerUuid);
+    }
+    
+    /**
+     * Earmark funds without moving them, e.g. an auction bid or a pending order.
+     * Cheaper than withdraw + refund: no event, log entry or HUD update until
+     * the hold is captured. Saved with the account; expires on its own.
+     * <pre>
+     * Hold bid = ArefyEconomyAPI.placeHold(bidder, 500.0, Duration.ofMinutes(30), "Auction #12 bid");
+     * if (bid == null) { ... not enough available ... }
+     * // later: winner pays the seller, outbid bidders get their funds back
+     * ArefyEconomyAPI.captureHold(bid.getId(), seller, "Auction #12");
+     * ArefyEconomyAPI.releaseHold(otherBid.getId());
+     * </pre>
+     * 
+     * Rate limited: 50 burst, 10/second sustained.
+     * 
+     * @param duration Time until the hold expires on its own
+     * @return the hold, or null if not enough is available, the player has no account or the input is invalid
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    public static Hold placeHold(@Nonnull UUID playerUuid, double amount, @Nonnull Duration duration,
+                                 @Nonnull String reason) {
+        return defaultClient.placeHold(playerUuid, amount, duration, reason);
+    }
+    
+    /**
+     * Withdraw the held funds (logged and notified like withdraw()).
+     * 
+     * Rate limited: on the hold owner.
+     * 
+     * @return SUCCESS, HOLD_NOT_FOUND if captured/released/expired already, or why it failed (hold kept)
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    public static EconomyManager.HoldResult captureHold(long holdId, @Nonnull String reason) {
+        return defaultClient.captureHold(holdId, reason);
+    }
+    
+    /**
+     * Pay the held funds to another player, like transfer() (fee charged on top).
+     * 
+     * Rate limited: on the hold owner.
+     * 
+     * @return SUCCESS, HOLD_NOT_FOUND if captured/released/expired already, or why it failed (hold kept)
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    public static EconomyManager.HoldResult captureHold(long holdId, @Nonnull UUID recipient, @Nonnull String reason) {
+        return defaultClient.captureHold(holdId, recipient, reason);
+    }
+    
+    /**
+     * Give held funds back to the available balance.
+     * 
+     * Rate limited: on the hold owner.
+     * 
+     * @return SUCCESS, or HOLD_NOT_FOUND if captured/released/expired already
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    public static EconomyManager.HoldResult releaseHold(long holdId) {
+        return defaultClient.releaseHold(holdId);
+    }
+    
+    /**
+     * Get the active holds of a player.
+     * NOT rate limited.
+     */
+    @Nonnull
+    public static List<Hold> getHolds(@Nonnull UUID playerUuid) {
         validateAvailable();
-        checkRateLimit(playerUuid);
-        economyManager.setBalance(playerUuid, amount, reason);
+        return economyManager.getHolds(playerUuid);
+    }
+    
+    // ========== Durable Operations ==========
+    
+    /**
+     * Get a future that completes once every balance change made before
+     * this call is on disk (part of a committed flush).
+     * NOT rate limited.
+     */
+    @Nonnull
+    public static CompletableFuture<Void> whenDurable() {
+        validateAvailable();
+        return economyManager.whenDurable();
+    }
+    
+    /**
+     * Deposit now, acknowledged once on disk; see {@link #deposit(UUID, double, String)}.
+     * 
+     * @return Future of the result, completed once the deposit was flushed (immediately if rejected)
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    @Nonnull
+    public static CompletableFuture<Boolean> depositDurable(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return defaultClient.depositDurable(playerUuid, amount, reason);
+    }
+    
+    /**
+     * Withdraw now, acknowledged once on disk; see {@link #withdraw(UUID, double, String)}.
+     * 
+     * @return Future of the result, completed once the withdrawal was flushed (immediately if rejected)
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    @Nonnull
+    public static CompletableFuture<Boolean> withdrawDurable(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return defaultClient.withdrawDurable(playerUuid, amount, reason);
+    }
+    
+    /**
+     * Transfer now, acknowledged once on disk; see {@link #transfer(UUID, UUID, double, String)}.
+     * 
+     * @return Future of the result, completed once the transfer was flushed (immediately if it failed)
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    @Nonnull
+    public static CompletableFuture<EconomyManager.TransferResult> transferDurable(@Nonnull UUID from, @Nonnull UUID to,
+                                                                                   double amount, @Nonnull String reason) {
+        return defaultClient.transferDurable(from, to, amount, reason);
+    }
+    
+    /**
+     * Multi-party transfer now, acknowledged once every leg is on disk
+     * (e.g. auction settlements); see {@link #transferMulti(UUID, java.util.Map, String)}.
+     * 
+     * @return Future of the result, completed once the transfer was flushed (immediately if it failed)
+     * @throws ArefyEconomyRateLimitException if rate limit exceeded
+     */
+    @Nonnull
+    public static CompletableFuture<EconomyManager.TransferResult> transferMultiDurable(@Nonnull UUID from,
+                                                                                        @Nonnull java.util.Map<UUID, Double> legs,
+                                                                                        @Nonnull String reason) {
+        return defaultClient.transferMultiDurable(from, legs, reason);
     }
     
     // ========== Query Operations (No Rate Limit) ==========
@@ -254,35 +704,53 @@ public final class ArefyEconomyAPI {
      */
     public static java.util.List<com.arefyeconomy.economy.PlayerBalance> getTopBalances(int limit) {
         validateAvailable();
-        return economyManager.getAllBalances().values().stream()
-            .sorted((a, b) -> Double.compare(b.getBalance(), a.getBalance()))
-            .limit(limit)
+        return economyManager.getLeaderboard(limit).stream()
+            .map(java.util.Map.Entry::getValue)
             .toList();
     }
     
     /**
-     * Get all player UUIDs that have economy accounts.
+     * Get all player UUIDs that have economy accounts, including archived ones.
      * NOT rate limited.
      * 
-     * @return Set of all player UUIDs with accounts
+     * @return Snapshot copy of the player UUIDs
      */
     public static java.util.Set<UUID> getAllPlayerUUIDs() {
         validateAvailable();
-        return economyManager.getAllBalances().keySet();
+        return economyManager.getAllPlayerIds();
     }
     
     /**
      * Get the total money circulating in the economy.
-     * Useful for economy statistics.
+     * Useful for economy statistics. O(1), maintained incrementally.
      * NOT rate limited.
      * 
-     * @return Total sum of all player balances
+     * @return Total sum of all player balances, archived accounts included
      */
     public static double getTotalCirculating() {
         validateAvailable();
-        return economyManager.getAllBalances().values().stream()
-            .mapToDouble(com.arefyeconomy.economy.PlayerBalance::getBalance)
-            .sum();
+        return economyManager.getAggregates().getTotalCirculating();
+    }
+    
+    /**
+     * Get economy-wide statistics: total circulating, account counts,
+     * lifetime earned/spent. O(1), maintained incrementally.
+     * NOT rate limited.
+     */
+    public static com.arefyeconomy.economy.EconomyAggregates.Snapshot getEconomyStats() {
+        validateAvailable();
+        return economyManager.getAggregates().snapshot();
+    }
+    
+    /**
+     * Get economy health metrics: Gini coefficient, balance percentiles,
+     * 24h money velocity and daily active traders/earners.
+     * Maintained continuously; reading does not scan accounts or the log.
+     * NOT rate limited.
+     */
+    public static com.arefyeconomy.economy.EconomyAnalytics.Metrics getEconomyHealth() {
+        validateAvailable();
+        return economyManager.getAnalytics().snapshot();
     }
     
     /**
@@ -294,15 +762,12 @@ public final class ArefyEconomyAPI {
      * @throws ArefyEconomyRateLimitException if rate limit exceeded
      */
     public static void resetBalance(@Nonnull UUID playerUuid, @Nonnull String reason) {
-        validateAvailable();
-        checkRateLimit(playerUuid);
-        double startingBalance = com.arefyeconomy.Main.CONFIG.get().getStartingBalance();
-        economyManager.setBalance(playerUuid, startingBalance, reason);
+        defaultClient.resetBalance(playerUuid, reason);
     }
     
     /**
      * Get recent transaction history for a player.
-     * Returns entries from the in-memory ring buffer.
+     * Returns entries from the in-memory per-player index (no I/O).
      * NOT rate limited.
      * 
      * @param playerUuid Target player
@@ -315,6 +780,60 @@ public final class ArefyEconomyAPI {
         return economyManager.getTransactionLogger().getRecentForPlayer(playerUuid, limit);
     }
     
+    /**
+     * Get a page of a player's transaction history, newest first.
+     * Recent pages come from memory; older pages are loaded from storage
+     * when persistent transaction logging is available.
+     * NOT rate limited.
+     * 
+     * @param playerUuid Target player
+     * @param page Page number (0-based)
+     * @param pageSize Entries per page
+     * @return Future with the page's transactions (empty past the end)
+     */
+    public static java.util.concurrent.CompletableFuture<java.util.List<com.arefyeconomy.economy.TransactionEntry>> getTransactionHistory(
+            @Nonnull UUID playerUuid, int page, int pageSize) {
+        validateAvailable();
+        if (page < 0 || pageSize <= 0) {
+            return java.util.concurrent.CompletableFuture.completedFuture(java.util.List.of());
+        }
+        return economyManager.getTransactionLogger().getHistory(playerUuid, page * pageSize, pageSize);
+    }
+    
+    /**
+     * Get hourly transaction statistics (count, sum, min, max) per
+     * transaction type and reason category, oldest hour first.
+     * The category is taken from the reason: the text before ':' or its
+     * first word ("Jobs: mining" -> "jobs"). Reads only the rollups, never
+     * the raw transaction log.
+     * NOT rate limited.
+     * 
+     * @param fromMillis Inclusive lower bound for the hour start (epoch ms)
+     * @param toMillis Exclusive upper bound for the hour start (epoch ms)
+     * @return Future with the rollups (empty if the transaction log is not available)
+     */
+    public static java.util.concurrent.CompletableFuture<java.util.List<com.arefyeconomy.economy.TransactionRollup>> getTransactionRollups(
+            long fromMillis, long toMillis) {
+        validateAvailable();
+        return economyManager.getTransactionLogger().getRollups(fromMillis, toMillis);
+    }
+    
+    /**
+     * Get a player's balance at a past point in time.
+     * Rebuilt from the nearest balance checkpoint plus the player's
+     * transactions after it (indexed queries, no log scan).
+     * NOT rate limited.
+     * 
+     * @param playerUuid Target player
+     * @param atMillis Point in time (epoch ms)
+     * @return Future with the reconstructed balance (failed if the transaction log is not available)
+     */
+    public static java.util.concurrent.CompletableFuture<com.arefyeconomy.economy.BalanceReconstructor.Result> getBalanceAt(
+            @Nonnull UUID playerUuid, long atMillis) {
+        validateAvailable();
+        return economyManager.getBalanceAt(playerUuid, atMillis);
+    }
+    
     // ========== Physical Coins Provider (Addon) ==========
     
     private static PhysicalCoinsProvider coinsProvider = null;
@@ -375,23 +894,22 @@ public final class ArefyEconomyAPI {
         }
     }
     
-    private static void checkRateLimit(UUID playerUuid) {
-        if (!rateLimiter.tryAcquire(playerUuid)) {
-            throw new ArefyEconomyRateLimitException(
-                "Rate limit exceeded for player " + playerUuid + ". " +
-                "Max 50 burst, 10/sec sustained. Wait 100ms and retry."
-            );
-        }
+    /**
+     * The economy manager, for clients. Fails if the API is not initialized.
+     */
+    static EconomyManager manager() {
+        validateAvailable();
+        return economyManager;
     }
     
     /**
-     * Cleanup expired rate limiter buckets.
-     * Called periodically by EconomyManager to prevent memory growth.
+     * Expire rate limiter state of idle players (only timers that are due).
+     * Called on every auto-save by EconomyManager to prevent memory growth.
      * NOT rate limited.
      */
     public static void cleanupRateLimiter() {
-        if (rateLimiter != null) {
-            rateLimiter.cleanup();
+        for (EconomyClient client : clients.values()) {
+            client.cleanup();
         }
     }
 }
@@ -15,17 +15,21 @@ public class ArefyEconomyRateLimitException extends RuntimeException {
     
     private final int remainingTokens;
     private final int maxTokens;
+    private final long retryAfterMs;
     
     public ArefyEconomyRateLimitException(String message) {
-        super(message);
-        this.remainingTokens = 0;
-        this.maxTokens = 50;
+        this(message, 0, 50, 100);
     }
     
     public ArefyEconomyRateLimitException(String message, int remainingTokens, int maxTokens) {
+        this(message, remainingTokens, maxTokens, 100);
+    }
+    
+    public ArefyEconomyRateLimitException(String message, int remainingTokens, int maxTokens, long retryAfterMs) {
         super(message);
         this.remainingTokens = remainingTokens;
         this.maxTokens = maxTokens;
+        this.retryAfterMs = retryAfterMs;
     }
     
     /**
@@ -43,10 +47,10 @@ public class ArefyEconomyRateLimitException extends RuntimeException {
     }
     
     /**
-     * Get the wait time in milliseconds until more tokens are available.
-     * Approximately 100ms for 1 token at default 10/second rate.
+     * Get the wait time in milliseconds until the next operation is allowed.
+     * Exact (rounded up) when thrown by the API; 100ms for the legacy constructors.
      */
     public long getRetryAfterMs() {
-        return 100; // 1 token refills every 100ms at 10/sec rate
+        return retryAfterMs;
     }
 }
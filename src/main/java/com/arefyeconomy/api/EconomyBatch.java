@@ -0,0 +1,107 @@
+package com.arefyeconomy.api;
+
+import com.arefyeconomy.economy.EconomyManager;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Collects deposits/withdrawals and applies them in one pass.
+ *
+ * Use for bulk payouts (job rewards, AFK pay) instead of one API call per player:
+ * <pre>
+ * EconomyBatch.Result result = ArefyEconomyAPI.batch()
+ *     .deposit(alice, 25.0, "Jobs: mining")
+ *     .deposit(bob, 40.0, "Jobs: farming")
+ *     .withdraw(carol, 5.0, "Jobs: tool repair")
+ *     .commit();
+ * </pre>
+ *
+ * A commit takes one rate-limit token of its client, locks each account once,
+ * fires one BalanceBatchEvent, updates each HUD once and logs one batch.
+ * Operations succeed or fail individually; see {@link Result}.
+ *
+ * Not thread-safe: build and commit on one thread. A batch can be committed once.
+ */
+public final class EconomyBatch {
+
+    /**
+     * Outcome of a committed batch.
+     *
+     * @param operations The operations, in the order they were added
+     * @param results One result per operation, same order
+     */
+    public record Result(List<EconomyManager.BatchOperation> operations, List<EconomyManager.BatchResult> results) {
+
+        /** Result of the operation at the given position */
+        public EconomyManager.BatchResult get(int index) {
+            return results.get(index);
+        }
+
+        public int getSuccessCount() {
+            int count = 0;
+            for (EconomyManager.BatchResult result : results) {
+                if (result == EconomyManager.BatchResult.SUCCESS) count++;
+            }
+            return count;
+        }
+
+        public boolean allSucceeded() {
+            return getSuccessCount() == results.size();
+        }
+    }
+
+    private final EconomyClient client;
+    private final List<EconomyManager.BatchOperation> operations = new ArrayList<>();
+    private boolean committed = false;
+
+    EconomyBatch(@Nonnull EconomyClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Add a deposit.
+     */
+    @Nonnull
+    public EconomyBatch deposit(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        checkOpen();
+        operations.add(new EconomyManager.BatchOperation(true, playerUuid, amount, reason));
+        return this;
+    }
+
+    /**
+     * Add a withdrawal.
+     */
+    @Nonnull
+    public EconomyBatch withdraw(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        checkOpen();
+        operations.add(new EconomyManager.BatchOperation(false, playerUuid, amount, reason));
+        return this;
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Apply all operations.
+     *
+     * @return Per-operation results
+     * @throws ArefyEconomyRateLimitException if the client's rate limit is exceeded
+     */
+    @Nonnull
+    public Result commit() {
+        checkOpen();
+        committed = true;
+        List<EconomyManager.BatchOperation> ops = List.copyOf(operations);
+        return new Result(ops, client.commit(ops));
+    }
+
+    private void checkOpen() {
+        if (committed) {
+            throw new IllegalStateException("Batch was already committed");
+        }
+    }
+}
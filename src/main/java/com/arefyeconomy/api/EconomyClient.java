@@ -0,0 +1,564 @@
+package com.arefyeconomy.api;
+
+import com.arefyeconomy.economy.EconomyManager;
+import com.arefyeconomy.economy.Hold;
+import com.arefyeconomy.util.RateLimiter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * API handle for one calling plugin.
+ *
+ * Each client has:
+ * - Its own rate limiter (per player, like the global one), so one plugin
+ *   cannot use up another plugin's budget
+ * - Call, failure, rate-limit and error counters
+ * - Latency (average/max) and throughput since creation
+ *
+ * Obtain one with {@link ArefyEconomyAPI#client(String)} and keep it:
+ * <pre>
+ * private static final EconomyClient ECONOMY = ArefyEconomyAPI.client("ArefyJobs");
+ * ECONOMY.deposit(playerUuid, 25.0, "Jobs: mining");
+ * </pre>
+ *
+ * Every write and getBalance has an ...Async variant that runs on the economy
+ * executor and returns a CompletableFuture, optionally completed on another
+ * executor (e.g. the calling world's):
+ * <pre>
+ * ECONOMY.withdrawAsync(playerUuid, 50.0, "Shop: sword", world::execute)
+ *     .thenAccept(paid -> { if (paid) giveSword(player); });
+ * </pre>
+ *
+ * For settlements that must survive a crash, the ...Durable variants apply
+ * the change immediately and complete once it was written by a committed
+ * auto-save flush (see {@link #whenDurable()}).
+ *
+ * The static ArefyEconomyAPI write methods use the "default" client.
+ * Thread-safe.
+ */
+public final class EconomyClient {
+
+    /**
+     * Usage counters of one client.
+     *
+     * @param name Client (plugin) name
+     * @param calls Write operations executed (past the rate limiter)
+     * @param failures Operations that returned false / a non-SUCCESS result
+     * @param rateLimited Operations rejected by the rate limiter
+     * @param errors Operations that threw
+     * @param averageMicros Average operation time (microseconds)
+     * @param maxMicros Slowest operation (microseconds)
+     * @param callsPerSecond Calls per second since the client was created
+     * @param rateLimitBurst Burst capacity of the client's limiter
+     * @param rateLimitRefill Sustained operations per second of the client's limiter
+     */
+    public record Stats(String name, long calls, long failures, long rateLimited, long errors,
+                        double averageMicros, double maxMicros, double callsPerSecond,
+                        int rateLimitBurst, int rateLimitRefill) {}
+
+    /** Rate-limit key for hold calls with an unknown hold id (nothing to charge an owner for) */
+    private static final UUID UNKNOWN_HOLD_LIMIT_KEY = new UUID(0L, 0L);
+
+    private final String name;
+    private volatile RateLimiter rateLimiter;
+    private final long createdNanos = System.nanoTime();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    EconomyClient(@Nonnull String name, @Nonnull RateLimiter rateLimiter) {
+        this.name = name;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Replace the rate-limit policy (current per-player state is discarded).
+     *
+     * @param burst Maximum burst capacity
+     * @param refillPerSecond Sustained operations per second
+     */
+    public void setRateLimit(int burst, int refillPerSecond) {
+        this.rateLimiter = new RateLimiter(burst, refillPerSecond);
+    }
+
+    // ========== Read Operations (No Rate Limit) ==========
+
+    /**
+     * Get a player's current balance.
+     * NOT rate limited, not counted.
+     */
+    public double getBalance(@Nonnull UUID playerUuid) {
+        return ArefyEconomyAPI.manager().getBalance(playerUuid);
+    }
+
+    /**
+     * Check if a player can spend at least the specified amount (balance minus holds).
+     * NOT rate limited, not counted.
+     */
+    public boolean hasBalance(@Nonnull UUID playerUuid, double amount) {
+        return ArefyEconomyAPI.manager().hasBalance(playerUuid, amount);
+    }
+
+    /**
+     * Get a player's balance and account version as one consistent pair.
+     * NOT rate limited, not counted.
+     *
+     * @return the snapshot, or null if the player has no account
+     */
+    @Nullable
+    public EconomyManager.VersionedBalance getVersionedBalance(@Nonnull UUID playerUuid) {
+        return ArefyEconomyAPI.manager().getVersionedBalance(playerUuid);
+    }
+
+    // ========== Write Operations (Rate Limited) ==========
+
+    /**
+     * Deposit money into a player's account.
+     *
+     * @return true if successful, false if rejected (invalid amount or exceeds maxBalance)
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    public boolean deposit(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(playerUuid, () -> manager.deposit(playerUuid, amount, reason), Boolean::booleanValue);
+    }
+
+    /**
+     * Withdraw money from a player's account.
+     *
+     * @return true if successful, false if insufficient funds
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    public boolean withdraw(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(playerUuid, () -> manager.withdraw(playerUuid, amount, reason), Boolean::booleanValue);
+    }
+
+    /**
+     * Transfer money between two players (rate limited on the sender).
+     *
+     * @return TransferResult indicating success or failure reason
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public EconomyManager.TransferResult transfer(@Nonnull UUID from, @Nonnull UUID to,
+                                                  double amount, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(from, () -> manager.transfer(from, to, amount, reason),
+            result -> result == EconomyManager.TransferResult.SUCCESS);
+    }
+
+    /**
+     * Pay several players from one account atomically (rate limited once, on the sender).
+     *
+     * @param legs Recipient -> amount (before fees)
+     * @return SUCCESS, or why nothing was transferred
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public EconomyManager.TransferResult transferMulti(@Nonnull UUID from, @Nonnull Map<UUID, Double> legs,
+                                                       @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(from, () -> manager.transferMulti(from, legs, reason),
+            result -> result == EconomyManager.TransferResult.SUCCESS);
+    }
+
+    /**
+     * Set a player's balance to a specific amount.
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    public void setBalance(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        call(playerUuid, () -> {
+            manager.setBalance(playerUuid, amount, reason);
+            return Boolean.TRUE;
+        }, Boolean::booleanValue);
+    }
+
+    /**
+     * Reset a player's balance to the starting amount.
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    public void resetBalance(@Nonnull UUID playerUuid, @Nonnull String reason) {
+        setBalance(playerUuid, com.arefyeconomy.Main.CONFIG.get().getStartingBalance(), reason);
+    }
+
+    /**
+     * Withdraw only if the account is still at the version read with
+     * {@link #getVersionedBalance(UUID)}.
+     *
+     * @return SUCCESS, VERSION_CONFLICT (read again and retry) or why it failed
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public EconomyManager.ConditionalResult withdrawIfVersion(@Nonnull UUID playerUuid, long expectedVersion,
+                                                              double amount, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(playerUuid, () -> manager.withdrawIfVersion(playerUuid, expectedVersion, amount, reason),
+            result -> result == EconomyManager.ConditionalResult.SUCCESS);
+    }
+
+    /**
+     * Set a balance only if the account is still at the version read with
+     * {@link #getVersionedBalance(UUID)} (applied as a deposit/withdrawal of the difference).
+     *
+     * @return SUCCESS, VERSION_CONFLICT (read again and retry) or why it failed
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public EconomyManager.ConditionalResult compareAndSet(@Nonnull UUID playerUuid, long expectedVersion,
+                                                          double newBalance, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(playerUuid, () -> manager.compareAndSet(playerUuid, expectedVersion, newBalance, reason),
+            result -> result == EconomyManager.ConditionalResult.SUCCESS);
+    }
+
+    /**
+     * Start a batch of deposits/withdrawals committed through this client.
+     */
+    @Nonnull
+    public EconomyBatch batch() {
+        return new EconomyBatch(this);
+    }
+
+    /**
+     * Commit a batch: one token per distinct player in it, so a batch costs
+     * each player what one call would and never drains another client's budget.
+     * If a player is over the limit nothing is applied (tokens already taken
+     * for earlier players in the batch are spent).
+     */
+    List<EconomyManager.BatchResult> commit(List<EconomyManager.BatchOperation> operations) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        Set<UUID> players = new LinkedHashSet<>();
+        for (EconomyManager.BatchOperation op : operations) {
+            players.add(op.player());
+        }
+        for (UUID player : players) {
+            checkRateLimit(player);
+        }
+        return call(null, () -> manager.applyBatch(operations),
+            results -> results.stream().allMatch(result -> result == EconomyManager.BatchResult.SUCCESS));
+    }
+
+    // ========== Async Operations ==========
+
+    /**
+     * Get a player's balance on the economy executor.
+     * NOT rate limited, not counted.
+     */
+    @Nonnull
+    public CompletableFuture<Double> getBalanceAsync(@Nonnull UUID playerUuid) {
+        return getBalanceAsync(playerUuid, null);
+    }
+
+    /**
+     * Get a player's balance on the economy executor.
+     *
+     * @param completeOn Executor that completes the future (e.g. world::execute), null for the economy executor
+     */
+    @Nonnull
+    public CompletableFuture<Double> getBalanceAsync(@Nonnull UUID playerUuid, @Nullable Executor completeOn) {
+        return async(() -> getBalance(playerUuid), completeOn);
+    }
+
+    /**
+     * Deposit on the economy executor.
+     *
+     * @return Future of deposit()'s result; a rate-limit rejection completes it exceptionally
+     */
+    @Nonnull
+    public CompletableFuture<Boolean> depositAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return depositAsync(playerUuid, amount, reason, null);
+    }
+
+    /**
+     * Deposit on the economy executor.
+     *
+     * @param completeOn Executor that completes the future (e.g. world::execute), null for the economy executor
+     */
+    @Nonnull
+    public CompletableFuture<Boolean> depositAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason,
+                                                   @Nullable Executor completeOn) {
+        return async(() -> deposit(playerUuid, amount, reason), completeOn);
+    }
+
+    /**
+     * Withdraw on the economy executor.
+     *
+     * @return Future of withdraw()'s result; a rate-limit rejection completes it exceptionally
+     */
+    @Nonnull
+    public CompletableFuture<Boolean> withdrawAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return withdrawAsync(playerUuid, amount, reason, null);
+    }
+
+    /**
+     * Withdraw on the economy executor.
+     *
+     * @param completeOn Executor that completes the future (e.g. world::execute), null for the economy executor
+     */
+    @Nonnull
+    public CompletableFuture<Boolean> withdrawAsync(@Nonnull UUID playerUuid, double amount, @Nonnull String reason,
+                                                    @Nullable Executor completeOn) {
+        return async(() -> withdraw(playerUuid, amount, reason), completeOn);
+    }
+
+    /**
+     * Transfer on the economy executor.
+     *
+     * @return Future of transfer()'s result; a rate-limit rejection completes it exceptionally
+     */
+    @Nonnull
+    public CompletableFuture<EconomyManager.TransferResult> transferAsync(@Nonnull UUID from, @Nonnull UUID to,
+                                                                          double amount, @Nonnull String reason) {
+        return transferAsync(from, to, amount, reason, null);
+    }
+
+    /**
+     * Transfer on the economy executor.
+     *
+     * @param completeOn Executor that completes the future (e.g. world::execute), null for the economy executor
+     */
+    @Nonnull
+    public CompletableFuture<EconomyManager.TransferResult> transferAsync(@Nonnull UUID from, @Nonnull UUID to,
+                                                                          double amount, @Nonnull String reason,
+                                                                          @Nullable Executor completeOn) {
+        return async(() -> transfer(from, to, amount, reason), completeOn);
+    }
+
+    /**
+     * Run an operation on the economy executor, then hop to completeOn (if any)
+     * so dependent stages run there.
+     */
+    private static <R> CompletableFuture<R> async(Supplier<R> operation, @Nullable Executor completeOn) {
+        CompletableFuture<R> future;
+        try {
+            future = CompletableFuture.supplyAsync(operation, ArefyEconomyAPI.asyncExecutor());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e); // Shutting down
+        }
+        return completeOn == null ? future : future.whenCompleteAsync((result, error) -> {}, completeOn);
+    }
+
+    // ========== Holds ==========
+
+    /**
+     * Get the balance a player can spend (balance minus active holds).
+     * NOT rate limited, not counted.
+     */
+    public double getAvailableBalance(@Nonnull UUID playerUuid) {
+        return ArefyEconomyAPI.manager().getAvailableBalance(playerUuid);
+    }
+
+    /**
+     * Earmark funds without moving them (rate limited on the player).
+     *
+     * @param duration Time until the hold expires on its own
+     * @return the hold (keep its id), or null if not enough is available or the input is invalid
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nullable
+    public Hold placeHold(@Nonnull UUID playerUuid, double amount, @Nonnull Duration duration, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(playerUuid, () -> manager.placeHold(playerUuid, amount, duration.toMillis(), reason),
+            hold -> hold != null);
+    }
+
+    /**
+     * Withdraw the held funds (rate limited on the hold owner).
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public EconomyManager.HoldResult captureHold(long holdId, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(holdOwner(holdId), () -> manager.captureHold(holdId, reason),
+            result -> result == EconomyManager.HoldResult.SUCCESS);
+    }
+
+    /**
+     * Pay the held funds to another player, like transfer() (rate limited on the hold owner).
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public EconomyManager.HoldResult captureHold(long holdId, @Nonnull UUID recipient, @Nonnull String reason) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(holdOwner(holdId), () -> manager.captureHold(holdId, recipient, reason),
+            result -> result == EconomyManager.HoldResult.SUCCESS);
+    }
+
+    /**
+     * Give held funds back to the available balance (rate limited on the hold owner).
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public EconomyManager.HoldResult releaseHold(long holdId) {
+        EconomyManager manager = ArefyEconomyAPI.manager();
+        return call(holdOwner(holdId), () -> manager.releaseHold(holdId),
+            result -> result == EconomyManager.HoldResult.SUCCESS);
+    }
+
+    private static UUID holdOwner(long holdId) {
+        Hold hold = ArefyEconomyAPI.manager().getHold(holdId);
+        return hold != null ? hold.getPlayerUuid() : UNKNOWN_HOLD_LIMIT_KEY;
+    }
+
+    // ========== Durable Operations ==========
+
+    /**
+     * Get a future that completes once every balance change made before this
+     * call is on disk (part of a committed flush). Changes are not saved
+     * synchronously: waiters share the next flush, which runs within about a second.
+     */
+    @Nonnull
+    public CompletableFuture<Void> whenDurable() {
+        return ArefyEconomyAPI.manager().whenDurable();
+    }
+
+    /**
+     * Deposit now; the future completes with the result once the deposit is on disk
+     * (immediately if it was rejected).
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public CompletableFuture<Boolean> depositDurable(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return durable(deposit(playerUuid, amount, reason), Boolean::booleanValue);
+    }
+
+    /**
+     * Withdraw now; the future completes with the result once the withdrawal is on disk
+     * (immediately if it was rejected).
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public CompletableFuture<Boolean> withdrawDurable(@Nonnull UUID playerUuid, double amount, @Nonnull String reason) {
+        return durable(withdraw(playerUuid, amount, reason), Boolean::booleanValue);
+    }
+
+    /**
+     * Transfer now; the future completes with the result once the transfer is on disk
+     * (immediately if it failed).
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public CompletableFuture<EconomyManager.TransferResult> transferDurable(@Nonnull UUID from, @Nonnull UUID to,
+                                                                            double amount, @Nonnull String reason) {
+        return durable(transfer(from, to, amount, reason), result -> result == EconomyManager.TransferResult.SUCCESS);
+    }
+
+    /**
+     * Multi-party transfer now; the future completes with the result once every
+     * leg is on disk (immediately if it failed).
+     *
+     * @throws ArefyEconomyRateLimitException if this client's rate limit is exceeded
+     */
+    @Nonnull
+    public CompletableFuture<EconomyManager.TransferResult> transferMultiDurable(@Nonnull UUID from,
+                                                                                 @Nonnull Map<UUID, Double> legs,
+                                                                                 @Nonnull String reason) {
+        return durable(transferMulti(from, legs, reason), result -> result == EconomyManager.TransferResult.SUCCESS);
+    }
+
+    private <R> CompletableFuture<R> durable(R result, Predicate<R> changed) {
+        if (!changed.test(result)) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return whenDurable().thenApply(v -> result);
+    }
+
+    // ========== Metering ==========
+
+    /**
+     * Take a rate-limit token, run the operation and record its outcome and time.
+     */
+    /**
+     * @param limitKey Player charged one token, or null if the caller already charged
+     */
+    private <R> R call(UUID limitKey, Supplier<R> operation, Predicate<R> succeeded) {
+        if (limitKey != null) {
+            checkRateLimit(limitKey);
+        }
+        long start = System.nanoTime();
+        try {
+            R result = operation.get();
+            if (!succeeded.test(result)) {
+                failures.increment();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            calls.increment();
+            totalNanos.add(elapsed);
+            if (elapsed > maxNanos.get()) {
+                maxNanos.accumulateAndGet(elapsed, Math::max);
+            }
+        }
+    }
+
+    private void checkRateLimit(UUID playerUuid) {
+        RateLimiter limiter = rateLimiter;
+        long waitNanos = limiter.tryAcquireOrRetryAfter(playerUuid);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            long retryAfterMs = TimeUnit.NANOSECONDS.toMillis(waitNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+            throw new ArefyEconomyRateLimitException(
+                "Rate limit exceeded for player " + playerUuid + " (client " + name + "). " +
+                "Max " + limiter.getMaxTokens() + " burst, " + limiter.getRefillRate() + "/sec sustained. " +
+                "Wait " + retryAfterMs + "ms and retry.",
+                0, limiter.getMaxTokens(), retryAfterMs
+            );
+        }
+    }
+
+    /**
+     * Expire rate limiter state of idle players.
+     */
+    void cleanup() {
+        rateLimiter.cleanup();
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public Stats getStats() {
+        long count = calls.sum();
+        double seconds = Math.max((System.nanoTime() - createdNanos) / 1e9, 1e-3);
+        RateLimiter limiter = rateLimiter;
+        return new Stats(name, count, failures.sum(), rateLimited.sum(), errors.sum(),
+            count > 0 ? totalNanos.sum() / 1000.0 / count : 0,
+            maxNanos.get() / 1000.0, count / seconds,
+            limiter.getMaxTokens(), limiter.getRefillRate());
+    }
+}
@@ -0,0 +1,69 @@
+package com.arefyeconomy.api.events;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Handle for one per-account balance listener.
+ *
+ * <ul>
+ *   <li>{@link #close()} stops delivery and removes the listener</li>
+ *   <li>An expiring subscription stops by itself once its deadline passes</li>
+ *   <li>A weak subscription is only referenced by this handle: once the owner
+ *       drops the handle it is collected and removed on the next change</li>
+ * </ul>
+ *
+ * <p>Closed, expired and collected subscriptions are pruned lazily by
+ * {@link AccountSubscriptions}.</p>
+ */
+public final class AccountSubscription implements AutoCloseable {
+
+    private final UUID player;
+    private final BalanceListener listener;
+    private final long expiresAt;
+    private final boolean weak;
+    private volatile boolean closed = false;
+
+    AccountSubscription(@Nonnull UUID player, @Nonnull BalanceListener listener, long expiresAt, boolean weak) {
+        this.player = player;
+        this.listener = listener;
+        this.expiresAt = expiresAt;
+        this.weak = weak;
+    }
+
+    BalanceListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Stop receiving updates. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            AccountSubscriptions.remove(this);
+        }
+    }
+
+    /**
+     * Whether updates are still delivered (not closed and not expired).
+     */
+    public boolean isActive() {
+        return !closed && System.currentTimeMillis() < expiresAt;
+    }
+
+    @Nonnull
+    public UUID getPlayer() {
+        return player;
+    }
+
+    /** Expiry time (epoch ms), or Long.MAX_VALUE if it never expires */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isWeak() {
+        return weak;
+    }
+}
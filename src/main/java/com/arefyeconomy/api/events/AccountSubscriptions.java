@@ -0,0 +1,172 @@
+package com.arefyeconomy.api.events;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Balance listeners keyed by account.
+ *
+ * <p>Unlike {@link BalanceChangeEvent}, which every listener receives for every
+ * account, a change here only reaches the subscribers of the account that
+ * changed. A HUD or an open page subscribes to the accounts it displays and
+ * refreshes only when one of them moves.</p>
+ *
+ * <ul>
+ *   <li>publish(): one map lookup; returns at once for accounts nobody watches</li>
+ *   <li>Each account holds a copy-on-write array of subscriptions, so delivery
+ *       takes no lock and costs O(subscribers of that account)</li>
+ *   <li>Closed, expired and garbage-collected subscriptions are pruned when
+ *       met during delivery, on subscribe, and by {@link #purge()}</li>
+ * </ul>
+ *
+ * <p>Plugins subscribe through {@link ArefyEconomyEvents#subscribe(UUID, BalanceListener)}.</p>
+ */
+public final class AccountSubscriptions {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.getLogger().getSubLogger("ArefyEconomy-Events");
+
+    private static final ConcurrentHashMap<UUID, Slot[]> subscriptions = new ConcurrentHashMap<>();
+
+    private AccountSubscriptions() {}
+
+    // ========== Subscriptions ==========
+
+    static AccountSubscription add(@Nonnull UUID player, @Nonnull BalanceListener listener, long expiresAt, boolean weak) {
+        AccountSubscription subscription = new AccountSubscription(player, listener, expiresAt, weak);
+        Slot slot = new Slot(subscription, weak);
+        subscriptions.compute(player, (uuid, slots) -> {
+            Slot[] live = prune(slots);
+            Slot[] updated = live == null ? new Slot[1] : Arrays.copyOf(live, live.length + 1);
+            updated[updated.length - 1] = slot;
+            return updated;
+        });
+        return subscription;
+    }
+
+    static void remove(@Nonnull AccountSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getPlayer(), (uuid, slots) -> prune(slots));
+    }
+
+    /**
+     * Drop inactive subscriptions of every account.
+     */
+    public static void purge() {
+        for (UUID player : subscriptions.keySet()) {
+            subscriptions.computeIfPresent(player, (uuid, slots) -> prune(slots));
+        }
+    }
+
+    /**
+     * @return The live slots (the same array if nothing was dropped), or null if none are left
+     */
+    private static Slot[] prune(Slot[] slots) {
+        if (slots == null) {
+            return null;
+        }
+        int live = 0;
+        for (Slot slot : slots) {
+            if (slot.isLive()) {
+                live++;
+            }
+        }
+        if (live == slots.length) {
+            return slots;
+        }
+        if (live == 0) {
+            return null;
+        }
+        Slot[] kept = new Slot[live];
+        int i = 0;
+        for (Slot slot : slots) {
+            if (slot.isLive()) {
+                kept[i++] = slot;
+            }
+        }
+        return kept;
+    }
+
+    // ========== Publishing ==========
+
+    /**
+     * Whether anyone watches an account. Check before computing values that
+     * only subscribers need.
+     */
+    public static boolean hasSubscribers(@Nonnull UUID player) {
+        return subscriptions.containsKey(player);
+    }
+
+    /**
+     * Deliver a balance change to the subscribers of one account.
+     *
+     * <p>Called internally by ArefyEconomy after the change is applied, under
+     * the account lock. External plugins should not call this.</p>
+     */
+    public static void publish(@Nonnull UUID player, double oldBalance, double newBalance) {
+        Slot[] slots = subscriptions.get(player);
+        if (slots == null) {
+            return;
+        }
+        boolean stale = false;
+        for (Slot slot : slots) {
+            AccountSubscription subscription = slot.get();
+            if (subscription == null || !subscription.isActive()) {
+                stale = true;
+                continue;
+            }
+            BalanceListener listener = subscription.getListener();
+            try {
+                listener.onBalanceChanged(player, oldBalance, newBalance);
+            } catch (RuntimeException e) {
+                LOGGER.at(Level.WARNING).log("Error in balance listener %s for %s: %s",
+                    listener.getClass().getName(), player, e);
+            }
+        }
+        if (stale) {
+            subscriptions.computeIfPresent(player, (uuid, current) -> prune(current));
+        }
+    }
+
+    // ========== Metrics ==========
+
+    /** Accounts with at least one subscription */
+    public static int getAccountCount() {
+        return subscriptions.size();
+    }
+
+    /** Subscriptions across all accounts (including ones not yet pruned) */
+    public static int getSubscriptionCount() {
+        int count = 0;
+        for (Slot[] slots : subscriptions.values()) {
+            count += slots.length;
+        }
+        return count;
+    }
+
+    /**
+     * A subscription held strongly, or weakly so its owner controls its lifetime.
+     */
+    private static final class Slot {
+        private final AccountSubscription strong;
+        private final WeakReference<AccountSubscription> weak;
+
+        Slot(AccountSubscription subscription, boolean weak) {
+            this.strong = weak ? null : subscription;
+            this.weak = weak ? new WeakReference<>(subscription) : null;
+        }
+
+        AccountSubscription get() {
+            return strong != null ? strong : weak.get();
+        }
+
+        boolean isLive() {
+            AccountSubscription subscription = get();
+            return subscription != null && subscription.isActive();
+        }
+    }
+}
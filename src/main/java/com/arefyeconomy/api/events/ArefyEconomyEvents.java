@@ -1,58 +1,212 @@
 package com.arefyeconomy.api.events;
 
 import javax.annotation.Nonnull;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 /**
  * Event manager for ArefyEconomy events.
- * 
+ *
  * <p>External plugins can register listeners here to react to economy events.</p>
- * 
+ *
  * <p>Example registration:</p>
  * <pre>
  * // Register a listener for balance changes
  * ArefyEconomyEvents.register(BalanceChangeEvent.class, event -> {
  *     System.out.println("Balance changed: " + event.getDelta());
- *     
+ *
  *     // Cancel if trying to go over 1 million
  *     if (event.getNewBalance() > 1_000_000) {
  *         event.setCancelled(true);
  *     }
  * });
- * 
+ *
+ * // Run late and skip events another plugin already cancelled
+ * ArefyEconomyEvents.register(BalanceChangeEvent.class, EventPriority.HIGH, true, event -> { ... });
+ *
+ * // Receive transactions asynchronously, in batches, after they are applied
+ * AsyncSubscription&lt;TransactionEvent&gt; sub = ArefyEconomyEvents.subscribeAsync(TransactionEvent.class, batch -> {
+ *     for (TransactionEvent event : batch) { ... }
+ * });
+ * sub.close(); // when done
+ *
+ * // Watch one account (only its changes are delivered)
+ * AccountSubscription watch = ArefyEconomyEvents.subscribe(playerUuid, (uuid, oldBalance, newBalance) -> { ... });
+ * watch.close(); // when done
+ *
  * // Unregister all listeners for a specific event type
  * ArefyEconomyEvents.unregisterAll(BalanceChangeEvent.class);
  * </pre>
- * 
+ *
+ * <p>Each event type keeps its listeners in an {@link EventHandlerList}
+ * (also reachable as the event's static {@code HANDLERS} field). ArefyEconomy
+ * only constructs an event when its list has listeners.</p>
+ *
  * <p>Thread-safe: can be called from any thread.</p>
  */
 public final class ArefyEconomyEvents {
-    
-    private static final Map<Class<? extends ArefyEconomyEvent>, List<Consumer<? extends ArefyEconomyEvent>>> listeners = 
+
+    private static final Map<Class<? extends ArefyEconomyEvent>, EventHandlerList<? extends ArefyEconomyEvent>> handlers =
             new ConcurrentHashMap<>();
-    
+
+    private static final Map<Class<? extends ArefyEconomyEvent>, AsyncEventDispatcher<? extends ArefyEconomyEvent>> dispatchers =
+            new ConcurrentHashMap<>();
+
     private ArefyEconomyEvents() {}
-    
+
+    /**
+     * Get the listener list of an event type, creating it on first use.
+     *
+     * @param eventClass The event class
+     * @param <T> Event type
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T extends ArefyEconomyEvent> EventHandlerList<T> handlers(@Nonnull Class<T> eventClass) {
+        return (EventHandlerList<T>) handlers.computeIfAbsent(eventClass, EventHandlerList::new);
+    }
+
+    /**
+     * Get the asynchronous dispatcher of an event type, creating it on first use.
+     *
+     * @param eventClass The event class
+     * @param <T> Event type
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T extends ArefyEconomyEvent> AsyncEventDispatcher<T> dispatcher(@Nonnull Class<T> eventClass) {
+        return (AsyncEventDispatcher<T>) dispatchers.computeIfAbsent(eventClass,
+            type -> new AsyncEventDispatcher<>(eventClass, handlers(eventClass)));
+    }
+
+    /**
+     * Receive events asynchronously in micro-batches, off the economy threads
+     * (default queue size, DROP_OLDEST on overflow).
+     *
+     * <p>Only events published asynchronously (such as {@link TransactionEvent})
+     * reach async subscriptions.</p>
+     *
+     * @param eventClass The event class to listen for
+     * @param listener Receives lists of events, oldest first
+     * @param <T> Event type
+     * @return Handle; close it to stop receiving events
+     */
+    @Nonnull
+    public static <T extends ArefyEconomyEvent> AsyncSubscription<T> subscribeAsync(@Nonnull Class<T> eventClass,
+                                                                                @Nonnull Consumer<List<T>> listener) {
+        return subscribeAsync(eventClass, AsyncEventDispatcher.DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST, listener);
+    }
+
+    /**
+     * Receive events asynchronously in micro-batches with a custom queue.
+     *
+     * @param eventClass The event class to listen for
+     * @param capacity Events queued before the overflow policy applies
+     * @param overflowPolicy What to drop when the queue is full
+     * @param listener Receives lists of events, oldest first
+     * @param <T> Event type
+     * @return Handle; close it to stop receiving events
+     */
+    @Nonnull
+    public static <T extends ArefyEconomyEvent> AsyncSubscription<T> subscribeAsync(@Nonnull Class<T> eventClass,
+                                                                                int capacity,
+                                                                                @Nonnull OverflowPolicy overflowPolicy,
+                                                                                @Nonnull Consumer<List<T>> listener) {
+        return dispatcher(eventClass).subscribe(listener, capacity, overflowPolicy, AsyncEventDispatcher.DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Watch the balance of one account until the handle is closed.
+     *
+     * <p>The listener is only called for changes of that account, after they
+     * are applied. See {@link BalanceListener} for threading.</p>
+     *
+     * @param playerUuid Account to watch
+     * @param listener Called with the old and new balance
+     * @return Handle; close it to stop receiving updates
+     */
+    @Nonnull
+    public static AccountSubscription subscribe(@Nonnull UUID playerUuid, @Nonnull BalanceListener listener) {
+        return AccountSubscriptions.add(playerUuid, listener, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Watch the balance of one account for a limited time.
+     *
+     * @param playerUuid Account to watch
+     * @param listener Called with the old and new balance
+     * @param expireAfter Updates stop after this long, even if never closed
+     * @return Handle; close it to stop earlier
+     */
+    @Nonnull
+    public static AccountSubscription subscribe(@Nonnull UUID playerUuid, @Nonnull BalanceListener listener,
+                                                @Nonnull Duration expireAfter) {
+        long expiresAt = System.currentTimeMillis() + expireAfter.toMillis();
+        return AccountSubscriptions.add(playerUuid, listener, expiresAt, false);
+    }
+
+    /**
+     * Watch the balance of one account for as long as the returned handle is
+     * referenced. Keep it in a field of the owner (e.g. an open page): once the
+     * owner is garbage collected the subscription ends without being closed.
+     *
+     * @param playerUuid Account to watch
+     * @param listener Called with the old and new balance
+     * @return Handle; hold on to it, close it to stop earlier
+     */
+    @Nonnull
+    public static AccountSubscription subscribeWeak(@Nonnull UUID playerUuid, @Nonnull BalanceListener listener) {
+        return AccountSubscriptions.add(playerUuid, listener, Long.MAX_VALUE, true);
+    }
+
     /**
-     * Register a listener for a specific event type.
-     * 
+     * Register a listener for a specific event type (NORMAL priority,
+     * also receives cancelled events).
+     *
      * @param eventClass The event class to listen for
      * @param listener The listener callback
      * @param <T> Event type
      */
-    @SuppressWarnings("unchecked")
-    public static <T extends ArefyEconomyEvent> void register(@Nonnull Class<T> eventClass, 
+    public static <T extends ArefyEconomyEvent> void register(@Nonnull Class<T> eventClass,
+                                                          @Nonnull Consumer<T> listener) {
+        register(eventClass, EventPriority.NORMAL, false, listener);
+    }
+
+    /**
+     * Register a listener with a priority.
+     *
+     * @param eventClass The event class to listen for
+     * @param priority When to run relative to other listeners
+     * @param listener The listener callback
+     * @param <T> Event type
+     */
+    public static <T extends ArefyEconomyEvent> void register(@Nonnull Class<T> eventClass,
+                                                          @Nonnull EventPriority priority,
                                                           @Nonnull Consumer<T> listener) {
-        listeners.computeIfAbsent(eventClass, k -> new CopyOnWriteArrayList<>())
-                 .add(listener);
+        register(eventClass, priority, false, listener);
     }
-    
+
+    /**
+     * Register a listener with a priority and cancellation filter.
+     *
+     * @param eventClass The event class to listen for
+     * @param priority When to run relative to other listeners
+     * @param ignoreCancelled true to skip events already cancelled by an earlier listener
+     * @param listener The listener callback
+     * @param <T> Event type
+     */
+    public static <T extends ArefyEconomyEvent> void register(@Nonnull Class<T> eventClass,
+                                                          @Nonnull EventPriority priority,
+                                                          boolean ignoreCancelled,
+                                                          @Nonnull Consumer<T> listener) {
+        handlers(eventClass).register(listener, priority, ignoreCancelled);
+    }
+
     /**
      * Unregister a specific listener.
-     * 
+     *
      * @param eventClass The event class
      * @param listener The listener to remove
      * @param <T> Event type
@@ -60,57 +214,70 @@ public final class ArefyEconomyEvents {
      */
     public static <T extends ArefyEconomyEvent> boolean unregister(@Nonnull Class<T> eventClass,
                                                                @Nonnull Consumer<T> listener) {
-        List<Consumer<? extends ArefyEconomyEvent>> list = listeners.get(eventClass);
-        if (list != null) {
-            return list.remove(listener);
-        }
-        return false;
+        return handlers(eventClass).unregister(listener);
     }
-    
+
     /**
      * Unregister all listeners for a specific event type.
-     * 
+     *
      * @param eventClass The event class
      */
     public static void unregisterAll(@Nonnull Class<? extends ArefyEconomyEvent> eventClass) {
-        listeners.remove(eventClass);
+        handlers(eventClass).unregisterAll();
+        AsyncEventDispatcher<?> dispatcher = dispatchers.get(eventClass);
+        if (dispatcher != null) {
+            dispatcher.clear();
+        }
     }
-    
+
     /**
-     * Fire an event to all registered listeners.
-     * 
+     * Check whether an event type has any listeners.
+     *
+     * @param eventClass The event class
+     */
+    public static boolean hasListeners(@Nonnull Class<? extends ArefyEconomyEvent> eventClass) {
+        EventHandlerList<?> list = handlers.get(eventClass);
+        return list != null && list.hasListeners();
+    }
+
+    /**
+     * Fire an event to all registered listeners, in priority order.
+     *
      * <p>This method is called internally by ArefyEconomy when events occur.
-     * External plugins should not call this directly.</p>
-     * 
+     * External plugins should not call this directly. Internal code fires
+     * through the event's {@code HANDLERS} field, skipping this lookup.</p>
+     *
      * @param event The event to fire
      * @param <T> Event type
      * @return The event (may be modified/cancelled by listeners)
      */
     @SuppressWarnings("unchecked")
     public static <T extends ArefyEconomyEvent> T fire(@Nonnull T event) {
-        List<Consumer<? extends ArefyEconomyEvent>> list = listeners.get(event.getClass());
-        if (list != null) {
-            for (Consumer<? extends ArefyEconomyEvent> consumer : list) {
-                try {
-                    ((Consumer<T>) consumer).accept(event);
-                } catch (Exception e) {
-                    // Log but don't propagate exceptions from listeners
-                    System.err.println("[ArefyEconomy] Error in event listener: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-        }
-        return event;
+        EventHandlerList<T> list = (EventHandlerList<T>) handlers.get(event.getClass());
+        return list != null ? list.fire(event) : event;
     }
-    
+
     /**
      * Get the number of registered listeners for an event type.
-     * 
+     *
      * @param eventClass The event class
      * @return Number of listeners
      */
     public static int getListenerCount(@Nonnull Class<? extends ArefyEconomyEvent> eventClass) {
-        List<Consumer<? extends ArefyEconomyEvent>> list = listeners.get(eventClass);
+        EventHandlerList<?> list = handlers.get(eventClass);
         return list != null ? list.size() : 0;
     }
+
+    /**
+     * Get call statistics for every registered listener, slowest average first.
+     */
+    @Nonnull
+    public static List<EventHandlerList.ListenerStats> getListenerStats() {
+        List<EventHandlerList.ListenerStats> stats = new ArrayList<>();
+        for (EventHandlerList<?> list : handlers.values()) {
+            stats.addAll(list.getStats());
+        }
+        stats.sort(Comparator.comparingDouble(EventHandlerList.ListenerStats::averageMicros).reversed());
+        return stats;
+    }
 }
@@ -0,0 +1,129 @@
+package com.arefyeconomy.api.events;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous, post-commit delivery of one event type.
+ *
+ * <p>ArefyEconomy publishes after a change has been applied; publish() only
+ * enqueues, so listeners never run inside economy locks and a slow listener
+ * never delays a payment. Events published for one account keep their order.</p>
+ *
+ * <ul>
+ *   <li>Each subscription has its own bounded queue and overflow policy</li>
+ *   <li>Subscriptions receive micro-batches: everything queued since the last
+ *       drain, up to maxBatch, in one callback</li>
+ *   <li>Listeners registered with {@link ArefyEconomyEvents#register} for this
+ *       type are called on the dispatcher threads as well, one event at a time</li>
+ *   <li>All subscriptions share DISPATCH_THREADS daemon threads</li>
+ * </ul>
+ *
+ * @param <T> Event type
+ */
+public final class AsyncEventDispatcher<T extends ArefyEconomyEvent> {
+
+    /** Default queue size per subscription */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Default maximum events per callback */
+    public static final int DEFAULT_MAX_BATCH = 512;
+
+    private static final int DISPATCH_THREADS = 2;
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(DISPATCH_THREADS, r -> {
+        Thread t = new Thread(r, "ArefyEconomy-EventDispatch-" + threadIds.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Class<T> eventType;
+    private final EventHandlerList<T> handlers;
+    private final AsyncSubscription<T> handlerBridge;
+
+    @SuppressWarnings("unchecked")
+    private volatile AsyncSubscription<T>[] subscriptions = new AsyncSubscription[0];
+
+    AsyncEventDispatcher(@Nonnull Class<T> eventType, @Nonnull EventHandlerList<T> handlers) {
+        this.eventType = eventType;
+        this.handlers = handlers;
+        this.handlerBridge = new AsyncSubscription<>(this, batch -> batch.forEach(handlers::fire),
+            DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST, DEFAULT_MAX_BATCH, executor);
+    }
+
+    Class<T> getEventType() {
+        return eventType;
+    }
+
+    // ========== Subscriptions ==========
+
+    /**
+     * Add an asynchronous listener.
+     *
+     * @param listener Receives micro-batches of events, oldest first
+     * @param capacity Queue size
+     * @param overflowPolicy What to drop when the queue is full
+     * @param maxBatch Maximum events per callback
+     */
+    @Nonnull
+    public synchronized AsyncSubscription<T> subscribe(@Nonnull Consumer<List<T>> listener, int capacity,
+                                                       @Nonnull OverflowPolicy overflowPolicy, int maxBatch) {
+        if (capacity <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("capacity and maxBatch must be positive");
+        }
+        AsyncSubscription<T> subscription = new AsyncSubscription<>(this, listener, capacity, overflowPolicy, maxBatch, executor);
+        AsyncSubscription<T>[] current = subscriptions;
+        AsyncSubscription<T>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        return subscription;
+    }
+
+    synchronized void remove(AsyncSubscription<T> subscription) {
+        List<AsyncSubscription<T>> remaining = new ArrayList<>(Arrays.asList(subscriptions));
+        if (remaining.remove(subscription)) {
+            subscriptions = remaining.toArray(Arrays.copyOf(subscriptions, 0));
+        }
+    }
+
+    /**
+     * Close every asynchronous subscription.
+     */
+    synchronized void clear() {
+        for (AsyncSubscription<T> subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    // ========== Publishing ==========
+
+    /**
+     * Whether anyone would receive an event. Check before constructing one.
+     */
+    public boolean hasSubscribers() {
+        return subscriptions.length != 0 || handlers.hasListeners();
+    }
+
+    /**
+     * Queue an event for every subscriber. Never blocks and never runs listeners.
+     */
+    public void publish(@Nonnull T event) {
+        for (AsyncSubscription<T> subscription : subscriptions) {
+            subscription.offer(event);
+        }
+        if (handlers.hasListeners()) {
+            handlerBridge.offer(event);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.length;
+    }
+}
@@ -0,0 +1,136 @@
+package com.arefyeconomy.api.events;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * One asynchronous listener with its own bounded queue.
+ *
+ * <ul>
+ *   <li>offer() never blocks: a full queue drops an event per OverflowPolicy</li>
+ *   <li>At most one drain task runs per subscription, so the listener sees
+ *       events in publish order and is never called concurrently</li>
+ *   <li>Each drain hands the listener up to maxBatch events as one list</li>
+ * </ul>
+ *
+ * <p>Call {@link #close()} to stop receiving events.</p>
+ *
+ * @param <T> Event type
+ */
+public final class AsyncSubscription<T extends ArefyEconomyEvent> implements AutoCloseable {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.getLogger().getSubLogger("ArefyEconomy-Events");
+
+    private final AsyncEventDispatcher<T> dispatcher;
+    private final Consumer<List<T>> listener;
+    private final ArrayBlockingQueue<T> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxBatch;
+    private final Executor executor;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    AsyncSubscription(@Nonnull AsyncEventDispatcher<T> dispatcher, @Nonnull Consumer<List<T>> listener,
+                      int capacity, @Nonnull OverflowPolicy overflowPolicy, int maxBatch, @Nonnull Executor executor) {
+        this.dispatcher = dispatcher;
+        this.listener = listener;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.maxBatch = maxBatch;
+        this.executor = executor;
+    }
+
+    // ========== Publishing ==========
+
+    void offer(T event) {
+        if (closed) {
+            return;
+        }
+        while (!queue.offer(event)) {
+            dropped.increment();
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST || queue.poll() == null) {
+                return;
+            }
+            // DROP_OLDEST: made room, retry
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Deliver one micro-batch, then reschedule if more arrived meanwhile.
+     */
+    private void drain() {
+        List<T> batch = new ArrayList<>(Math.min(maxBatch, queue.size()));
+        queue.drainTo(batch, maxBatch);
+        if (!batch.isEmpty() && !closed) {
+            try {
+                listener.accept(batch);
+            } catch (RuntimeException e) {
+                LOGGER.at(Level.WARNING).log("Error in async %s listener %s: %s",
+                    dispatcher.getEventType().getSimpleName(), listener.getClass().getName(), e);
+            }
+            delivered.add(batch.size());
+            batches.increment();
+        }
+        scheduled.set(false);
+        if (!queue.isEmpty() && !closed) {
+            schedule();
+        }
+    }
+
+    // ========== Lifecycle / Stats ==========
+
+    /**
+     * Stop receiving events. Queued events are discarded.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.remove(this);
+        queue.clear();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /** Events handed to the listener */
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    /** Listener callbacks (one per micro-batch) */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /** Events dropped because the queue was full */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /** Events waiting for delivery */
+    public int getQueued() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.arefyeconomy.api.events;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fired once for a batch of deposits/withdrawals (e.g. a bulk payout), with
+ * the net change per player.
+ *
+ * <p>Each operation still fires its own {@link BalanceChangeEvent} while the
+ * batch is validated; cancelling one of those rejects only that operation.
+ * This event is fired after validation and before the batch is applied. It
+ * is cancellable - if cancelled, no operation of the batch happens.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * ArefyEconomyEvents.register(BalanceBatchEvent.class, event -> {
+ *     for (BalanceBatchEvent.Change change : event.getChanges()) {
+ *         audit(change.playerUuid(), change.delta());
+ *     }
+ * });
+ * </pre>
+ */
+public class BalanceBatchEvent extends ArefyEconomyEvent {
+
+    /** Listeners of this event type */
+    public static final EventHandlerList<BalanceBatchEvent> HANDLERS = ArefyEconomyEvents.handlers(BalanceBatchEvent.class);
+
+    /**
+     * Net change of one account over the whole batch.
+     *
+     * @param playerUuid Account owner
+     * @param oldBalance Balance before the batch
+     * @param newBalance Balance after the batch
+     */
+    public record Change(UUID playerUuid, double oldBalance, double newBalance) {
+
+        /** Net amount (positive for increase, negative for decrease) */
+        public double delta() {
+            return newBalance - oldBalance;
+        }
+    }
+
+    private final List<Change> changes;
+    private final int operationCount;
+
+    public BalanceBatchEvent(@Nonnull List<Change> changes, int operationCount) {
+        this.changes = List.copyOf(changes);
+        this.operationCount = operationCount;
+    }
+
+    /**
+     * Get the net change of every affected account (one entry per player).
+     */
+    @Nonnull
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Get the number of operations that will be applied.
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+}
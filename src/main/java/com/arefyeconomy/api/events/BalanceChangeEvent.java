@@ -19,6 +19,9 @@ import java.util.UUID;
  */
 public class BalanceChangeEvent extends ArefyEconomyEvent {
     
+    /** Listeners of this event type */
+    public static final EventHandlerList<BalanceChangeEvent> HANDLERS = ArefyEconomyEvents.handlers(BalanceChangeEvent.class);
+    
     public enum Cause {
         /** Administrative action (set/reset) */
         ADMIN,
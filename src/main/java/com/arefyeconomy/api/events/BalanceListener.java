@@ -0,0 +1,24 @@
+package com.arefyeconomy.api.events;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Callback for balance changes of one subscribed account.
+ *
+ * <p>Called after the change has been applied, on the thread that made it and
+ * while the account is still locked, so updates for one account arrive in
+ * order. Keep it short: update a display or hand the work to another thread.</p>
+ *
+ * @see ArefyEconomyEvents#subscribe(UUID, BalanceListener)
+ */
+@FunctionalInterface
+public interface BalanceListener {
+
+    /**
+     * @param playerUuid Account that changed
+     * @param oldBalance Balance before the change
+     * @param newBalance Balance after the change
+     */
+    void onBalanceChanged(@Nonnull UUID playerUuid, double oldBalance, double newBalance);
+}
@@ -0,0 +1,193 @@
+package com.arefyeconomy.api.events;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Listeners of one event type, baked into a priority-sorted array.
+ *
+ * <p>Each event class holds its list in a static {@code HANDLERS} field, so
+ * firing needs no map lookup:</p>
+ * <pre>
+ * if (BalanceChangeEvent.HANDLERS.hasListeners()) {
+ *     BalanceChangeEvent.HANDLERS.fire(new BalanceChangeEvent(...));
+ * }
+ * </pre>
+ *
+ * <ul>
+ *   <li>fire() / hasListeners(): one volatile array read, no locks, no allocation</li>
+ *   <li>register() / unregister(): synchronized, rebuild the array (rare)</li>
+ *   <li>Every call is timed; listeners slower than SLOW_LISTENER_MS are logged</li>
+ *   <li>Exceptions are logged and counted, never propagated to the economy</li>
+ * </ul>
+ *
+ * @param <T> Event type
+ */
+public final class EventHandlerList<T extends ArefyEconomyEvent> {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.getLogger().getSubLogger("ArefyEconomy-Events");
+
+    /** Calls slower than this are reported */
+    private static final long SLOW_LISTENER_MS = 5;
+    private static final long SLOW_LISTENER_NANOS = TimeUnit.MILLISECONDS.toNanos(SLOW_LISTENER_MS);
+
+    /** Minimum time between slow-listener warnings for one listener */
+    private static final long SLOW_WARNING_INTERVAL_MS = 60_000;
+
+    /**
+     * Call statistics for one registered listener.
+     *
+     * @param eventType Simple name of the event class
+     * @param listener Class name of the listener (identifies the plugin)
+     * @param priority Registered priority
+     * @param calls Number of calls
+     * @param failures Number of calls that threw
+     * @param averageMicros Average call time (microseconds)
+     * @param maxMicros Slowest call (microseconds)
+     */
+    public record ListenerStats(String eventType, String listener, EventPriority priority,
+                                long calls, long failures, double averageMicros, double maxMicros) {}
+
+    private final Class<T> eventType;
+    private final List<Registered<T>> registered = new ArrayList<>();
+    private volatile Registered<T>[] baked = newArray(0);
+
+    EventHandlerList(@Nonnull Class<T> eventType) {
+        this.eventType = eventType;
+    }
+
+    // ========== Registration ==========
+
+    synchronized void register(@Nonnull Consumer<T> listener, @Nonnull EventPriority priority, boolean ignoreCancelled) {
+        registered.add(new Registered<>(listener, priority, ignoreCancelled));
+        bake();
+    }
+
+    synchronized boolean unregister(@Nonnull Consumer<T> listener) {
+        boolean removed = registered.removeIf(r -> r.listener.equals(listener));
+        if (removed) {
+            bake();
+        }
+        return removed;
+    }
+
+    synchronized void unregisterAll() {
+        registered.clear();
+        bake();
+    }
+
+    private void bake() {
+        List<Registered<T>> sorted = new ArrayList<>(registered);
+        sorted.sort(Comparator.comparing(r -> r.priority)); // Stable: keeps registration order
+        baked = sorted.toArray(newArray(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends ArefyEconomyEvent> Registered<T>[] newArray(int size) {
+        return (Registered<T>[]) new Registered[size];
+    }
+
+    // ========== Firing ==========
+
+    /**
+     * Whether anyone listens. Check before constructing an event.
+     */
+    public boolean hasListeners() {
+        return baked.length != 0;
+    }
+
+    public int size() {
+        return baked.length;
+    }
+
+    /**
+     * Deliver an event to all listeners in priority order.
+     *
+     * @return The event (may be modified/cancelled by listeners)
+     */
+    public T fire(@Nonnull T event) {
+        for (Registered<T> listener : baked) {
+            listener.invoke(event, eventType);
+        }
+        return event;
+    }
+
+    // ========== Metrics ==========
+
+    @Nonnull
+    public List<ListenerStats> getStats() {
+        List<ListenerStats> stats = new ArrayList<>();
+        for (Registered<T> r : baked) {
+            long calls = r.calls.sum();
+            stats.add(new ListenerStats(eventType.getSimpleName(), r.listener.getClass().getName(), r.priority,
+                calls, r.failures.sum(),
+                calls > 0 ? r.totalNanos.sum() / 1000.0 / calls : 0,
+                r.maxNanos.get() / 1000.0));
+        }
+        return stats;
+    }
+
+    /**
+     * One listener with its options and call statistics.
+     */
+    private static final class Registered<T extends ArefyEconomyEvent> {
+        final Consumer<T> listener;
+        final EventPriority priority;
+        final boolean ignoreCancelled;
+
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        volatile long lastSlowWarning;
+
+        Registered(Consumer<T> listener, EventPriority priority, boolean ignoreCancelled) {
+            this.listener = listener;
+            this.priority = priority;
+            this.ignoreCancelled = ignoreCancelled;
+        }
+
+        void invoke(T event, Class<T> eventType) {
+            if (ignoreCancelled && event.isCancelled()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                failures.increment();
+                LOGGER.at(Level.WARNING).log("Error in %s listener %s: %s",
+                    eventType.getSimpleName(), listener.getClass().getName(), e);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                calls.increment();
+                totalNanos.add(elapsed);
+                if (elapsed > maxNanos.get()) {
+                    maxNanos.accumulateAndGet(elapsed, Math::max);
+                }
+                if (elapsed > SLOW_LISTENER_NANOS) {
+                    reportSlow(eventType, elapsed);
+                }
+            }
+        }
+
+        private void reportSlow(Class<T> eventType, long elapsedNanos) {
+            long now = System.currentTimeMillis();
+            if (now - lastSlowWarning < SLOW_WARNING_INTERVAL_MS) {
+                return;
+            }
+            lastSlowWarning = now;
+            LOGGER.at(Level.WARNING).log("Slow %s listener %s took %.1f ms (limit %d ms)",
+                eventType.getSimpleName(), listener.getClass().getName(), elapsedNanos / 1_000_000.0, SLOW_LISTENER_MS);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.arefyeconomy.api.events;
+
+/**
+ * Order in which listeners receive an event.
+ * 
+ * <p>Listeners run from LOWEST to MONITOR; within one priority in
+ * registration order. A listener that needs the final say on cancellation
+ * should use HIGH or HIGHEST. MONITOR is for observing the outcome only
+ * and must not modify the event.</p>
+ */
+public enum EventPriority {
+    LOWEST,
+    LOW,
+    NORMAL,
+    HIGH,
+    HIGHEST,
+    MONITOR
+}
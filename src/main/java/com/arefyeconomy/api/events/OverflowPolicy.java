@@ -0,0 +1,14 @@
+package com.arefyeconomy.api.events;
+
+/**
+ * What an asynchronous subscription does when its queue is full.
+ * 
+ * <p>The economy never waits for a slow listener; one of the two events
+ * is dropped and counted instead.</p>
+ */
+public enum OverflowPolicy {
+    /** Keep the queued events, drop the new one */
+    DROP_NEWEST,
+    /** Drop the oldest queued event to make room for the new one */
+    DROP_OLDEST
+}
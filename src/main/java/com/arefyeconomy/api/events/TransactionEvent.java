@@ -10,10 +10,20 @@ import java.util.UUID;
  * <p>This event is fired AFTER the transaction completes successfully.
  * It is NOT cancellable since the transaction already happened.</p>
  * 
+ * <p>Delivered asynchronously: listeners run on dispatcher threads, never
+ * inside economy locks. Use {@link ArefyEconomyEvents#subscribeAsync} to
+ * receive bursts as batches.</p>
+ * 
  * <p>For cancellable logic, use {@link BalanceChangeEvent} instead.</p>
  */
 public class TransactionEvent extends ArefyEconomyEvent {
     
+    /** Listeners of this event type */
+    public static final EventHandlerList<TransactionEvent> HANDLERS = ArefyEconomyEvents.handlers(TransactionEvent.class);
+    
+    /** Asynchronous post-commit delivery */
+    public static final AsyncEventDispatcher<TransactionEvent> DISPATCHER = ArefyEconomyEvents.dispatcher(TransactionEvent.class);
+    
     public enum Type {
         /** Player-to-player transfer via /pay */
         PLAYER_TRANSFER,
@@ -1,14 +1,24 @@
 package com.arefyeconomy.commands;
 
 import com.arefyeconomy.Main;
+import com.arefyeconomy.api.ArefyEconomyAPI;
+import com.arefyeconomy.api.EconomyClient;
+import com.arefyeconomy.api.events.AccountSubscriptions;
+import com.arefyeconomy.api.events.ArefyEconomyEvents;
+import com.arefyeconomy.api.events.EventHandlerList;
 import com.arefyeconomy.economy.PlayerBalance;
+import com.arefyeconomy.economy.TransactionLogger;
+import com.arefyeconomy.economy.TransactionRollup;
 import com.arefyeconomy.gui.ArefyAdminGui;
 import com.arefyeconomy.hud.BalanceHud;
+import com.arefyeconomy.storage.TransactionExporter;
+import com.arefyeconomy.storage.TransactionSink;
 import com.arefyeconomy.systems.BalanceHudSystem;
 
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
@@ -17,11 +27,18 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
 import java.awt.Color;
-import java.util.Comparator;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Economy admin commands for managing and testing balances.
@@ -33,6 +50,11 @@ import java.util.concurrent.CompletableFuture;
  * - /eco reset - Reset to starting balance
  * - /eco top - Show top balances
  * - /eco save - Force save data
+ * - /eco export [format] [player] [days] - Export the transaction log to a file
+ * - /eco stats [hours] - Transaction totals by type and reason category
+ * - /eco history <player> <time> - A player's balance at a past point in time
+ * - /eco listeners - Event listener call counts and timings
+ * - /eco clients - API usage per calling plugin
  */
 public class ArefyAdminCommand extends AbstractAsyncCommand {
     
@@ -48,6 +70,11 @@ public class ArefyAdminCommand extends AbstractAsyncCommand {
         this.addSubCommand(new ArefyTopCommand());
         this.addSubCommand(new ArefySaveCommand());
         this.addSubCommand(new ArefyHudCommand());
+        this.addSubCommand(new ArefyExportCommand());
+        this.addSubCommand(new ArefyStatsCommand());
+        this.addSubCommand(new ArefyHistoryCommand());
+        this.addSubCommand(new ArefyListenersCommand());
+        this.addSubCommand(new ArefyClientsCommand());
     }
     
     @NonNullDecl
@@ -84,6 +111,11 @@ public class ArefyAdminCommand extends AbstractAsyncCommand {
         commandContext.sender().sendMessage(Message.raw("  /eco reset - Reset to starting balance").color(Color.GRAY));
         commandContext.sender().sendMessage(Message.raw("  /eco top - Show top balances").color(Color.GRAY));
         commandContext.sender().sendMessage(Message.raw("  /eco save - Force save data").color(Color.GRAY));
+        commandContext.sender().sendMessage(Message.raw("  /eco export [csv|ndjson][.gz] [player] [days] - Export transactions").color(Color.GRAY));
+        commandContext.sender().sendMessage(Message.raw("  /eco stats [hours] - Transaction totals by type and reason").color(Color.GRAY));
+        commandContext.sender().sendMessage(Message.raw("  /eco history <player> <time> - Balance at a past time (e.g. 2h, 3d, 2026-01-18T14:30)").color(Color.GRAY));
+        commandContext.sender().sendMessage(Message.raw("  /eco listeners - Event listener timings").color(Color.GRAY));
+        commandContext.sender().sendMessage(Message.raw("  /eco clients - API usage per plugin").color(Color.GRAY));
         return CompletableFuture.completedFuture(null);
     }
     
@@ -286,50 +318,30 @@ public class ArefyAdminCommand extends AbstractAsyncCommand {
         @NonNullDecl
         @Override
         protected CompletableFuture<Void> executeAsync(CommandContext ctx) {
-            Map<UUID, PlayerBalance> balances = Main.getInstance().getEconomyManager().getAllBalances();
+            // Top 10 from the rank index
+            List<Map.Entry<UUID, PlayerBalance>> top10 = Main.getInstance().getEconomyManager().getLeaderboard(10);
             
-            if (balances.isEmpty()) {
+            if (top10.isEmpty()) {
                 ctx.sendMessage(Message.raw("No player balances found").color(Color.GRAY));
                 return CompletableFuture.completedFuture(null);
             }
             
             ctx.sendMessage(Message.raw("=== Top Balances ===").color(new Color(255, 215, 0)));
             
-            var h2Storage = Main.getInstance().getEconomyManager().getH2Storage();
+            var names = Main.getInstance().getEconomyManager().getNameDirectory();
             
-            // Get top 10 sorted by balance
-            List<PlayerBalance> top10 = balances.values().stream()
-                .sorted(Comparator.comparingDouble(PlayerBalance::getBalance).reversed())
-                .limit(10)
-                .toList();
-            
-            // Build name resolution futures
-            List<CompletableFuture<String>> nameFutures = top10.stream()
-                .map(balance -> {
-                    if (h2Storage != null) {
-                        return h2Storage.getPlayerNameAsync(balance.getPlayerUuid())
-                            .thenApply(name -> name != null ? name : balance.getPlayerUuid().toString().substring(0, 8) + "...");
-                    } else {
-                        return CompletableFuture.completedFuture(balance.getPlayerUuid().toString().substring(0, 8) + "...");
-                    }
-                })
-                .toList();
-            
-            // Wait for all names to resolve, then display
-            return CompletableFuture.allOf(nameFutures.toArray(new CompletableFuture[0]))
-                .thenAccept(v -> {
-                    for (int i = 0; i < top10.size(); i++) {
-                        PlayerBalance balance = top10.get(i);
-                        String displayName = nameFutures.get(i).join(); // Already completed
-                        String formatted = Main.CONFIG.get().format(balance.getBalance());
-                        ctx.sendMessage(Message.join(
-                            Message.raw("#" + (i + 1) + " ").color(Color.GRAY),
-                            Message.raw(displayName).color(Color.WHITE),
-                            Message.raw(" - ").color(Color.GRAY),
-                            Message.raw(formatted).color(new Color(50, 205, 50))
-                        ));
-                    }
-                });
+            for (int i = 0; i < top10.size(); i++) {
+                PlayerBalance balance = top10.get(i).getValue();
+                String displayName = names.resolve(top10.get(i).getKey());
+                String formatted = Main.CONFIG.get().format(balance.getBalance());
+                ctx.sendMessage(Message.join(
+                    Message.raw("#" + (i + 1) + " ").color(Color.GRAY),
+                    Message.raw(displayName).color(Color.WHITE),
+                    Message.raw(" - ").color(Color.GRAY),
+                    Message.raw(formatted).color(new Color(50, 205, 50))
+                ));
+            }
+            return CompletableFuture.completedFuture(null);
         }
     }
     
@@ -368,6 +380,267 @@ public class ArefyAdminCommand extends AbstractAsyncCommand {
         }
     }
     
+    // ========== EXPORT COMMAND ==========
+    private static class ArefyExportCommand extends AbstractAsyncCommand {
+        private static final long DAY_MS = 24L * 60 * 60 * 1000;
+        
+        private final OptionalArg<String> formatArg;
+        private final OptionalArg<String> playerArg;
+        private final OptionalArg<Integer> daysArg;
+        
+        public ArefyExportCommand() {
+            super("export", "Export the transaction log to a file");
+            this.formatArg = this.withOptionalArg("format", "csv, ndjson, csv.gz or ndjson.gz (default csv.gz)", ArgTypes.STRING);
+            this.playerArg = this.withOptionalArg("player", "Only transactions involving this player", ArgTypes.STRING);
+            this.daysArg = this.withOptionalArg("days", "Only the last N days", ArgTypes.INTEGER);
+        }
+        
+        @NonNullDecl
+        @Override
+        protected CompletableFuture<Void> executeAsync(CommandContext ctx) {
+            TransactionSink sink = TransactionLogger.getInstance().getSink();
+            if (sink == null) {
+                ctx.sendMessage(Message.raw("Transaction log is not available").color(Color.RED));
+                return CompletableFuture.completedFuture(null);
+            }
+            
+            // Format: csv | ndjson, optional .gz suffix
+            String format = ctx.get(formatArg);
+            format = format == null ? "csv.gz" : format.toLowerCase(Locale.ROOT);
+            boolean compress = format.endsWith(".gz");
+            String baseFormat = compress ? format.substring(0, format.length() - 3) : format;
+            TransactionExporter.Format exportFormat;
+            switch (baseFormat) {
+                case "csv" -> exportFormat = TransactionExporter.Format.CSV;
+                case "ndjson", "json" -> exportFormat = TransactionExporter.Format.NDJSON;
+                default -> {
+                    ctx.sendMessage(Message.raw("Unknown format: " + format + " (use csv, ndjson, csv.gz or ndjson.gz)").color(Color.RED));
+                    return CompletableFuture.completedFuture(null);
+                }
+            }
+            
+            UUID playerUuid = null;
+            String playerName = ctx.get(playerArg);
+            if (playerName != null && !playerName.equals("*")) {
+                playerUuid = Main.getInstance().getEconomyManager().getNameDirectory().findByName(playerName);
+                if (playerUuid == null) {
+                    ctx.sendMessage(Message.raw("Unknown player: " + playerName).color(Color.RED));
+                    return CompletableFuture.completedFuture(null);
+                }
+            }
+            
+            Integer days = ctx.get(daysArg);
+            long from = days != null && days > 0 ? System.currentTimeMillis() - days * DAY_MS : 0;
+            
+            var request = new TransactionExporter.Request(exportFormat, compress, playerUuid, from, Long.MAX_VALUE);
+            var exporter = new TransactionExporter(sink);
+            CompletableFuture<TransactionExporter.Result> export = exporter.export(request, count ->
+                ctx.sendMessage(Message.raw("Export: " + count + " transactions written...").color(Color.GRAY)));
+            
+            if (!export.isDone()) {
+                ctx.sendMessage(Message.raw("Export started (" + format + ")...").color(Color.YELLOW));
+            }
+            
+            // The command completes right away; the export reports back when done
+            export.whenComplete((result, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    ctx.sendMessage(Message.raw("Export failed: " + cause.getMessage()).color(Color.RED));
+                } else {
+                    ctx.sendMessage(Message.join(
+                        Message.raw("✓ Exported " + result.entries() + " transactions to ").color(Color.GREEN),
+                        Message.raw(result.file().toString()).color(Color.WHITE),
+                        Message.raw(" (" + result.elapsedMs() + " ms)").color(Color.GRAY)
+                    ));
+                }
+            });
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+    
+    // ========== STATS COMMAND ==========
+    private static class ArefyStatsCommand extends AbstractAsyncCommand {
+        private static final int DEFAULT_HOURS = 24;
+        private static final int MAX_ROWS = 15;
+        
+        private final OptionalArg<Integer> hoursArg;
+        
+        public ArefyStatsCommand() {
+            super("stats", "Show transaction totals by type and reason category");
+            this.hoursArg = this.withOptionalArg("hours", "Last N hours (default 24)", ArgTypes.INTEGER);
+        }
+        
+        @NonNullDecl
+        @Override
+        protected CompletableFuture<Void> executeAsync(CommandContext ctx) {
+            Integer hours = ctx.get(hoursArg);
+            int window = hours != null && hours > 0 ? hours : DEFAULT_HOURS;
+            // Include the current (partial) hour
+            long to = TransactionRollup.hourOf(System.currentTimeMillis()) + TransactionRollup.HOUR_MS;
+            long from = to - window * TransactionRollup.HOUR_MS;
+            
+            return TransactionLogger.getInstance().getRollups(from, to).thenAccept(rollups -> {
+                List<TransactionRollup> totals = TransactionRollup.totals(rollups);
+                if (totals.isEmpty()) {
+                    ctx.sendMessage(Message.raw("No transactions in the last " + window + "h").color(Color.GRAY));
+                    return;
+                }
+                
+                ctx.sendMessage(Message.raw("=== Transactions (last " + window + "h) ===").color(new Color(255, 215, 0)));
+                var config = Main.CONFIG.get();
+                for (int i = 0; i < Math.min(MAX_ROWS, totals.size()); i++) {
+                    TransactionRollup row = totals.get(i);
+                    ctx.sendMessage(Message.join(
+                        Message.raw(row.type().getDisplayName() + " / " + row.category() + ": ").color(Color.WHITE),
+                        Message.raw(config.format(row.sum())).color(new Color(50, 205, 50)),
+                        Message.raw(" in " + row.count() + " tx (min " + config.format(row.min())
+                            + ", max " + config.format(row.max()) + ")").color(Color.GRAY)
+                    ));
+                }
+                if (totals.size() > MAX_ROWS) {
+                    ctx.sendMessage(Message.raw("... and " + (totals.size() - MAX_ROWS) + " more").color(Color.GRAY));
+                }
+            });
+        }
+    }
+    
+    // ========== HISTORY COMMAND ==========
+    private static class ArefyHistoryCommand extends AbstractAsyncCommand {
+        private static final DateTimeFormatter DISPLAY_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        
+        private final RequiredArg<String> playerArg;
+        private final RequiredArg<String> timeArg;
+        
+        public ArefyHistoryCommand() {
+            super("history", "Show a player's balance at a past point in time");
+            this.playerArg = this.withRequiredArg("player", "Player name", ArgTypes.STRING);
+            this.timeArg = this.withRequiredArg("time", "Time ago (30m, 2h, 3d) or date (2026-01-18T14:30)", ArgTypes.STRING);
+        }
+        
+        @NonNullDecl
+        @Override
+        protected CompletableFuture<Void> executeAsync(CommandContext ctx) {
+            String playerName = ctx.get(playerArg);
+            UUID playerUuid = Main.getInstance().getEconomyManager().getNameDirectory().findByName(playerName);
+            if (playerUuid == null) {
+                ctx.sendMessage(Message.raw("Unknown player: " + playerName).color(Color.RED));
+                return CompletableFuture.completedFuture(null);
+            }
+            
+            long at;
+            try {
+                at = parseTime(ctx.get(timeArg));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                ctx.sendMessage(Message.raw("Invalid time: " + ctx.get(timeArg) + " (use 30m, 2h, 3d or 2026-01-18T14:30)").color(Color.RED));
+                return CompletableFuture.completedFuture(null);
+            }
+            
+            long start = System.nanoTime();
+            return Main.getInstance().getEconomyManager().getBalanceAt(playerUuid, at).handle((result, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    ctx.sendMessage(Message.raw("History lookup failed: " + cause.getMessage()).color(Color.RED));
+                    return null;
+                }
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                String time = DISPLAY_TIME.format(Instant.ofEpochMilli(at).atZone(ZoneId.systemDefault()));
+                ctx.sendMessage(Message.join(
+                    Message.raw(playerName + " at " + time + ": ").color(Color.WHITE),
+                    Message.raw(Main.CONFIG.get().format(result.balance())).color(new Color(50, 205, 50))
+                ));
+                String source = result.fromCheckpoint()
+                    ? "checkpoint " + DISPLAY_TIME.format(Instant.ofEpochMilli(result.checkpointMillis()).atZone(ZoneId.systemDefault()))
+                    : "no checkpoint, replayed from the start of the log";
+                ctx.sendMessage(Message.raw("(" + source + ", " + result.replayed() + " transactions replayed, "
+                    + elapsedMs + " ms)").color(Color.GRAY));
+                return null;
+            });
+        }
+        
+        /**
+         * Parse "30m" / "2h" / "3d" (ago), an ISO date-time or date (server time zone), or epoch millis.
+         */
+        private static long parseTime(String input) {
+            String value = input.trim().toLowerCase(Locale.ROOT);
+            long now = System.currentTimeMillis();
+            if (value.matches("\\d+[smhd]")) {
+                long amount = Long.parseLong(value.substring(0, value.length() - 1));
+                long unit = switch (value.charAt(value.length() - 1)) {
+                    case 's' -> 1000L;
+                    case 'm' -> 60_000L;
+                    case 'h' -> 3_600_000L;
+                    default -> 86_400_000L;
+                };
+                return now - amount * unit;
+            }
+            if (value.matches("\\d{12,}")) {
+                return Long.parseLong(value);
+            }
+            String iso = value.toUpperCase(Locale.ROOT).replace(' ', 'T');
+            if (iso.contains("T")) {
+                return LocalDateTime.parse(iso).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            }
+            return LocalDate.parse(iso).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+    
+    // ========== LISTENERS COMMAND ==========
+    private static class ArefyListenersCommand extends AbstractAsyncCommand {
+        public ArefyListenersCommand() {
+            super("listeners", "Show event listener call counts and timings");
+        }
+        
+        @NonNullDecl
+        @Override
+        protected CompletableFuture<Void> executeAsync(CommandContext ctx) {
+            List<EventHandlerList.ListenerStats> stats = ArefyEconomyEvents.getListenerStats();
+            ctx.sendMessage(Message.raw(String.format("Balance subscriptions: %d on %d accounts",
+                AccountSubscriptions.getSubscriptionCount(), AccountSubscriptions.getAccountCount())).color(Color.GRAY));
+            if (stats.isEmpty()) {
+                ctx.sendMessage(Message.raw("No event listeners registered").color(Color.GRAY));
+                return CompletableFuture.completedFuture(null);
+            }
+            
+            ctx.sendMessage(Message.raw("=== Event Listeners (slowest first) ===").color(new Color(255, 215, 0)));
+            for (EventHandlerList.ListenerStats listener : stats) {
+                ctx.sendMessage(Message.join(
+                    Message.raw(listener.eventType() + " [" + listener.priority() + "] ").color(Color.GRAY),
+                    Message.raw(listener.listener()).color(Color.WHITE),
+                    Message.raw(String.format(" %d calls, avg %.1f µs, max %.1f µs",
+                        listener.calls(), listener.averageMicros(), listener.maxMicros())).color(Color.GRAY),
+                    Message.raw(listener.failures() > 0 ? ", " + listener.failures() + " errors" : "").color(Color.RED)
+                ));
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+    
+    // ========== CLIENTS COMMAND ==========
+    private static class ArefyClientsCommand extends AbstractAsyncCommand {
+        public ArefyClientsCommand() {
+            super("clients", "Show API calls, errors and latency per calling plugin");
+        }
+        
+        @NonNullDecl
+        @Override
+        protected CompletableFuture<Void> executeAsync(CommandContext ctx) {
+            List<EconomyClient.Stats> stats = ArefyEconomyAPI.getClientStats();
+            ctx.sendMessage(Message.raw("=== API Clients (busiest first) ===").color(new Color(255, 215, 0)));
+            for (EconomyClient.Stats client : stats) {
+                ctx.sendMessage(Message.join(
+                    Message.raw(client.name()).color(Color.WHITE),
+                    Message.raw(String.format(" %d calls (%.2f/s), avg %.1f µs, max %.1f µs, %d failed",
+                        client.calls(), client.callsPerSecond(), client.averageMicros(), client.maxMicros(),
+                        client.failures())).color(Color.GRAY),
+                    Message.raw(client.rateLimited() > 0 ? ", " + client.rateLimited() + " rate limited" : "").color(Color.ORANGE),
+                    Message.raw(client.errors() > 0 ? ", " + client.errors() + " errors" : "").color(Color.RED),
+                    Message.raw(String.format(" [limit %d burst, %d/s]", client.rateLimitBurst(), client.rateLimitRefill())).color(Color.DARK_GRAY)
+                ));
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+    
     // ========== HELPER METHODS ==========
     private static void updateHud(UUID playerUuid, double newBalance) {
         BalanceHud hud = BalanceHudSystem.getHud(playerUuid);
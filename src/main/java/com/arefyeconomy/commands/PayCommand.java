@@ -123,6 +123,9 @@ public class PayCommand extends AbstractAsyncCommand {
                 case RECIPIENT_MAX_BALANCE -> {
                     player.sendMessage(Message.raw(Messages.get("pay.recipient_max_balance")).color(Color.RED));
                 }
+                case ACCOUNT_NOT_FOUND -> {
+                    player.sendMessage(Message.raw(Messages.get("pay.account_not_found")).color(Color.RED));
+                }
             }
 
             future.complete(null);
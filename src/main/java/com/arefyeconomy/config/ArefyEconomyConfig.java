@@ -36,18 +36,26 @@ public class ArefyEconomyConfig {
             (c, v, e) -> c.transferFee = v, (c, e) -> c.transferFee).add()
         .append(new KeyedCodec<>("MinimumTransaction", Codec.DOUBLE),
             (c, v, e) -> c.minimumTransaction = v, (c, e) -> c.minimumTransaction).add()
+        .append(new KeyedCodec<>("TransactionBufferSize", Codec.INTEGER),
+            (c, v, e) -> c.transactionBufferSize = v, (c, e) -> c.transactionBufferSize).add()
         
         // Rate limiting
         .append(new KeyedCodec<>("RateLimitBurst", Codec.INTEGER),
             (c, v, e) -> c.rateLimitBurst = v, (c, e) -> c.rateLimitBurst).add()
         .append(new KeyedCodec<>("RateLimitRefill", Codec.INTEGER),
             (c, v, e) -> c.rateLimitRefill = v, (c, e) -> c.rateLimitRefill).add()
+        .append(new KeyedCodec<>("AsyncVirtualThreads", Codec.BOOLEAN),
+            (c, v, e) -> c.asyncVirtualThreads = v, (c, e) -> c.asyncVirtualThreads).add()
+        .append(new KeyedCodec<>("AsyncThreads", Codec.INTEGER),
+            (c, v, e) -> c.asyncThreads = v, (c, e) -> c.asyncThreads).add()
         
         // Storage settings
         .append(new KeyedCodec<>("StorageProvider", Codec.STRING),
             (c, v, e) -> c.storageProvider = v, (c, e) -> c.storageProvider).add()
         .append(new KeyedCodec<>("EnableBackups", Codec.BOOLEAN),
             (c, v, e) -> c.enableBackups = v, (c, e) -> c.enableBackups).add()
+        .append(new KeyedCodec<>("ArchiveAfterDays", Codec.INTEGER),
+            (c, v, e) -> c.archiveAfterDays = v, (c, e) -> c.archiveAfterDays).add()
         
         // MySQL settings (only used if StorageProvider = "mysql")
         .append(new KeyedCodec<>("MysqlHost", Codec.STRING),
@@ -66,6 +74,8 @@ public class ArefyEconomyConfig {
         // Auto-save
         .append(new KeyedCodec<>("AutoSaveInterval", Codec.INTEGER),
             (c, v, e) -> c.autoSaveInterval = v, (c, e) -> c.autoSaveInterval).add()
+        .append(new KeyedCodec<>("ShutdownFlushTimeout", Codec.INTEGER),
+            (c, v, e) -> c.shutdownFlushTimeout = v, (c, e) -> c.shutdownFlushTimeout).add()
         
         // HUD settings
         .append(new KeyedCodec<>("EnableHudDisplay", Codec.BOOLEAN),
@@ -101,14 +111,20 @@ public class ArefyEconomyConfig {
     // Transactions
     private double transferFee = 0.05; // 5% fee
     private double minimumTransaction = 1.0;
+    private int transactionBufferSize = 512; // Recent transactions kept in memory (rounded up to a power of two)
     
     // Rate limiting (token bucket)
     private int rateLimitBurst = 50;    // Max burst capacity
     private int rateLimitRefill = 10;   // Tokens per second
     
+    // Async API executor
+    private boolean asyncVirtualThreads = true; // One virtual thread per async call
+    private int asyncThreads = 4;               // Pool size when virtual threads are off
+    
     // Storage - "h2" (default), "json" (file-based), or "mysql" (shared database)
     private String storageProvider = "h2";
     private boolean enableBackups = true;
+    private int archiveAfterDays = 0; // Days without activity before an account is archived (0 = never, opt-in)
     
     // MySQL settings (only used if storageProvider = "mysql")
     private String mysqlHost = "localhost";
@@ -120,6 +136,7 @@ public class ArefyEconomyConfig {
     
     // Auto-save
     private int autoSaveInterval = 300; // 5 minutes in seconds
+    private int shutdownFlushTimeout = 10; // Seconds before unsaved data is spilled to the recovery journal
     
     // HUD
     private boolean enableHudDisplay = true;
@@ -258,6 +275,13 @@ public class ArefyEconomyConfig {
      */
     public double getMinimumTransaction() { return minimumTransaction; }
     
+    /**
+     * Get the number of recent transactions kept in memory for the dashboard.
+     * Rounded up to the next power of two. Applied on server start.
+     * @return Buffer size (default: 512)
+     */
+    public int getTransactionBufferSize() { return transactionBufferSize; }
+    
     // ========== Rate Limit Getters ==========
     
     /**
@@ -274,6 +298,20 @@ public class ArefyEconomyConfig {
      */
     public int getRateLimitRefill() { return rateLimitRefill; }
     
+    /**
+     * Check if async API calls (depositAsync, ...) run on virtual threads.
+     * Applied on server start.
+     * @return true for one virtual thread per call (default), false for a fixed pool
+     */
+    public boolean isAsyncVirtualThreads() { return asyncVirtualThreads; }
+    
+    /**
+     * Get the number of platform threads for async API calls.
+     * Only used when AsyncVirtualThreads is false. Applied on server start.
+     * @return Thread count (default: 4)
+     */
+    public int getAsyncThreads() { return asyncThreads; }
+    
     // ========== Storage Getters ==========
     
     /**
@@ -288,6 +326,13 @@ public class ArefyEconomyConfig {
      */
     public boolean isEnableBackups() { return enableBackups; }
     
+    /**
+     * Get the number of days without activity after which an account is archived.
+     * Archived accounts are not preloaded and are restored on first access.
+     * @return Days of inactivity (default: 0 = archiving disabled)
+     */
+    public int getArchiveAfterDays() { return archiveAfterDays; }
+    
     // ========== MySQL Getters ==========
     
     /** Get MySQL host address. @return Host (default: "localhost") */
@@ -317,6 +362,13 @@ public class ArefyEconomyConfig {
      */
     public int getAutoSaveInterval() { return autoSaveInterval; }
     
+    /**
+     * Get the hard deadline for saving player data on shutdown.
+     * Anything not written in time goes to the recovery journal and is replayed on next start.
+     * @return Timeout in seconds (default: 10)
+     */
+    public int getShutdownFlushTimeout() { return shutdownFlushTimeout; }
+    
     // ========== HUD Getters/Setters ==========
     
     /**
@@ -0,0 +1,106 @@
+package com.arefyeconomy.economy;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The active holds of one account.
+ *
+ * Layout:
+ * - Dense array of holds; each hold knows its slot, so removal is a swap
+ *   with the last entry (O(1)), no search
+ * - Running total of the held amount
+ *
+ * Persisted with the account as one string:
+ * "id:amount:expiresAt:reason;..." (reason URL-encoded).
+ *
+ * Not thread-safe: guarded by the owner's player lock.
+ */
+final class AccountHolds {
+
+    private Hold[] items = new Hold[2];
+    private int size = 0;
+    private double total = 0;
+
+    void add(Hold hold) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        hold.slot = size;
+        items[size++] = hold;
+        total += hold.getAmount();
+    }
+
+    /**
+     * @return false if the hold is not on this account
+     */
+    boolean remove(Hold hold) {
+        int index = hold.slot;
+        if (index < 0 || index >= size || items[index] != hold) {
+            return false;
+        }
+        Hold last = items[--size];
+        items[index] = last;
+        last.slot = index;
+        items[size] = null;
+        hold.slot = -1;
+        // Reset instead of subtracting down to rounding noise
+        total = size == 0 ? 0 : total - hold.getAmount();
+        return true;
+    }
+
+    double total() {
+        return total;
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<Hold> snapshot() {
+        List<Hold> holds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            holds.add(items[i]);
+        }
+        return holds;
+    }
+
+    String encode() {
+        StringBuilder sb = new StringBuilder();
+        Hold[] current = items;
+        for (int i = 0; i < Math.min(size, current.length); i++) {
+            Hold hold = current[i];
+            if (hold == null) continue; // Saver raced a removal; the account is dirty again
+            if (sb.length() > 0) sb.append(';');
+            sb.append(hold.getId()).append(':')
+              .append(hold.getAmount()).append(':')
+              .append(hold.getExpiresAt()).append(':')
+              .append(URLEncoder.encode(hold.getReason(), StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parse holds written by encode(). Malformed entries are skipped.
+     */
+    static AccountHolds decode(UUID playerUuid, String encoded) {
+        AccountHolds holds = new AccountHolds();
+        for (String entry : encoded.split(";")) {
+            String[] parts = entry.split(":", 4);
+            if (parts.length < 3) continue;
+            try {
+                holds.add(new Hold(Long.parseLong(parts[0]), playerUuid, Double.parseDouble(parts[1]),
+                    Long.parseLong(parts[2]),
+                    parts.length > 3 ? URLDecoder.decode(parts[3], StandardCharsets.UTF_8) : ""));
+            } catch (IllegalArgumentException ignored) {
+                // Skip damaged entry
+            }
+        }
+        return holds;
+    }
+}
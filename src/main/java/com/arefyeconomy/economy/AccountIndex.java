@@ -0,0 +1,357 @@
+package com.arefyeconomy.economy;
+
+import com.arefyeconomy.util.ArefyLogger;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compact in-memory set of every UUID that owns an economy account.
+ *
+ * Lets the economy answer "does this account exist?" without a storage
+ * round-trip (file stat for JSON, SELECT for SQL). Membership is exact,
+ * so both positive and negative answers are trustworthy for local storage.
+ *
+ * Layout:
+ * - Open addressing with linear probing over a single long[] (hi/lo pairs)
+ * - (0,0) marks an empty slot; the nil UUID is tracked by a separate flag
+ * - ~16 bytes per account at the configured load factor
+ *
+ * Concurrency:
+ * - Reads use StampedLock optimistic reads (no CAS on the hot path)
+ * - Writes take the write lock; growth swaps in a new table
+ *
+ * Persistence:
+ * - Saved to mods/ArefyEconomy/accounts.idx next to the other data files
+ * - Loaded on startup so accounts that are not preloaded are still known
+ * - Rebuildable from storage at any time if the file is missing or corrupt
+ * - Disabled when it cannot be rebuilt (storage unreadable at startup):
+ *   membership is then unknown and callers must ask storage
+ */
+public class AccountIndex {
+
+    /** Data path: mods/ArefyEconomy/ - same location as plugin config */
+    private static final Path INDEX_PATH = Path.of("mods", "ArefyEconomy", "accounts.idx");
+
+    /** File header: "AEIX" */
+    private static final int MAGIC = 0x41454958;
+    private static final int FORMAT_VERSION = 1;
+
+    /** Initial slot count (must be a power of two) */
+    private static final int INITIAL_SLOTS = 1024;
+
+    /** Grow when more than this fraction of slots is used */
+    private static final double MAX_LOAD = 0.6;
+
+    /** Largest table sized from a persisted entry count (slots, power of two) */
+    private static final int MAX_SLOTS = 1 << 29;
+
+    /** Bytes before the first entry: magic, version, count, nil flag */
+    private static final int HEADER_BYTES = 13;
+
+    /** Bytes per entry: hi/lo */
+    private static final int ENTRY_BYTES = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Interleaved hi/lo pairs: slot i lives at [2i, 2i+1]
+    private long[] table = new long[INITIAL_SLOTS * 2];
+    private int size = 0;
+    private volatile boolean containsNil = false;
+    private volatile boolean modified = false;
+    private volatile boolean enabled = true;
+
+    // ========== Membership ==========
+
+    /**
+     * Check whether an account exists for this UUID.
+     * Lock-free in the common case.
+     */
+    public boolean contains(@Nonnull UUID uuid) {
+        long hi = uuid.getMostSignificantBits();
+        long lo = uuid.getLeastSignificantBits();
+        if (hi == 0 && lo == 0) {
+            return containsNil;
+        }
+
+        long stamp = lock.tryOptimisticRead();
+        boolean found = probe(table, hi, lo) >= 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = probe(table, hi, lo) >= 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Record that an account exists for this UUID.
+     *
+     * @return true if the UUID was not known before
+     */
+    public boolean add(@Nonnull UUID uuid) {
+        if (contains(uuid)) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            boolean added = insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (added) {
+                modified = true;
+            }
+            return added;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Add many UUIDs at once (single lock acquisition).
+     */
+    public void addAll(@Nonnull Collection<UUID> uuids) {
+        long stamp = lock.writeLock();
+        try {
+            for (UUID uuid : uuids) {
+                if (insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())) {
+                    modified = true;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replace the whole index with the given UUIDs.
+     * Used when the persisted index is missing or unreadable.
+     */
+    public void rebuild(@Nonnull Collection<UUID> uuids) {
+        long stamp = lock.writeLock();
+        try {
+            table = new long[slotsFor(uuids.size()) * 2];
+            size = 0;
+            containsNil = false;
+            for (UUID uuid : uuids) {
+                insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            }
+            modified = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stop trusting the index: it could not be built from a complete
+     * account list. Nothing is saved until the next startup rebuilds it.
+     */
+    public void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Check if membership answers are complete (negatives are trustworthy).
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Number of known accounts.
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size + (containsNil ? 1 : 0);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ========== Persistence ==========
+
+    /**
+     * Load the persisted index from disk.
+     *
+     * @return true if a valid index was loaded, false if it must be rebuilt
+     */
+    public boolean load() {
+        if (!Files.exists(INDEX_PATH)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(INDEX_PATH)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                ArefyLogger.warn("Account index has unknown format, rebuilding");
+                return false;
+            }
+            int count = in.readInt();
+            // A corrupt count must not size the table (or spin in slotsFor)
+            long expectedBytes = HEADER_BYTES + (long) count * ENTRY_BYTES;
+            if (count < 0 || count > MAX_SLOTS * MAX_LOAD || expectedBytes != Files.size(INDEX_PATH)) {
+                ArefyLogger.warn("Account index entry count " + count + " does not match the file, rebuilding");
+                return false;
+            }
+            boolean nil = in.readBoolean();
+            long[] newTable = new long[slotsFor(count) * 2];
+
+            long stamp = lock.writeLock();
+            try {
+                table = newTable;
+                size = 0;
+                containsNil = nil;
+                for (int i = 0; i < count; i++) {
+                    insert(in.readLong(), in.readLong());
+                }
+                modified = false;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            ArefyLogger.debug("Loaded account index with %d entries", count);
+            return true;
+        } catch (IOException e) {
+            ArefyLogger.warn("Failed to read account index, rebuilding: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Persist the index if it changed since the last save.
+     * Atomic write via temp file + rename.
+     */
+    public void saveIfModified() {
+        if (!modified || !enabled) {
+            return;
+        }
+
+        long[] snapshot;
+        int count;
+        boolean nil;
+        long stamp = lock.readLock();
+        try {
+            snapshot = table.clone();
+            count = size;
+            nil = containsNil;
+            modified = false;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        Path tempFile = INDEX_PATH.resolveSibling(INDEX_PATH.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(INDEX_PATH.getParent());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(count);
+                out.writeBoolean(nil);
+                for (int i = 0; i < snapshot.length; i += 2) {
+                    if (snapshot[i] != 0 || snapshot[i + 1] != 0) {
+                        out.writeLong(snapshot[i]);
+                        out.writeLong(snapshot[i + 1]);
+                    }
+                }
+            }
+            Files.move(tempFile, INDEX_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            ArefyLogger.debug("Saved account index (%d entries)", count);
+        } catch (IOException e) {
+            modified = true; // Retry on next save
+            ArefyLogger.warn("Failed to save account index: " + e.getMessage());
+        }
+    }
+
+    // ========== Internal ==========
+
+    /**
+     * Find the slot holding (hi, lo), or -1 if absent.
+     * Safe to run against a table that is concurrently replaced.
+     */
+    private static int probe(long[] tab, long hi, long lo) {
+        int mask = (tab.length >> 1) - 1;
+        int slot = hash(hi, lo) & mask;
+        for (int i = 0; i <= mask; i++) {
+            long h = tab[slot << 1];
+            long l = tab[(slot << 1) + 1];
+            if (h == hi && l == lo) {
+                return slot;
+            }
+            if (h == 0 && l == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Insert under the write lock. Grows the table when needed.
+     */
+    private boolean insert(long hi, long lo) {
+        if (hi == 0 && lo == 0) {
+            boolean added = !containsNil;
+            containsNil = true;
+            return added;
+        }
+        if (probe(table, hi, lo) >= 0) {
+            return false;
+        }
+        if (size + 1 > (table.length >> 1) * MAX_LOAD) {
+            grow();
+        }
+        put(table, hi, lo);
+        size++;
+        return true;
+    }
+
+    private void grow() {
+        long[] old = table;
+        long[] bigger = new long[old.length * 2];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0 || old[i + 1] != 0) {
+                put(bigger, old[i], old[i + 1]);
+            }
+        }
+        table = bigger;
+    }
+
+    private static void put(long[] tab, long hi, long lo) {
+        int mask = (tab.length >> 1) - 1;
+        int slot = hash(hi, lo) & mask;
+        while (tab[slot << 1] != 0 || tab[(slot << 1) + 1] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        // Write lo first so a concurrent optimistic reader never sees a
+        // half-written slot that looks like a different, valid UUID
+        tab[(slot << 1) + 1] = lo;
+        tab[slot << 1] = hi;
+    }
+
+    private static int slotsFor(int count) {
+        int slots = INITIAL_SLOTS;
+        while (count > slots * MAX_LOAD && slots < MAX_SLOTS) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return (int) h;
+    }
+}
@@ -0,0 +1,23 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * A player's balance at a point in time, written periodically next to the
+ * transaction log so past balances can be rebuilt from a short log tail.
+ *
+ * Taken under the player's lock: every transaction logged before the
+ * checkpoint is reflected in the balance, none logged after it is.
+ *
+ * Transactions logged in the same millisecond as the checkpoint are
+ * ordered by loggedAtTime: the first loggedAtTime of them are already in
+ * the balance, the rest happened after it.
+ *
+ * @param player Account owner
+ * @param timeMillis When the balance was read (epoch ms)
+ * @param balance Balance at that time
+ * @param loggedAtTime Number of the player's transactions logged at timeMillis
+ *                     before the checkpoint, or -1 if unknown (older checkpoints)
+ */
+public record BalanceCheckpoint(@Nonnull UUID player, long timeMillis, double balance, int loggedAtTime) {}
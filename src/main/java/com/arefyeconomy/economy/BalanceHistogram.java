@@ -0,0 +1,163 @@
+package com.arefyeconomy.economy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-bucketed histogram of account balances, updated on every change.
+ *
+ * Bucket layout (HdrHistogram-style, no logarithms on the hot path):
+ * - Bucket 0: balances below 1 (including zero and negatives)
+ * - Then SUB_BUCKETS linear buckets per power of two, taken from the
+ *   exponent and the top mantissa bits of the double
+ * - Relative bucket width is at most 1 / SUB_BUCKETS (25%)
+ *
+ * Each bucket keeps a count and the exact (fixed-point) sum of its balances,
+ * so the Gini coefficient uses true bucket means and percentiles interpolate
+ * inside a bucket. Reads walk the ~200 buckets: O(1) in the number of accounts.
+ */
+public class BalanceHistogram {
+
+    /** Linear sub-buckets per power of two (must be a power of two) */
+    private static final int SUB_BUCKETS = 4;
+    private static final int SUB_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    /** Balances from 2^MAX_EXPONENT up share the last bucket */
+    private static final int MAX_EXPONENT = 50;
+
+    private static final int BUCKETS = 1 + MAX_EXPONENT * SUB_BUCKETS + 1;
+
+    /** Fixed-point scale for bucket sums (cents) */
+    private static final double SCALE = 100.0;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray sums = new AtomicLongArray(BUCKETS);
+
+    // ========== Updates ==========
+
+    public void add(double balance) {
+        int bucket = bucketOf(balance);
+        counts.incrementAndGet(bucket);
+        sums.addAndGet(bucket, toUnits(balance));
+    }
+
+    public void remove(double balance) {
+        int bucket = bucketOf(balance);
+        counts.decrementAndGet(bucket);
+        sums.addAndGet(bucket, -toUnits(balance));
+    }
+
+    /**
+     * Move an account from its old balance to its new one.
+     */
+    public void move(double oldBalance, double newBalance) {
+        int from = bucketOf(oldBalance);
+        int to = bucketOf(newBalance);
+        if (from != to) {
+            counts.decrementAndGet(from);
+            counts.incrementAndGet(to);
+        }
+        sums.addAndGet(from, -toUnits(oldBalance));
+        sums.addAndGet(to, toUnits(newBalance));
+    }
+
+    // ========== Metrics ==========
+
+    /**
+     * Balance at the given percentile (0-100), interpolated inside its bucket.
+     */
+    public double percentile(double percentile) {
+        long[] snapshot = snapshotCounts();
+        long total = 0;
+        for (long c : snapshot) total += c;
+        if (total == 0) {
+            return 0;
+        }
+
+        double rank = Math.max(0, Math.min(100, percentile)) / 100.0 * total;
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = snapshot[i];
+            if (count <= 0) continue;
+            if (cumulative + count >= rank) {
+                double fraction = (rank - cumulative) / count;
+                double lower = lowerBound(i);
+                return lower + (upperBound(i) - lower) * fraction;
+            }
+            cumulative += count;
+        }
+        return lowerBound(BUCKETS - 1);
+    }
+
+    /**
+     * Gini coefficient (0 = perfect equality, 1 = one account holds everything),
+     * from the Lorenz curve over the buckets. Inequality inside a bucket is
+     * ignored, so the result is a slight underestimate.
+     */
+    public double gini() {
+        long totalCount = 0;
+        long totalSum = 0;
+        long[] countSnapshot = snapshotCounts();
+        long[] sumSnapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            sumSnapshot[i] = sums.get(i);
+            if (countSnapshot[i] > 0) {
+                totalCount += countSnapshot[i];
+                totalSum += sumSnapshot[i];
+            }
+        }
+        if (totalCount == 0 || totalSum <= 0) {
+            return 0;
+        }
+
+        double area = 0;          // Area under the Lorenz curve (times 2)
+        double previousShare = 0;
+        long cumulativeSum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (countSnapshot[i] <= 0) continue;
+            cumulativeSum += sumSnapshot[i];
+            double share = (double) cumulativeSum / totalSum;
+            area += (double) countSnapshot[i] / totalCount * (previousShare + share);
+            previousShare = share;
+        }
+        return Math.max(0, Math.min(1, 1 - area));
+    }
+
+    // ========== Buckets ==========
+
+    static int bucketOf(double balance) {
+        if (!(balance >= 1)) {
+            return 0; // Below 1, negative or NaN
+        }
+        int exponent = Math.getExponent(balance);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (Double.doubleToRawLongBits(balance) >>> (52 - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return 1 + exponent * SUB_BUCKETS + sub;
+    }
+
+    private static double lowerBound(int bucket) {
+        if (bucket == 0) return 0;
+        int exponent = (bucket - 1) / SUB_BUCKETS;
+        int sub = (bucket - 1) % SUB_BUCKETS;
+        return Math.scalb(1.0 + (double) sub / SUB_BUCKETS, exponent);
+    }
+
+    private static double upperBound(int bucket) {
+        if (bucket == 0) return 1;
+        if (bucket == BUCKETS - 1) return lowerBound(bucket);
+        return lowerBound(bucket + 1);
+    }
+
+    private long[] snapshotCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    private static long toUnits(double amount) {
+        return Math.round(amount * SCALE);
+    }
+}
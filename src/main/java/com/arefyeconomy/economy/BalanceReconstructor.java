@@ -0,0 +1,103 @@
+package com.arefyeconomy.economy;
+
+import com.arefyeconomy.Main;
+import com.arefyeconomy.storage.TransactionSink;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Rebuilds a player's balance at a past point in time.
+ *
+ * 1. Load the newest checkpoint at or before the requested time (indexed)
+ * 2. Load the player's transactions from the checkpoint's millisecond to the
+ *    requested time (indexed); those in the checkpoint's millisecond that
+ *    the checkpoint already contains (BalanceCheckpoint.loggedAtTime) are skipped
+ * 3. Replay them: GIVE/EARN add, TAKE/SPEND subtract, SET/RESET overwrite
+ *    (clamped at 0 like setBalance), PAY subtracts amount + the fee stored
+ *    with the entry from the sender and adds amount to the receiver
+ *
+ * The replayed tail is bounded by the checkpoint interval, so the cost does
+ * not depend on the size of the log. Without a checkpoint the replay starts
+ * from the starting balance at the beginning of the log (not exact if the
+ * log was pruned). Transfers logged before fees were stored fall back to the
+ * current TransferFee setting.
+ */
+public final class BalanceReconstructor {
+
+    /**
+     * A reconstructed balance.
+     *
+     * @param player Account owner
+     * @param atMillis Requested time (epoch ms)
+     * @param balance Balance at that time
+     * @param checkpointMillis Time of the checkpoint used, or -1 if none was found
+     * @param replayed Number of transactions replayed on top of the checkpoint
+     */
+    public record Result(UUID player, long atMillis, double balance, long checkpointMillis, int replayed) {
+
+        public boolean fromCheckpoint() {
+            return checkpointMillis >= 0;
+        }
+    }
+
+    private BalanceReconstructor() {}
+
+    /**
+     * Reconstruct a balance. Both queries run on the sink's reader thread.
+     */
+    @Nonnull
+    public static CompletableFuture<Result> reconstruct(@Nonnull TransactionSink sink, @Nonnull UUID player, long atMillis) {
+        double startingBalance = Main.CONFIG.get().getStartingBalance();
+        double feeRate = Main.CONFIG.get().getTransferFee();
+        return sink.latestCheckpoint(player, atMillis).thenCompose(checkpoint -> {
+            long from = checkpoint != null ? checkpoint.timeMillis() : Long.MIN_VALUE;
+            double start = checkpoint != null ? checkpoint.balance() : startingBalance;
+            return sink.queryPlayerRange(player, from, atMillis).thenApply(range -> {
+                List<TransactionEntry> tail = checkpoint != null ? after(checkpoint, range) : range;
+                return new Result(player, atMillis, replay(player, start, tail, feeRate),
+                    checkpoint != null ? checkpoint.timeMillis() : -1, tail.size());
+            });
+        });
+    }
+
+    /**
+     * Drop the entries of the checkpoint's millisecond that it already contains.
+     * Older checkpoints do not know how many: all of that millisecond is skipped.
+     */
+    static List<TransactionEntry> after(BalanceCheckpoint checkpoint, List<TransactionEntry> range) {
+        int skip = 0;
+        int contained = checkpoint.loggedAtTime();
+        while (skip < range.size() && range.get(skip).timestampMillis() == checkpoint.timeMillis()
+                && (contained < 0 || skip < contained)) {
+            skip++;
+        }
+        return range.subList(skip, range.size());
+    }
+
+    /**
+     * Apply a player's transactions (oldest first) to a starting balance.
+     *
+     * @param feeRate Fee rate for transfers logged without their fee
+     */
+    static double replay(@Nonnull UUID player, double balance, @Nonnull List<TransactionEntry> entries, double feeRate) {
+        for (TransactionEntry entry : entries) {
+            double amount = entry.amount();
+            switch (entry.type()) {
+                case GIVE, EARN -> balance += amount;
+                case TAKE, SPEND -> balance -= amount;
+                case SET, RESET -> balance = Math.max(0, amount);
+                case PAY -> {
+                    if (player.equals(entry.sourcePlayer())) {
+                        balance -= amount + (entry.hasFee() ? entry.fee() : amount * feeRate);
+                    } else {
+                        balance += amount;
+                    }
+                }
+            }
+        }
+        return balance;
+    }
+}
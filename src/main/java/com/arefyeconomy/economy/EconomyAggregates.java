@@ -0,0 +1,133 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Economy-wide totals maintained incrementally by EconomyManager.
+ *
+ * Covers every account: those in the hot cache and the summaries of
+ * archived ones. Every balance mutation and every cache insert/evict applies
+ * its delta here, so reads are O(1) instead of a scan over all balances.
+ *
+ * Design:
+ * - LongAdder cells: striped per CPU, so concurrent updates from different
+ *   player locks never contend on one counter
+ * - Money is summed in fixed point (1/SCALE units). Each account contributes
+ *   round(value * SCALE), and deltas are taken between rounded values, so
+ *   adding and removing the same account always cancels exactly (no
+ *   floating-point drift over millions of updates)
+ * - Reads are not atomic across cells; a snapshot taken during concurrent
+ *   updates may mix before/after values of an in-flight change
+ *
+ * Accounts must only be mutated through EconomyManager, which captures the
+ * old values under the player lock and reports them via update().
+ */
+public class EconomyAggregates {
+
+    /** Fixed-point scale (4 decimal places) */
+    private static final double SCALE = 10_000.0;
+
+    private final LongAdder circulating = new LongAdder();
+    private final LongAdder earned = new LongAdder();
+    private final LongAdder spent = new LongAdder();
+    private final LongAdder accounts = new LongAdder();
+    private final LongAdder nonZeroAccounts = new LongAdder();
+
+    /**
+     * Point-in-time view of the aggregates.
+     *
+     * @param totalCirculating Sum of all balances
+     * @param accounts Number of accounts
+     * @param nonZeroAccounts Number of accounts with a balance other than zero
+     * @param totalEarned Sum of lifetime earnings
+     * @param totalSpent Sum of lifetime spending
+     */
+    public record Snapshot(double totalCirculating, long accounts, long nonZeroAccounts,
+                           double totalEarned, double totalSpent) {
+
+        public double averageBalance() {
+            return accounts > 0 ? totalCirculating / accounts : 0;
+        }
+    }
+
+    // ========== Updates ==========
+
+    /**
+     * An account entered the cache (or its archive summary was loaded).
+     */
+    public void add(@Nonnull PlayerBalance balance) {
+        circulating.add(toUnits(balance.getBalance()));
+        earned.add(toUnits(balance.getTotalEarned()));
+        spent.add(toUnits(balance.getTotalSpent()));
+        accounts.increment();
+        if (balance.getBalance() != 0) {
+            nonZeroAccounts.increment();
+        }
+    }
+
+    /**
+     * An account was dropped (summary replaced by the restored account, or a cached copy replaced).
+     */
+    public void remove(@Nonnull PlayerBalance balance) {
+        circulating.add(-toUnits(balance.getBalance()));
+        earned.add(-toUnits(balance.getTotalEarned()));
+        spent.add(-toUnits(balance.getTotalSpent()));
+        accounts.decrement();
+        if (balance.getBalance() != 0) {
+            nonZeroAccounts.decrement();
+        }
+    }
+
+    /**
+     * A cached account was mutated.
+     *
+     * @param oldBalance Balance before the mutation
+     * @param oldEarned Lifetime earnings before the mutation
+     * @param oldSpent Lifetime spending before the mutation
+     * @param current The account after the mutation
+     */
+    public void update(double oldBalance, double oldEarned, double oldSpent, @Nonnull PlayerBalance current) {
+        double newBalance = current.getBalance();
+        circulating.add(toUnits(newBalance) - toUnits(oldBalance));
+        earned.add(toUnits(current.getTotalEarned()) - toUnits(oldEarned));
+        spent.add(toUnits(current.getTotalSpent()) - toUnits(oldSpent));
+        if (oldBalance == 0 && newBalance != 0) {
+            nonZeroAccounts.increment();
+        } else if (oldBalance != 0 && newBalance == 0) {
+            nonZeroAccounts.decrement();
+        }
+    }
+
+    // ========== Reads (O(1)) ==========
+
+    public double getTotalCirculating() {
+        return circulating.sum() / SCALE;
+    }
+
+    public long getAccountCount() {
+        return accounts.sum();
+    }
+
+    public long getNonZeroAccountCount() {
+        return nonZeroAccounts.sum();
+    }
+
+    public double getTotalEarned() {
+        return earned.sum() / SCALE;
+    }
+
+    public double getTotalSpent() {
+        return spent.sum() / SCALE;
+    }
+
+    @Nonnull
+    public Snapshot snapshot() {
+        return new Snapshot(getTotalCirculating(), getAccountCount(), getNonZeroAccountCount(),
+            getTotalEarned(), getTotalSpent());
+    }
+
+    private static long toUnits(double amount) {
+        return Math.round(amount * SCALE);
+    }
+}
@@ -0,0 +1,171 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Continuously maintained economy health metrics.
+ *
+ * Inputs (both incremental, nothing is ever rescanned):
+ * - Balance changes from EconomyManager -> BalanceHistogram
+ *   (Gini coefficient, median / P90 / P99)
+ * - The transaction stream from TransactionLogger -> sliding 24h window
+ *   (money velocity, daily active traders and earners)
+ *
+ * Sliding window:
+ * - Volume is kept in SLOTS time slots of SLOT_MS each; a slot is reset
+ *   when it is reused for a new period, so old volume ages out on its own
+ * - Active players keep their last activity time; counts are refreshed at
+ *   most every ACTIVE_REFRESH_MS, which also evicts players that aged out
+ *
+ * Metrics are approximate by design (bucketed balances, slot granularity).
+ */
+public class EconomyAnalytics {
+
+    /** Window for velocity and active players (24 hours) */
+    private static final long WINDOW_MS = 24L * 60 * 60 * 1000;
+
+    /** Volume slot size (15 minutes) */
+    private static final long SLOT_MS = 15L * 60 * 1000;
+    private static final int SLOTS = (int) (WINDOW_MS / SLOT_MS);
+
+    /** Minimum time between active-player recounts */
+    private static final long ACTIVE_REFRESH_MS = 60_000;
+
+    /** Fixed-point scale for volume (cents) */
+    private static final double SCALE = 100.0;
+
+    /**
+     * Snapshot of the health metrics.
+     *
+     * @param gini Gini coefficient of balances (0 = equal, 1 = concentrated)
+     * @param median Median balance
+     * @param p90 90th percentile balance
+     * @param p99 99th percentile balance
+     * @param volume24h Money moved by payments and spending in the last 24h
+     * @param velocity24h volume24h divided by the money in circulation
+     * @param activeTraders24h Players who paid, were paid or spent in the last 24h
+     * @param activeEarners24h Players who earned in the last 24h
+     */
+    public record Metrics(double gini, double median, double p90, double p99,
+                          double volume24h, double velocity24h,
+                          int activeTraders24h, int activeEarners24h) {}
+
+    private final EconomyAggregates aggregates;
+    private final BalanceHistogram histogram = new BalanceHistogram();
+
+    private final AtomicLongArray slotPeriod = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray slotVolume = new AtomicLongArray(SLOTS);
+
+    private final ConcurrentHashMap<UUID, Long> lastTrade = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Long> lastEarn = new ConcurrentHashMap<>();
+    private volatile long lastActiveRefresh = 0;
+    private volatile int activeTraders = 0;
+    private volatile int activeEarners = 0;
+
+    public EconomyAnalytics(@Nonnull EconomyAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    // ========== Balance Changes ==========
+
+    /**
+     * Get the balance histogram (updated by EconomyManager).
+     */
+    public BalanceHistogram getHistogram() {
+        return histogram;
+    }
+
+    // ========== Transaction Stream ==========
+
+    /**
+     * Consume one logged transaction. Called on the logging thread; cheap.
+     */
+    public void onTransaction(@Nonnull TransactionEntry entry) {
+        long now = entry.timestampMillis();
+        switch (entry.type()) {
+            case PAY -> {
+                addVolume(now, entry.amount());
+                markActive(lastTrade, entry.sourcePlayer(), now);
+                markActive(lastTrade, entry.targetPlayer(), now);
+            }
+            case SPEND -> {
+                addVolume(now, entry.amount());
+                markActive(lastTrade, entry.sourcePlayer(), now);
+            }
+            case EARN -> markActive(lastEarn, entry.sourcePlayer(), now);
+            default -> {
+                // Admin actions are not economic activity
+            }
+        }
+    }
+
+    private void addVolume(long now, double amount) {
+        long period = now / SLOT_MS;
+        int slot = (int) (period % SLOTS);
+        long current = slotPeriod.get(slot);
+        if (current < period && slotPeriod.compareAndSet(slot, current, period)) {
+            slotVolume.set(slot, 0); // Reused for a new period: drop the volume from a day ago
+        }
+        slotVolume.addAndGet(slot, Math.round(amount * SCALE));
+    }
+
+    private static void markActive(Map<UUID, Long> lastSeen, UUID player, long now) {
+        if (player != null) {
+            lastSeen.put(player, now);
+        }
+    }
+
+    // ========== Metrics ==========
+
+    /**
+     * Money moved in the last 24 hours.
+     */
+    public double getVolume24h() {
+        long oldestPeriod = System.currentTimeMillis() / SLOT_MS - SLOTS + 1;
+        long total = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            if (slotPeriod.get(i) >= oldestPeriod) {
+                total += slotVolume.get(i);
+            }
+        }
+        return total / SCALE;
+    }
+
+    @Nonnull
+    public Metrics snapshot() {
+        refreshActiveCounts();
+        double volume = getVolume24h();
+        double circulating = aggregates.getTotalCirculating();
+        return new Metrics(
+            histogram.gini(),
+            histogram.percentile(50),
+            histogram.percentile(90),
+            histogram.percentile(99),
+            volume,
+            circulating > 0 ? volume / circulating : 0,
+            activeTraders,
+            activeEarners
+        );
+    }
+
+    /**
+     * Recount active players (at most every ACTIVE_REFRESH_MS), dropping
+     * anyone whose last activity left the window.
+     */
+    private void refreshActiveCounts() {
+        long now = System.currentTimeMillis();
+        if (now - lastActiveRefresh < ACTIVE_REFRESH_MS) {
+            return;
+        }
+        lastActiveRefresh = now;
+        long cutoff = now - WINDOW_MS;
+        lastTrade.values().removeIf(time -> time < cutoff);
+        lastEarn.values().removeIf(time -> time < cutoff);
+        activeTraders = lastTrade.size();
+        activeEarners = lastEarn.size();
+    }
+}
@@ -1,26 +1,35 @@
 package com.arefyeconomy.economy;
 
 import com.arefyeconomy.Main;
+import com.arefyeconomy.api.events.AccountSubscriptions;
+import com.arefyeconomy.api.events.BalanceBatchEvent;
 import com.arefyeconomy.api.events.BalanceChangeEvent;
-import com.arefyeconomy.api.events.ArefyEconomyEvents;
 import com.arefyeconomy.api.events.TransactionEvent;
 import com.arefyeconomy.storage.H2StorageProvider;
 import com.arefyeconomy.storage.JsonStorageProvider;
 import com.arefyeconomy.storage.MySQLStorageProvider;
 import com.arefyeconomy.storage.StorageProvider;
-import com.arefyeconomy.systems.BalanceHudSystem;
+import com.arefyeconomy.storage.TransactionSink;
+import com.arefyeconomy.util.ArefyLogger;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.universe.Universe;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -36,8 +45,24 @@ import java.util.stream.Collectors;
  * 
  * Performance optimizations:
  * - PERF-01: Bulk preload on startup
- * - PERF-02: Leaderboard cache with rate-limit
+ * - PERF-02: Leaderboard served from the rank index
  * - PERF-03: Lock eviction for offline players
+ * - PERF-05: In-memory account index for existence checks (+ short-lived misses for shared storage)
+ * - PERF-06: Name directory with batched write-through
+ * - PERF-07: Rank index + name prefix search
+ * - PERF-08: Dormant accounts archived out of the hot cache
+ * - PERF-09: Dirty-only, parallel, time-bounded shutdown flush
+ * - PERF-10: Per-player transaction history index
+ * - PERF-11: Batched transaction log sink for every storage provider
+ * - PERF-12: Incrementally maintained economy aggregates
+ * - PERF-13: Streaming wealth-distribution analytics
+ * - PERF-14: Periodic balance checkpoints for point-in-time reconstruction
+ * - PERF-15: Per-account balance subscriptions (HUDs/pages refresh only on their accounts)
+ * - PERF-16: Batched deposits/withdrawals (one lock pass, one event, one log batch)
+ * - PERF-17: Atomic multi-party transfers (one sorted lock pass for all legs)
+ * - PERF-18: Durability acknowledgements by flush epoch (group commit, no synchronous saves)
+ * - PERF-19: Versioned reads + conditional writes (optimistic concurrency, no external locks)
+ * - PERF-20: Holds (earmarked funds) with O(1) capture/release and timer-wheel expiry
  */
 public class EconomyManager {
     
@@ -50,24 +75,51 @@ public class EconomyManager {
     // Tracks which players have unsaved changes
     private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
     
+    // Durability acknowledgements, completed as auto-save flushes commit
+    private final FlushEpochs flushEpochs = new FlushEpochs();
+    
+    // Wakes the auto-save thread early when someone waits for durability
+    private final Object flushSignal = new Object();
+    
+    // Every UUID that owns an account (cached or not)
+    private final AccountIndex accountIndex = new AccountIndex();
+    
+    // UUID -> time until which storage is not asked again (confirmed missing)
+    private final ConcurrentHashMap<UUID, Long> missingAccounts = new ConcurrentHashMap<>();
+    
+    /** Time a storage miss is remembered (another server may create the account) */
+    private static final long MISSING_ACCOUNT_TTL_MS = 30 * 1000;
+    
+    // UUID <-> player name for all known players
+    private final NameDirectory nameDirectory = new NameDirectory();
+    
+    // Economy-wide totals over the cached and archived accounts
+    private final EconomyAggregates aggregates = new EconomyAggregates();
+    
+    // Wealth distribution and activity metrics, fed by the transaction stream
+    private final EconomyAnalytics analytics = new EconomyAnalytics(aggregates);
+    private final Consumer<TransactionEntry> analyticsListener = analytics::onTransaction;
+    
     // Storage backend (H2 or JSON based on config)
     private final StorageProvider storage;
     
     // Transaction logger for activity monitoring
     private final TransactionLogger transactionLogger = TransactionLogger.getInstance();
     
-    // Leaderboard cache
-    private volatile List<Map.Entry<UUID, PlayerBalance>> cachedLeaderboard;
-    private volatile long lastLeaderboardRebuild = 0;
+    // Summaries of archived accounts (no holds): kept in totals, ranks and search
+    private final ConcurrentHashMap<UUID, PlayerBalance> archived = new ConcurrentHashMap<>();
     
-    /** Time in milliseconds to cache leaderboard data before rebuilding */
-    private static final long LEADERBOARD_CACHE_MS = 2000;
+    // Rank index (leaderboards) + name search
+    private final PlayerSearchIndex searchIndex = new PlayerSearchIndex(cache, archived, nameDirectory);
     
-    /** Maximum number of entries to cache in the leaderboard for performance */
-    private static final int MAX_LEADERBOARD_CACHE_SIZE = 100;
+    // Spill file for balances that missed the shutdown deadline
+    private final RecoveryJournal recoveryJournal = new RecoveryJournal();
     
-    /** Number of characters to show when displaying truncated UUIDs */
-    private static final int UUID_PREVIEW_LENGTH = 8;
+    // Active holds by id, with expiry timers
+    private final HoldRegistry holdRegistry = new HoldRegistry();
+    
+    // Accounts evicted for archiving whose storage move has not finished yet
+    private final ConcurrentHashMap<UUID, PlayerBalance> archiving = new ConcurrentHashMap<>();
     
     // Lock eviction timing
     private volatile long lastLockCleanup = System.currentTimeMillis();
@@ -75,9 +127,47 @@ public class EconomyManager {
     /** Time in milliseconds between lock cleanup cycles (30 minutes) */
     private static final long LOCK_CLEANUP_INTERVAL_MS = 30 * 60 * 1000;
     
+    // Archive sweep timing
+    private volatile long lastArchiveSweep = 0;
+    
+    /** Time in milliseconds between dormant-account sweeps (1 hour) */
+    private static final long ARCHIVE_SWEEP_INTERVAL_MS = 60 * 60 * 1000;
+    
+    /** Maximum number of accounts archived per sweep */
+    private static final int ARCHIVE_BATCH_LIMIT = 5000;
+    
+    /** Accounts per chunk in the shutdown flush */
+    private static final int FLUSH_CHUNK_SIZE = 500;
+    
+    /** Time interrupted flush lanes get to leave their current chunk after the deadline */
+    private static final long FLUSH_LANE_EXIT_TIMEOUT_MS = 30 * 1000;
+    
+    // Last balance checkpoint per account
+    private final ConcurrentHashMap<UUID, Long> lastCheckpoint = new ConcurrentHashMap<>();
+    
+    /** Minimum time between balance checkpoints of one account (30 minutes) */
+    private static final long CHECKPOINT_INTERVAL_MS = 30 * 60 * 1000;
+    
+    /** Delay before an early flush for durability waiters (gathers waiters into one flush) */
+    private static final long DURABLE_FLUSH_DELAY_MS = 1000;
+    
+    /** Time allowed for the transaction log to write its queue on shutdown */
+    private static final long TRANSACTION_SINK_CLOSE_TIMEOUT_MS = 3000;
+    
+    /** Time between hold expiry checks (timer wheel resolution) */
+    private static final long HOLD_EXPIRY_INTERVAL_MS = 1000;
+    
     // Auto-save thread
     private volatile boolean running = true;
     private final Thread saveThread;
+    
+    // Expires holds (PERF-20)
+    private final java.util.concurrent.ScheduledExecutorService holdExpiry =
+        java.util.concurrent.Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ArefyEconomy-HoldExpiry");
+            t.setDaemon(true);
+            return t;
+        });
     private final HytaleLogger logger;
     
     public EconomyManager(@Nonnull Object plugin) {
@@ -96,22 +186,29 @@ public class EconomyManager {
             }
             default -> {
                 // H2 is default for reliability and transaction logging
-                H2StorageProvider h2 = new H2StorageProvider();
-                this.storage = h2;
-                // Connect TransactionLogger to H2 for persistent logging
-                transactionLogger.setH2Storage(h2);
+                this.storage = new H2StorageProvider();
                 logger.at(Level.INFO).log("Using H2 storage provider");
             }
         }
         storage.initialize().join();
         
+        // Connect TransactionLogger to the provider's sink for persistent logging
+        transactionLogger.setSink(storage.getTransactionSink());
+        transactionLogger.addListener(analyticsListener);
+        
         // PERF-01: Bulk preload all player data on startup
         bulkPreload();
         
+        // Recover balances that missed the last shutdown deadline
+        replayRecoveryJournal();
+        loadPlayerNames();
+        
         // Start auto-save thread
         this.saveThread = new Thread(this::autoSaveLoop, "ArefyEconomy-AutoSave");
         this.saveThread.setDaemon(true);
         this.saveThread.start();
+        holdExpiry.scheduleWithFixedDelay(this::expireHolds,
+            HOLD_EXPIRY_INTERVAL_MS, HOLD_EXPIRY_INTERVAL_MS, java.util.concurrent.TimeUnit.MILLISECONDS);
         
         logger.at(Level.INFO).log("EconomyManager initialized with %s (%d players preloaded)", 
             storage.getName(), cache.size());
@@ -137,7 +234,9 @@ public class EconomyManager {
         cache.computeIfAbsent(playerUuid, uuid -> {
             // Load from storage or create new
             PlayerBalance balance = storage.loadPlayer(uuid).join();
-            dirtyPlayers.add(uuid); // Mark as dirty to ensure it's saved
+            markChanged(uuid); // Mark as dirty to ensure it's saved
+            accountIndex.add(uuid);
+            trackAdded(balance);
             return balance;
         });
     }
@@ -146,24 +245,122 @@ public class EconomyManager {
      * Get an account, loading from storage if not in cache.
      */
     private PlayerBalance getOrLoadAccount(@Nonnull UUID playerUuid) {
-        return cache.computeIfAbsent(playerUuid, uuid -> 
-            storage.loadPlayer(uuid).join()
-        );
+        return cache.computeIfAbsent(playerUuid, uuid -> {
+            // Accessed again while being archived: keep the in-memory copy
+            // and save it back as an active account
+            PlayerBalance inFlight = archiving.get(uuid);
+            if (inFlight != null) {
+                dirtyPlayers.add(uuid);
+                unarchive(uuid);
+                searchIndex.invalidate();
+                trackAdded(inFlight);
+                return inFlight;
+            }
+            PlayerBalance balance = storage.loadPlayer(uuid).join();
+            accountIndex.add(uuid);
+            unarchive(uuid);
+            searchIndex.invalidate();
+            trackAdded(balance);
+            return balance;
+        });
+    }
+    
+    /**
+     * An archived account is back in the cache: drop its summary.
+     */
+    private void unarchive(UUID playerUuid) {
+        PlayerBalance summary = archived.remove(playerUuid);
+        if (summary != null) {
+            trackRemoved(summary);
+        }
+    }
+    
+    /**
+     * Get an existing account without creating one.
+     * Archived accounts are restored from storage on first access.
+     * 
+     * @return the account, or null if the player has none
+     */
+    private PlayerBalance getAccount(@Nonnull UUID playerUuid) {
+        PlayerBalance balance = cache.get(playerUuid);
+        if (balance != null) {
+            return balance;
+        }
+        // Without a complete index only storage knows whether the account exists
+        boolean exists = accountIndex.isEnabled()
+            ? accountIndex.contains(playerUuid)
+            : playerExists(playerUuid).join();
+        return exists ? getOrLoadAccount(playerUuid) : null;
+    }
+    
+    /**
+     * Check if a player has an economy account.
+     * Answered from memory while the account index is complete. When the
+     * index is disabled (it could not be built at startup) a negative is
+     * only known to storage, which is then asked. On shared storage an
+     * account created by another server may be missed; use playerExists().
+     */
+    public boolean hasAccount(@Nonnull UUID playerUuid) {
+        if (isKnownAccount(playerUuid)) {
+            return true;
+        }
+        return !accountIndex.isEnabled() && playerExists(playerUuid).join();
+    }
+    
+    /**
+     * Positive-only shortcut: true if memory proves the account exists.
+     */
+    private boolean isKnownAccount(@Nonnull UUID playerUuid) {
+        return cache.containsKey(playerUuid)
+            || (accountIndex.isEnabled() && accountIndex.contains(playerUuid));
+    }
+    
+    /**
+     * Check if a player has an economy account.
+     * Negatives are answered from the account index without I/O, except for
+     * shared storage where another server may have created the account (or
+     * when the index is disabled). Storage misses are remembered for
+     * MISSING_ACCOUNT_TTL_MS, so repeated lookups of an unknown UUID cost
+     * one round-trip, not one per call.
+     */
+    public CompletableFuture<Boolean> playerExists(@Nonnull UUID playerUuid) {
+        if (isKnownAccount(playerUuid)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!storage.isShared() && accountIndex.isEnabled()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        Long missingUntil = missingAccounts.get(playerUuid);
+        if (missingUntil != null && missingUntil > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return storage.playerExists(playerUuid).thenApply(exists -> {
+            if (exists) {
+                accountIndex.add(playerUuid);
+                missingAccounts.remove(playerUuid);
+            } else {
+                missingAccounts.put(playerUuid, System.currentTimeMillis() + MISSING_ACCOUNT_TTL_MS);
+            }
+            return exists;
+        });
     }
     
     // ========== Balance Operations ==========
     
     public double getBalance(@Nonnull UUID playerUuid) {
-        PlayerBalance balance = cache.get(playerUuid);
+        PlayerBalance balance = getAccount(playerUuid);
         return balance != null ? balance.getBalance() : 0.0;
     }
     
     public PlayerBalance getPlayerBalance(@Nonnull UUID playerUuid) {
-        return cache.get(playerUuid);
+        return getAccount(playerUuid);
     }
     
+    /**
+     * Check if a player can spend the amount (available balance: balance minus holds).
+     */
     public boolean hasBalance(@Nonnull UUID playerUuid, double amount) {
-        return getBalance(playerUuid) >= amount;
+        return getAvailableBalance(playerUuid) >= amount;
     }
     
     /**
@@ -180,26 +377,30 @@ public class EconomyManager {
             if (balance == null) return false;
             
             double oldBalance = balance.getBalance();
-            double newBalance = oldBalance + amount;
             
-            // Fire cancellable event
-            BalanceChangeEvent event = ArefyEconomyEvents.fire(new BalanceChangeEvent(
-                playerUuid, oldBalance, newBalance, 
-                BalanceChangeEvent.Cause.DEPOSIT, reason != null ? reason : "Deposit"
-            ));
-            if (event.isCancelled()) return false;
+            // Fire cancellable event (only built when someone listens)
+            if (BalanceChangeEvent.HANDLERS.hasListeners()) {
+                BalanceChangeEvent event = BalanceChangeEvent.HANDLERS.fire(new BalanceChangeEvent(
+                    playerUuid, oldBalance, oldBalance + amount, 
+                    BalanceChangeEvent.Cause.DEPOSIT, reason != null ? reason : "Deposit"
+                ));
+                if (event.isCancelled()) return false;
+            }
             
+            double oldEarned = balance.getTotalEarned();
+            double oldSpent = balance.getTotalSpent();
             if (balance.deposit(amount, reason)) {
-                dirtyPlayers.add(playerUuid);
-                BalanceHudSystem.updatePlayerHud(playerUuid, balance.getBalance());
+                trackChanged(oldBalance, oldEarned, oldSpent, balance);
+                markChanged(playerUuid);
+                AccountSubscriptions.publish(playerUuid, oldBalance, balance.getBalance());
                 
-                // Log transaction (skip internal transfer logs)
-                if (reason != null && !reason.startsWith("Transfer")) {
-                    TransactionType type = reason.startsWith("Admin") 
-                        ? TransactionType.GIVE : TransactionType.EARN;
-                    transactionLogger.logAction(type, playerUuid, 
-                        resolvePlayerName(playerUuid), amount);
-                }
+                // Log every mutation: balance reconstruction replays the log
+                TransactionType type = reason != null && reason.startsWith("Admin")
+                    ? TransactionType.GIVE : TransactionType.EARN;
+                transactionLogger.logAction(type, playerUuid, 
+                    resolvePlayerName(playerUuid), amount, reason);
+                publishTransaction(reason != null && reason.startsWith("Admin")
+                    ? TransactionEvent.Type.ADMIN_GIVE : TransactionEvent.Type.API, null, playerUuid, amount, 0, reason);
                 return true;
             }
             return false;
@@ -217,30 +418,34 @@ public class EconomyManager {
         ReentrantLock lock = getLock(playerUuid);
         lock.lock();
         try {
-            PlayerBalance balance = cache.get(playerUuid);
+            PlayerBalance balance = getAccount(playerUuid);
             if (balance == null) return false;
             
             double oldBalance = balance.getBalance();
-            double newBalance = oldBalance - amount;
             
-            // Fire cancellable event
-            BalanceChangeEvent event = ArefyEconomyEvents.fire(new BalanceChangeEvent(
-                playerUuid, oldBalance, newBalance,
-                BalanceChangeEvent.Cause.WITHDRAW, reason != null ? reason : "Withdraw"
-            ));
-            if (event.isCancelled()) return false;
+            // Fire cancellable event (only built when someone listens)
+            if (BalanceChangeEvent.HANDLERS.hasListeners()) {
+                BalanceChangeEvent event = BalanceChangeEvent.HANDLERS.fire(new BalanceChangeEvent(
+                    playerUuid, oldBalance, oldBalance - amount,
+                    BalanceChangeEvent.Cause.WITHDRAW, reason != null ? reason : "Withdraw"
+                ));
+                if (event.isCancelled()) return false;
+            }
             
+            double oldEarned = balance.getTotalEarned();
+            double oldSpent = balance.getTotalSpent();
             if (balance.withdraw(amount, reason)) {
-                dirtyPlayers.add(playerUuid);
-                BalanceHudSystem.updatePlayerHud(playerUuid, balance.getBalance());
+                trackChanged(oldBalance, oldEarned, oldSpent, balance);
+                markChanged(playerUuid);
+                AccountSubscriptions.publish(playerUuid, oldBalance, balance.getBalance());
                 
-                // Log transaction (skip internal transfer logs)
-                if (reason != null && !reason.startsWith("Transfer")) {
-                    TransactionType type = reason.startsWith("Admin") 
-                        ? TransactionType.TAKE : TransactionType.SPEND;
-                    transactionLogger.logAction(type, playerUuid, 
-                        resolvePlayerName(playerUuid), amount);
-                }
+                // Log every mutation: balance reconstruction replays the log
+                TransactionType type = reason != null && reason.startsWith("Admin")
+                    ? TransactionType.TAKE : TransactionType.SPEND;
+                transactionLogger.logAction(type, playerUuid, 
+                    resolvePlayerName(playerUuid), amount, reason);
+                publishTransaction(reason != null && reason.startsWith("Admin")
+                    ? TransactionEvent.Type.ADMIN_TAKE : TransactionEvent.Type.API, null, playerUuid, amount, 0, reason);
                 return true;
             }
             return false;
@@ -262,21 +467,28 @@ public class EconomyManager {
             if (balance != null) {
                 double oldBalance = balance.getBalance();
                 
-                // Fire cancellable event
-                BalanceChangeEvent event = ArefyEconomyEvents.fire(new BalanceChangeEvent(
-                    playerUuid, oldBalance, amount,
-                    BalanceChangeEvent.Cause.ADMIN, reason != null ? reason : "Set balance"
-                ));
-                if (event.isCancelled()) return;
+                // Fire cancellable event (only built when someone listens)
+                if (BalanceChangeEvent.HANDLERS.hasListeners()) {
+                    BalanceChangeEvent event = BalanceChangeEvent.HANDLERS.fire(new BalanceChangeEvent(
+                        playerUuid, oldBalance, amount,
+                        BalanceChangeEvent.Cause.ADMIN, reason != null ? reason : "Set balance"
+                    ));
+                    if (event.isCancelled()) return;
+                }
                 
+                double oldEarned = balance.getTotalEarned();
+                double oldSpent = balance.getTotalSpent();
                 balance.setBalance(amount, reason);
-                dirtyPlayers.add(playerUuid);
-                BalanceHudSystem.updatePlayerHud(playerUuid, amount);
+                trackChanged(oldBalance, oldEarned, oldSpent, balance);
+                markChanged(playerUuid);
+                AccountSubscriptions.publish(playerUuid, oldBalance, amount);
                 
                 // Log transaction
                 TransactionType type = (reason != null && reason.contains("reset")) 
                     ? TransactionType.RESET : TransactionType.SET;
-                transactionLogger.logAction(type, playerUuid, resolvePlayerName(playerUuid), amount);
+                transactionLogger.logAction(type, playerUuid, resolvePlayerName(playerUuid), amount, reason);
+                publishTransaction(type == TransactionType.RESET ? TransactionEvent.Type.RESET : TransactionEvent.Type.ADMIN_SET,
+                    null, playerUuid, amount, 0, reason);
             }
         } finally {
             lock.unlock();
@@ -299,6 +511,18 @@ public class EconomyManager {
             return TransferResult.INVALID_AMOUNT;
         }
         
+        // Reject unknown accounts instead of creating them on the fly
+        if (!playerExists(from).join() || !playerExists(to).join()) {
+            return TransferResult.ACCOUNT_NOT_FOUND;
+        }
+        return transferExisting(from, to, amount, reason);
+    }
+    
+    /**
+     * Body of transfer() once both accounts are known to exist.
+     * Does no existence lookups, so callers may already hold either lock.
+     */
+    private TransferResult transferExisting(@Nonnull UUID from, @Nonnull UUID to, double amount, String reason) {
         // Calculate total with fee
         double fee = amount * Main.CONFIG.get().getTransferFee();
         double total = amount + fee;
@@ -331,20 +555,29 @@ public class EconomyManager {
                 }
                 
                 // ATOMIC: Both operations under lock
+                double fromOld = fromBalance.getBalance();
+                double fromEarned = fromBalance.getTotalEarned();
+                double fromSpent = fromBalance.getTotalSpent();
+                double toOld = toBalance.getBalance();
+                double toEarned = toBalance.getTotalEarned();
+                double toSpent = toBalance.getTotalSpent();
                 fromBalance.withdrawInternal(total, "Transfer to " + to + ": " + reason);
                 toBalance.depositInternal(amount, "Transfer from " + from + ": " + reason);
+                trackChanged(fromOld, fromEarned, fromSpent, fromBalance);
+                trackChanged(toOld, toEarned, toSpent, toBalance);
                 
                 // Mark both as dirty
-                dirtyPlayers.add(from);
-                dirtyPlayers.add(to);
+                markChanged(from);
+                markChanged(to);
                 
-                // Update HUDs
-                BalanceHudSystem.updatePlayerHud(from, fromBalance.getBalance());
-                BalanceHudSystem.updatePlayerHud(to, toBalance.getBalance());
+                // Notify watchers of either account (HUDs, open pages)
+                AccountSubscriptions.publish(from, fromOld, fromBalance.getBalance());
+                AccountSubscriptions.publish(to, toOld, toBalance.getBalance());
                 
                 // Log transfer
                 transactionLogger.logTransfer(from, resolvePlayerName(from), 
-                    to, resolvePlayerName(to), amount);
+                    to, resolvePlayerName(to), amount, fee, reason);
+                publishTransaction(TransactionEvent.Type.PLAYER_TRANSFER, from, to, amount, fee, reason);
                 
                 return TransferResult.SUCCESS;
                 
@@ -356,6 +589,575 @@ public class EconomyManager {
         }
     }
     
+    /**
+     * Pay several players from one account in a single atomic step
+     * (e.g. buyer -> seller, tax treasury and auction house).
+     * 
+     * ATOMIC: either every leg succeeds or none does.
+     * All accounts are locked once, in global UUID order (PERF-17), the total
+     * (amounts + transfer fee per leg) is validated against the sender, and
+     * the legs are logged as one group: back to back with a shared timestamp.
+     * 
+     * @param from Sender
+     * @param legs Recipient -> amount (before fees), applied in iteration order
+     * @param reason Reason for the transfer
+     * @return SUCCESS, or why nothing was transferred
+     */
+    public TransferResult transferMulti(@Nonnull UUID from, @Nonnull Map<UUID, Double> legs, String reason) {
+        Map<UUID, Double> payouts = new LinkedHashMap<>(legs);
+        if (payouts.isEmpty()) {
+            return TransferResult.INVALID_AMOUNT;
+        }
+        double feeRate = Main.CONFIG.get().getTransferFee();
+        double total = 0;
+        for (Map.Entry<UUID, Double> leg : payouts.entrySet()) {
+            if (leg.getKey().equals(from)) {
+                return TransferResult.SELF_TRANSFER;
+            }
+            Double amount = leg.getValue();
+            if (amount == null || !(amount > 0) || Double.isInfinite(amount)) {
+                return TransferResult.INVALID_AMOUNT;
+            }
+            total += amount + amount * feeRate;
+        }
+        
+        // Reject unknown accounts instead of creating them on the fly
+        if (!playerExists(from).join()) {
+            return TransferResult.ACCOUNT_NOT_FOUND;
+        }
+        for (UUID to : payouts.keySet()) {
+            if (!playerExists(to).join()) {
+                return TransferResult.ACCOUNT_NOT_FOUND;
+            }
+        }
+        
+        // CRITICAL: Same global lock order as transfer() and applyBatch()
+        TreeSet<UUID> order = new TreeSet<>(payouts.keySet());
+        order.add(from);
+        List<ReentrantLock> locks = new ArrayList<>(order.size());
+        try {
+            for (UUID uuid : order) {
+                ReentrantLock lock = getLock(uuid);
+                lock.lock();
+                locks.add(lock);
+            }
+            
+            PlayerBalance fromBalance = getOrLoadAccount(from);
+            if (fromBalance == null || !fromBalance.hasBalance(total)) {
+                return TransferResult.INSUFFICIENT_FUNDS;
+            }
+            double maxBalance = Main.CONFIG.get().getMaxBalance();
+            Map<UUID, PlayerBalance> recipients = new LinkedHashMap<>();
+            for (Map.Entry<UUID, Double> leg : payouts.entrySet()) {
+                PlayerBalance toBalance = getOrLoadAccount(leg.getKey());
+                if (toBalance == null) {
+                    return TransferResult.ACCOUNT_NOT_FOUND;
+                }
+                if (toBalance.getBalance() + leg.getValue() > maxBalance) {
+                    return TransferResult.RECIPIENT_MAX_BALANCE;
+                }
+                recipients.put(leg.getKey(), toBalance);
+            }
+            
+            // ATOMIC: All legs under the locks
+            double fromOld = fromBalance.getBalance();
+            double fromEarned = fromBalance.getTotalEarned();
+            double fromSpent = fromBalance.getTotalSpent();
+            Map<UUID, double[]> before = new HashMap<>();
+            for (Map.Entry<UUID, PlayerBalance> recipient : recipients.entrySet()) {
+                PlayerBalance toBalance = recipient.getValue();
+                before.put(recipient.getKey(), new double[] {
+                    toBalance.getBalance(), toBalance.getTotalEarned(), toBalance.getTotalSpent() });
+            }
+            
+            long now = System.currentTimeMillis();
+            String fromName = resolvePlayerName(from);
+            List<TransactionEntry> entries = new ArrayList<>(payouts.size());
+            for (Map.Entry<UUID, Double> leg : payouts.entrySet()) {
+                UUID to = leg.getKey();
+                double amount = leg.getValue();
+                fromBalance.withdrawInternal(amount + amount * feeRate, "Transfer to " + to + ": " + reason);
+                recipients.get(to).depositInternal(amount, "Transfer from " + from + ": " + reason);
+                entries.add(TransactionEntry.transfer(now, from, fromName, to, resolvePlayerName(to),
+                    amount, amount * feeRate, reason));
+            }
+            
+            trackChanged(fromOld, fromEarned, fromSpent, fromBalance);
+            markChanged(from);
+            AccountSubscriptions.publish(from, fromOld, fromBalance.getBalance());
+            for (Map.Entry<UUID, PlayerBalance> recipient : recipients.entrySet()) {
+                double[] old = before.get(recipient.getKey());
+                trackChanged(old[0], old[1], old[2], recipient.getValue());
+                markChanged(recipient.getKey());
+                AccountSubscriptions.publish(recipient.getKey(), old[0], recipient.getValue().getBalance());
+            }
+            
+            // Log the legs as one group
+            transactionLogger.logAll(entries);
+            for (Map.Entry<UUID, Double> leg : payouts.entrySet()) {
+                publishTransaction(TransactionEvent.Type.PLAYER_TRANSFER, from, leg.getKey(),
+                    leg.getValue(), leg.getValue() * feeRate, reason);
+            }
+            return TransferResult.SUCCESS;
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+    
+    // ========== Batch Operations ==========
+    
+    /**
+     * One deposit or withdrawal of a batch.
+     *
+     * @param deposit true to deposit, false to withdraw
+     * @param player Target player
+     * @param amount Amount (must be positive)
+     * @param reason Reason for the transaction (for logging)
+     */
+    public record BatchOperation(boolean deposit, @Nonnull UUID player, double amount, String reason) {}
+    
+    /**
+     * Apply many deposits/withdrawals in one pass (PERF-16).
+     * 
+     * 1. Lock every involved account once, in UUID order (same order as transfers)
+     * 2. Validate the operations in submission order against running balances;
+     *    each valid operation fires its cancellable BalanceChangeEvent (only
+     *    when someone listens), like a single deposit/withdraw would
+     * 3. Fire one cancellable BalanceBatchEvent with the net change per player
+     * 4. Apply, then per player: one aggregate update, one dirty mark, one
+     *    subscriber (HUD) notification with the final balance
+     * 5. Log all entries as one contiguous batch
+     * 
+     * Operations fail individually (the rest still apply, a cancelled
+     * BalanceChangeEvent yields CANCELLED for that operation) unless the
+     * batch event is cancelled, which rejects the whole batch.
+     * 
+     * @return One result per operation, in submission order
+     */
+    public List<BatchResult> applyBatch(@Nonnull List<BatchOperation> operations) {
+        BatchResult[] results = new BatchResult[operations.size()];
+        
+        // Accounts in lock order; deposits may create an account, withdrawals may not
+        TreeMap<UUID, Boolean> players = new TreeMap<>();
+        for (int i = 0; i < results.length; i++) {
+            BatchOperation op = operations.get(i);
+            if (!(op.amount() > 0) || Double.isInfinite(op.amount())) {
+                results[i] = BatchResult.INVALID_AMOUNT;
+                continue;
+            }
+            players.merge(op.player(), op.deposit(), Boolean::logicalOr);
+        }
+        if (players.isEmpty()) {
+            return List.of(results);
+        }
+        
+        List<ReentrantLock> locks = new ArrayList<>(players.size());
+        try {
+            for (UUID uuid : players.keySet()) {
+                ReentrantLock lock = getLock(uuid);
+                lock.lock();
+                locks.add(lock);
+            }
+            
+            // Load accounts and remember their state before the batch
+            Map<UUID, PlayerBalance> accounts = new HashMap<>(players.size() * 2);
+            Map<UUID, double[]> before = new HashMap<>(players.size() * 2);
+            Map<UUID, Double> running = new HashMap<>(players.size() * 2);
+            for (Map.Entry<UUID, Boolean> player : players.entrySet()) {
+                PlayerBalance balance = player.getValue()
+                    ? getOrLoadAccount(player.getKey()) : getAccount(player.getKey());
+                if (balance != null) {
+                    accounts.put(player.getKey(), balance);
+                    before.put(player.getKey(), new double[] {
+                        balance.getBalance(), balance.getTotalEarned(), balance.getTotalSpent() });
+                    running.put(player.getKey(), balance.getBalance());
+                }
+            }
+            
+            // Validate in submission order against the running balances
+            double maxBalance = Main.CONFIG.get().getMaxBalance();
+            boolean changeListeners = BalanceChangeEvent.HANDLERS.hasListeners();
+            int applied = 0;
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != null) continue;
+                BatchOperation op = operations.get(i);
+                Double current = running.get(op.player());
+                if (current == null) {
+                    results[i] = BatchResult.ACCOUNT_NOT_FOUND;
+                    continue;
+                }
+                double next = op.deposit() ? current + op.amount() : current - op.amount();
+                if (op.deposit() && next > maxBalance) {
+                    results[i] = BatchResult.MAX_BALANCE;
+                } else if (!op.deposit() && current - accounts.get(op.player()).getHeld() < op.amount()) {
+                    results[i] = BatchResult.INSUFFICIENT_FUNDS;
+                } else if (changeListeners && BalanceChangeEvent.HANDLERS.fire(new BalanceChangeEvent(
+                        op.player(), current, next,
+                        op.deposit() ? BalanceChangeEvent.Cause.DEPOSIT : BalanceChangeEvent.Cause.WITHDRAW,
+                        op.reason() != null ? op.reason() : op.deposit() ? "Deposit" : "Withdraw")).isCancelled()) {
+                    results[i] = BatchResult.CANCELLED;
+                } else {
+                    running.put(op.player(), next);
+                    results[i] = BatchResult.SUCCESS;
+                    applied++;
+                }
+            }
+            if (applied == 0) {
+                return List.of(results);
+            }
+            
+            // One cancellable event for the whole batch (only built when someone listens)
+            if (BalanceBatchEvent.HANDLERS.hasListeners()) {
+                List<BalanceBatchEvent.Change> changes = new ArrayList<>();
+                for (Map.Entry<UUID, Double> entry : running.entrySet()) {
+                    double old = before.get(entry.getKey())[0];
+                    if (entry.getValue() != old) {
+                        changes.add(new BalanceBatchEvent.Change(entry.getKey(), old, entry.getValue()));
+                    }
+                }
+                if (BalanceBatchEvent.HANDLERS.fire(new BalanceBatchEvent(changes, applied)).isCancelled()) {
+                    for (int i = 0; i < results.length; i++) {
+                        if (results[i] == BatchResult.SUCCESS) results[i] = BatchResult.CANCELLED;
+                    }
+                    return List.of(results);
+                }
+            }
+            
+            // Apply and collect the log entries
+            List<TransactionEntry> entries = new ArrayList<>(applied);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != BatchResult.SUCCESS) continue;
+                BatchOperation op = operations.get(i);
+                PlayerBalance balance = accounts.get(op.player());
+                boolean admin = op.reason() != null && op.reason().startsWith("Admin");
+                if (op.deposit()) {
+                    balance.depositInternal(op.amount(), op.reason());
+                } else {
+                    balance.withdrawInternal(op.amount(), op.reason());
+                }
+                TransactionType type = op.deposit()
+                    ? (admin ? TransactionType.GIVE : TransactionType.EARN)
+                    : (admin ? TransactionType.TAKE : TransactionType.SPEND);
+                entries.add(TransactionEntry.single(type, op.player(),
+                    resolvePlayerName(op.player()), op.amount(), op.reason()));
+                TransactionEvent.Type eventType = !admin ? TransactionEvent.Type.API
+                    : op.deposit() ? TransactionEvent.Type.ADMIN_GIVE : TransactionEvent.Type.ADMIN_TAKE;
+                publishTransaction(eventType, null, op.player(), op.amount(), 0, op.reason());
+            }
+            
+            // Coalesced per player: aggregates, dirty mark, one HUD/subscriber update
+            for (Map.Entry<UUID, PlayerBalance> account : accounts.entrySet()) {
+                double[] old = before.get(account.getKey());
+                PlayerBalance balance = account.getValue();
+                if (balance.getBalance() == old[0] && balance.getTotalEarned() == old[1]
+                        && balance.getTotalSpent() == old[2]) {
+                    continue;
+                }
+                trackChanged(old[0], old[1], old[2], balance);
+                markChanged(account.getKey());
+                AccountSubscriptions.publish(account.getKey(), old[0], balance.getBalance());
+            }
+            
+            transactionLogger.logAll(entries);
+            return List.of(results);
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+    
+    // ========== Conditional Operations ==========
+    
+    /**
+     * Balance of an account together with its version.
+     * The version changes on every mutation; pass it to a conditional write
+     * to apply the write only if nothing changed since this read.
+     *
+     * @param balance Current balance
+     * @param version Account version (opaque, only compare for equality)
+     */
+    public record VersionedBalance(double balance, long version) {}
+    
+    /**
+     * PERF-19: Read balance and version as one consistent pair.
+     * 
+     * @return the snapshot, or null if the player has no account
+     */
+    public VersionedBalance getVersionedBalance(@Nonnull UUID playerUuid) {
+        ReentrantLock lock = getLock(playerUuid);
+        lock.lock();
+        try {
+            PlayerBalance balance = getAccount(playerUuid);
+            return balance != null ? new VersionedBalance(balance.getBalance(), balance.getVersion()) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Withdraw only if the account is still at the expected version
+     * (e.g. an auction bid placed against the balance the bidder saw).
+     * The check and the withdrawal happen under the player lock.
+     * 
+     * @return SUCCESS, VERSION_CONFLICT if the account changed (read again and retry), or why it failed
+     */
+    public ConditionalResult withdrawIfVersion(@Nonnull UUID playerUuid, long expectedVersion,
+                                               double amount, String reason) {
+        if (amount <= 0) {
+            return ConditionalResult.INVALID_AMOUNT;
+        }
+        ReentrantLock lock = getLock(playerUuid);
+        lock.lock();
+        try {
+            PlayerBalance balance = getAccount(playerUuid);
+            if (balance == null) return ConditionalResult.ACCOUNT_NOT_FOUND;
+            if (balance.getVersion() != expectedVersion) return ConditionalResult.VERSION_CONFLICT;
+            if (!balance.hasBalance(amount)) return ConditionalResult.INSUFFICIENT_FUNDS;
+            // Lock is reentrant: the regular path fires events, logs and notifies
+            return withdraw(playerUuid, amount, reason) ? ConditionalResult.SUCCESS : ConditionalResult.CANCELLED;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Move a balance to a new value only if the account is still at the
+     * expected version. Applied as a deposit or withdrawal of the difference,
+     * so lifetime totals, events and the transaction log match a regular write.
+     * 
+     * @return SUCCESS (also when the balance already has the value),
+     *         VERSION_CONFLICT if the account changed (read again and retry), or why it failed
+     */
+    public ConditionalResult compareAndSet(@Nonnull UUID playerUuid, long expectedVersion,
+                                           double newBalance, String reason) {
+        if (newBalance < 0 || Double.isNaN(newBalance)) {
+            return ConditionalResult.INVALID_AMOUNT;
+        }
+        ReentrantLock lock = getLock(playerUuid);
+        lock.lock();
+        try {
+            PlayerBalance balance = getAccount(playerUuid);
+            if (balance == null) return ConditionalResult.ACCOUNT_NOT_FOUND;
+            if (balance.getVersion() != expectedVersion) return ConditionalResult.VERSION_CONFLICT;
+            
+            double delta = newBalance - balance.getBalance();
+            if (delta == 0) {
+                return ConditionalResult.SUCCESS;
+            }
+            if (delta > 0) {
+                if (newBalance > Main.CONFIG.get().getMaxBalance()) return ConditionalResult.MAX_BALANCE;
+                return deposit(playerUuid, delta, reason) ? ConditionalResult.SUCCESS : ConditionalResult.CANCELLED;
+            }
+            if (!balance.hasBalance(-delta)) return ConditionalResult.INSUFFICIENT_FUNDS; // Would dip into holds
+            return withdraw(playerUuid, -delta, reason) ? ConditionalResult.SUCCESS : ConditionalResult.CANCELLED;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // ========== Holds ==========
+    
+    /**
+     * Balance that can be spent: balance minus active holds.
+     */
+    public double getAvailableBalance(@Nonnull UUID playerUuid) {
+        PlayerBalance balance = getAccount(playerUuid);
+        return balance != null ? balance.getAvailableBalance() : 0.0;
+    }
+    
+    /**
+     * PERF-20: Earmark funds without moving them (auction bid, pending order).
+     * The balance is unchanged; the available balance drops by the amount
+     * until the hold is captured, released or expires. No event, log entry or
+     * HUD update - only the account is marked for the next save.
+     * 
+     * @param durationMillis Time until the hold expires on its own
+     * @return the hold, or null if the amount/duration is invalid, the player
+     *         has no account or not enough is available
+     */
+    public Hold placeHold(@Nonnull UUID playerUuid, double amount, long durationMillis, String reason) {
+        if (!(amount > 0) || Double.isInfinite(amount) || durationMillis <= 0) {
+            return null;
+        }
+        ReentrantLock lock = getLock(playerUuid);
+        lock.lock();
+        try {
+            PlayerBalance balance = getAccount(playerUuid);
+            if (balance == null || !balance.hasBalance(amount)) {
+                return null;
+            }
+            Hold hold = new Hold(holdRegistry.nextId(), playerUuid, amount,
+                System.currentTimeMillis() + durationMillis, reason);
+            balance.addHold(hold);
+            holdRegistry.index(hold);
+            dirtyPlayers.add(playerUuid);
+            return hold;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Withdraw the held funds (e.g. the order was fulfilled).
+     * Logged and notified like a regular withdrawal.
+     */
+    public HoldResult captureHold(long holdId, String reason) {
+        return captureHold(holdId, null, reason);
+    }
+    
+    /**
+     * Pay the held funds to another player (e.g. winning bid to the seller).
+     * Behaves like transfer(): the transfer fee is charged on top, from the
+     * rest of the available balance. Without a recipient, withdraws instead.
+     */
+    public HoldResult captureHold(long holdId, UUID recipient, String reason) {
+        Hold hold = holdRegistry.get(holdId);
+        if (hold == null) {
+            return HoldResult.HOLD_NOT_FOUND;
+        }
+        UUID owner = hold.getPlayerUuid();
+        if (owner.equals(recipient)) {
+            return HoldResult.SELF_TRANSFER;
+        }
+        // Resolve (and load) the recipient before locking: on shared storage this is I/O
+        if (recipient != null && getAccount(recipient) == null) {
+            return HoldResult.ACCOUNT_NOT_FOUND;
+        }
+        
+        // Same global lock order as transfer(); the locks are reentrant for the inner call
+        List<ReentrantLock> locks = new ArrayList<>(2);
+        TreeSet<UUID> order = new TreeSet<>();
+        order.add(owner);
+        if (recipient != null) order.add(recipient);
+        try {
+            for (UUID uuid : order) {
+                ReentrantLock lock = getLock(uuid);
+                lock.lock();
+                locks.add(lock);
+            }
+            PlayerBalance balance = getAccount(owner);
+            if (balance == null || holdRegistry.get(holdId) != hold || !balance.removeHold(hold)) {
+                return HoldResult.HOLD_NOT_FOUND; // Released or expired meanwhile
+            }
+            holdRegistry.unindex(hold);
+            dirtyPlayers.add(owner);
+            
+            HoldResult result;
+            if (recipient == null) {
+                result = withdraw(owner, hold.getAmount(), reason) ? HoldResult.SUCCESS
+                    : balance.hasBalance(hold.getAmount()) ? HoldResult.CANCELLED : HoldResult.INSUFFICIENT_FUNDS;
+            } else {
+                result = switch (transferExisting(owner, recipient, hold.getAmount(), reason)) {
+                    case SUCCESS -> HoldResult.SUCCESS;
+                    case RECIPIENT_MAX_BALANCE -> HoldResult.RECIPIENT_MAX_BALANCE;
+                    default -> HoldResult.INSUFFICIENT_FUNDS;
+                };
+            }
+            if (result != HoldResult.SUCCESS) {
+                // Nothing moved: keep the funds earmarked
+                balance.addHold(hold);
+                holdRegistry.index(hold);
+            }
+            return result;
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+    
+    /**
+     * Give the held funds back to the available balance.
+     */
+    public HoldResult releaseHold(long holdId) {
+        Hold hold = holdRegistry.get(holdId);
+        return hold != null && removeHold(hold, false) ? HoldResult.SUCCESS : HoldResult.HOLD_NOT_FOUND;
+    }
+    
+    /**
+     * Get an active hold.
+     * 
+     * @return the hold, or null if it was captured, released or has expired
+     */
+    public Hold getHold(long holdId) {
+        return holdRegistry.get(holdId);
+    }
+    
+    /**
+     * Get the active holds of a player.
+     */
+    public List<Hold> getHolds(@Nonnull UUID playerUuid) {
+        ReentrantLock lock = getLock(playerUuid);
+        lock.lock();
+        try {
+            PlayerBalance balance = getAccount(playerUuid);
+            return balance != null ? balance.getHolds() : List.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Number of active holds across all accounts.
+     */
+    public int getHoldCount() {
+        return holdRegistry.size();
+    }
+    
+    /**
+     * Remove a hold from its account under the player lock.
+     * 
+     * @param onlyIfExpired Keep the hold if it has not expired yet
+     * @return true if the hold was removed
+     */
+    private boolean removeHold(Hold hold, boolean onlyIfExpired) {
+        UUID owner = hold.getPlayerUuid();
+        ReentrantLock lock = getLock(owner);
+        lock.lock();
+        try {
+            if (holdRegistry.get(hold.getId()) != hold) {
+                return false;
+            }
+            if (onlyIfExpired && !hold.isExpired(System.currentTimeMillis())) {
+                holdRegistry.schedule(hold); // Timer ran ahead of the wall clock
+                return false;
+            }
+            PlayerBalance balance = cache.get(owner);
+            if (balance != null) {
+                balance.removeHold(hold);
+            }
+            holdRegistry.unindex(hold);
+            dirtyPlayers.add(owner);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * PERF-20: Expire due holds. Runs every second on the hold expiry thread;
+     * the timer wheel only yields holds that are due.
+     */
+    private void expireHolds() {
+        try {
+            int expired = 0;
+            for (long holdId : holdRegistry.due()) {
+                Hold hold = holdRegistry.get(holdId);
+                if (hold != null && removeHold(hold, true)) {
+                    expired++;
+                }
+            }
+            if (expired > 0) {
+                ArefyLogger.debug("Expired %d holds", expired);
+            }
+        } catch (RuntimeException e) {
+            logger.at(Level.WARNING).log("Hold expiry failed: %s", e.getMessage());
+        }
+    }
+    
     // ========== Bulk Operations ==========
     
     /**
@@ -373,13 +1175,104 @@ public class EconomyManager {
         return cache.size();
     }
     
+    /**
+     * Get the UUIDs of all cached (active) accounts.
+     * Read-only live view - no copy is made.
+     */
+    public Set<UUID> getCachedPlayerIds() {
+        return Collections.unmodifiableSet(cache.keySet());
+    }
+    
+    /**
+     * Get the UUIDs of all accounts, active and archived (snapshot copy).
+     */
+    public Set<UUID> getAllPlayerIds() {
+        Set<UUID> all = new HashSet<>(cache.keySet());
+        all.addAll(archived.keySet());
+        return all;
+    }
+    
+    /**
+     * Get a cached account or the summary of an archived one, without
+     * loading or restoring anything. For read-only views (lists, rankings).
+     * 
+     * @return the account, or null if it is neither cached nor archived
+     */
+    public PlayerBalance peekAccount(@Nonnull UUID playerUuid) {
+        PlayerBalance balance = cache.get(playerUuid);
+        return balance != null ? balance : archived.get(playerUuid);
+    }
+    
+    /**
+     * PERF-12: Economy-wide totals, maintained on every mutation (O(1) reads).
+     * Archived accounts are included through their summaries.
+     */
+    public EconomyAggregates getAggregates() {
+        return aggregates;
+    }
+    
+    /**
+     * PERF-13: Economy health metrics (Gini, percentiles, velocity, active players).
+     */
+    public EconomyAnalytics getAnalytics() {
+        return analytics;
+    }
+    
     // ========== Persistence ==========
     
     /**
      * Mark a player as needing to be saved.
      */
     public void markDirty(@Nonnull UUID playerUuid) {
+        markChanged(playerUuid);
+    }
+    
+    /**
+     * An account entered the cache (or the archive summaries): count it in the aggregates and analytics.
+     */
+    private void trackAdded(PlayerBalance balance) {
+        aggregates.add(balance);
+        analytics.getHistogram().add(balance.getBalance());
+        balance.getHolds().forEach(holdRegistry::index);
+    }
+    
+    /**
+     * An account left the cache (or the archive summaries).
+     */
+    private void trackRemoved(PlayerBalance balance) {
+        aggregates.remove(balance);
+        analytics.getHistogram().remove(balance.getBalance());
+        balance.getHolds().forEach(holdRegistry::unindex);
+    }
+    
+    /**
+     * A cached account was mutated; old values were captured under its lock.
+     */
+    private void trackChanged(double oldBalance, double oldEarned, double oldSpent, PlayerBalance balance) {
+        aggregates.update(oldBalance, oldEarned, oldSpent, balance);
+        analytics.getHistogram().move(oldBalance, balance.getBalance());
+    }
+    
+    /**
+     * Queue a TransactionEvent for asynchronous delivery (only built when
+     * someone listens). Called after the change is applied, still under the
+     * account lock so events for one account are queued in order; listeners
+     * themselves run later on the dispatcher threads.
+     */
+    private void publishTransaction(TransactionEvent.Type type, UUID source, UUID target,
+                                    double amount, double fee, String reason) {
+        if (TransactionEvent.DISPATCHER.hasSubscribers()) {
+            TransactionEvent.DISPATCHER.publish(new TransactionEvent(type, source, target, amount, fee,
+                reason != null ? reason : ""));
+        }
+    }
+    
+    /**
+     * Record a balance change: queue for saving and invalidate the rank index.
+     */
+    private void markChanged(UUID playerUuid) {
         dirtyPlayers.add(playerUuid);
+        searchIndex.invalidate();
     }
     
     /**
@@ -389,17 +1282,74 @@ public class EconomyManager {
         saveDirtyPlayers();
     }
     
+    /**
+     * PERF-18: Get a future that completes once every balance change made
+     * before this call has been written by a committed flush.
+     * 
+     * Does not save anything itself: waiters make the auto-save thread flush
+     * after DURABLE_FLUSH_DELAY_MS instead of the full AutoSaveInterval, so
+     * all waiters of that window share one flush. A failed flush is retried
+     * and its waiters complete with the retry. On shutdown, waiters complete
+     * with the shutdown flush, or exceptionally if it could not be confirmed.
+     */
+    public CompletableFuture<Void> whenDurable() {
+        CompletableFuture<Void> durable = flushEpochs.whenDurable();
+        synchronized (flushSignal) {
+            flushSignal.notifyAll();
+        }
+        return durable;
+    }
+    
     /**
      * Auto-save loop running on background thread.
      * Only saves players that have changes (dirty tracking).
+     * Flushes early (dirty players only) when someone waits for durability.
      */
     private void autoSaveLoop() {
+        long nextCycle = System.currentTimeMillis() + Main.CONFIG.get().getAutoSaveInterval() * 1000L;
+        long durableFlushAt = Long.MAX_VALUE;
         while (running) {
             try {
-                Thread.sleep(Main.CONFIG.get().getAutoSaveInterval() * 1000L);
+                // First waiter starts the delay; later ones join the same flush
+                if (durableFlushAt == Long.MAX_VALUE && flushEpochs.hasWaiters()) {
+                    durableFlushAt = System.currentTimeMillis() + DURABLE_FLUSH_DELAY_MS;
+                }
+                long wait = Math.min(nextCycle, durableFlushAt) - System.currentTimeMillis();
+                if (wait > 0) {
+                    synchronized (flushSignal) {
+                        flushSignal.wait(wait);
+                    }
+                }
+                
+                long now = System.currentTimeMillis();
+                if (now < nextCycle) {
+                    // PERF-18: Early flush for durability waiters
+                    if (now >= durableFlushAt) {
+                        durableFlushAt = Long.MAX_VALUE;
+                        saveDirtyPlayers();
+                    }
+                    continue;
+                }
+                nextCycle = now + Main.CONFIG.get().getAutoSaveInterval() * 1000L;
+                durableFlushAt = Long.MAX_VALUE;
+                
+                saveDirtyPlayers();
+                savePlayerNames();
+                accountIndex.saveIfModified();
                 
-                if (!dirtyPlayers.isEmpty()) {
-                    saveDirtyPlayers();
+                // PERF-04: Expire idle API rate limiter state (timer wheel, only due entries)
+                com.arefyeconomy.api.ArefyEconomyAPI.cleanupRateLimiter();
+                
+                // PERF-05: Forget expired storage misses
+                if (!missingAccounts.isEmpty()) {
+                    long expiredBefore = System.currentTimeMillis();
+                    missingAccounts.values().removeIf(until -> until <= expiredBefore);
+                }
+                
+                // PERF-08: Move dormant accounts out of the hot cache (every hour)
+                if (System.currentTimeMillis() - lastArchiveSweep > ARCHIVE_SWEEP_INTERVAL_MS) {
+                    archiveDormantAccounts();
+                    lastArchiveSweep = System.currentTimeMillis();
                 }
                 
                 // PERF-03: Lock eviction for offline players (every 30 min)
@@ -407,8 +1357,11 @@ public class EconomyManager {
                     cleanupStaleLocks();
                     lastLockCleanup = System.currentTimeMillis();
                     
-                    // PERF-04: Cleanup API rate limiter buckets (MEMORY LEAK FIX)
-                    com.arefyeconomy.api.ArefyEconomyAPI.cleanupRateLimiter();
+                    // PERF-10: Drop history index entries that rotated out of the ring
+                    transactionLogger.cleanupPlayerIndex();
+                    
+                    // PERF-15: Drop closed/expired balance subscriptions of idle accounts
+                    AccountSubscriptions.purge();
                 }
             } catch (InterruptedException e) {
                 break;
@@ -418,30 +1371,111 @@ public class EconomyManager {
     
     /**
      * Save all dirty players asynchronously.
+     * Seals a flush epoch first, so durability waiters registered before the
+     * snapshot complete when this flush commits.
      */
     private void saveDirtyPlayers() {
+        long epoch = flushEpochs.seal();
         if (dirtyPlayers.isEmpty()) {
+            flushEpochs.committed(epoch);
             return;
         }
         
-        // Snapshot and clear dirty set
-        Set<UUID> toSave = new HashSet<>(dirtyPlayers);
-        dirtyPlayers.clear();
+        // Drain the dirty set (remove one by one: a concurrent change is never lost)
+        Set<UUID> toSave = new HashSet<>();
+        for (java.util.Iterator<UUID> it = dirtyPlayers.iterator(); it.hasNext(); ) {
+            toSave.add(it.next());
+            it.remove();
+        }
         
-        // Build map of dirty players
+        // Build map of dirty players (with the version being saved)
         Map<UUID, PlayerBalance> dirty = new HashMap<>();
+        Map<PlayerBalance, Long> versions = new HashMap<>();
         for (UUID uuid : toSave) {
             PlayerBalance balance = cache.get(uuid);
             if (balance != null) {
                 dirty.put(uuid, balance);
+                versions.put(balance, balance.getVersion());
             }
         }
         
+        // PERF-14: Checkpoint changed accounts along with the regular flush
+        writeCheckpoints(toSave);
+        
         // Save asynchronously
-        storage.saveAll(dirty).exceptionally(e -> {
+        storage.saveAll(dirty).whenComplete((v, e) -> {
+            if (e == null) {
+                versions.forEach(PlayerBalance::markPersisted);
+                flushEpochs.committed(epoch);
+                return;
+            }
             logger.at(Level.SEVERE).log("Auto-save failed: %s", e.getMessage());
             // Re-mark as dirty for retry on next cycle
             dirtyPlayers.addAll(toSave);
+            flushEpochs.failed(epoch);
+        });
+    }
+    
+    /**
+     * Queue a balance checkpoint for each changed account not checkpointed
+     * within CHECKPOINT_INTERVAL_MS. Read under the player lock so the
+     * checkpoint lines up exactly with the transaction log.
+     */
+    private void writeCheckpoints(Set<UUID> changed) {
+        TransactionSink sink = transactionLogger.getSink();
+        if (sink == null) {
+            return;
+        }
+        
+        long cutoff = System.currentTimeMillis() - CHECKPOINT_INTERVAL_MS;
+        List<BalanceCheckpoint> checkpoints = new ArrayList<>();
+        for (UUID uuid : changed) {
+            if (lastCheckpoint.getOrDefault(uuid, 0L) > cutoff) continue;
+            ReentrantLock lock = getLock(uuid);
+            lock.lock();
+            try {
+                PlayerBalance balance = cache.get(uuid);
+                if (balance != null) {
+                    long now = System.currentTimeMillis();
+                    checkpoints.add(new BalanceCheckpoint(uuid, now, balance.getBalance(),
+                        transactionLogger.countLoggedAt(uuid, now)));
+                    lastCheckpoint.put(uuid, now);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (!checkpoints.isEmpty()) {
+            sink.checkpoint(checkpoints);
+        }
+    }
+    
+    /**
+     * Get a player's balance at a past point in time, rebuilt from the
+     * nearest checkpoint and the log tail after it.
+     * 
+     * @return the reconstruction, or a failed future if the transaction log is not available
+     */
+    public CompletableFuture<BalanceReconstructor.Result> getBalanceAt(@Nonnull UUID playerUuid, long atMillis) {
+        TransactionSink sink = transactionLogger.getSink();
+        if (sink == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Transaction log is not available"));
+        }
+        return BalanceReconstructor.reconstruct(sink, playerUuid, atMillis);
+    }
+    
+    /**
+     * Write changed player names through to storage in one batch.
+     */
+    private void savePlayerNames() {
+        if (!nameDirectory.hasPendingWrites()) {
+            return;
+        }
+        
+        Map<UUID, String> batch = nameDirectory.drainPendingWrites();
+        storage.savePlayerNames(batch).exceptionally(e -> {
+            logger.at(Level.WARNING).log("Saving player names failed: %s", e.getMessage());
+            nameDirectory.requeue(batch);
             return null;
         });
     }
@@ -457,27 +1491,37 @@ public class EconomyManager {
         running = false;
         logger.at(Level.INFO).log("Interrupting auto-save thread...");
         saveThread.interrupt();
+        holdExpiry.shutdownNow();
+        
+        // PERF-09: Save only dirty / unsaved players, in parallel, with a hard deadline
+        if (flushOnShutdown()) {
+            flushEpochs.completeAll();
+        } else {
+            flushEpochs.failAll(new IllegalStateException("Shutdown flush could not be confirmed"));
+        }
         
-        // Save ALL cached players on shutdown (not just dirty) to ensure nothing is lost
-        // Use SYNC save to avoid executor issues during server shutdown
-        if (!cache.isEmpty()) {
-            logger.at(Level.INFO).log("Saving %d player balances...", cache.size());
+        // Flush pending name changes
+        Map<UUID, String> pendingNames = nameDirectory.drainPendingWrites();
+        if (!pendingNames.isEmpty()) {
             try {
                 if (storage instanceof H2StorageProvider h2) {
-                    // Use sync method directly - bypasses executor which may be killed during shutdown
-                    h2.saveAllSync(cache);
-                    logger.at(Level.INFO).log("Player balances saved successfully (sync)");
+                    h2.savePlayerNamesSync(pendingNames);
                 } else {
-                    // For other providers, use async with timeout as fallback
-                    storage.saveAll(cache).get(10, java.util.concurrent.TimeUnit.SECONDS);
-                    logger.at(Level.INFO).log("Player balances saved successfully");
+                    storage.savePlayerNames(pendingNames).get(5, java.util.concurrent.TimeUnit.SECONDS);
                 }
-            } catch (java.util.concurrent.TimeoutException e) {
-                logger.at(Level.WARNING).log("Save operation timed out after 10 seconds - data may be lost");
             } catch (Exception e) {
-                logger.at(Level.SEVERE).log("Error saving player balances: %s", e.getMessage());
+                logger.at(Level.WARNING).log("Error saving player names: %s", e.getMessage());
             }
         }
+        accountIndex.saveIfModified();
+        
+        // Write queued transaction log entries before the provider closes
+        transactionLogger.removeListener(analyticsListener);
+        TransactionSink sink = transactionLogger.getSink();
+        if (sink != null) {
+            transactionLogger.setSink(null);
+            sink.close(TRANSACTION_SINK_CLOSE_TIMEOUT_MS);
+        }
         
         // Shutdown storage provider
         logger.at(Level.INFO).log("Shutting down storage provider...");
@@ -492,6 +1536,175 @@ public class EconomyManager {
         logger.at(Level.INFO).log("EconomyManager shutdown complete");
     }
     
+    /**
+     * PERF-09: Shutdown flush.
+     * Writes every account that is dirty or has changes newer than its last
+     * confirmed save, split into chunks across the provider's write lanes.
+     * At the ShutdownFlushTimeout deadline the lanes stop taking chunks and
+     * are interrupted; the flush waits for them to exit (a chunk in flight
+     * either commits or fails) before anything is journaled, so storage is
+     * never closed under a lane. Chunks that did not commit are spilled to
+     * the recovery journal and replayed on next start.
+     * 
+     * @return true if every balance is on disk (in storage or the recovery journal)
+     */
+    private boolean flushOnShutdown() {
+        Map<UUID, PlayerBalance> pending = new HashMap<>();
+        for (var entry : cache.entrySet()) {
+            if (dirtyPlayers.contains(entry.getKey()) || entry.getValue().hasUnsavedChanges()) {
+                pending.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (pending.isEmpty()) {
+            logger.at(Level.INFO).log("No unsaved player balances (%d cached)", cache.size());
+            return true;
+        }
+        
+        // Split into chunks; lanes pull chunks until the queue is empty or the deadline passes
+        java.util.concurrent.ConcurrentLinkedQueue<Map<UUID, PlayerBalance>> chunks =
+            new java.util.concurrent.ConcurrentLinkedQueue<>();
+        Map<UUID, PlayerBalance> chunk = new HashMap<>();
+        for (var entry : pending.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() >= FLUSH_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new HashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        
+        int timeoutSeconds = Math.max(1, Main.CONFIG.get().getShutdownFlushTimeout());
+        long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        int lanes = Math.max(1, Math.min(storage.getWriteLanes(), chunks.size()));
+        Set<UUID> saved = ConcurrentHashMap.newKeySet();
+        
+        logger.at(Level.INFO).log("Saving %d of %d player balances (%d chunks, %d lanes, %ds deadline)...",
+            pending.size(), cache.size(), chunks.size(), lanes, timeoutSeconds);
+        
+        Thread[] writers = new Thread[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            final int laneId = lane;
+            writers[lane] = new Thread(() -> {
+                Map<UUID, PlayerBalance> next;
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()
+                        && (next = chunks.poll()) != null) {
+                    Map<PlayerBalance, Long> versions = new HashMap<>();
+                    next.values().forEach(pb -> versions.put(pb, pb.getVersion()));
+                    try {
+                        storage.saveChunkSync(laneId, next);
+                        versions.forEach(PlayerBalance::markPersisted);
+                        saved.addAll(next.keySet());
+                    } catch (Exception | NoClassDefFoundError e) {
+                        logger.at(Level.WARNING).log("Shutdown flush lane %d failed a chunk: %s", laneId, e.getMessage());
+                    }
+                }
+            }, "ArefyEconomy-Flush-" + lane);
+            writers[lane].setDaemon(true);
+            writers[lane].start();
+        }
+        
+        boolean interrupted = false;
+        for (Thread writer : writers) {
+            long remainingMs = java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                if (remainingMs > 0) {
+                    writer.join(remainingMs);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                break;
+            }
+        }
+        
+        // Deadline passed: stop the lanes and wait until each has left its chunk,
+        // so every chunk is known to be committed or not
+        long exitDeadline = System.nanoTime() + java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(FLUSH_LANE_EXIT_TIMEOUT_MS);
+        for (Thread writer : writers) {
+            writer.interrupt();
+        }
+        int stuck = 0;
+        for (Thread writer : writers) {
+            long remainingMs = java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(exitDeadline - System.nanoTime());
+            try {
+                if (remainingMs > 0) {
+                    writer.join(remainingMs);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            if (writer.isAlive()) {
+                stuck++;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (saved.size() == pending.size()) {
+            dirtyPlayers.clear();
+            recoveryJournal.clear();
+            logger.at(Level.INFO).log("Player balances saved successfully");
+            return true;
+        }
+        if (stuck > 0) {
+            // Storage did not return within the exit timeout; their chunks are
+            // journaled too (replay writes the same values if they did commit)
+            logger.at(Level.SEVERE).log("%d shutdown flush lanes did not exit within %dms", stuck, FLUSH_LANE_EXIT_TIMEOUT_MS);
+        }
+        
+        // Spill every account whose chunk was not committed
+        Map<UUID, PlayerBalance> unsaved = new HashMap<>(pending);
+        unsaved.keySet().removeAll(saved);
+        try {
+            recoveryJournal.write(unsaved);
+            logger.at(Level.WARNING).log("Shutdown flush missed the %ds deadline: %d balances written to the recovery journal",
+                timeoutSeconds, unsaved.size());
+            return true;
+        } catch (java.io.IOException e) {
+            logger.at(Level.SEVERE).log("Could not write recovery journal - %d balances may be lost: %s",
+                unsaved.size(), e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Apply balances spilled by a previous shutdown on top of the preloaded
+     * cache and write them to storage.
+     * If that write fails the accounts stay dirty (saved by auto-save) and
+     * the journal is kept until the next successful shutdown flush.
+     */
+    private void replayRecoveryJournal() {
+        if (!recoveryJournal.exists()) {
+            return;
+        }
+        Map<UUID, PlayerBalance> recovered = recoveryJournal.read();
+        if (recovered.isEmpty()) {
+            recoveryJournal.clear();
+            return;
+        }
+        
+        recovered.forEach((uuid, balance) -> {
+            PlayerBalance previous = cache.put(uuid, balance);
+            if (previous != null) {
+                trackRemoved(previous);
+            }
+            unarchive(uuid);
+            trackAdded(balance);
+        });
+        accountIndex.addAll(recovered.keySet());
+        recovered.keySet().forEach(this::markChanged);
+        try {
+            storage.saveAll(recovered).join();
+            dirtyPlayers.removeAll(recovered.keySet());
+            recoveryJournal.clear();
+            logger.at(Level.INFO).log("Recovered %d player balances from the recovery journal", recovered.size());
+        } catch (Exception e) {
+            logger.at(Level.SEVERE).log("Saving recovered balances failed, retrying with auto-save: %s", e.getMessage());
+        }
+    }
+    
     // ========== Storage Access ==========
     
     /**
@@ -509,6 +1722,13 @@ public class EconomyManager {
         return storage instanceof H2StorageProvider h2 ? h2 : null;
     }
     
+    /**
+     * Get the player name directory.
+     */
+    public NameDirectory getNameDirectory() {
+        return nameDirectory;
+    }
+    
     /**
      * Get the transaction logger for activity monitoring.
      */
@@ -523,38 +1743,193 @@ public class EconomyManager {
      * Avoids blocking .join() calls during player joins.
      */
     private void bulkPreload() {
+        boolean preloaded = false;
         try {
             Map<UUID, PlayerBalance> all = storage.loadAll().join();
             cache.putAll(all);
+            all.values().forEach(this::trackAdded);
+            preloaded = true;
             logger.at(Level.INFO).log("Bulk preloaded %d player balances", all.size());
         } catch (Exception e) {
             logger.at(Level.WARNING).log("Bulk preload failed, will load on-demand: %s", e.getMessage());
         }
+        boolean archiveLoaded = loadArchivedSummaries();
+        loadAccountIndex(preloaded && archiveLoaded);
+    }
+    
+    /**
+     * PERF-08: Load a summary row per archived account so leaderboards,
+     * search and economy totals keep counting them. Their full records
+     * stay in storage until first access.
+     * 
+     * @return false if the archive could not be listed
+     */
+    private boolean loadArchivedSummaries() {
+        try {
+            Map<UUID, PlayerBalance> summaries = storage.loadArchivedBalances().join();
+            summaries.forEach((uuid, summary) -> {
+                // Also active (interrupted restore): the active copy is authoritative
+                if (!cache.containsKey(uuid) && archived.putIfAbsent(uuid, summary) == null) {
+                    trackAdded(summary);
+                }
+            });
+            searchIndex.invalidate();
+            logger.at(Level.INFO).log("Loaded %d archived account summaries", archived.size());
+            return true;
+        } catch (Exception e) {
+            logger.at(Level.WARNING).log("Loading archived accounts failed, they are missing from totals and rankings: %s", e.getMessage());
+            return false;
+        }
     }
     
     /**
-     * PERF-02: Get leaderboard with caching and rate-limit.
+     * PERF-05: Load the persisted account index, or rebuild it from the
+     * preloaded accounts if the index file is missing or unreadable.
+     * 
+     * A rebuild needs the complete account list: if the preload (or the
+     * archived summary scan) failed, the index is disabled for this run and
+     * existence checks go to storage instead of trusting a partial index.
+     */
+    private void loadAccountIndex(boolean complete) {
+        if (accountIndex.load()) {
+            // Pick up accounts created while the index was not being saved
+            accountIndex.addAll(cache.keySet());
+            accountIndex.addAll(archived.keySet());
+        } else if (complete) {
+            // Archived accounts are not preloaded but still exist
+            accountIndex.rebuild(getAllPlayerIds());
+            accountIndex.saveIfModified();
+        } else {
+            logger.at(Level.WARNING).log("Account index missing and accounts could not be listed, existence checks will use storage");
+            accountIndex.disable();
+            return;
+        }
+        logger.at(Level.INFO).log("Account index ready (%d accounts)", accountIndex.size());
+    }
+    
+    /**
+     * PERF-06: Bulk load player names into the name directory.
+     */
+    private void loadPlayerNames() {
+        try {
+            Map<UUID, String> names = storage.loadPlayerNames().join();
+            nameDirectory.loadAll(names);
+            logger.at(Level.INFO).log("Loaded %d player names", names.size());
+        } catch (Exception e) {
+            logger.at(Level.WARNING).log("Loading player names failed: %s", e.getMessage());
+        }
+    }
+    
+    /**
+     * PERF-02: Get leaderboard from the rank index.
      * Avoids sorting entire cache on every request.
      * 
      * @param limit Maximum number of entries to return
      * @return Sorted list of top players by balance
      */
     public List<Map.Entry<UUID, PlayerBalance>> getLeaderboard(int limit) {
-        long now = System.currentTimeMillis();
+        List<Map.Entry<UUID, PlayerBalance>> result = new ArrayList<>(limit);
+        for (UUID uuid : searchIndex.top(limit)) {
+            PlayerBalance balance = peekAccount(uuid);
+            if (balance != null) {
+                result.add(Map.entry(uuid, balance));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Get a player's leaderboard position (1-based), or -1 if not ranked.
+     */
+    public int getRank(@Nonnull UUID playerUuid) {
+        int rank = searchIndex.rankOf(playerUuid);
+        return rank >= 0 ? rank + 1 : -1;
+    }
+    
+    /**
+     * PERF-07: Search players by name prefix, ordered by balance.
+     * Uses the name prefix index joined to the rank index; only the
+     * requested page is materialized.
+     */
+    public PlayerSearchIndex.Page searchPlayers(@Nonnull String query, int page, int pageSize) {
+        return searchIndex.search(query, page, pageSize);
+    }
+    
+    /**
+     * PERF-08: Archive accounts with no activity for ArchiveAfterDays.
+     * Evicts them from the cache and moves them to the storage archive so
+     * preload and shutdown cost scale with active players only. Archived
+     * accounts stay in the account index, and a summary keeps them in the
+     * totals, rankings and search; they are restored on first access.
+     */
+    private void archiveDormantAccounts() {
+        int archiveAfterDays = Main.CONFIG.get().getArchiveAfterDays();
+        if (archiveAfterDays <= 0) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - archiveAfterDays * 24L * 60 * 60 * 1000;
+        
+        Set<UUID> onlinePlayers = Universe.get().getPlayers().stream()
+            .map(p -> p.getUuid())
+            .collect(Collectors.toSet());
         
-        // Rebuild if cache is stale or null
-        if (cachedLeaderboard == null || now - lastLeaderboardRebuild > LEADERBOARD_CACHE_MS) {
-            cachedLeaderboard = cache.entrySet().stream()
-                .sorted((a, b) -> Double.compare(b.getValue().getBalance(), a.getValue().getBalance()))
-                .limit(MAX_LEADERBOARD_CACHE_SIZE)
-                .collect(Collectors.toList());
-            lastLeaderboardRebuild = now;
+        Map<UUID, PlayerBalance> evicted = new HashMap<>();
+        for (var entry : cache.entrySet()) {
+            if (evicted.size() >= ARCHIVE_BATCH_LIMIT) break;
+            UUID uuid = entry.getKey();
+            if (!isDormant(entry.getValue(), cutoff) || onlinePlayers.contains(uuid) || hasPendingSave(uuid, entry.getValue())) {
+                continue;
+            }
+            
+            ReentrantLock lock = getLock(uuid);
+            if (!lock.tryLock()) continue;
+            try {
+                // Re-check under the lock: skip anything touched since the scan
+                PlayerBalance balance = cache.get(uuid);
+                if (balance != null && isDormant(balance, cutoff) && !hasPendingSave(uuid, balance)) {
+                    archiving.put(uuid, balance);
+                    // Summary first, so a concurrent restore always finds it to remove.
+                    // Same values, so the totals need no update.
+                    archived.put(uuid, PlayerBalance.restore(uuid, balance.getBalance(), balance.getTotalEarned(),
+                        balance.getTotalSpent(), balance.getLastTransactionTime()));
+                    cache.remove(uuid);
+                    lastCheckpoint.remove(uuid);
+                    evicted.put(uuid, balance);
+                }
+            } finally {
+                lock.unlock();
+            }
         }
         
-        // Return requested limit from cache
-        return cachedLeaderboard.stream()
-            .limit(limit)
-            .collect(Collectors.toList());
+        if (evicted.isEmpty()) {
+            return;
+        }
+        searchIndex.invalidate();
+        
+        // On failure the accounts are still active in storage and reload on demand
+        storage.archivePlayers(evicted).whenComplete((v, e) -> {
+            evicted.keySet().forEach(archiving::remove);
+            if (e != null) {
+                logger.at(Level.WARNING).log("Archiving dormant accounts failed: %s", e.getMessage());
+            } else {
+                logger.at(Level.INFO).log("Archived %d dormant accounts", evicted.size());
+            }
+        });
+    }
+    
+    /**
+     * Dirty, or saved by a flush that has not committed yet (the dirty flag
+     * is cleared when the flush snapshots it): archiving it now could move a
+     * stale copy.
+     */
+    private boolean hasPendingSave(UUID uuid, PlayerBalance balance) {
+        return dirtyPlayers.contains(uuid) || balance.hasUnsavedChanges();
+    }
+    
+    private static boolean isDormant(PlayerBalance balance, long cutoff) {
+        long last = balance.getLastTransactionTime();
+        // 0 = unknown activity, never archived; accounts with holds stay hot
+        return last > 0 && last < cutoff && balance.getHeld() == 0;
     }
     
     /**
@@ -585,14 +1960,10 @@ public class EconomyManager {
     
     /**
      * Resolve player name for logging purposes.
-     * Falls back to truncated UUID if player is offline.
+     * Falls back to truncated UUID if the name was never seen.
      */
     private String resolvePlayerName(UUID uuid) {
-        var player = Universe.get().getPlayer(uuid);
-        if (player != null) {
-            return player.getUsername();
-        }
-        return uuid.toString().substring(0, UUID_PREVIEW_LENGTH) + "...";
+        return nameDirectory.resolve(uuid);
     }
     
     // ========== Result Enums ==========
@@ -602,6 +1973,41 @@ public class EconomyManager {
         INSUFFICIENT_FUNDS,
         SELF_TRANSFER,
         INVALID_AMOUNT,
-        RECIPIENT_MAX_BALANCE
+        RECIPIENT_MAX_BALANCE,
+        ACCOUNT_NOT_FOUND
+    }
+    
+    public enum BatchResult {
+        SUCCESS,
+        INVALID_AMOUNT,
+        INSUFFICIENT_FUNDS,
+        MAX_BALANCE,
+        ACCOUNT_NOT_FOUND,
+        /** The whole batch was cancelled by a BalanceBatchEvent listener */
+        CANCELLED
+    }
+    
+    public enum HoldResult {
+        SUCCESS,
+        /** Captured, released or expired already (or never existed) */
+        HOLD_NOT_FOUND,
+        INSUFFICIENT_FUNDS,
+        RECIPIENT_MAX_BALANCE,
+        ACCOUNT_NOT_FOUND,
+        SELF_TRANSFER,
+        /** Cancelled by a BalanceChangeEvent listener */
+        CANCELLED
+    }
+    
+    public enum ConditionalResult {
+        SUCCESS,
+        /** The account changed since the version was read */
+        VERSION_CONFLICT,
+        INVALID_AMOUNT,
+        INSUFFICIENT_FUNDS,
+        MAX_BALANCE,
+        ACCOUNT_NOT_FOUND,
+        /** Cancelled by a BalanceChangeEvent listener */
+        CANCELLED
     }
 }
@@ -0,0 +1,134 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Durability acknowledgements for balance changes, by flush epoch.
+ *
+ * Model:
+ * - Every change belongs to the open epoch (a counter, read only by waiters)
+ * - Each auto-save flush seals the open epoch before it snapshots the dirty
+ *   set, so a sealed flush contains every change made in its epoch or earlier
+ * - A waiter registered in epoch E completes once every flush up to E has
+ *   committed; nothing is saved synchronously for it
+ *
+ * Failures:
+ * - A failed flush re-marks its accounts dirty; its waiters move to the open
+ *   epoch and complete with the flush that retries them
+ * - Flushes may finish out of order: waiters are only released below the
+ *   oldest flush still in flight
+ *
+ * Writers pay nothing: only callers that ask for an acknowledgement register.
+ * Thread-safe: sealing, completion and registration are synchronized (rare).
+ */
+public class FlushEpochs {
+
+    /** Epoch that current changes belong to */
+    private long openEpoch = 1;
+
+    /** Highest sealed epoch */
+    private long lastSealed = 0;
+
+    /** Sealed epochs whose flush has not finished yet */
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    /** Epoch -> acknowledgement of every waiter registered in it */
+    private final TreeMap<Long, CompletableFuture<Void>> waiters = new TreeMap<>();
+
+    /**
+     * Get a future that completes once every change made before this call
+     * is part of a committed flush.
+     */
+    @Nonnull
+    public synchronized CompletableFuture<Void> whenDurable() {
+        return waiters.computeIfAbsent(openEpoch, epoch -> new CompletableFuture<>());
+    }
+
+    /**
+     * Check if anyone is waiting for a flush.
+     */
+    public synchronized boolean hasWaiters() {
+        return !waiters.isEmpty();
+    }
+
+    /**
+     * Seal the open epoch. Call right before snapshotting the dirty set.
+     *
+     * @return The sealed epoch, to pass to {@link #committed} or {@link #failed}
+     */
+    public synchronized long seal() {
+        long epoch = openEpoch++;
+        lastSealed = epoch;
+        inFlight.add(epoch);
+        return epoch;
+    }
+
+    /**
+     * The flush of a sealed epoch was written.
+     */
+    public void committed(long epoch) {
+        release(epoch, false);
+    }
+
+    /**
+     * The flush of a sealed epoch failed. Call after its accounts were
+     * re-marked dirty, so the next sealed flush contains them.
+     */
+    public void failed(long epoch) {
+        release(epoch, true);
+    }
+
+    private void release(long epoch, boolean failed) {
+        Map<Long, CompletableFuture<Void>> done;
+        synchronized (this) {
+            if (failed) {
+                Map<Long, CompletableFuture<Void>> retried = waiters.headMap(epoch, true);
+                if (!retried.isEmpty()) {
+                    CompletableFuture<Void> target = waiters.computeIfAbsent(openEpoch, e -> new CompletableFuture<>());
+                    for (CompletableFuture<Void> future : retried.values()) {
+                        target.whenComplete((v, error) -> {
+                            if (error != null) future.completeExceptionally(error);
+                            else future.complete(null);
+                        });
+                    }
+                    retried.clear();
+                }
+            }
+            inFlight.remove(epoch);
+            long durable = inFlight.isEmpty() ? lastSealed : Math.min(lastSealed, inFlight.first() - 1);
+            Map<Long, CompletableFuture<Void>> due = waiters.headMap(durable, true);
+            done = new TreeMap<>(due);
+            due.clear();
+        }
+        // Complete outside the lock: callers' stages may run inline
+        done.values().forEach(future -> future.complete(null));
+    }
+
+    /**
+     * Complete every waiter (everything was written, e.g. by the shutdown flush).
+     */
+    public void completeAll() {
+        for (CompletableFuture<Void> future : drain().values()) {
+            future.complete(null);
+        }
+    }
+
+    /**
+     * Fail every waiter (shutdown without a confirmed write).
+     */
+    public void failAll(@Nonnull Throwable cause) {
+        for (CompletableFuture<Void> future : drain().values()) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    private synchronized Map<Long, CompletableFuture<Void>> drain() {
+        Map<Long, CompletableFuture<Void>> all = new TreeMap<>(waiters);
+        waiters.clear();
+        return all;
+    }
+}
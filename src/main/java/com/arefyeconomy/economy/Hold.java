@@ -0,0 +1,43 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Funds earmarked on an account without moving them (auction bid, pending order).
+ *
+ * A hold lowers the account's available balance until it is captured
+ * (withdrawn / paid out), released, or expires. Identified by id; immutable
+ * apart from its slot in the owner's AccountHolds.
+ */
+public final class Hold {
+
+    private final long id;
+    private final UUID playerUuid;
+    private final double amount;
+    private final long expiresAt;
+    private final String reason;
+
+    /** Position in the owner's AccountHolds (guarded by the player lock) */
+    int slot = -1;
+
+    public Hold(long id, @Nonnull UUID playerUuid, double amount, long expiresAt, String reason) {
+        this.id = id;
+        this.playerUuid = playerUuid;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+        this.reason = reason != null ? reason : "";
+    }
+
+    public long getId() { return id; }
+    public UUID getPlayerUuid() { return playerUuid; }
+    public double getAmount() { return amount; }
+
+    /** Expiry time (epoch millis) */
+    public long getExpiresAt() { return expiresAt; }
+    public String getReason() { return reason; }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.arefyeconomy.economy;
+
+import com.arefyeconomy.util.TimerWheel;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of every active hold, by id, with time-based expiry.
+ *
+ * - Capture/release look a hold up by id in O(1); the hold itself lives in
+ *   its account's AccountHolds
+ * - Expiry runs on a hierarchical timer wheel (1s ticks): only holds that
+ *   are due are touched, nothing is scanned
+ * - Ids start from the clock and continue past any loaded hold, so they
+ *   stay unique across restarts
+ *
+ * Thread-safe. The wheel only hands out due ids; expiring them (under the
+ * player lock) is up to the caller, outside the wheel's monitor.
+ */
+public class HoldRegistry {
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentHashMap<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final AtomicLong lastId = new AtomicLong(System.currentTimeMillis() << 16);
+    private final TimerWheel<Long> expiry = new TimerWheel<>(TICK_NANOS, System.nanoTime());
+
+    long nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    /**
+     * Track a hold (new or loaded with its account) and schedule its expiry.
+     */
+    void index(@Nonnull Hold hold) {
+        holds.put(hold.getId(), hold);
+        lastId.accumulateAndGet(hold.getId(), Math::max);
+        schedule(hold);
+    }
+
+    /**
+     * Stop tracking a hold. Its expiry timer fires as a no-op.
+     */
+    void unindex(@Nonnull Hold hold) {
+        holds.remove(hold.getId(), hold);
+    }
+
+    /**
+     * Schedule (again) the expiry of a hold, e.g. if the timer fired early
+     * because of clock drift between the wheel and wall-clock time.
+     */
+    void schedule(@Nonnull Hold hold) {
+        long remainingMs = Math.max(0, hold.getExpiresAt() - System.currentTimeMillis());
+        expiry.schedule(hold.getId(), System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMs));
+    }
+
+    /**
+     * @return the active hold with this id, or null
+     */
+    Hold get(long holdId) {
+        return holds.get(holdId);
+    }
+
+    /**
+     * Ids whose expiry timer is due (they may have been captured or released since).
+     */
+    List<Long> due() {
+        List<Long> due = new ArrayList<>();
+        expiry.advance(System.nanoTime(), due::add);
+        return due;
+    }
+
+    /**
+     * Number of active holds.
+     */
+    public int size() {
+        return holds.size();
+    }
+}
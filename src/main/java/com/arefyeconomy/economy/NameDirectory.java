@@ -0,0 +1,223 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory directory of player names for every known account.
+ *
+ * Single source of truth for UUID -> name resolution (GUIs, commands,
+ * transaction log, search). Works for offline players and for every
+ * storage provider.
+ *
+ * Structure:
+ * - UUID -> display name map for O(1) resolution
+ * - Ordered prefix index keyed by "lowercase name \0 uuid", so all names
+ *   starting with a prefix form one contiguous range (trie-style lookups
+ *   without a node per character)
+ *
+ * Persistence:
+ * - Bulk loaded from storage at startup
+ * - Only changed names are queued; the auto-save loop writes them
+ *   through in one batch per cycle
+ */
+public class NameDirectory {
+
+    /** Number of characters to show when displaying truncated UUIDs */
+    private static final int UUID_PREVIEW_LENGTH = 8;
+
+    /** Separates the name from the UUID in prefix index keys (sorts before any name char) */
+    private static final char KEY_SEPARATOR = '\0';
+
+    private final ConcurrentHashMap<UUID, String> names = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, UUID> prefixIndex = new ConcurrentSkipListMap<>();
+
+    // Names changed since the last flush (latest value wins)
+    private final ConcurrentHashMap<UUID, String> pendingWrites = new ConcurrentHashMap<>();
+
+    // Bumped on every change so callers can invalidate derived caches
+    private volatile long version = 0;
+
+    // ========== Loading / Updates ==========
+
+    /**
+     * Bulk load names from storage. Does not queue any writes.
+     */
+    public synchronized void loadAll(@Nonnull Map<UUID, String> loaded) {
+        for (var entry : loaded.entrySet()) {
+            putInternal(entry.getKey(), entry.getValue());
+        }
+        version++;
+    }
+
+    /**
+     * Record a player's current name (called on join).
+     * No-op if the name is unchanged, so repeated joins cost no I/O.
+     *
+     * @return true if the name changed and was queued for saving
+     */
+    public boolean update(@Nonnull UUID playerUuid, @Nullable String playerName) {
+        if (playerName == null || playerName.isBlank()) {
+            return false;
+        }
+        if (playerName.equals(names.get(playerUuid))) {
+            return false;
+        }
+        synchronized (this) {
+            if (!putInternal(playerUuid, playerName)) {
+                return false;
+            }
+            version++;
+        }
+        pendingWrites.put(playerUuid, playerName);
+        return true;
+    }
+
+    // ========== Lookups ==========
+
+    /**
+     * Get a player's last known name, or null if never seen.
+     */
+    @Nullable
+    public String getName(@Nonnull UUID playerUuid) {
+        return names.get(playerUuid);
+    }
+
+    /**
+     * Get a player's name for display.
+     * Falls back to a truncated UUID if the name is unknown.
+     */
+    @Nonnull
+    public String resolve(@Nonnull UUID playerUuid) {
+        String name = names.get(playerUuid);
+        if (name != null) {
+            return name;
+        }
+        return playerUuid.toString().substring(0, UUID_PREVIEW_LENGTH) + "...";
+    }
+
+    /**
+     * Find a player by exact name (case-insensitive).
+     *
+     * @return the player's UUID, or null if no account has this name
+     */
+    @Nullable
+    public UUID findByName(@Nonnull String playerName) {
+        String from = normalize(playerName) + KEY_SEPARATOR;
+        var entry = prefixIndex.ceilingEntry(from);
+        if (entry != null && entry.getKey().startsWith(from)) {
+            return entry.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Find players whose name starts with the given prefix (case-insensitive),
+     * in alphabetical order.
+     *
+     * @param prefix Name prefix (empty matches everyone)
+     * @param limit Maximum number of results
+     */
+    @Nonnull
+    public List<UUID> findByPrefix(@Nonnull String prefix, int limit) {
+        List<UUID> result = new ArrayList<>(Math.min(limit, 64));
+        for (UUID uuid : prefixRange(prefix).values()) {
+            if (result.size() >= limit) break;
+            result.add(uuid);
+        }
+        return result;
+    }
+
+    /**
+     * All players whose name starts with the given prefix (case-insensitive),
+     * as a live view ordered by name. Iteration costs only the matches.
+     */
+    @Nonnull
+    public Map<String, UUID> prefixRange(@Nonnull String prefix) {
+        String from = normalize(prefix);
+        if (from.isEmpty()) {
+            return prefixIndex;
+        }
+        return prefixIndex.subMap(from, true, from + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Number of players with a known name.
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Change counter; differs whenever any name was added or renamed.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // ========== Write-through ==========
+
+    /**
+     * Take all pending name changes for saving.
+     */
+    @Nonnull
+    public Map<UUID, String> drainPendingWrites() {
+        Map<UUID, String> batch = new HashMap<>();
+        for (UUID uuid : pendingWrites.keySet()) {
+            String name = pendingWrites.remove(uuid);
+            if (name != null) {
+                batch.put(uuid, name);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Put back a batch that failed to save (newer names are kept).
+     */
+    public void requeue(@Nonnull Map<UUID, String> failed) {
+        failed.forEach(pendingWrites::putIfAbsent);
+    }
+
+    public boolean hasPendingWrites() {
+        return !pendingWrites.isEmpty();
+    }
+
+    // ========== Internal ==========
+
+    /**
+     * Insert or rename under the directory lock.
+     *
+     * @return true if anything changed
+     */
+    private boolean putInternal(UUID playerUuid, String playerName) {
+        if (playerName == null || playerName.isBlank()) {
+            return false;
+        }
+        String old = names.put(playerUuid, playerName);
+        if (playerName.equals(old)) {
+            return false;
+        }
+        if (old != null) {
+            prefixIndex.remove(indexKey(old, playerUuid));
+        }
+        prefixIndex.put(indexKey(playerName, playerUuid), playerUuid);
+        return true;
+    }
+
+    private static String indexKey(String playerName, UUID playerUuid) {
+        return normalize(playerName) + KEY_SEPARATOR + playerUuid;
+    }
+
+    private static String normalize(String playerName) {
+        return playerName.trim().toLowerCase(Locale.ROOT);
+    }
+}
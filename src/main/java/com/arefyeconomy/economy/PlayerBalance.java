@@ -6,7 +6,9 @@ import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Player balance data model with security improvements.
@@ -21,7 +23,7 @@ public class PlayerBalance {
     
     public static final BuilderCodec<PlayerBalance> CODEC = BuilderCodec.builder(PlayerBalance.class, PlayerBalance::new)
         .append(new KeyedCodec<>("Uuid", Codec.STRING),
-            (p, v, extraInfo) -> p.playerUuid = UUID.fromString(v), 
+            (p, v, extraInfo) -> p.setOwner(UUID.fromString(v)), 
             (p, extraInfo) -> p.playerUuid.toString()).add()
         .append(new KeyedCodec<>("Balance", Codec.DOUBLE),
             (p, v, extraInfo) -> p.balance = v, 
@@ -38,6 +40,9 @@ public class PlayerBalance {
         .append(new KeyedCodec<>("LastTransactionTime", Codec.LONG),
             (p, v, extraInfo) -> p.lastTransactionTime = v, 
             (p, extraInfo) -> p.lastTransactionTime).add()
+        .append(new KeyedCodec<>("Holds", Codec.STRING),
+            (p, v, extraInfo) -> p.restoreHolds(v), 
+            (p, extraInfo) -> p.encodeHolds()).add()
         .build();
     
     public static final ArrayCodec<PlayerBalance> ARRAY_CODEC = new ArrayCodec<>(CODEC, PlayerBalance[]::new, PlayerBalance::new);
@@ -49,12 +54,40 @@ public class PlayerBalance {
     private String lastTransaction = "";
     private long lastTransactionTime = 0;
     
+    // Active holds (null when there are none), mutated under the player lock.
+    // storedHolds only bridges a decode that sees Holds before Uuid.
+    private volatile AccountHolds holds;
+    private String storedHolds;
+    
+    /** Each loaded instance starts its versions in its own 2^32 range */
+    private static final AtomicLong VERSION_BASE = new AtomicLong();
+    
+    // Change tracking (not persisted): version is bumped on every mutation,
+    // persistedVersion is the newest version known to be in storage.
+    // Versions never repeat within a run, even if the account is archived and reloaded.
+    private volatile long version = VERSION_BASE.getAndAdd(1L << 32);
+    private volatile long persistedVersion = version;
+    
     public PlayerBalance() {}
     
     public PlayerBalance(UUID playerUuid) {
         this.playerUuid = playerUuid;
     }
     
+    /**
+     * Rebuild an account from stored values (SQL providers).
+     * Unlike setBalance(), keeps lifetime totals and the last activity time.
+     */
+    public static PlayerBalance restore(UUID playerUuid, double balance, double totalEarned,
+                                        double totalSpent, long lastTransactionTime) {
+        PlayerBalance pb = new PlayerBalance(playerUuid);
+        pb.balance = balance;
+        pb.totalEarned = totalEarned;
+        pb.totalSpent = totalSpent;
+        pb.lastTransactionTime = lastTransactionTime;
+        return pb;
+    }
+    
     /**
      * Deposit money into this account.
      * 
@@ -78,22 +111,24 @@ public class PlayerBalance {
         this.totalEarned += amount;
         this.lastTransaction = "+" + amount + " (" + reason + ")";
         this.lastTransactionTime = System.currentTimeMillis();
+        this.version++;
         return true;
     }
     
     /**
      * Withdraw money from this account.
      * 
-     * @param amount Amount to withdraw (must be positive and <= balance)
+     * @param amount Amount to withdraw (must be positive and <= available balance)
      * @param reason Reason for the transaction
      * @return true if successful, false if insufficient funds
      */
     public boolean withdraw(double amount, String reason) {
-        if (amount <= 0 || this.balance < amount) return false;
+        if (amount <= 0 || this.balance - getHeld() < amount) return false;
         this.balance -= amount;
         this.totalSpent += amount;
         this.lastTransaction = "-" + amount + " (" + reason + ")";
         this.lastTransactionTime = System.currentTimeMillis();
+        this.version++;
         return true;
     }
     
@@ -105,6 +140,7 @@ public class PlayerBalance {
         this.balance = Math.max(0, amount);
         this.lastTransaction = "Set to " + amount + " (" + reason + ")";
         this.lastTransactionTime = System.currentTimeMillis();
+        this.version++;
     }
     
     // ========== Internal Methods (Package-Private) ==========
@@ -120,6 +156,7 @@ public class PlayerBalance {
         this.totalEarned += amount;
         this.lastTransaction = "+" + amount + " (" + reason + ")";
         this.lastTransactionTime = System.currentTimeMillis();
+        this.version++;
     }
     
     /**
@@ -131,6 +168,7 @@ public class PlayerBalance {
         this.totalSpent += amount;
         this.lastTransaction = "-" + amount + " (" + reason + ")";
         this.lastTransactionTime = System.currentTimeMillis();
+        this.version++;
     }
     
     // ========== Getters ==========
@@ -141,8 +179,112 @@ public class PlayerBalance {
     public double getTotalSpent() { return totalSpent; }
     public String getLastTransaction() { return lastTransaction; }
     public long getLastTransactionTime() { return lastTransactionTime; }
+    public long getVersion() { return version; }
+    
+    /**
+     * Record that the given version was written to storage.
+     */
+    public synchronized void markPersisted(long savedVersion) {
+        if (savedVersion > persistedVersion) {
+            persistedVersion = savedVersion;
+        }
+    }
+    
+    /**
+     * Whether this account changed since the last confirmed save.
+     */
+    public boolean hasUnsavedChanges() {
+        return version > persistedVersion;
+    }
     
+    /**
+     * Whether the available balance (balance minus holds) covers the amount.
+     */
     public boolean hasBalance(double amount) {
-        return this.balance >= amount;
+        return this.balance - getHeld() >= amount;
+    }
+    
+    // ========== Holds ==========
+    // Mutated ONLY from EconomyManager with the player lock held.
+    
+    /**
+     * Total amount currently on hold.
+     */
+    public double getHeld() {
+        AccountHolds h = holds;
+        return h != null ? h.total() : 0;
+    }
+    
+    /**
+     * Balance that can be spent: balance minus active holds (never negative).
+     */
+    public double getAvailableBalance() {
+        return Math.max(0, balance - getHeld());
+    }
+    
+    public List<Hold> getHolds() {
+        AccountHolds h = holds;
+        return h != null ? h.snapshot() : List.of();
+    }
+    
+    void addHold(Hold hold) {
+        AccountHolds h = holds;
+        if (h == null) {
+            h = new AccountHolds();
+            h.add(hold);
+            holds = h;
+        } else {
+            h.add(hold);
+        }
+        this.version++;
+    }
+    
+    boolean removeHold(Hold hold) {
+        AccountHolds h = holds;
+        if (h == null || !h.remove(hold)) {
+            return false;
+        }
+        if (h.size() == 0) {
+            holds = null;
+        }
+        this.version++;
+        return true;
+    }
+    
+    private void setOwner(UUID playerUuid) {
+        this.playerUuid = playerUuid;
+        if (storedHolds != null) {
+            restoreHolds(storedHolds);
+        }
+    }
+    
+    /**
+     * Holds in storage form (empty if none).
+     */
+    public String encodeHolds() {
+        if (storedHolds != null) {
+            return storedHolds;
+        }
+        AccountHolds h = holds;
+        return h != null ? h.encode() : "";
+    }
+    
+    /**
+     * Restore holds from storage form. Parsed right away, before the account
+     * is published; the codec may deliver them before the owner, in which
+     * case they are parsed as soon as the owner is set.
+     */
+    public void restoreHolds(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            this.storedHolds = null;
+            this.holds = null;
+        } else if (playerUuid == null) {
+            this.storedHolds = encoded;
+            this.holds = null;
+        } else {
+            this.storedHolds = null;
+            AccountHolds decoded = AccountHolds.decode(playerUuid, encoded);
+            this.holds = decoded.size() > 0 ? decoded : null;
+        }
     }
 }
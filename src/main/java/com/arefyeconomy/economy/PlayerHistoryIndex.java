@@ -0,0 +1,136 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index from player to the sequence numbers of their most recent
+ * transactions in the TransactionRing.
+ *
+ * Structure:
+ * - One small bounded ring of sequences per player (HISTORY_PER_PLAYER)
+ * - Entries are resolved through the main ring; sequences that were
+ *   overwritten there are simply misses
+ * - A slot a producer is still writing is retried briefly, then skipped;
+ *   it is not mistaken for the end of the ring
+ *
+ * Lookups cost O(k) in the number of sequences held for the player instead
+ * of copying and filtering the whole main ring.
+ */
+public class PlayerHistoryIndex {
+
+    /** Sequences kept per player (older ones are served by storage) */
+    private static final int HISTORY_PER_PLAYER = 32;
+
+    /** Reads of a slot that is being published before it is skipped */
+    private static final int UNPUBLISHED_RETRIES = 64;
+
+    private static final class History {
+        final long[] sequences = new long[HISTORY_PER_PLAYER];
+        long count = 0;
+        long newest = -1;
+    }
+
+    /**
+     * Result of an index lookup.
+     *
+     * @param entries Entries found in the ring, newest first
+     * @param exhausted true if the index held fewer entries than requested
+     *                  (older history, if any, must come from storage)
+     */
+    public record Lookup(List<TransactionEntry> entries, boolean exhausted) {}
+
+    private final ConcurrentHashMap<UUID, History> histories = new ConcurrentHashMap<>();
+    private final TransactionRing ring;
+
+    public PlayerHistoryIndex(@Nonnull TransactionRing ring) {
+        this.ring = ring;
+    }
+
+    /**
+     * Record that a player took part in the transaction with this sequence.
+     */
+    public void record(@Nonnull UUID playerUuid, long sequence) {
+        History history = histories.computeIfAbsent(playerUuid, k -> new History());
+        synchronized (history) {
+            history.sequences[(int) (history.count % HISTORY_PER_PLAYER)] = sequence;
+            history.count++;
+            history.newest = Math.max(history.newest, sequence);
+        }
+    }
+
+    /**
+     * Get a player's most recent entries, newest first.
+     *
+     * @param offset Number of newest entries to skip
+     * @param limit Maximum number of entries to return
+     */
+    @Nonnull
+    public Lookup lookup(@Nonnull UUID playerUuid, int offset, int limit) {
+        History history = histories.get(playerUuid);
+        if (history == null) {
+            return new Lookup(List.of(), true);
+        }
+
+        long[] sequences;
+        synchronized (history) {
+            int held = (int) Math.min(history.count, HISTORY_PER_PLAYER);
+            sequences = Arrays.copyOf(history.sequences, held);
+        }
+        // Producers may record out of order; k is small
+        Arrays.sort(sequences);
+
+        List<TransactionEntry> result = new ArrayList<>(Math.min(limit, sequences.length));
+        int skipped = 0;
+        for (int i = sequences.length - 1; i >= 0 && result.size() < limit; i--) {
+            TransactionEntry entry = read(sequences[i]);
+            if (entry == null) {
+                if (ring.isOverwritten(sequences[i])) {
+                    break; // Rotated out of the main ring - everything older is gone too
+                }
+                continue; // Still being written
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            result.add(entry);
+        }
+        return new Lookup(result, result.size() < limit);
+    }
+
+    private TransactionEntry read(long sequence) {
+        TransactionEntry entry = ring.get(sequence);
+        // The index is recorded right after publish, so an unpublished slot is a producer mid-write
+        for (int attempt = 0; entry == null && attempt < UNPUBLISHED_RETRIES && !ring.isOverwritten(sequence); attempt++) {
+            Thread.onSpinWait();
+            entry = ring.get(sequence);
+        }
+        return entry;
+    }
+
+    /**
+     * Drop players whose indexed transactions have all left the main ring.
+     *
+     * @return number of players removed
+     */
+    public int evictStale() {
+        long oldestLive = ring.getCursor() - ring.getCapacity();
+        int before = histories.size();
+        histories.entrySet().removeIf(e -> {
+            History history = e.getValue();
+            synchronized (history) {
+                return history.newest < oldestLive;
+            }
+        });
+        return before - histories.size();
+    }
+
+    public void clear() {
+        histories.clear();
+    }
+}
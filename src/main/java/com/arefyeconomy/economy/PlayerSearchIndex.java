@@ -0,0 +1,185 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Rank index over all balances - cached accounts plus the summaries of
+ * archived ones - joined with the NameDirectory prefix index for player search.
+ *
+ * Rank index:
+ * - Immutable snapshot of UUIDs ordered by balance (descending) plus UUID -> rank
+ * - Rebuilt lazily, only when balances changed and at most every REBUILD_INTERVAL_MS
+ * - Serves leaderboards (top N is a slice, no sorting per request)
+ *
+ * Search:
+ * - Name prefix range from the NameDirectory -> ranks -> sorted int[]
+ * - Only the requested page is materialized
+ * - Last query result is reused for paging and repeated refreshes
+ */
+public class PlayerSearchIndex {
+
+    /** Minimum time between rank index rebuilds */
+    private static final long REBUILD_INTERVAL_MS = 2000;
+
+    /**
+     * One page of search results in balance order.
+     *
+     * @param players Players on this page (at most pageSize)
+     * @param page Page number actually returned (clamped to valid range)
+     * @param totalPages Total number of pages (at least 1)
+     * @param totalMatches Total number of matching players
+     */
+    public record Page(List<UUID> players, int page, int totalPages, int totalMatches) {}
+
+    private record RankSnapshot(UUID[] order, Map<UUID, Integer> ranks, long builtAt) {}
+
+    private record QueryResult(String query, RankSnapshot snapshot, long namesVersion, int[] ranks) {}
+
+    private final Map<UUID, PlayerBalance> balances;
+    private final Map<UUID, PlayerBalance> archived;
+    private final NameDirectory names;
+
+    private volatile RankSnapshot snapshot = new RankSnapshot(new UUID[0], Map.of(), 0);
+    private volatile boolean stale = true;
+    private volatile QueryResult lastQuery;
+
+    public PlayerSearchIndex(@Nonnull Map<UUID, PlayerBalance> balances, @Nonnull Map<UUID, PlayerBalance> archived,
+                             @Nonnull NameDirectory names) {
+        this.balances = balances;
+        this.archived = archived;
+        this.names = names;
+    }
+
+    /**
+     * Mark balances as changed; the rank index is rebuilt on next use.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    // ========== Leaderboard ==========
+
+    /**
+     * Get the top players by balance.
+     */
+    @Nonnull
+    public List<UUID> top(int limit) {
+        UUID[] order = currentSnapshot().order();
+        int count = Math.max(0, Math.min(limit, order.length));
+        return Collections.unmodifiableList(Arrays.asList(order).subList(0, count));
+    }
+
+    /**
+     * Get a player's leaderboard position (0-based), or -1 if not ranked.
+     */
+    public int rankOf(@Nonnull UUID playerUuid) {
+        Integer rank = currentSnapshot().ranks().get(playerUuid);
+        return rank != null ? rank : -1;
+    }
+
+    // ========== Search ==========
+
+    /**
+     * Search players by name prefix (case-insensitive), ordered by balance.
+     *
+     * @param query Name prefix; empty returns all players
+     * @param page Requested page (clamped to valid range)
+     * @param pageSize Players per page
+     */
+    @Nonnull
+    public Page search(@Nonnull String query, int page, int pageSize) {
+        RankSnapshot snap = currentSnapshot();
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+
+        int total;
+        int[] ranks = null;
+        if (normalized.isEmpty()) {
+            total = snap.order().length;
+        } else {
+            ranks = matchRanks(normalized, snap);
+            total = ranks.length;
+        }
+
+        int totalPages = Math.max(1, (total + pageSize - 1) / pageSize);
+        int clampedPage = Math.max(0, Math.min(page, totalPages - 1));
+        int start = clampedPage * pageSize;
+        int end = Math.min(start + pageSize, total);
+
+        List<UUID> players = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            players.add(snap.order()[ranks != null ? ranks[i] : i]);
+        }
+        return new Page(players, clampedPage, totalPages, total);
+    }
+
+    /**
+     * Ranks of all players whose name starts with the query, ascending.
+     * Cached for the last query until the snapshot or names change.
+     */
+    private int[] matchRanks(String query, RankSnapshot snap) {
+        long namesVersion = names.getVersion();
+        QueryResult cached = lastQuery;
+        if (cached != null && cached.snapshot() == snap && cached.namesVersion() == namesVersion
+                && cached.query().equals(query)) {
+            return cached.ranks();
+        }
+
+        Map<UUID, Integer> rankMap = snap.ranks();
+        int[] ranks = new int[16];
+        int count = 0;
+        for (UUID uuid : names.prefixRange(query).values()) {
+            Integer rank = rankMap.get(uuid);
+            if (rank == null) continue;
+            if (count == ranks.length) {
+                ranks = Arrays.copyOf(ranks, count * 2);
+            }
+            ranks[count++] = rank;
+        }
+        ranks = Arrays.copyOf(ranks, count);
+        Arrays.sort(ranks);
+
+        lastQuery = new QueryResult(query, snap, namesVersion, ranks);
+        return ranks;
+    }
+
+    // ========== Internal ==========
+
+    private RankSnapshot currentSnapshot() {
+        RankSnapshot snap = snapshot;
+        if (stale && System.currentTimeMillis() - snap.builtAt() >= REBUILD_INTERVAL_MS) {
+            synchronized (this) {
+                snap = snapshot;
+                if (stale && System.currentTimeMillis() - snap.builtAt() >= REBUILD_INTERVAL_MS) {
+                    stale = false;
+                    snap = rebuild();
+                    snapshot = snap;
+                }
+            }
+        }
+        return snap;
+    }
+
+    private RankSnapshot rebuild() {
+        // An account being restored may briefly be in both maps: the cached copy wins
+        UUID[] order = Stream.concat(balances.entrySet().stream(),
+                archived.entrySet().stream().filter(e -> !balances.containsKey(e.getKey())))
+            .sorted((a, b) -> Double.compare(b.getValue().getBalance(), a.getValue().getBalance()))
+            .map(Map.Entry::getKey)
+            .toArray(UUID[]::new);
+
+        Map<UUID, Integer> ranks = new HashMap<>(order.length * 4 / 3 + 1);
+        for (int i = 0; i < order.length; i++) {
+            ranks.put(order[i], i);
+        }
+        return new RankSnapshot(order, ranks, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,114 @@
+package com.arefyeconomy.economy;
+
+import com.arefyeconomy.util.ArefyLogger;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Local spill file for balances that could not be saved before shutdown.
+ *
+ * When the shutdown flush misses its deadline, every unconfirmed account
+ * is written here instead of being lost. On the next start the journal is
+ * applied on top of the preloaded cache, saved to storage, then deleted.
+ *
+ * Format (mods/ArefyEconomy/recovery.journal):
+ * - Header: MAGIC "AERJ", format version, entry count
+ * - Per entry: UUID hi/lo, balance, total earned, total spent, last activity time,
+ *   holds (UTF string, empty if none; format version 2+)
+ *
+ * Entries are absolute account states, so replaying twice is harmless.
+ */
+public class RecoveryJournal {
+
+    /** Data path: mods/ArefyEconomy/ - same location as plugin config */
+    private static final Path JOURNAL_PATH = Path.of("mods", "ArefyEconomy", "recovery.journal");
+
+    /** File header: "AERJ" */
+    private static final int MAGIC = 0x4145524A;
+    private static final int FORMAT_VERSION = 2;
+
+    public boolean exists() {
+        return Files.exists(JOURNAL_PATH);
+    }
+
+    /**
+     * Spill accounts to the journal, replacing any previous journal.
+     * Atomic write via temp file + rename.
+     */
+    public void write(@Nonnull Map<UUID, PlayerBalance> entries) throws IOException {
+        Path tempFile = JOURNAL_PATH.resolveSibling(JOURNAL_PATH.getFileName() + ".tmp");
+        Files.createDirectories(JOURNAL_PATH.getParent());
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (var entry : entries.entrySet()) {
+                PlayerBalance pb = entry.getValue();
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeDouble(pb.getBalance());
+                out.writeDouble(pb.getTotalEarned());
+                out.writeDouble(pb.getTotalSpent());
+                out.writeLong(pb.getLastTransactionTime());
+                out.writeUTF(pb.encodeHolds());
+            }
+        }
+        Files.move(tempFile, JOURNAL_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read all journaled accounts. Returns an empty map if there is no journal.
+     * A truncated journal yields the entries read before the damage.
+     */
+    @Nonnull
+    public Map<UUID, PlayerBalance> read() {
+        Map<UUID, PlayerBalance> entries = new HashMap<>();
+        if (!exists()) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(JOURNAL_PATH)))) {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version < 1 || version > FORMAT_VERSION) {
+                ArefyLogger.warn("Recovery journal has unknown format, ignoring");
+                return entries;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                PlayerBalance balance = PlayerBalance.restore(uuid,
+                    in.readDouble(), in.readDouble(), in.readDouble(), in.readLong());
+                if (version >= 2) {
+                    balance.restoreHolds(in.readUTF());
+                }
+                entries.put(uuid, balance);
+            }
+        } catch (IOException e) {
+            ArefyLogger.warn("Recovery journal is damaged, recovered " + entries.size() + " entries: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Delete the journal after a successful replay.
+     */
+    public void clear() {
+        try {
+            Files.deleteIfExists(JOURNAL_PATH);
+        } catch (IOException e) {
+            ArefyLogger.warn("Failed to delete recovery journal: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reason categories for transaction entries (used by the hourly rollups).
+ *
+ * The category of a reason is the text before its first ':' or, without a
+ * colon, its first word, lowercased: "Jobs: mining" -> "jobs",
+ * "Quest reward" -> "quest", "Admin give via GUI" -> "admin".
+ *
+ * Entries store the category as a byte-sized id inside their flags. Ids are
+ * assigned on first sight and never reused. Free-form reasons could create
+ * unbounded categories, so after MAX_CATEGORIES everything new maps to OTHER.
+ */
+public final class TransactionCategories {
+
+    /** No reason given */
+    public static final int NONE = 0;
+
+    /** Overflow bucket once the table is full */
+    public static final int OTHER = 1;
+
+    /** Ids fit in one byte of the entry flags */
+    private static final int MAX_CATEGORIES = 256;
+
+    /** Longest category name kept */
+    private static final int MAX_LENGTH = 32;
+
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final String[] names = new String[MAX_CATEGORIES];
+    private static int nextId = 2;
+
+    static {
+        names[NONE] = "none";
+        names[OTHER] = "other";
+        ids.put("none", NONE);
+        ids.put("other", OTHER);
+    }
+
+    private TransactionCategories() {}
+
+    /**
+     * Get the category id for a reason, assigning one on first use.
+     */
+    public static int of(@Nullable String reason) {
+        String category = categorize(reason);
+        Integer id = ids.get(category);
+        if (id != null) {
+            return id;
+        }
+        synchronized (TransactionCategories.class) {
+            id = ids.get(category);
+            if (id != null) {
+                return id;
+            }
+            if (nextId == MAX_CATEGORIES) {
+                return OTHER;
+            }
+            int assigned = nextId++;
+            names[assigned] = category;
+            // Publish the id last: whoever sees it also sees the array slot
+            ids.put(category, assigned);
+            return assigned;
+        }
+    }
+
+    /**
+     * Resolve an id back to its category name.
+     */
+    public static String get(int id) {
+        String name = id >= 0 && id < MAX_CATEGORIES ? names[id] : null;
+        return name != null ? name : names[OTHER];
+    }
+
+    /**
+     * Category name for a reason (no id assigned).
+     */
+    public static String categorize(@Nullable String reason) {
+        if (reason == null) {
+            return names[NONE];
+        }
+        String trimmed = reason.strip();
+        int end = trimmed.indexOf(':');
+        if (end < 0) {
+            end = 0;
+            while (end < trimmed.length() && !Character.isWhitespace(trimmed.charAt(end))) {
+                end++;
+            }
+        }
+        String category = trimmed.substring(0, Math.min(end, MAX_LENGTH)).strip().toLowerCase(Locale.ROOT);
+        return category.isEmpty() ? names[NONE] : category;
+    }
+}
@@ -3,83 +3,365 @@ package com.arefyeconomy.economy;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
- * Immutable transaction record for activity logging.
- * Pre-formats timestamp on creation to avoid work during UI render.
- * 
+ * Immutable transaction record for activity logging, in packed form.
+ *
+ * Layout (primitives only, one small object per entry):
+ * - timeMillis: epoch milliseconds
+ * - type: TransactionType (stored as a byte ordinal in the ring)
+ * - source / target: UUID as hi/lo longs (HAS_SOURCE / HAS_TARGET flags for null)
+ * - amount: raw IEEE-754 bits (lossless, no boxing)
+ * - fee: raw bits of the fee charged to the sender on top of amount (PAY;
+ *   NaN if not recorded, 0 for other types)
+ * - nameId / targetNameId: interned names (see TransactionNames); entries
+ *   restored from storage keep their stored name as a String instead, so
+ *   arbitrary stored text never grows the intern table
+ * - category: reason category id (see TransactionCategories), one byte of the flags
+ *
+ * API compatibility (this type was a record before API 2.x):
+ * - The record's public constructor and accessors are kept
+ * - equals/hashCode are value-based over the record components (plus the
+ *   reason category and fee); toString keeps the record format
+ *
  * Design notes:
  * - Immutable: safe for concurrent access without synchronization
- * - Pre-formatted time: avoids DateTimeFormatter work per render
+ * - Nothing is formatted or concatenated when logging; Instant, UUID and
+ *   display strings are only built on read (UI render, sinks, exports)
  * - Nullable targetPlayer: some actions don't have a target (e.g., EARN)
  */
-public record TransactionEntry(
-    Instant timestamp,
-    String formattedTime,
-    TransactionType type,
-    UUID sourcePlayer,
-    UUID targetPlayer,  // null for non-transfer actions
-    double amount,
-    String playerName   // Pre-resolved name to avoid lookups during render
-) {
-    private static final DateTimeFormatter TIME_FORMATTER = 
+public final class TransactionEntry {
+
+    private static final DateTimeFormatter TIME_FORMATTER =
         DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault());
-    
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    static final int HAS_SOURCE = 1 << 8;
+    static final int HAS_TARGET = 1 << 9;
+    private static final int CATEGORY_SHIFT = 16;
+
+    private final long timeMillis;
+    private final int flags;          // type ordinal (low byte) | HAS_SOURCE | HAS_TARGET | category << 16
+    private final long sourceHi;
+    private final long sourceLo;
+    private final long targetHi;
+    private final long targetLo;
+    private final long amountBits;
+    private final long feeBits;
+    private final int nameId;
+    private final int targetNameId;   // NONE unless this is a transfer
+    private final String storedName;  // Restored entries only (not interned)
+
+    TransactionEntry(long timeMillis, int flags, long sourceHi, long sourceLo, long targetHi, long targetLo,
+                     long amountBits, long feeBits, int nameId, int targetNameId) {
+        this(timeMillis, flags, sourceHi, sourceLo, targetHi, targetLo, amountBits, feeBits, nameId, targetNameId, null);
+    }
+
+    /**
+     * Record-compatible constructor (kept for plugins built against the record).
+     * The entry is stored with millisecond precision and formattedTime is
+     * derived from the timestamp ("HH:mm", system zone), as the record's
+     * factories always did; the argument is ignored.
+     */
+    public TransactionEntry(
+            Instant timestamp,
+            String formattedTime,
+            TransactionType type,
+            UUID sourcePlayer,
+            UUID targetPlayer,
+            double amount,
+            String playerName) {
+        this(timestamp.toEpochMilli(),
+            type.ordinal() | (sourcePlayer != null ? HAS_SOURCE : 0) | (targetPlayer != null ? HAS_TARGET : 0),
+            sourcePlayer != null ? sourcePlayer.getMostSignificantBits() : 0,
+            sourcePlayer != null ? sourcePlayer.getLeastSignificantBits() : 0,
+            targetPlayer != null ? targetPlayer.getMostSignificantBits() : 0,
+            targetPlayer != null ? targetPlayer.getLeastSignificantBits() : 0,
+            Double.doubleToRawLongBits(amount),
+            Double.doubleToRawLongBits(unrecordedFee(type)),
+            TransactionNames.NONE, TransactionNames.NONE, playerName);
+    }
+
+    private TransactionEntry(long timeMillis, int flags, long sourceHi, long sourceLo, long targetHi, long targetLo,
+                             long amountBits, long feeBits, int nameId, int targetNameId, String storedName) {
+        this.timeMillis = timeMillis;
+        this.flags = flags;
+        this.sourceHi = sourceHi;
+        this.sourceLo = sourceLo;
+        this.targetHi = targetHi;
+        this.targetLo = targetLo;
+        this.amountBits = amountBits;
+        this.feeBits = feeBits;
+        this.nameId = nameId;
+        this.targetNameId = targetNameId;
+        this.storedName = storedName;
+    }
+
+    private static TransactionEntry pack(long timeMillis, TransactionType type, UUID source, UUID target,
+                                         double amount, double fee, int categoryId, int nameId, int targetNameId) {
+        return pack(timeMillis, type, source, target, amount, fee, categoryId, nameId, targetNameId, null);
+    }
+
+    private static TransactionEntry pack(long timeMillis, TransactionType type, UUID source, UUID target,
+                                         double amount, double fee, int categoryId, int nameId, int targetNameId,
+                                         String storedName) {
+        int flags = type.ordinal() | (categoryId & 0xFF) << CATEGORY_SHIFT;
+        if (source != null) flags |= HAS_SOURCE;
+        if (target != null) flags |= HAS_TARGET;
+        return new TransactionEntry(
+            timeMillis,
+            flags,
+            source != null ? source.getMostSignificantBits() : 0,
+            source != null ? source.getLeastSignificantBits() : 0,
+            target != null ? target.getMostSignificantBits() : 0,
+            target != null ? target.getLeastSignificantBits() : 0,
+            Double.doubleToRawLongBits(amount),
+            Double.doubleToRawLongBits(fee),
+            nameId,
+            targetNameId,
+            storedName
+        );
+    }
+
+    /**
+     * Fee of an entry whose fee was not recorded: unknown for transfers, none otherwise.
+     */
+    private static double unrecordedFee(TransactionType type) {
+        return type == TransactionType.PAY ? Double.NaN : 0;
+    }
+
     /**
      * Create entry for single-player action (give, take, set, reset, earn, spend).
      */
     public static TransactionEntry single(
-            TransactionType type, 
-            UUID player, 
+            TransactionType type,
+            UUID player,
             String playerName,
             double amount) {
-        Instant now = Instant.now();
-        return new TransactionEntry(
-            now,
-            TIME_FORMATTER.format(now),
-            type,
-            player,
-            null,
-            amount,
-            playerName
-        );
+        return single(type, player, playerName, amount, null);
+    }
+
+    /**
+     * Create entry for single-player action with the reason it happened.
+     *
+     * @param reason Reason passed to the economy call; only its category is kept
+     */
+    public static TransactionEntry single(
+            TransactionType type,
+            UUID player,
+            String playerName,
+            double amount,
+            String reason) {
+        return pack(System.currentTimeMillis(), type, player, null, amount, 0, TransactionCategories.of(reason),
+            TransactionNames.intern(playerName), TransactionNames.NONE);
     }
-    
+
     /**
-     * Create entry for transfer between players (pay).
+     * Create entry for transfer between players (pay), fee not recorded.
      */
     public static TransactionEntry transfer(
-            UUID from, 
+            UUID from,
             String fromName,
-            UUID to, 
+            UUID to,
             String toName,
             double amount) {
-        Instant now = Instant.now();
-        return new TransactionEntry(
-            now,
-            TIME_FORMATTER.format(now),
-            TransactionType.PAY,
-            from,
-            to,
-            amount,
-            fromName + " → " + toName
-        );
+        return transfer(from, fromName, to, toName, amount, null);
     }
-    
+
+    /**
+     * Create entry for transfer between players with the reason it happened,
+     * fee not recorded.
+     *
+     * @param reason Reason passed to the economy call; only its category is kept
+     */
+    public static TransactionEntry transfer(
+            UUID from,
+            String fromName,
+            UUID to,
+            String toName,
+            double amount,
+            String reason) {
+        return transfer(from, fromName, to, toName, amount, Double.NaN, reason);
+    }
+
+    /**
+     * Create entry for transfer between players.
+     *
+     * @param fee Fee charged to the sender on top of amount
+     * @param reason Reason passed to the economy call; only its category is kept
+     */
+    public static TransactionEntry transfer(
+            UUID from,
+            String fromName,
+            UUID to,
+            String toName,
+            double amount,
+            double fee,
+            String reason) {
+        return transfer(System.currentTimeMillis(), from, fromName, to, toName, amount, fee, reason);
+    }
+
+    /**
+     * Create entry for one leg of a grouped transfer. All legs of a group
+     * share the same timestamp.
+     *
+     * @param timeMillis Time of the whole group (epoch ms)
+     * @param fee Fee charged to the sender on top of amount
+     * @param reason Reason passed to the economy call; only its category is kept
+     */
+    public static TransactionEntry transfer(
+            long timeMillis,
+            UUID from,
+            String fromName,
+            UUID to,
+            String toName,
+            double amount,
+            double fee,
+            String reason) {
+        return pack(timeMillis, TransactionType.PAY, from, to, amount, fee, TransactionCategories.of(reason),
+            TransactionNames.intern(fromName), TransactionNames.intern(toName));
+    }
+
+    /**
+     * Rebuild an entry read back from a transaction sink.
+     * The name is kept as is, not interned: stored names are free-form and
+     * restored entries are short-lived (query results, exports).
+     *
+     * @param playerName The stored display name (for transfers "from → to")
+     */
+    public static TransactionEntry restore(
+            Instant timestamp,
+            TransactionType type,
+            UUID sourcePlayer,
+            UUID targetPlayer,
+            double amount,
+            String playerName) {
+        return restore(timestamp, type, sourcePlayer, targetPlayer, amount, unrecordedFee(type), playerName);
+    }
+
+    /**
+     * Rebuild an entry read back from a transaction sink, with its stored fee.
+     *
+     * @param fee Stored fee, or NaN if the entry was logged without one
+     * @param playerName The stored display name (for transfers "from → to")
+     */
+    public static TransactionEntry restore(
+            Instant timestamp,
+            TransactionType type,
+            UUID sourcePlayer,
+            UUID targetPlayer,
+            double amount,
+            double fee,
+            String playerName) {
+        return pack(timestamp.toEpochMilli(), type, sourcePlayer, targetPlayer, amount, fee, TransactionCategories.NONE,
+            TransactionNames.NONE, TransactionNames.NONE, playerName);
+    }
+
+    // ========== Accessors ==========
+
+    public long timestampMillis() {
+        return timeMillis;
+    }
+
+    public Instant timestamp() {
+        return Instant.ofEpochMilli(timeMillis);
+    }
+
+    /**
+     * Time of day ("HH:mm"), formatted on demand.
+     */
+    public String formattedTime() {
+        return TIME_FORMATTER.format(Instant.ofEpochMilli(timeMillis));
+    }
+
+    public TransactionType type() {
+        return TYPES[flags & 0xFF];
+    }
+
+    /**
+     * Reason category ("none" for entries restored from storage).
+     */
+    public String category() {
+        return TransactionCategories.get(categoryId());
+    }
+
+    public int categoryId() {
+        return (flags >>> CATEGORY_SHIFT) & 0xFF;
+    }
+
+    public UUID sourcePlayer() {
+        return (flags & HAS_SOURCE) != 0 ? new UUID(sourceHi, sourceLo) : null;
+    }
+
+    public UUID targetPlayer() {
+        return (flags & HAS_TARGET) != 0 ? new UUID(targetHi, targetLo) : null;
+    }
+
+    public double amount() {
+        return Double.longBitsToDouble(amountBits);
+    }
+
+    /**
+     * Fee charged to the sender on top of amount (transfers). 0 for other
+     * types; NaN if the transfer was logged without its fee (older entries).
+     */
+    public double fee() {
+        return Double.longBitsToDouble(feeBits);
+    }
+
+    /**
+     * Whether the fee of this entry is known (see fee()).
+     */
+    public boolean hasFee() {
+        return !Double.isNaN(fee());
+    }
+
+    /**
+     * Display name: the player, or "from → to" for transfers.
+     */
+    public String playerName() {
+        if (storedName != null) {
+            return storedName;
+        }
+        String name = TransactionNames.get(nameId);
+        if (targetNameId == TransactionNames.NONE) {
+            return name;
+        }
+        return name + " → " + TransactionNames.get(targetNameId);
+    }
+
+    // Packed fields for TransactionRing
+
+    int flags() { return flags; }
+    long sourceHi() { return sourceHi; }
+    long sourceLo() { return sourceLo; }
+    long targetHi() { return targetHi; }
+    long targetLo() { return targetLo; }
+    long amountBits() { return amountBits; }
+    long feeBits() { return feeBits; }
+    int nameId() { return nameId; }
+    int targetNameId() { return targetNameId; }
+
+    // ========== Display ==========
+
     /**
      * Format for UI display. Example: "[14:30] Admin give: PlayerX +$1,000"
      */
     public String toDisplayString() {
         return String.format("[%s] %s: %s %s",
-            formattedTime,
-            type.getDisplayName(),
-            playerName,
+            formattedTime(),
+            type().getDisplayName(),
+            playerName(),
             formatAmount()
         );
     }
-    
+
     private String formatAmount() {
+        TransactionType type = type();
+        double amount = amount();
         if (type == TransactionType.TAKE || type == TransactionType.SPEND) {
             return String.format("-$%.0f", amount);
         } else if (type == TransactionType.SET || type == TransactionType.RESET) {
@@ -88,12 +370,56 @@ public record TransactionEntry(
             return String.format("+$%.0f", amount);
         }
     }
-    
+
     /**
      * Check if this transaction involves a specific player.
+     * Compares the packed UUID bits, no allocation.
      */
     public boolean involvesPlayer(UUID playerUuid) {
         if (playerUuid == null) return false;
-        return playerUuid.equals(sourcePlayer) || playerUuid.equals(targetPlayer);
+        long hi = playerUuid.getMostSignificantBits();
+        long lo = playerUuid.getLeastSignificantBits();
+        return ((flags & HAS_SOURCE) != 0 && sourceHi == hi && sourceLo == lo)
+            || ((flags & HAS_TARGET) != 0 && targetHi == hi && targetLo == lo);
+    }
+
+    // ========== Value semantics ==========
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionEntry other)) return false;
+        return timeMillis == other.timeMillis
+            && flags == other.flags
+            && sourceHi == other.sourceHi && sourceLo == other.sourceLo
+            && targetHi == other.targetHi && targetLo == other.targetLo
+            && Double.compare(amount(), other.amount()) == 0
+            && Double.compare(fee(), other.fee()) == 0
+            && Objects.equals(playerName(), other.playerName());
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Long.hashCode(timeMillis);
+        h = 31 * h + flags;
+        h = 31 * h + Long.hashCode(sourceHi ^ sourceLo);
+        h = 31 * h + Long.hashCode(targetHi ^ targetLo);
+        h = 31 * h + Double.hashCode(amount());
+        h = 31 * h + Double.hashCode(fee());
+        return 31 * h + Objects.hashCode(playerName());
+    }
+
+    /**
+     * Record format, as before: TransactionEntry[timestamp=..., ..., playerName=...]
+     */
+    @Override
+    public String toString() {
+        return "TransactionEntry[timestamp=" + timestamp()
+            + ", formattedTime=" + formattedTime()
+            + ", type=" + type()
+            + ", sourcePlayer=" + sourcePlayer()
+            + ", targetPlayer=" + targetPlayer()
+            + ", amount=" + amount()
+            + ", playerName=" + playerName() + "]";
     }
 }
@@ -1,34 +1,43 @@
 package com.arefyeconomy.economy;
 
+import com.arefyeconomy.Main;
 import com.arefyeconomy.storage.H2StorageProvider;
+import com.arefyeconomy.storage.TransactionSink;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Thread-safe transaction logger with dual storage:
- * - Ring buffer: Fast in-memory access for Dashboard (last 500)
- * - H2 Database: Persistent storage for LOG tab (unlimited)
+ * - Ring buffer: Fast in-memory access for Dashboard (TransactionBufferSize)
+ * - TransactionSink: Persistent storage for LOG tab (unlimited),
+ *   supplied by the active storage provider (H2, MySQL or JSON)
  * 
  * Performance characteristics:
- * - Write: O(1) lock-free to ring buffer, async to H2
- * - Read (recent): O(n) from ring buffer
- * - Read (history): SQL query from H2
+ * - Write: O(1) lock-free to sequenced ring buffer, queued to the sink (batched writes)
+ * - Read (recent): O(n) consistent snapshot from ring buffer
+ * - Read (player): O(k) via per-player sequence index, storage fallback when the ring misses
+ * - Read (history): async query against the sink
  */
 public class TransactionLogger {
     
-    private static final int DEFAULT_BUFFER_SIZE = 500;
+    private static final int DEFAULT_BUFFER_SIZE = 512;
     
-    private final TransactionEntry[] buffer;
-    private final int bufferSize;
-    private final AtomicInteger writeIndex = new AtomicInteger(0);
-    private final AtomicInteger totalWrites = new AtomicInteger(0);
+    private final TransactionRing ring;
+    private final PlayerHistoryIndex playerIndex;
     
-    // H2 storage for persistence
-    private H2StorageProvider h2Storage;
+    // Durable transaction log (null until storage is initialized)
+    private volatile TransactionSink sink;
+    
+    // In-process consumers of the transaction stream (e.g. analytics)
+    private final List<Consumer<TransactionEntry>> listeners = new CopyOnWriteArrayList<>();
     
     // Singleton instance
     private static TransactionLogger instance;
@@ -38,27 +47,56 @@ public class TransactionLogger {
     }
     
     public TransactionLogger(int bufferSize) {
-        this.bufferSize = bufferSize;
-        this.buffer = new TransactionEntry[bufferSize];
+        this.ring = new TransactionRing(bufferSize);
+        this.playerIndex = new PlayerHistoryIndex(ring);
     }
     
-    public static TransactionLogger getInstance() {
+    public static synchronized TransactionLogger getInstance() {
         if (instance == null) {
-            instance = new TransactionLogger();
+            instance = new TransactionLogger(Main.CONFIG.get().getTransactionBufferSize());
         }
         return instance;
     }
     
-    public static void setInstance(TransactionLogger logger) {
+    public static synchronized void setInstance(TransactionLogger logger) {
         instance = logger;
     }
     
+    /**
+     * Set the sink for persistent logging.
+     * Called by EconomyManager after storage initialization.
+     */
+    public void setSink(TransactionSink sink) {
+        this.sink = sink;
+    }
+    
+    /**
+     * Get the persistent transaction log, or null if storage is not ready.
+     */
+    public TransactionSink getSink() {
+        return sink;
+    }
+    
     /**
      * Set the H2 storage provider for persistent logging.
-     * Called by EconomyManager after initialization.
+     * 
+     * @deprecated Use {@link #setSink(TransactionSink)}
      */
+    @Deprecated
     public void setH2Storage(H2StorageProvider storage) {
-        this.h2Storage = storage;
+        setSink(storage.getTransactionSink());
+    }
+    
+    /**
+     * Receive every logged transaction, synchronously on the logging thread.
+     * Listeners must be cheap and must not throw.
+     */
+    public void addListener(Consumer<TransactionEntry> listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(Consumer<TransactionEntry> listener) {
+        listeners.remove(listener);
     }
     
     // ========== Logging Methods ==========
@@ -67,28 +105,70 @@ public class TransactionLogger {
      * Log a single-player action (give, take, set, reset).
      */
     public void logAction(TransactionType type, UUID player, String playerName, double amount) {
-        log(TransactionEntry.single(type, player, playerName, amount));
+        logAction(type, player, playerName, amount, null);
+    }
+    
+    /**
+     * Log a single-player action, categorized by its reason.
+     */
+    public void logAction(TransactionType type, UUID player, String playerName, double amount, String reason) {
+        log(TransactionEntry.single(type, player, playerName, amount, reason), player, null);
     }
     
     /**
      * Log a transfer between players.
      */
     public void logTransfer(UUID from, String fromName, UUID to, String toName, double amount) {
-        log(TransactionEntry.transfer(from, fromName, to, toName, amount));
+        logTransfer(from, fromName, to, toName, amount, null);
+    }
+    
+    /**
+     * Log a transfer between players, categorized by its reason.
+     */
+    public void logTransfer(UUID from, String fromName, UUID to, String toName, double amount, String reason) {
+        log(TransactionEntry.transfer(from, fromName, to, toName, amount, reason), from, to);
     }
     
     /**
-     * Internal log method - writes to ring buffer AND H2.
+     * Log a transfer between players with the fee charged to the sender,
+     * categorized by its reason.
      */
-    private void log(TransactionEntry entry) {
-        // Write to ring buffer (fast, for Dashboard)
-        int idx = writeIndex.getAndIncrement() % bufferSize;
-        buffer[idx] = entry;
-        totalWrites.incrementAndGet();
+    public void logTransfer(UUID from, String fromName, UUID to, String toName, double amount, double fee, String reason) {
+        log(TransactionEntry.transfer(from, fromName, to, toName, amount, fee, reason), from, to);
+    }
+    
+    /**
+     * Log the entries of one batch operation in order. They reach the sink
+     * back to back and are written in the same batch.
+     */
+    public void logAll(List<TransactionEntry> entries) {
+        for (TransactionEntry entry : entries) {
+            log(entry, entry.sourcePlayer(), entry.targetPlayer());
+        }
+    }
+    
+    /**
+     * Internal log method - writes to ring buffer AND the sink.
+     * Takes the caller's UUIDs so indexing does not unpack them from the entry.
+     */
+    private void log(TransactionEntry entry, UUID sourceUuid, UUID targetUuid) {
+        // Write to ring buffer (fast, for Dashboard) and index by player
+        long sequence = ring.publish(entry);
+        if (sourceUuid != null) {
+            playerIndex.record(sourceUuid, sequence);
+        }
+        if (targetUuid != null) {
+            playerIndex.record(targetUuid, sequence);
+        }
+        
+        for (Consumer<TransactionEntry> listener : listeners) {
+            listener.accept(entry);
+        }
         
-        // Write to H2 (async, for persistent LOG tab)
-        if (h2Storage != null) {
-            h2Storage.logTransaction(entry);
+        // Queue for the sink (batched, for persistent LOG tab)
+        TransactionSink target = sink;
+        if (target != null) {
+            target.append(entry);
         }
     }
     
@@ -101,79 +181,152 @@ public class TransactionLogger {
      * @return List of entries, newest first. May be smaller than count if buffer not full.
      */
     public List<TransactionEntry> getRecent(int count) {
-        int total = totalWrites.get();
-        int available = Math.min(total, bufferSize);
-        int toReturn = Math.min(count, available);
-        
-        if (toReturn == 0) {
-            return Collections.emptyList();
-        }
-        
-        List<TransactionEntry> result = new ArrayList<>(toReturn);
-        int currentIdx = (writeIndex.get() - 1 + bufferSize) % bufferSize;
-        
-        for (int i = 0; i < toReturn; i++) {
-            TransactionEntry entry = buffer[currentIdx];
-            if (entry != null) {
-                result.add(entry);
-            }
-            currentIdx = (currentIdx - 1 + bufferSize) % bufferSize;
-        }
-        
-        return result;
+        return ring.recent(count);
     }
     
     /**
      * Get all available entries in reverse chronological order.
      */
     public List<TransactionEntry> getAll() {
-        return getRecent(bufferSize);
+        return ring.recent(ring.getCapacity());
     }
     
     /**
-     * Get recent entries for a specific player.
+     * Get recent entries for a specific player from memory only.
      * 
      * @param playerUuid The player to filter by
      * @param limit Maximum entries to return
      * @return List of entries involving the player, newest first
      */
     public List<TransactionEntry> getRecentForPlayer(UUID playerUuid, int limit) {
-        List<TransactionEntry> all = getRecent(bufferSize);
-        List<TransactionEntry> filtered = new ArrayList<>();
-        
-        for (TransactionEntry entry : all) {
-            if (entry.involvesPlayer(playerUuid)) {
-                filtered.add(entry);
-                if (filtered.size() >= limit) break;
+        return playerIndex.lookup(playerUuid, 0, limit).entries();
+    }
+    
+    /**
+     * Count a player's entries logged in the given millisecond (taken with
+     * a balance checkpoint, under the player's lock). Served from the index;
+     * it holds the player's newest entries, which is where this millisecond is.
+     */
+    public int countLoggedAt(UUID playerUuid, long millis) {
+        int count = 0;
+        for (TransactionEntry entry : playerIndex.lookup(playerUuid, 0, Integer.MAX_VALUE).entries()) {
+            if (entry.timestampMillis() < millis) break;
+            if (entry.timestampMillis() == millis) count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Get a page of a player's history, newest first.
+     * Served from the in-memory index when it covers the page, otherwise
+     * the index entries are merged with the indexed storage query (when
+     * persistent logging is available): the newest entries may still be
+     * queued for the sink, older ones only exist in storage.
+     * 
+     * @param playerUuid The player to filter by
+     * @param offset Number of newest entries to skip
+     * @param limit Maximum entries to return
+     */
+    public CompletableFuture<List<TransactionEntry>> getHistory(UUID playerUuid, int offset, int limit) {
+        int window = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PlayerHistoryIndex.Lookup lookup = playerIndex.lookup(playerUuid, 0, window);
+        TransactionSink target = sink;
+        if (!lookup.exhausted() || target == null) {
+            return CompletableFuture.completedFuture(page(lookup.entries(), offset, limit));
+        }
+        List<TransactionEntry> recent = lookup.entries();
+        return target.queryPlayer(playerUuid, window, 0)
+            .thenApply(stored -> page(merge(recent, stored), offset, limit));
+    }
+    
+    /**
+     * Union of ring and storage entries, newest first. An entry that is in
+     * both (already written by the sink) is kept once.
+     */
+    static List<TransactionEntry> merge(List<TransactionEntry> recent, List<TransactionEntry> stored) {
+        if (recent.isEmpty()) {
+            return stored;
+        }
+        Map<EventKey, Integer> inRing = new HashMap<>();
+        for (TransactionEntry entry : recent) {
+            inRing.merge(EventKey.of(entry), 1, Integer::sum);
+        }
+        List<TransactionEntry> merged = new ArrayList<>(recent);
+        for (TransactionEntry entry : stored) {
+            EventKey key = EventKey.of(entry);
+            Integer count = inRing.get(key);
+            if (count != null) {
+                // Same event, already taken from the ring
+                if (count == 1) inRing.remove(key); else inRing.put(key, count - 1);
+                continue;
             }
+            merged.add(entry);
         }
-        
-        return filtered;
+        // Stable: ring order is kept for entries in the same millisecond
+        merged.sort(Comparator.comparingLong(TransactionEntry::timestampMillis).reversed());
+        return merged;
+    }
+    
+    private static List<TransactionEntry> page(List<TransactionEntry> entries, int offset, int limit) {
+        if (offset >= entries.size()) {
+            return List.of();
+        }
+        return entries.subList(offset, (int) Math.min(entries.size(), (long) offset + limit));
+    }
+    
+    /**
+     * Identity of a logged event across the ring and storage (storage does
+     * not keep the reason category or the interned names).
+     */
+    private record EventKey(long time, int type, long sourceHi, long sourceLo,
+                            long targetHi, long targetLo, long amountBits) {
+        static EventKey of(TransactionEntry entry) {
+            return new EventKey(entry.timestampMillis(), entry.type().ordinal(), entry.sourceHi(), entry.sourceLo(),
+                entry.targetHi(), entry.targetLo(), entry.amountBits());
+        }
+    }
+    
+    /**
+     * Get hourly rollups (hour x type x reason category) from the sink.
+     * 
+     * @param fromMillis Inclusive lower bound for the hour start (epoch ms)
+     * @param toMillis Exclusive upper bound for the hour start (epoch ms)
+     */
+    public CompletableFuture<List<TransactionRollup>> getRollups(long fromMillis, long toMillis) {
+        TransactionSink target = sink;
+        if (target == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return target.queryRollups(fromMillis, toMillis);
+    }
+    
+    /**
+     * Drop per-player index entries that no longer point into the ring.
+     */
+    public int cleanupPlayerIndex() {
+        return playerIndex.evictStale();
     }
     
     /**
      * Get statistics for monitoring.
      */
-    public int getTotalTransactions() {
-        return totalWrites.get();
+    public long getTotalTransactions() {
+        return ring.getCursor();
     }
     
     public int getBufferSize() {
-        return bufferSize;
+        return ring.getCapacity();
     }
     
     public int getAvailableCount() {
-        return Math.min(totalWrites.get(), bufferSize);
+        return ring.size();
     }
     
     /**
      * Clear all entries (for testing).
      */
     public void clear() {
-        for (int i = 0; i < bufferSize; i++) {
-            buffer[i] = null;
-        }
-        writeIndex.set(0);
-        totalWrites.set(0);
+        ring.clear();
+        playerIndex.clear();
     }
 }
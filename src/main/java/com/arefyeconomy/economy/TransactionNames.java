@@ -0,0 +1,65 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned player names for transaction entries.
+ *
+ * Entries store an int id instead of a String reference, so logging the
+ * same player again allocates nothing. Ids are never reused; the table only
+ * grows with the number of distinct names seen (about one per player).
+ *
+ * - intern(): lock-free on hit, synchronized on first sight of a name
+ * - get(): lock-free array read
+ */
+public final class TransactionNames {
+
+    /** Id used for "no name" */
+    public static final int NONE = -1;
+
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[256];
+    private static int nextId = 0;
+
+    private TransactionNames() {}
+
+    /**
+     * Get the id for a name, assigning one on first use.
+     */
+    public static int intern(@Nullable String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (TransactionNames.class) {
+            id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int assigned = nextId++;
+            String[] table = names;
+            if (assigned == table.length) {
+                table = Arrays.copyOf(table, table.length * 2);
+            }
+            table[assigned] = name;
+            names = table;
+            // Publish the id last: whoever sees it also sees the array slot
+            ids.put(name, assigned);
+            return assigned;
+        }
+    }
+
+    /**
+     * Resolve an id back to its name, or null for NONE / unknown ids.
+     */
+    @Nullable
+    public static String get(int id) {
+        String[] table = names;
+        return id >= 0 && id < table.length ? table[id] : null;
+    }
+}
@@ -0,0 +1,208 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sequenced ring buffer for recent transactions
+ * (multiple producers, any number of readers).
+ *
+ * Design (Disruptor-style, packed):
+ * - Power-of-two capacity: slot = sequence & mask, no modulo, no negative indexes
+ * - 64-bit sequences claimed with one getAndIncrement (never overflow in practice)
+ * - Entries are stored as primitives in one long[] (STRIDE longs per slot),
+ *   so publishing allocates nothing
+ * - Each slot has a seqlock stamp: 2*seq+1 while seq is being written,
+ *   2*seq+2 once it is published. Readers check the stamp before and after
+ *   copying the slot, so an entry is either read whole or not at all
+ * - A producer never takes a slot from a newer sequence, so slots never
+ *   move backwards; a producer that lapped a slow one waits for it to finish
+ *
+ * Snapshot reads walk back from the claimed cursor and return entries in
+ * strict sequence order. Slots still being written by a producer are skipped.
+ */
+public class TransactionRing {
+
+    // Slot layout in data[]
+    private static final int STRIDE = 9;
+    private static final int TIME = 0;
+    private static final int SOURCE_HI = 1;
+    private static final int SOURCE_LO = 2;
+    private static final int TARGET_HI = 3;
+    private static final int TARGET_LO = 4;
+    private static final int AMOUNT = 5;
+    private static final int FLAGS = 6;
+    private static final int NAMES = 7;     // nameId (low 32) | targetNameId (high 32)
+    private static final int FEE = 8;
+
+    /** Largest supported capacity (keeps capacity * STRIDE within an int) */
+    private static final int MAX_CAPACITY = 1 << 24;
+
+    private final long[] data;
+    private final AtomicLongArray stamps;
+    private final int capacity;
+    private final int mask;
+
+    // Next sequence to claim (sequences start at 0)
+    private final AtomicLong cursor = new AtomicLong(0);
+
+    /**
+     * @param requestedCapacity Minimum capacity; rounded up to a power of two
+     */
+    public TransactionRing(int requestedCapacity) {
+        this.capacity = powerOfTwoAtLeast(Math.max(2, requestedCapacity));
+        this.mask = capacity - 1;
+        this.data = new long[capacity * STRIDE];
+        this.stamps = new AtomicLongArray(capacity);
+    }
+
+    // ========== Writing ==========
+
+    /**
+     * Append an entry. Lock-free; safe from any thread; allocation-free.
+     *
+     * @return the entry's sequence number
+     */
+    public long publish(@Nonnull TransactionEntry entry) {
+        long sequence = cursor.getAndIncrement();
+        int index = (int) (sequence & mask);
+        long writing = 2 * sequence + 1;
+
+        // Claim the slot unless a producer that lapped us already owns it
+        while (true) {
+            long stamp = stamps.get(index);
+            if (stamp >= writing) {
+                return sequence; // Newer sequence owns the slot; ours is already overwritten
+            }
+            if ((stamp & 1) != 0) {
+                Thread.onSpinWait(); // Older producer mid-write on this slot
+                continue;
+            }
+            if (stamps.compareAndSet(index, stamp, writing)) {
+                break;
+            }
+        }
+        // Stamp change must be visible before any data store
+        VarHandle.releaseFence();
+
+        int base = index * STRIDE;
+        data[base + TIME] = entry.timestampMillis();
+        data[base + SOURCE_HI] = entry.sourceHi();
+        data[base + SOURCE_LO] = entry.sourceLo();
+        data[base + TARGET_HI] = entry.targetHi();
+        data[base + TARGET_LO] = entry.targetLo();
+        data[base + AMOUNT] = entry.amountBits();
+        data[base + FLAGS] = entry.flags();
+        data[base + NAMES] = (entry.nameId() & 0xFFFFFFFFL) | ((long) entry.targetNameId() << 32);
+        data[base + FEE] = entry.feeBits();
+
+        stamps.setRelease(index, writing + 1);
+        return sequence;
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Get the entry with the given sequence, or null if it was overwritten
+     * or is not published yet.
+     */
+    @Nullable
+    public TransactionEntry get(long sequence) {
+        if (sequence < 0) {
+            return null;
+        }
+        int index = (int) (sequence & mask);
+        long published = 2 * sequence + 2;
+        if (stamps.getAcquire(index) != published) {
+            return null;
+        }
+
+        int base = index * STRIDE;
+        long time = data[base + TIME];
+        long sourceHi = data[base + SOURCE_HI];
+        long sourceLo = data[base + SOURCE_LO];
+        long targetHi = data[base + TARGET_HI];
+        long targetLo = data[base + TARGET_LO];
+        long amount = data[base + AMOUNT];
+        long flags = data[base + FLAGS];
+        long names = data[base + NAMES];
+        long fee = data[base + FEE];
+
+        // Validate: the slot must not have been reclaimed while we copied it
+        VarHandle.acquireFence();
+        if (stamps.get(index) != published) {
+            return null;
+        }
+        return new TransactionEntry(time, (int) flags, sourceHi, sourceLo, targetHi, targetLo,
+            amount, fee, (int) names, (int) (names >>> 32));
+    }
+
+    /**
+     * Whether the entry with this sequence can no longer be read
+     * (a producer has claimed the slot for a newer sequence).
+     */
+    public boolean isOverwritten(long sequence) {
+        return stamps.get((int) (sequence & mask)) > 2 * sequence + 2;
+    }
+
+    /**
+     * Snapshot of the most recent entries, newest first.
+     *
+     * @param count Maximum number of entries to return
+     */
+    @Nonnull
+    public List<TransactionEntry> recent(int count) {
+        long end = cursor.get();
+        long start = Math.max(0, end - capacity);
+        List<TransactionEntry> result = new ArrayList<>(Math.min(count, capacity));
+        for (long sequence = end - 1; sequence >= start && result.size() < count; sequence--) {
+            TransactionEntry entry = get(sequence);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Total number of entries ever published (claimed).
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of entries currently held (at most the capacity).
+     */
+    public int size() {
+        return (int) Math.min(cursor.get(), capacity);
+    }
+
+    /**
+     * Clear all entries (for testing).
+     * Not safe to call while producers are active.
+     */
+    public void clear() {
+        for (int i = 0; i < capacity; i++) {
+            stamps.set(i, 0);
+        }
+        cursor.set(0);
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        if (value >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.arefyeconomy.economy;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated transaction statistics for one hour, type and reason category.
+ *
+ * Rollups are built by the transaction log writer from each batch and stored
+ * next to the raw log, so statistics ("earned from jobs today") are read
+ * from a few hundred rows instead of scanning every transaction.
+ *
+ * @param hourStart Start of the hour (epoch ms, UTC-aligned)
+ * @param type Transaction type
+ * @param category Reason category (see TransactionCategories)
+ * @param count Number of transactions
+ * @param sum Sum of amounts
+ * @param min Smallest amount
+ * @param max Largest amount
+ */
+public record TransactionRollup(long hourStart, @Nonnull TransactionType type, @Nonnull String category,
+                                long count, double sum, double min, double max) {
+
+    public static final long HOUR_MS = 60L * 60 * 1000;
+
+    public double average() {
+        return count > 0 ? sum / count : 0;
+    }
+
+    /**
+     * Combine with another rollup of the same hour, type and category.
+     */
+    public TransactionRollup merge(@Nonnull TransactionRollup other) {
+        return new TransactionRollup(hourStart, type, category,
+            count + other.count, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    /**
+     * Key identifying the hour, type and category.
+     */
+    public String key() {
+        return hourStart + ":" + type.name() + ":" + category;
+    }
+
+    public static long hourOf(long timeMillis) {
+        return Math.floorDiv(timeMillis, HOUR_MS) * HOUR_MS;
+    }
+
+    /**
+     * Roll up a batch of entries (one row per hour, type and category).
+     */
+    @Nonnull
+    public static List<TransactionRollup> of(@Nonnull Collection<TransactionEntry> entries) {
+        // Packed key: hour index | type ordinal | category id
+        Map<Long, TransactionRollup> rollups = new HashMap<>();
+        for (TransactionEntry entry : entries) {
+            long hour = hourOf(entry.timestampMillis());
+            long key = (hour / HOUR_MS) << 16 | (long) entry.type().ordinal() << 8 | entry.categoryId();
+            double amount = entry.amount();
+            TransactionRollup single = new TransactionRollup(hour, entry.type(), entry.category(), 1, amount, amount, amount);
+            rollups.merge(key, single, TransactionRollup::merge);
+        }
+        return new ArrayList<>(rollups.values());
+    }
+
+    /**
+     * Sum rollups over all hours, one row per type and category
+     * (hourStart is the earliest hour included).
+     */
+    @Nonnull
+    public static List<TransactionRollup> totals(@Nonnull Collection<TransactionRollup> rollups) {
+        Map<String, TransactionRollup> totals = new HashMap<>();
+        for (TransactionRollup rollup : rollups) {
+            totals.merge(rollup.type().name() + ":" + rollup.category(), rollup, (a, b) ->
+                new TransactionRollup(Math.min(a.hourStart, b.hourStart), a.type, a.category,
+                    a.count + b.count, a.sum + b.sum, Math.min(a.min, b.min), Math.max(a.max, b.max)));
+        }
+        List<TransactionRollup> result = new ArrayList<>(totals.values());
+        result.sort((a, b) -> Double.compare(b.sum, a.sum));
+        return result;
+    }
+}
@@ -1,10 +1,13 @@
 package com.arefyeconomy.gui;
 
 import com.arefyeconomy.Main;
+import com.arefyeconomy.api.events.AccountSubscription;
+import com.arefyeconomy.api.events.ArefyEconomyEvents;
 import com.arefyeconomy.economy.PlayerBalance;
 import com.arefyeconomy.economy.TransactionEntry;
 import com.arefyeconomy.economy.TransactionLogger;
 import com.arefyeconomy.locale.Messages;
+import com.arefyeconomy.storage.TransactionSink;
 import com.arefyeconomy.systems.BalanceHudSystem;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -19,13 +22,11 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
 import java.awt.Color;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * ArefyAdminGui - Complete admin panel for economy management.
@@ -34,7 +35,7 @@ import java.util.stream.Collectors;
  * 
  * Features:
  * - Dashboard with stats (total circulating, player count, average)
- * - Player list with give/take/set/reset actions
+ * - Player list with give/take/set/reset actions (balances update live)
  * - Top 10 leaderboard
  * - Force save button
  */
@@ -70,6 +71,10 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
     // Post-action feedback
     private String lastFeedback = null;
     
+    // Balance subscriptions for the accounts on the current player page (held weakly by the registry)
+    private final Map<UUID, AccountSubscription> watchedPlayers = new HashMap<>();
+    private volatile Map<UUID, Integer> playerRows = Map.of();
+    
     public ArefyAdminGui(@NonNullDecl PlayerRef playerRef) {
         super(playerRef, CustomPageLifetime.CanDismiss, AdminGuiData.CODEC);
         this.playerRef = playerRef;
@@ -419,24 +424,28 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
     }
     
     private void buildDashboard(@NonNullDecl UICommandBuilder cmd) {
-        var allBalances = Main.getInstance().getEconomyManager().getAllBalances();
-        
-        double totalCirculating = allBalances.values().stream()
-            .mapToDouble(PlayerBalance::getBalance)
-            .sum();
-        
-        int playerCount = allBalances.size();
-        double average = playerCount > 0 ? totalCirculating / playerCount : 0;
+        // PERF-12: Read the incrementally maintained totals (no scan)
+        var stats = Main.getInstance().getEconomyManager().getAggregates().snapshot();
         
-        cmd.set("#TotalCirculating.Text", Main.CONFIG.get().format(totalCirculating));
-        cmd.set("#TotalPlayers.Text", String.valueOf(playerCount));
-        cmd.set("#AverageBalance.Text", Main.CONFIG.get().format(average));
+        cmd.set("#TotalCirculating.Text", Main.CONFIG.get().format(stats.totalCirculating()));
+        cmd.set("#TotalPlayers.Text", String.valueOf(stats.accounts()));
+        cmd.set("#AverageBalance.Text", Main.CONFIG.get().format(stats.averageBalance()));
         
         // Config info
         cmd.set("#ConfigMaxBalance.Text", Main.CONFIG.get().formatShort(Main.CONFIG.get().getMaxBalance()));
         cmd.set("#ConfigTransferFee.Text", String.format("%.1f%%", Main.CONFIG.get().getTransferFee() * 100));
         cmd.set("#ConfigAutoSave.Text", (Main.CONFIG.get().getAutoSaveInterval() / 60) + " min");
         
+        // PERF-13: Economy health from the continuously maintained analytics
+        var health = Main.getInstance().getEconomyManager().getAnalytics().snapshot();
+        cmd.set("#HealthGini.Text", String.format("%.2f", health.gini()));
+        cmd.set("#HealthMedian.Text", Main.CONFIG.get().formatShort(health.median()));
+        cmd.set("#HealthP90.Text", Main.CONFIG.get().formatShort(health.p90()));
+        cmd.set("#HealthP99.Text", Main.CONFIG.get().formatShort(health.p99()));
+        cmd.set("#HealthVelocity.Text", String.format("%.2f", health.velocity24h()));
+        cmd.set("#HealthTraders.Text", String.valueOf(health.activeTraders24h()));
+        cmd.set("#HealthEarners.Text", String.valueOf(health.activeEarners24h()));
+        
         // Activity Log - show last 15 transactions
         cmd.clear("#ActivityLog");
         var recentActivity = TransactionLogger.getInstance().getRecent(15);
@@ -458,42 +467,23 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
     private void buildPlayersTab(@NonNullDecl UICommandBuilder cmd, @NonNullDecl UIEventBuilder events) {
         cmd.clear("#PlayerList");
         
-        var allBalances = Main.getInstance().getEconomyManager().getAllBalances();
-        
-        // Filter and sort
-        List<Map.Entry<UUID, PlayerBalance>> filtered = allBalances.entrySet().stream()
-            .filter(e -> {
-                if (searchQuery.isEmpty()) return true;
-                String playerName = getPlayerName(e.getKey());
-                return playerName.toLowerCase().contains(searchQuery);
-            })
-            .sorted((a, b) -> Double.compare(b.getValue().getBalance(), a.getValue().getBalance()))
-            .collect(Collectors.toList());
-        
-        // Calculate pagination
-        int totalFiltered = filtered.size();
-        int totalPages = Math.max(1, (int) Math.ceil((double) totalFiltered / PAGE_SIZE));
-        
-        // Clamp currentPage to valid range
-        if (currentPage >= totalPages) {
-            currentPage = totalPages - 1;
-        }
-        if (currentPage < 0) {
-            currentPage = 0;
-        }
+        var economy = Main.getInstance().getEconomyManager();
         
-        int startIndex = currentPage * PAGE_SIZE;
-        int endIndex = Math.min(startIndex + PAGE_SIZE, totalFiltered);
+        // Indexed name prefix search in balance order (page is clamped to valid range)
+        var result = economy.searchPlayers(searchQuery, currentPage, PAGE_SIZE);
+        currentPage = result.page();
+        int totalPages = result.totalPages();
         
         // Update page info
         cmd.set("#PageInfo.Text", Messages.get("gui.players.page", "current", String.valueOf(currentPage + 1), "total", String.valueOf(totalPages)));
         
         // Render current page entries
         int displayIndex = 0;
-        for (int i = startIndex; i < endIndex; i++) {
-            var entry = filtered.get(i);
-            UUID uuid = entry.getKey();
-            PlayerBalance balance = entry.getValue();
+        Map<UUID, Integer> rows = new HashMap<>();
+        for (UUID uuid : result.players()) {
+            // Read-only: listing an archived account must not restore it
+            PlayerBalance balance = economy.peekAccount(uuid);
+            if (balance == null) continue;
             String playerName = getPlayerName(uuid);
             
             String uuidStr = uuid.toString();
@@ -508,8 +498,10 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
             events.addEventBinding(CustomUIEventBindingType.Activating, "#PlayerList[" + displayIndex + "]",
                 EventData.of("PlayerAction", "Select").append("PlayerUuid", uuidStr).append("PlayerName", playerName), false);
             
+            rows.put(uuid, displayIndex);
             displayIndex++;
         }
+        watchPlayers(rows);
         
         // Update selected player info in action panel
         if (selectedPlayerUuid != null && selectedPlayerName != null) {
@@ -540,16 +532,36 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
         }
     }
     
+    /**
+     * Subscribe to the accounts shown on the player page and drop the
+     * subscriptions of accounts that scrolled out of view.
+     */
+    private void watchPlayers(Map<UUID, Integer> rows) {
+        playerRows = rows;
+        watchedPlayers.entrySet().removeIf(entry -> {
+            if (rows.containsKey(entry.getKey())) return false;
+            entry.getValue().close();
+            return true;
+        });
+        for (UUID uuid : rows.keySet()) {
+            watchedPlayers.computeIfAbsent(uuid, id -> ArefyEconomyEvents.subscribeWeak(id, this::onPlayerBalanceChanged));
+        }
+    }
+    
+    /** A listed account changed: update its balance cell only */
+    private void onPlayerBalanceChanged(UUID playerUuid, double oldBalance, double newBalance) {
+        Integer row = playerRows.get(playerUuid);
+        if (row == null) return;
+        UICommandBuilder cmd = new UICommandBuilder();
+        cmd.set("#PlayerList[" + row + "] #PlayerBalance.Text", Main.CONFIG.get().format(newBalance));
+        this.sendUpdate(cmd, new UIEventBuilder(), false);
+    }
+    
     private void buildTopTab(@NonNullDecl UICommandBuilder cmd) {
         cmd.clear("#TopList");
         
-        var allBalances = Main.getInstance().getEconomyManager().getAllBalances();
-        
-        // Sort by balance descending, take top 10
-        List<Map.Entry<UUID, PlayerBalance>> top10 = allBalances.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue().getBalance(), a.getValue().getBalance()))
-            .limit(10)
-            .collect(Collectors.toList());
+        // Top 10 from the rank index
+        List<Map.Entry<UUID, PlayerBalance>> top10 = Main.getInstance().getEconomyManager().getLeaderboard(10);
         
         int rank = 1;
         for (var entry : top10) {
@@ -573,26 +585,26 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
     private void buildLogTab(@NonNullDecl UICommandBuilder cmd) {
         cmd.clear("#LogList");
 
-        var h2Storage = Main.getInstance().getEconomyManager().getH2Storage();
+        TransactionSink sink = TransactionLogger.getInstance().getSink();
 
-        // LOG tab only works with H2 storage
-        if (h2Storage == null) {
-            cmd.appendInline("#LogList", "Label { Text: \"" + Messages.get("gui.log.requires_h2") + "\"; Style: (FontSize: 14, TextColor: #888888); Padding: (Top: 20); }");
+        // LOG tab reads the persistent transaction log of the active storage provider
+        if (sink == null) {
+            cmd.appendInline("#LogList", "Label { Text: \"" + Messages.get("gui.log.unavailable") + "\"; Style: (FontSize: 14, TextColor: #888888); Padding: (Top: 20); }");
             return;
         }
 
         // Show loading state
         cmd.set("#LogCountInfo.Text", Messages.get("gui.log.loading"));
 
-        // Query H2 asynchronously to avoid blocking main thread
+        // Query the sink asynchronously to avoid blocking main thread
         String filter = logFilter.isEmpty() ? null : logFilter;
         int offset = logPage * LOG_SIZE;
 
         // Combine both queries into one async operation
-        // IMPORTANT: Use thenCombineAsync to run callback on ForkJoinPool, NOT on H2 executor
-        // Otherwise the callback blocks the H2 executor and causes deadlock on shutdown
-        h2Storage.countTransactionsAsync(filter).thenCombineAsync(
-            h2Storage.queryTransactionsAsync(filter, LOG_SIZE, offset),
+        // IMPORTANT: Use thenCombineAsync to run callback on ForkJoinPool, NOT on the sink's reader
+        // Otherwise the callback blocks the reader thread and delays every other query
+        sink.count(filter).thenCombineAsync(
+            sink.query(filter, LOG_SIZE, offset),
             (totalCount, entries) -> {
                 // Build UI update on the result
                 UICommandBuilder asyncCmd = new UICommandBuilder();
@@ -691,6 +703,7 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
         cmd.set("#LblPlayersWithBalance.Text", Messages.get("gui.dashboard.players_with_balance"));
         cmd.set("#LblAverageBalance.Text", Messages.get("gui.dashboard.avg_balance"));
         cmd.set("#LblCurrentConfig.Text", Messages.get("gui.dashboard.current_config"));
+        cmd.set("#LblEconomyHealth.Text", Messages.get("gui.dashboard.economy_health"));
         cmd.set("#LblRecentActivity.Text", Messages.get("gui.dashboard.recent_activity"));
 
         // Players tab
@@ -720,6 +733,14 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
         cmd.set("#ConfigContent.Visible", currentTab == Tab.CONFIG);
     }
     
+    @Override
+    public void onDismiss(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl Store<EntityStore> store) {
+        super.onDismiss(ref, store);
+        playerRows = Map.of();
+        watchedPlayers.values().forEach(AccountSubscription::close);
+        watchedPlayers.clear();
+    }
+    
     private void executeAction(String action, String uuidStr, String displayName, double amount, Ref<EntityStore> ref, Store<EntityStore> store) {
         UUID targetUuid = UUID.fromString(uuidStr);
         var economyManager = Main.getInstance().getEconomyManager();
@@ -783,11 +804,7 @@ public class ArefyAdminGui extends InteractiveCustomUIPage<ArefyAdminGui.AdminGu
     }
     
     private String getPlayerName(UUID uuid) {
-        PlayerRef onlinePlayer = Universe.get().getPlayer(uuid);
-        if (onlinePlayer != null) {
-            return onlinePlayer.getUsername();
-        }
-        return uuid.toString().substring(0, 8) + "...";
+        return Main.getInstance().getEconomyManager().getNameDirectory().resolve(uuid);
     }
     
     private void refreshUI(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl Store<EntityStore> store) {
@@ -15,14 +15,12 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Simple UI for viewing top balances.
@@ -66,13 +64,8 @@ public class BaltopGui extends InteractiveCustomUIPage<BaltopGui.BaltopData> {
     private void buildTopList(@NonNullDecl UICommandBuilder cmd) {
         cmd.clear("#TopList");
 
-        var allBalances = Main.getInstance().getEconomyManager().getAllBalances();
-
-        // Sort by balance descending, take top 10
-        List<Map.Entry<UUID, PlayerBalance>> top10 = allBalances.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue().getBalance(), a.getValue().getBalance()))
-            .limit(10)
-            .collect(Collectors.toList());
+        // Top 10 from the rank index
+        List<Map.Entry<UUID, PlayerBalance>> top10 = Main.getInstance().getEconomyManager().getLeaderboard(10);
 
         int rank = 1;
         for (var entry : top10) {
@@ -94,22 +87,7 @@ public class BaltopGui extends InteractiveCustomUIPage<BaltopGui.BaltopData> {
     }
 
     private String getPlayerName(UUID uuid) {
-        // Try to get from online players first
-        PlayerRef onlinePlayer = Universe.get().getPlayer(uuid);
-        if (onlinePlayer != null) {
-            return onlinePlayer.getUsername();
-        }
-
-        // Try H2 storage for offline players
-        var h2Storage = Main.getInstance().getEconomyManager().getH2Storage();
-        if (h2Storage != null) {
-            String name = h2Storage.getPlayerName(uuid);
-            if (name != null) {
-                return name;
-            }
-        }
-
-        return uuid.toString().substring(0, 8) + "...";
+        return Main.getInstance().getEconomyManager().getNameDirectory().resolve(uuid);
     }
 
     // ========== Data Codec ==========
@@ -1,6 +1,8 @@
 package com.arefyeconomy.gui;
 
 import com.arefyeconomy.Main;
+import com.arefyeconomy.api.events.AccountSubscription;
+import com.arefyeconomy.api.events.ArefyEconomyEvents;
 import com.arefyeconomy.economy.EconomyManager;
 import com.arefyeconomy.locale.Messages;
 import com.hypixel.hytale.codec.Codec;
@@ -33,6 +35,7 @@ import java.util.UUID;
  * - List of online players with search
  * - Amount input with fee preview
  * - Confirmation before sending
+ * - Balance and fee preview refresh live when the player's balance changes
  */
 public class PayGui extends InteractiveCustomUIPage<PayGui.PayGuiData> {
     
@@ -43,6 +46,9 @@ public class PayGui extends InteractiveCustomUIPage<PayGui.PayGuiData> {
     private String selectedPlayerUuid = null;
     private String amountInput = "";
     
+    // Live balance updates while the page is open (held weakly by the registry)
+    private AccountSubscription balanceSubscription;
+    
     public PayGui(@NonNullDecl PlayerRef playerRef) {
         super(playerRef, CustomPageLifetime.CanDismiss, PayGuiData.CODEC);
         this.playerRef = playerRef;
@@ -57,6 +63,9 @@ public class PayGui extends InteractiveCustomUIPage<PayGui.PayGuiData> {
         // Set initial balance
         double balance = Main.getInstance().getEconomyManager().getBalance(playerRef.getUuid());
         cmd.set("#BalanceValue.Text", Main.CONFIG.get().format(balance));
+        if (balanceSubscription == null) {
+            balanceSubscription = ArefyEconomyEvents.subscribeWeak(playerRef.getUuid(), this::onBalanceChanged);
+        }
         
         cmd.set("#SearchInput.Value", this.searchQuery);
         cmd.set("#AmountInput.Value", this.amountInput);
@@ -126,6 +135,22 @@ public class PayGui extends InteractiveCustomUIPage<PayGui.PayGuiData> {
         this.sendUpdate();
     }
     
+    @Override
+    public void onDismiss(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl Store<EntityStore> store) {
+        super.onDismiss(ref, store);
+        if (balanceSubscription != null) {
+            balanceSubscription.close();
+        }
+    }
+    
+    /** Own balance changed (payment received, admin action, ...): update balance and preview only */
+    private void onBalanceChanged(UUID playerUuid, double oldBalance, double newBalance) {
+        UICommandBuilder cmd = new UICommandBuilder();
+        cmd.set("#BalanceValue.Text", Main.CONFIG.get().format(newBalance));
+        updateFeePreview(cmd, newBalance);
+        this.sendUpdate(cmd, new UIEventBuilder(), false);
+    }
+    
     private void buildPlayerList(@NonNullDecl UICommandBuilder cmd, @NonNullDecl UIEventBuilder events,
                                   @NonNullDecl Store<EntityStore> store) {
         cmd.clear("#PlayerList");
@@ -169,10 +194,13 @@ public class PayGui extends InteractiveCustomUIPage<PayGui.PayGuiData> {
     }
     
     private void updateFeePreview(@NonNullDecl UICommandBuilder cmd) {
+        updateFeePreview(cmd, Main.getInstance().getEconomyManager().getBalance(playerRef.getUuid()));
+    }
+    
+    private void updateFeePreview(@NonNullDecl UICommandBuilder cmd, double currentBalance) {
         double amount = parseAmount(amountInput);
         double feePercent = Main.CONFIG.get().getTransferFee();
         double fee = amount * feePercent;
-        double currentBalance = Main.getInstance().getEconomyManager().getBalance(playerRef.getUuid());
         double balanceAfter = currentBalance - amount - fee;
         
         cmd.set("#FeeValue.Text", Main.CONFIG.get().format(fee));
@@ -228,6 +256,9 @@ public class PayGui extends InteractiveCustomUIPage<PayGui.PayGuiData> {
             case RECIPIENT_MAX_BALANCE -> {
                 playerRef.sendMessage(Message.raw(Messages.get("pay.recipient_max_balance")).color(Color.RED));
             }
+            case ACCOUNT_NOT_FOUND -> {
+                playerRef.sendMessage(Message.raw(Messages.get("pay.account_not_found")).color(Color.RED));
+            }
             default -> {
                 playerRef.sendMessage(Message.raw(Messages.get("pay.transfer_failed")).color(Color.RED));
             }
@@ -50,6 +50,7 @@ public class Messages {
         m.put("pay.self_transfer", "You cannot send money to yourself");
         m.put("pay.invalid_amount", "Invalid amount");
         m.put("pay.recipient_max_balance", "Recipient has reached maximum balance");
+        m.put("pay.account_not_found", "That player does not have an economy account");
         m.put("pay.transfer_failed", "Transfer failed!");
 
         // === PAY GUI ===
@@ -90,6 +91,7 @@ public class Messages {
         m.put("gui.dashboard.max_balance", "Max Balance:");
         m.put("gui.dashboard.transfer_fee", "Transfer Fee:");
         m.put("gui.dashboard.auto_save", "Auto-Save:");
+        m.put("gui.dashboard.economy_health", "ECONOMY HEALTH");
         m.put("gui.dashboard.recent_activity", "RECENT ACTIVITY");
         m.put("gui.dashboard.no_activity", "No recent activity");
 
@@ -146,7 +148,7 @@ public class Messages {
         m.put("gui.log.showing", "Showing {start}-{end} of {total} (Page {page}/{pages})");
         m.put("gui.log.no_recorded", "No transactions recorded yet");
         m.put("gui.log.no_matches", "No matches for '{filter}'");
-        m.put("gui.log.requires_h2", "Transaction log requires H2 storage provider.");
+        m.put("gui.log.unavailable", "Transaction log is not available yet");
 
         // === ADMIN ACTIONS ===
         m.put("admin.give", "Gave {amount} to {player}");
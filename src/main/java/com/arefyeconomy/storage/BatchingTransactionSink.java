@@ -0,0 +1,248 @@
+package com.arefyeconomy.storage;
+
+import com.arefyeconomy.economy.BalanceCheckpoint;
+import com.arefyeconomy.economy.TransactionEntry;
+import com.arefyeconomy.economy.TransactionRing;
+import com.arefyeconomy.economy.TransactionRollup;
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Base class for sinks that write the transaction log in batches.
+ *
+ * - append() copies the packed entry into a fixed-size TransactionRing:
+ *   lock-free, allocation-free, never blocks the economy
+ * - One writer thread follows the ring and writes up to MAX_BATCH entries
+ *   at a time, waking at most every FLUSH_INTERVAL_MS, so bursts become few
+ *   large writes and idle periods cost nothing
+ * - Each batch is rolled up per hour x type x reason category and the
+ *   rollups are written together with the raw entries
+ * - Balance checkpoints are queued separately and written by the same thread
+ * - A batch that fails to write is kept (with its rollups) and retried with
+ *   exponential backoff before anything newer is written
+ * - If storage stalls for longer than the ring holds, the oldest unwritten
+ *   entries are overwritten and counted as dropped
+ * - Queries run on a separate reader thread so a slow query never delays writes
+ */
+abstract class BatchingTransactionSink implements TransactionSink {
+
+    /** Maximum entries per write */
+    private static final int MAX_BATCH = 500;
+
+    /** Maximum time an entry waits before being written */
+    private static final long FLUSH_INTERVAL_MS = 250;
+
+    /** Entries buffered while storage is slow (64 bytes each, ~4 MB) */
+    private static final int QUEUE_CAPACITY = 1 << 16;
+
+    /** Longest wait between retries of a failed batch */
+    private static final long MAX_RETRY_BACKOFF_MS = 30_000;
+
+    /** Time an interrupted writer gets to leave a storage call on close */
+    private static final long WRITER_EXIT_TIMEOUT_MS = 2000;
+
+    protected final HytaleLogger logger;
+
+    private final TransactionRing queue = new TransactionRing(QUEUE_CAPACITY);
+    private final ConcurrentLinkedQueue<BalanceCheckpoint> checkpoints = new ConcurrentLinkedQueue<>();
+    private final AtomicLong dropped = new AtomicLong(0);
+    private final Thread writer;
+    private final ExecutorService reader;
+    private volatile boolean running = true;
+
+    // Next sequence to write (writer thread only)
+    private long nextSequence = 0;
+
+    protected BatchingTransactionSink(@Nonnull String name) {
+        this.logger = HytaleLogger.getLogger().getSubLogger("ArefyEconomy-" + name);
+        this.writer = new Thread(this::writeLoop, "ArefyEconomy-" + name + "-Writer");
+        this.writer.setDaemon(true);
+        this.reader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ArefyEconomy-" + name + "-Reader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start the writer thread. Call once the subclass is fully constructed.
+     */
+    protected void start() {
+        writer.start();
+    }
+
+    // ========== Writing ==========
+
+    @Override
+    public void append(@Nonnull TransactionEntry entry) {
+        if (!running) {
+            recordDropped(1);
+            return;
+        }
+        queue.publish(entry);
+    }
+
+    @Override
+    public void checkpoint(@Nonnull List<BalanceCheckpoint> batch) {
+        if (running) {
+            checkpoints.addAll(batch);
+        }
+    }
+
+    /**
+     * Write a batch of entries (oldest first) and add its rollups to the
+     * stored totals. Runs on the writer thread only.
+     */
+    protected abstract void writeBatch(@Nonnull List<TransactionEntry> batch,
+                                       @Nonnull List<TransactionRollup> rollups) throws Exception;
+
+    /**
+     * Write a batch of balance checkpoints. Runs on the writer thread only.
+     */
+    protected abstract void writeCheckpoints(@Nonnull List<BalanceCheckpoint> batch) throws Exception;
+
+    /**
+     * Release resources after the last batch. Runs on the closing thread,
+     * only once the writer thread has exited.
+     */
+    protected abstract void closeResources();
+
+    private void writeLoop() {
+        List<TransactionEntry> batch = new ArrayList<>(MAX_BATCH);
+        List<TransactionRollup> rollups = List.of();
+        List<BalanceCheckpoint> checkpointBatch = new ArrayList<>(MAX_BATCH);
+        long backoffMs = 0;
+        while (running || !batch.isEmpty() || !checkpointBatch.isEmpty()
+                || nextSequence < queue.getCursor() || !checkpoints.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            boolean wrote = false;
+            boolean failed = false;
+
+            // A failed batch stays in place and is retried before newer entries
+            if (batch.isEmpty() && drainTo(batch)) {
+                rollups = TransactionRollup.of(batch);
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    writeBatch(batch, rollups);
+                    batch.clear();
+                    wrote = true;
+                } catch (Exception e) {
+                    failed = true;
+                    logger.at(Level.WARNING).log("Failed to write %d transactions, will retry: %s", batch.size(), e.getMessage());
+                }
+            }
+
+            BalanceCheckpoint checkpoint;
+            while (checkpointBatch.size() < MAX_BATCH && (checkpoint = checkpoints.poll()) != null) {
+                checkpointBatch.add(checkpoint);
+            }
+            if (!checkpointBatch.isEmpty()) {
+                try {
+                    writeCheckpoints(checkpointBatch);
+                    checkpointBatch.clear();
+                    wrote = true;
+                } catch (Exception e) {
+                    failed = true;
+                    logger.at(Level.WARNING).log("Failed to write %d balance checkpoints, will retry: %s",
+                        checkpointBatch.size(), e.getMessage());
+                }
+            }
+
+            if (failed) {
+                backoffMs = backoffMs == 0 ? FLUSH_INTERVAL_MS : Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+            } else {
+                backoffMs = 0;
+                if (!wrote) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS));
+                }
+            }
+        }
+
+        long unwritten = batch.size() + (queue.getCursor() - nextSequence);
+        if (unwritten > 0 || !checkpointBatch.isEmpty()) {
+            logger.at(Level.WARNING).log("Transaction log stopped with %d entries and %d checkpoints not written",
+                unwritten, checkpointBatch.size() + checkpoints.size());
+        }
+    }
+
+    /**
+     * Copy the next published entries out of the ring.
+     *
+     * @return true if the batch is not empty
+     */
+    private boolean drainTo(List<TransactionEntry> batch) {
+        long end = Math.min(queue.getCursor(), nextSequence + MAX_BATCH);
+        while (nextSequence < end) {
+            TransactionEntry entry = queue.get(nextSequence);
+            if (entry == null) {
+                if (!queue.isOverwritten(nextSequence)) {
+                    break; // Claimed but still being written - pick it up next round
+                }
+                recordDropped(1);
+            } else {
+                batch.add(entry);
+            }
+            nextSequence++;
+        }
+        return !batch.isEmpty();
+    }
+
+    private void recordDropped(long count) {
+        long total = dropped.addAndGet(count);
+        if (total == count || total % 1000 < count) {
+            logger.at(Level.WARNING).log("Transaction log could not keep up, %d entries dropped", total);
+        }
+    }
+
+    @Override
+    public void close(long timeoutMs) {
+        running = false;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        try {
+            writer.join(timeoutMs);
+            if (writer.isAlive()) {
+                // Still writing (or retrying): stop it and let it leave the current storage call
+                logger.at(Level.WARNING).log("Transaction log close timed out, stopping the writer");
+                writer.interrupt();
+                writer.join(WRITER_EXIT_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        reader.shutdown();
+        if (writer.isAlive()) {
+            logger.at(Level.SEVERE).log("Transaction log writer did not stop, leaving its resources open");
+        } else {
+            closeResources();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Run a query on the reader thread.
+     */
+    protected <T> CompletableFuture<T> read(@Nonnull Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, reader);
+    }
+}
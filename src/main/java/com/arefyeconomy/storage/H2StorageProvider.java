@@ -26,9 +26,11 @@ import java.util.logging.Level;
  * 
  * Features:
  * - ACID compliant transactions
+ * - Dormant accounts archived to archived_balances (restored on load)
  * - Indexed queries for fast lookups
  * - Async operations via executor
  * - Connection pooling via single persistent connection
+ * - Dedicated write-lane connections for the parallel shutdown flush
  */
 public class H2StorageProvider implements StorageProvider {
     
@@ -41,6 +43,15 @@ public class H2StorageProvider implements StorageProvider {
      */
     private static final Path AREFYECONOMY_PATH = Path.of("mods", "ArefyEconomy");
     
+    /** Parallel connections used by the shutdown flush */
+    private static final int WRITE_LANES = 4;
+    
+    /** schema_migrations version: backfill last_transaction_time of pre-archiving rows */
+    private static final int MIGRATION_BACKFILL_ACTIVITY = 1;
+    
+    /** schema_migrations version: roll up history logged before transaction_rollups existed */
+    private static final int MIGRATION_BACKFILL_ROLLUPS = 2;
+    
     private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
         Thread t = new Thread(r, "ArefyEconomy-H2-IO");
         t.setDaemon(false); // Must be non-daemon to ensure tasks complete during shutdown
@@ -48,6 +59,8 @@ public class H2StorageProvider implements StorageProvider {
     });
     
     private Connection connection;
+    private H2TransactionSink transactionSink;
+    private final Connection[] laneConnections = new Connection[WRITE_LANES];
     private String dbPath;
     private int playerCount = 0;
     
@@ -72,10 +85,7 @@ public class H2StorageProvider implements StorageProvider {
                 }
                 
                 // Connect to H2 (creates file if not exists)
-                connection = DriverManager.getConnection(
-                    "jdbc:h2:" + dbPath + ";MODE=MySQL;AUTO_SERVER=FALSE",
-                    "sa", ""
-                );
+                connection = openConnection();
                 
                 // Create tables
                 createTables();
@@ -88,6 +98,8 @@ public class H2StorageProvider implements StorageProvider {
                     }
                 }
                 
+                transactionSink = new H2TransactionSink(this);
+                
                 LOGGER.at(Level.INFO).log("H2 database initialized: %s.mv.db (%d players)", dbPath, playerCount);
                 
             } catch (SQLException e) {
@@ -118,6 +130,39 @@ public class H2StorageProvider implements StorageProvider {
                 // Column already exists or syntax not supported
             }
             
+            // Data migrations that must run exactly once, by version
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_migrations (
+                    version INT PRIMARY KEY,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+            
+            // Migration: Track last activity for archiving. Existing rows start
+            // their inactivity clock now instead of being archived right away.
+            stmt.execute("ALTER TABLE balances ADD COLUMN IF NOT EXISTS last_transaction_time BIGINT DEFAULT 0");
+            if (!migrationApplied(stmt, MIGRATION_BACKFILL_ACTIVITY)) {
+                stmt.execute("UPDATE balances SET last_transaction_time = " + System.currentTimeMillis()
+                    + " WHERE last_transaction_time IS NULL OR last_transaction_time = 0");
+                stmt.execute("INSERT INTO schema_migrations (version) VALUES (" + MIGRATION_BACKFILL_ACTIVITY + ")");
+            }
+            
+            // Migration: Active holds, saved with the account (archived accounts have none)
+            stmt.execute("ALTER TABLE balances ADD COLUMN IF NOT EXISTS holds VARCHAR DEFAULT ''");
+            
+            // Archived (dormant) accounts - not preloaded, restored on first access
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS archived_balances (
+                    uuid VARCHAR(36) PRIMARY KEY,
+                    player_name VARCHAR(64),
+                    balance DOUBLE DEFAULT 0.0,
+                    total_earned DOUBLE DEFAULT 0.0,
+                    total_spent DOUBLE DEFAULT 0.0,
+                    last_transaction_time BIGINT DEFAULT 0,
+                    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+            
             // Transactions table
             stmt.execute("""
                 CREATE TABLE IF NOT EXISTS transactions (
@@ -128,13 +173,70 @@ public class H2StorageProvider implements StorageProvider {
                     target_uuid VARCHAR(36),
                     player_name VARCHAR(64),
                     amount DOUBLE,
+                    fee DOUBLE,
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
                 )
             """);
+            // Migration: fee charged on each transfer (NULL for entries logged before)
+            stmt.execute("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS fee DOUBLE");
             
             // Create indexes if not exist
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_tx_timestamp ON transactions(timestamp DESC)");
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_tx_player ON transactions(player_name)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tx_source ON transactions(source_uuid, timestamp DESC)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tx_target ON transactions(target_uuid, timestamp DESC)");
+            
+            // Hourly rollups (hour x type x reason category), written with each log batch
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS transaction_rollups (
+                    hour_start BIGINT NOT NULL,
+                    type VARCHAR(20) NOT NULL,
+                    category VARCHAR(32) NOT NULL,
+                    tx_count BIGINT NOT NULL,
+                    amount_sum DOUBLE NOT NULL,
+                    amount_min DOUBLE NOT NULL,
+                    amount_max DOUBLE NOT NULL,
+                    PRIMARY KEY (hour_start, type, category)
+                )
+            """);
+            
+            // Periodic per-account balances for point-in-time reconstruction
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS balance_checkpoints (
+                    uuid VARCHAR(36) NOT NULL,
+                    checkpoint_time BIGINT NOT NULL,
+                    balance DOUBLE NOT NULL,
+                    logged_at_time INT DEFAULT -1
+                )
+            """);
+            // Migration: same-millisecond tiebreak for balance reconstruction
+            stmt.execute("ALTER TABLE balance_checkpoints ADD COLUMN IF NOT EXISTS logged_at_time INT DEFAULT -1");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_checkpoint_uuid ON balance_checkpoints(uuid, checkpoint_time DESC)");
+            
+            // Migration: roll up history logged before the table existed (reasons were not stored).
+            // Databases that already have rollups only record the marker.
+            if (!migrationApplied(stmt, MIGRATION_BACKFILL_ROLLUPS)) {
+                boolean empty;
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM transaction_rollups")) {
+                    empty = rs.next() && rs.getLong(1) == 0;
+                }
+                if (empty) {
+                    stmt.execute("""
+                        INSERT INTO transaction_rollups
+                        SELECT (timestamp / 3600000) * 3600000, type, 'none',
+                               COUNT(*), SUM(amount), MIN(amount), MAX(amount)
+                        FROM transactions
+                        GROUP BY (timestamp / 3600000) * 3600000, type
+                    """);
+                }
+                stmt.execute("INSERT INTO schema_migrations (version) VALUES (" + MIGRATION_BACKFILL_ROLLUPS + ")");
+            }
+        }
+    }
+    
+    private boolean migrationApplied(Statement stmt, int version) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM schema_migrations WHERE version = " + version)) {
+            return rs.next();
         }
     }
     
@@ -144,19 +246,22 @@ public class H2StorageProvider implements StorageProvider {
     public CompletableFuture<PlayerBalance> loadPlayer(@Nonnull UUID playerUuid) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                String sql = "SELECT balance, total_earned, total_spent FROM balances WHERE uuid = ?";
+                String sql = "SELECT balance, total_earned, total_spent, last_transaction_time, holds FROM balances WHERE uuid = ?";
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setString(1, playerUuid.toString());
                     try (ResultSet rs = ps.executeQuery()) {
                         if (rs.next()) {
-                            PlayerBalance pb = new PlayerBalance(playerUuid);
-                            // Use setBalance to set the loaded balance
-                            pb.setBalance(rs.getDouble("balance"), "Loaded from DB");
-                            return pb;
+                            return resultSetToActiveBalance(playerUuid, rs);
                         }
                     }
                 }
                 
+                // Dormant account - move it back from the archive
+                PlayerBalance archived = restoreArchivedSync(playerUuid);
+                if (archived != null) {
+                    return archived;
+                }
+                
                 // Create new account with starting balance
                 double startingBalance = Main.CONFIG.get().getStartingBalance();
                 PlayerBalance newBalance = new PlayerBalance(playerUuid);
@@ -183,15 +288,17 @@ public class H2StorageProvider implements StorageProvider {
     private void savePlayerSync(UUID playerUuid, PlayerBalance balance) {
         try {
             String sql = """
-                MERGE INTO balances (uuid, balance, total_earned, total_spent, updated_at) 
+                MERGE INTO balances (uuid, balance, total_earned, total_spent, last_transaction_time, holds, updated_at) 
                 KEY(uuid) 
-                VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+                VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
             """;
             try (PreparedStatement ps = connection.prepareStatement(sql)) {
                 ps.setString(1, playerUuid.toString());
                 ps.setDouble(2, balance.getBalance());
                 ps.setDouble(3, balance.getTotalEarned());
                 ps.setDouble(4, balance.getTotalSpent());
+                ps.setLong(5, balance.getLastTransactionTime());
+                ps.setString(6, balance.encodeHolds());
                 ps.executeUpdate();
             }
         } catch (SQLException e) {
@@ -201,37 +308,116 @@ public class H2StorageProvider implements StorageProvider {
     
     /**
      * Update player's cached name.
-     * Call this on player join to keep names current.
+     * @deprecated Names are tracked by NameDirectory and saved in batches via savePlayerNames()
      */
+    @Deprecated
     public void updatePlayerName(@Nonnull UUID playerUuid, @Nonnull String playerName) {
-        CompletableFuture.runAsync(() -> {
+        savePlayerNames(Map.of(playerUuid, playerName));
+    }
+    
+    @Override
+    public CompletableFuture<Map<UUID, String>> loadPlayerNames() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, String> result = new HashMap<>();
             try {
-                String sql = "UPDATE balances SET player_name = ? WHERE uuid = ?";
-                try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                    ps.setString(1, playerName);
-                    ps.setString(2, playerUuid.toString());
-                    int updated = ps.executeUpdate();
-                    
-                    // If no row was updated, insert a new one with just the name
-                    if (updated == 0) {
-                        String insertSql = """
-                            INSERT INTO balances (uuid, player_name, balance) 
-                            VALUES (?, ?, ?)
-                        """;
-                        try (PreparedStatement insertPs = connection.prepareStatement(insertSql)) {
-                            insertPs.setString(1, playerUuid.toString());
-                            insertPs.setString(2, playerName);
-                            insertPs.setDouble(3, com.arefyeconomy.Main.CONFIG.get().getStartingBalance());
-                            insertPs.executeUpdate();
-                        }
+                String sql = """
+                    SELECT uuid, player_name FROM balances WHERE player_name IS NOT NULL
+                    UNION ALL
+                    SELECT uuid, player_name FROM archived_balances WHERE player_name IS NOT NULL
+                """;
+                try (Statement stmt = connection.createStatement();
+                     ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        result.put(UUID.fromString(rs.getString("uuid")), rs.getString("player_name"));
                     }
                 }
             } catch (SQLException e) {
-                LOGGER.at(Level.WARNING).log("Failed to update player name: %s", e.getMessage());
+                LOGGER.at(Level.SEVERE).log("Failed to load player names: %s", e.getMessage());
             }
+            return result;
         }, executor);
     }
     
+    @Override
+    public CompletableFuture<Void> savePlayerNames(@Nonnull Map<UUID, String> playerNames) {
+        return CompletableFuture.runAsync(() -> savePlayerNamesSync(playerNames), executor);
+    }
+    
+    /**
+     * Synchronous version of savePlayerNames for use during shutdown.
+     * Updates existing rows (active, then archived) in batches, then inserts
+     * rows for players whose balance has not been saved yet.
+     */
+    public void savePlayerNamesSync(@Nonnull Map<UUID, String> playerNames) {
+        if (playerNames.isEmpty()) return;
+        
+        List<Map.Entry<UUID, String>> entries = new ArrayList<>(playerNames.entrySet());
+        try {
+            connection.setAutoCommit(false);
+            int[] updated;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "UPDATE balances SET player_name = ? WHERE uuid = ?")) {
+                for (var entry : entries) {
+                    ps.setString(1, entry.getValue());
+                    ps.setString(2, entry.getKey().toString());
+                    ps.addBatch();
+                }
+                updated = ps.executeBatch();
+            }
+            
+            // Archived players keep their name in the archive row
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "UPDATE archived_balances SET player_name = ? WHERE uuid = ?")) {
+                List<Integer> missing = new ArrayList<>();
+                for (int i = 0; i < entries.size(); i++) {
+                    if (updated[i] == 0) {
+                        ps.setString(1, entries.get(i).getValue());
+                        ps.setString(2, entries.get(i).getKey().toString());
+                        ps.addBatch();
+                        missing.add(i);
+                    }
+                }
+                if (!missing.isEmpty()) {
+                    int[] archived = ps.executeBatch();
+                    for (int j = 0; j < archived.length; j++) {
+                        updated[missing.get(j)] = archived[j];
+                    }
+                }
+            }
+            
+            // If no row was updated, insert a new one with just the name
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO balances (uuid, player_name, balance, last_transaction_time) VALUES (?, ?, ?, ?)")) {
+                boolean hasInserts = false;
+                for (int i = 0; i < entries.size(); i++) {
+                    if (updated[i] == 0) {
+                        ps.setString(1, entries.get(i).getKey().toString());
+                        ps.setString(2, entries.get(i).getValue());
+                        ps.setDouble(3, Main.CONFIG.get().getStartingBalance());
+                        ps.setLong(4, System.currentTimeMillis());
+                        ps.addBatch();
+                        hasInserts = true;
+                    }
+                }
+                if (hasInserts) {
+                    ps.executeBatch();
+                }
+            }
+            connection.commit();
+            ArefyLogger.debug("Saved %d player names to H2", entries.size());
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {}
+            LOGGER.at(Level.WARNING).log("Failed to save player names: %s", e.getMessage());
+            throw new RuntimeException(e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {}
+        }
+    }
+    
     /**
      * Get cached player name from database (async).
      * Returns null if not found.
@@ -266,7 +452,15 @@ public class H2StorageProvider implements StorageProvider {
     
     @Override
     public CompletableFuture<Void> saveAll(@Nonnull Map<UUID, PlayerBalance> dirtyPlayers) {
-        return CompletableFuture.runAsync(() -> saveAllSync(dirtyPlayers), executor);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writeBalances(connection, dirtyPlayers);
+            } catch (SQLException e) {
+                // Surface the failure so the caller keeps the players dirty
+                LOGGER.at(Level.SEVERE).log("Failed to batch save: %s", e.getMessage());
+                throw new RuntimeException(e);
+            }
+        }, executor);
     }
     
     /**
@@ -277,61 +471,105 @@ public class H2StorageProvider implements StorageProvider {
         if (dirtyPlayers.isEmpty()) return;
         
         try {
-            connection.setAutoCommit(false);
+            writeBalances(connection, dirtyPlayers);
+        } catch (SQLException e) {
+            LOGGER.at(Level.SEVERE).log("Failed to batch save: %s", e.getMessage());
+        } catch (NoClassDefFoundError e) {
+            // Classloader already unloaded during shutdown - data should already be saved
+            LOGGER.at(Level.WARNING).log("Shutdown save interrupted (classloader closed): %s", e.getMessage());
+        }
+    }
+    
+    @Override
+    public int getWriteLanes() {
+        return WRITE_LANES;
+    }
+    
+    /**
+     * Save a chunk on a dedicated lane connection (opened on first use).
+     * Never touches the executor or the shared connection.
+     */
+    @Override
+    public void saveChunkSync(int lane, @Nonnull Map<UUID, PlayerBalance> players) throws SQLException {
+        if (players.isEmpty()) return;
+        
+        Connection laneConnection = laneConnections[lane];
+        if (laneConnection == null || laneConnection.isClosed()) {
+            laneConnection = openConnection();
+            laneConnections[lane] = laneConnection;
+        }
+        writeBalances(laneConnection, players);
+    }
+    
+    /**
+     * Write balances in a single transaction on the given connection.
+     * Rolls back and rethrows on failure.
+     */
+    private void writeBalances(Connection conn, Map<UUID, PlayerBalance> players) throws SQLException {
+        try {
+            conn.setAutoCommit(false);
             String sql = """
-                MERGE INTO balances (uuid, balance, total_earned, total_spent, updated_at) 
+                MERGE INTO balances (uuid, balance, total_earned, total_spent, last_transaction_time, holds, updated_at) 
                 KEY(uuid) 
-                VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+                VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
             """;
             
             int savedCount = 0;
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
                 // Use individual executeUpdate instead of executeBatch to avoid
                 // H2's MergedResult class loading issue during shutdown
-                for (var entry : dirtyPlayers.entrySet()) {
+                for (var entry : players.entrySet()) {
                     ps.setString(1, entry.getKey().toString());
                     ps.setDouble(2, entry.getValue().getBalance());
                     ps.setDouble(3, entry.getValue().getTotalEarned());
                     ps.setDouble(4, entry.getValue().getTotalSpent());
+                    ps.setLong(5, entry.getValue().getLastTransactionTime());
+                    ps.setString(6, entry.getValue().encodeHolds());
                     ps.executeUpdate();
                     savedCount++;
                 }
             }
-            connection.commit();
+            conn.commit();
             ArefyLogger.debug("Saved %d player balances to H2", savedCount);
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                conn.rollback();
             } catch (SQLException ignored) {}
-            LOGGER.at(Level.SEVERE).log("Failed to batch save: %s", e.getMessage());
-        } catch (NoClassDefFoundError e) {
-            // Classloader already unloaded during shutdown - data should already be saved
-            LOGGER.at(Level.WARNING).log("Shutdown save interrupted (classloader closed): %s", e.getMessage());
+            throw e;
         } finally {
             try {
-                connection.setAutoCommit(true);
+                conn.setAutoCommit(true);
             } catch (SQLException | NoClassDefFoundError ignored) {}
         }
     }
+    
+    /**
+     * Open an additional connection to the database (write lanes, transaction sink).
+     */
+    Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(
+            "jdbc:h2:" + dbPath + ";MODE=MySQL;AUTO_SERVER=FALSE",
+            "sa", ""
+        );
+    }
 
     @Override
     public CompletableFuture<Map<UUID, PlayerBalance>> loadAll() {
         return CompletableFuture.supplyAsync(() -> {
             Map<UUID, PlayerBalance> result = new HashMap<>();
             try {
-                String sql = "SELECT uuid, balance, total_earned, total_spent FROM balances";
+                String sql = "SELECT uuid, balance, total_earned, total_spent, last_transaction_time, holds FROM balances";
                 try (Statement stmt = connection.createStatement();
                      ResultSet rs = stmt.executeQuery(sql)) {
                     while (rs.next()) {
                         UUID uuid = UUID.fromString(rs.getString("uuid"));
-                        PlayerBalance pb = new PlayerBalance(uuid);
-                        pb.setBalance(rs.getDouble("balance"), "Bulk load");
-                        result.put(uuid, pb);
+                        result.put(uuid, resultSetToActiveBalance(uuid, rs));
                     }
                 }
                 playerCount = result.size();
             } catch (SQLException e) {
                 LOGGER.at(Level.SEVERE).log("Failed to load all balances: %s", e.getMessage());
+                throw new RuntimeException("Failed to load all balances", e);
             }
             return result;
         }, executor);
@@ -341,9 +579,14 @@ public class H2StorageProvider implements StorageProvider {
     public CompletableFuture<Boolean> playerExists(@Nonnull UUID playerUuid) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                String sql = "SELECT 1 FROM balances WHERE uuid = ?";
+                String sql = """
+                    SELECT 1 FROM balances WHERE uuid = ?
+                    UNION ALL
+                    SELECT 1 FROM archived_balances WHERE uuid = ?
+                """;
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setString(1, playerUuid.toString());
+                    ps.setString(2, playerUuid.toString());
                     try (ResultSet rs = ps.executeQuery()) {
                         return rs.next();
                     }
@@ -370,33 +613,153 @@ public class H2StorageProvider implements StorageProvider {
         }, executor);
     }
     
+    // ========== Archival ==========
+    
+    @Override
+    public CompletableFuture<Void> archivePlayers(@Nonnull Map<UUID, PlayerBalance> dormantPlayers) {
+        if (dormantPlayers.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.runAsync(() -> {
+            String archiveSql = """
+                MERGE INTO archived_balances
+                    (uuid, player_name, balance, total_earned, total_spent, last_transaction_time, archived_at)
+                KEY(uuid)
+                VALUES (?, (SELECT player_name FROM balances WHERE uuid = ?), ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            """;
+            try {
+                connection.setAutoCommit(false);
+                try (PreparedStatement archive = connection.prepareStatement(archiveSql);
+                     PreparedStatement delete = connection.prepareStatement("DELETE FROM balances WHERE uuid = ?")) {
+                    for (var entry : dormantPlayers.entrySet()) {
+                        String uuid = entry.getKey().toString();
+                        PlayerBalance pb = entry.getValue();
+                        archive.setString(1, uuid);
+                        archive.setString(2, uuid);
+                        archive.setDouble(3, pb.getBalance());
+                        archive.setDouble(4, pb.getTotalEarned());
+                        archive.setDouble(5, pb.getTotalSpent());
+                        archive.setLong(6, pb.getLastTransactionTime());
+                        archive.executeUpdate();
+                        
+                        delete.setString(1, uuid);
+                        delete.executeUpdate();
+                    }
+                }
+                connection.commit();
+                playerCount -= dormantPlayers.size();
+                ArefyLogger.debug("Archived %d dormant accounts to H2", dormantPlayers.size());
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {}
+                LOGGER.at(Level.WARNING).log("Failed to archive accounts: %s", e.getMessage());
+                throw new RuntimeException(e);
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException ignored) {}
+            }
+        }, executor);
+    }
+    
+    @Override
+    public CompletableFuture<Map<UUID, PlayerBalance>> loadArchivedBalances() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, PlayerBalance> result = new HashMap<>();
+            String sql = "SELECT uuid, balance, total_earned, total_spent, last_transaction_time FROM archived_balances";
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    UUID uuid = UUID.fromString(rs.getString("uuid"));
+                    result.put(uuid, resultSetToBalance(uuid, rs));
+                }
+            } catch (SQLException e) {
+                LOGGER.at(Level.WARNING).log("Failed to load archived accounts: %s", e.getMessage());
+                throw new RuntimeException("Failed to load archived accounts", e);
+            }
+            return result;
+        }, executor);
+    }
+    
+    /**
+     * Move an archived account back to the balances table.
+     * Runs on the executor (called from loadPlayer).
+     * 
+     * @return the restored balance, or null if the player is not archived
+     */
+    private PlayerBalance restoreArchivedSync(UUID playerUuid) throws SQLException {
+        PlayerBalance restored;
+        String selectSql = """
+            SELECT balance, total_earned, total_spent, last_transaction_time
+            FROM archived_balances WHERE uuid = ?
+        """;
+        try (PreparedStatement ps = connection.prepareStatement(selectSql)) {
+            ps.setString(1, playerUuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                restored = resultSetToBalance(playerUuid, rs);
+            }
+        }
+        
+        try {
+            connection.setAutoCommit(false);
+            String moveSql = """
+                INSERT INTO balances (uuid, player_name, balance, total_earned, total_spent, last_transaction_time)
+                SELECT uuid, player_name, balance, total_earned, total_spent, last_transaction_time
+                FROM archived_balances WHERE uuid = ?
+            """;
+            try (PreparedStatement move = connection.prepareStatement(moveSql);
+                 PreparedStatement delete = connection.prepareStatement("DELETE FROM archived_balances WHERE uuid = ?")) {
+                move.setString(1, playerUuid.toString());
+                move.executeUpdate();
+                delete.setString(1, playerUuid.toString());
+                delete.executeUpdate();
+            }
+            connection.commit();
+            playerCount++;
+            ArefyLogger.debug("Restored archived account %s", playerUuid);
+            return restored;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+    
+    private PlayerBalance resultSetToBalance(UUID playerUuid, ResultSet rs) throws SQLException {
+        return PlayerBalance.restore(playerUuid,
+            rs.getDouble("balance"),
+            rs.getDouble("total_earned"),
+            rs.getDouble("total_spent"),
+            rs.getLong("last_transaction_time"));
+    }
+    
+    /**
+     * Row of the balances table, including its holds.
+     */
+    private PlayerBalance resultSetToActiveBalance(UUID playerUuid, ResultSet rs) throws SQLException {
+        PlayerBalance balance = resultSetToBalance(playerUuid, rs);
+        balance.restoreHolds(rs.getString("holds"));
+        return balance;
+    }
+    
     // ========== Transaction Logging ==========
     
     /**
      * Log a transaction to the database.
-     * Called asynchronously to avoid blocking economy operations.
+     * 
+     * @deprecated Use {@link #getTransactionSink()}, which batches writes
      */
+    @Deprecated
     public void logTransaction(TransactionEntry entry) {
-        executor.execute(() -> {
-            try {
-                String sql = """
-                    INSERT INTO transactions (timestamp, type, source_uuid, target_uuid, player_name, amount)
-                    VALUES (?, ?, ?, ?, ?, ?)
-                """;
-                try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                    ps.setLong(1, entry.timestamp().toEpochMilli());
-                    ps.setString(2, entry.type().name());
-                    ps.setString(3, entry.sourcePlayer() != null ? entry.sourcePlayer().toString() : null);
-                    ps.setString(4, entry.targetPlayer() != null ? entry.targetPlayer().toString() : null);
-                    ps.setString(5, entry.playerName());
-                    ps.setDouble(6, entry.amount());
-                    ps.executeUpdate();
-                    ArefyLogger.debug("Logged transaction to H2: %s %s %.0f", entry.type(), entry.playerName(), entry.amount());
-                }
-            } catch (SQLException e) {
-                LOGGER.at(Level.WARNING).log("Failed to log transaction: %s", e.getMessage());
-            }
-        });
+        if (transactionSink != null) {
+            transactionSink.append(entry);
+        }
     }
     
     /**
@@ -443,6 +806,42 @@ public class H2StorageProvider implements StorageProvider {
         }, executor);
     }
     
+    /**
+     * Query one player's transactions (as sender or receiver), newest first.
+     * Each side is served by its (uuid, timestamp) index.
+     */
+    public CompletableFuture<List<TransactionEntry>> queryPlayerTransactionsAsync(@Nonnull UUID playerUuid, int limit, int offset) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<TransactionEntry> results = new ArrayList<>();
+            int window = offset + limit;
+            String sql = """
+                SELECT * FROM (
+                    (SELECT * FROM transactions WHERE source_uuid = ? ORDER BY timestamp DESC LIMIT ?)
+                    UNION ALL
+                    (SELECT * FROM transactions WHERE target_uuid = ? ORDER BY timestamp DESC LIMIT ?)
+                ) t
+                ORDER BY timestamp DESC, id DESC
+                LIMIT ? OFFSET ?
+            """;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setString(1, playerUuid.toString());
+                ps.setInt(2, window);
+                ps.setString(3, playerUuid.toString());
+                ps.setInt(4, window);
+                ps.setInt(5, limit);
+                ps.setInt(6, offset);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        results.add(resultSetToEntry(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.at(Level.WARNING).log("Failed to query player transactions: %s", e.getMessage());
+            }
+            return results;
+        }, executor);
+    }
+    
     /**
      * Query transactions (sync, for backward compat).
      * @deprecated Use queryTransactionsAsync() to avoid potential deadlocks
@@ -508,13 +907,12 @@ public class H2StorageProvider implements StorageProvider {
         
         String playerName = rs.getString("player_name");
         double amount = rs.getDouble("amount");
+        double fee = rs.getDouble("fee");
+        if (rs.wasNull()) {
+            fee = Double.NaN;
+        }
         
-        // Re-format timestamp for display
-        java.time.format.DateTimeFormatter formatter = 
-            java.time.format.DateTimeFormatter.ofPattern("HH:mm").withZone(java.time.ZoneId.systemDefault());
-        String formattedTime = formatter.format(timestamp);
-        
-        return new TransactionEntry(timestamp, formattedTime, type, sourceUuid, targetUuid, amount, playerName);
+        return TransactionEntry.restore(timestamp, type, sourceUuid, targetUuid, amount, fee, playerName);
     }
     
     // ========== Lifecycle ==========
@@ -527,6 +925,7 @@ public class H2StorageProvider implements StorageProvider {
         // Close connection synchronously - we're already being called during server shutdown
         // No need to submit to executor since saveAll() has already completed
         LOGGER.at(Level.INFO).log("H2 shutdown: closing connection...");
+        closeLaneConnections();
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
@@ -540,6 +939,24 @@ public class H2StorageProvider implements StorageProvider {
         return CompletableFuture.completedFuture(null);
     }
     
+    private void closeLaneConnections() {
+        for (int i = 0; i < laneConnections.length; i++) {
+            Connection laneConnection = laneConnections[i];
+            laneConnections[i] = null;
+            if (laneConnection == null) continue;
+            try {
+                laneConnection.close();
+            } catch (SQLException e) {
+                LOGGER.at(Level.WARNING).log("Error closing H2 write lane %d: %s", i, e.getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public TransactionSink getTransactionSink() {
+        return transactionSink;
+    }
+    
     @Override
     public String getName() {
         return "H2 Database";
@@ -0,0 +1,58 @@
+package com.arefyeconomy.storage;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Transaction sink for the embedded H2 database.
+ * Writes to the transactions table over its own connection.
+ */
+class H2TransactionSink extends SqlTransactionSink {
+
+    private final H2StorageProvider provider;
+
+    H2TransactionSink(@Nonnull H2StorageProvider provider) {
+        super("H2-TxLog", "");
+        this.provider = provider;
+        start();
+    }
+
+    @Override
+    protected Connection openConnection() throws SQLException {
+        return provider.openConnection();
+    }
+
+    @Override
+    protected String rollupUpsertSql(@Nonnull String rollupTable) {
+        return """
+            MERGE INTO %s t
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(32)),
+                           CAST(? AS BIGINT), CAST(? AS DOUBLE), CAST(? AS DOUBLE), CAST(? AS DOUBLE)))
+                AS s(hour_start, type, category, tx_count, amount_sum, amount_min, amount_max)
+            ON t.hour_start = s.hour_start AND t.type = s.type AND t.category = s.category
+            WHEN MATCHED THEN UPDATE SET
+                tx_count = t.tx_count + s.tx_count,
+                amount_sum = t.amount_sum + s.amount_sum,
+                amount_min = LEAST(t.amount_min, s.amount_min),
+                amount_max = GREATEST(t.amount_max, s.amount_max)
+            WHEN NOT MATCHED THEN INSERT (hour_start, type, category, tx_count, amount_sum, amount_min, amount_max)
+                VALUES (s.hour_start, s.type, s.category, s.tx_count, s.amount_sum, s.amount_min, s.amount_max)
+            """.formatted(rollupTable);
+    }
+
+    @Override
+    protected int prepareStreaming(@Nonnull Connection connection) throws SQLException {
+        // Without lazy execution H2 materializes the whole result before the first row
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET LAZY_QUERY_EXECUTION TRUE");
+        }
+        return STREAM_FETCH_SIZE;
+    }
+
+    @Override
+    public String getName() {
+        return "H2 transactions table";
+    }
+}
@@ -0,0 +1,272 @@
+package com.arefyeconomy.storage;
+
+import com.arefyeconomy.economy.BalanceCheckpoint;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Balance checkpoints of the JSON provider, stored in one NDJSON file.
+ *
+ * - On startup the file is compacted: lines grouped by player, each group
+ *   sorted by time. Only each player's byte range is kept in memory
+ * - Checkpoints written since startup are appended to the file and kept in
+ *   memory per player; they are newer than anything in the compacted part
+ * - latestCheckpoint() looks in memory first, then reads only the player's
+ *   range of the compacted part (which is never rewritten while running)
+ */
+final class JsonCheckpointStore {
+
+    private record Range(long offset, int length) {}
+
+    private final Path path;
+    private final HytaleLogger logger;
+
+    // Compacted part: player -> byte range (filled on startup only)
+    private final Map<UUID, Range> ranges = new HashMap<>();
+
+    // Checkpoints written since startup (or not compactable), oldest first
+    private final Map<UUID, List<BalanceCheckpoint>> recent = new ConcurrentHashMap<>();
+
+    private BufferedWriter writer;
+
+    JsonCheckpointStore(@Nonnull Path path, @Nonnull HytaleLogger logger) {
+        this.path = path;
+        this.logger = logger;
+        load();
+    }
+
+    // ========== Writing ==========
+
+    /**
+     * Append checkpoints (writer thread only).
+     */
+    void write(@Nonnull List<BalanceCheckpoint> batch) throws IOException {
+        if (writer == null) {
+            Files.createDirectories(path.getParent());
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        for (BalanceCheckpoint checkpoint : batch) {
+            writer.write(toJson(checkpoint));
+            writer.write('\n');
+        }
+        writer.flush();
+        for (BalanceCheckpoint checkpoint : batch) {
+            remember(checkpoint);
+        }
+    }
+
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void remember(BalanceCheckpoint checkpoint) {
+        List<BalanceCheckpoint> list = recent.computeIfAbsent(checkpoint.player(), k -> new ArrayList<>());
+        synchronized (list) {
+            list.add(checkpoint);
+        }
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Newest checkpoint of a player at or before the given time, or null.
+     */
+    @Nullable
+    BalanceCheckpoint latest(@Nonnull UUID playerUuid, long atMillis) {
+        List<BalanceCheckpoint> list = recent.get(playerUuid);
+        if (list != null) {
+            synchronized (list) {
+                for (int i = list.size() - 1; i >= 0; i--) {
+                    if (list.get(i).timeMillis() <= atMillis) {
+                        return list.get(i);
+                    }
+                }
+            }
+        }
+
+        Range range = ranges.get(playerUuid);
+        if (range == null) {
+            return null;
+        }
+        BalanceCheckpoint latest = null;
+        try {
+            for (String line : readRange(range)) {
+                BalanceCheckpoint checkpoint = fromJson(line);
+                if (checkpoint == null || checkpoint.timeMillis() > atMillis) {
+                    break; // Sorted by time
+                }
+                latest = checkpoint;
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to read balance checkpoints: %s", e.getMessage());
+        }
+        return latest;
+    }
+
+    private List<String> readRange(Range range) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(range.length());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, range.offset() + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        return text.lines().toList();
+    }
+
+    // ========== Startup ==========
+
+    /**
+     * Index the file, compacting it first unless it already is.
+     */
+    private void load() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        Map<UUID, List<BalanceCheckpoint>> byPlayer = new LinkedHashMap<>();
+        Map<UUID, Range> found = new HashMap<>();
+        boolean compacted = true;
+        UUID previous = null;
+        long previousTime = Long.MIN_VALUE;
+        long offset = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int b;
+            boolean end = false;
+            while (!end) {
+                b = in.read();
+                end = b < 0;
+                if (!end && b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                int length = line.size() + (end ? 0 : 1);
+                BalanceCheckpoint checkpoint = fromJson(line.toString(StandardCharsets.UTF_8));
+                line.reset();
+                if (checkpoint != null) {
+                    UUID player = checkpoint.player();
+                    if (!player.equals(previous)) {
+                        // A player seen before in another group, or an unterminated line: not compacted
+                        compacted &= !byPlayer.containsKey(player);
+                        previousTime = Long.MIN_VALUE;
+                        found.put(player, new Range(offset, 0));
+                    }
+                    compacted &= checkpoint.timeMillis() >= previousTime && !end;
+                    Range range = found.get(player);
+                    found.put(player, new Range(range.offset(), range.length() + length));
+                    byPlayer.computeIfAbsent(player, k -> new ArrayList<>()).add(checkpoint);
+                    previous = player;
+                    previousTime = checkpoint.timeMillis();
+                } else if (length > 0) {
+                    compacted = false; // Damaged or partial line
+                }
+                offset += length;
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to load balance checkpoints: %s", e.getMessage());
+            return;
+        }
+
+        if (compacted) {
+            ranges.putAll(found);
+        } else if (!compact(byPlayer)) {
+            // Keep them in memory instead; still correct, just not compact
+            byPlayer.forEach((player, list) -> {
+                list.sort(Comparator.comparingLong(BalanceCheckpoint::timeMillis));
+                recent.put(player, list);
+            });
+        }
+    }
+
+    /**
+     * Rewrite the file grouped by player and sorted by time, and index it.
+     */
+    private boolean compact(Map<UUID, List<BalanceCheckpoint>> byPlayer) {
+        Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+        Map<UUID, Range> written = new HashMap<>();
+        long offset = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (var entry : byPlayer.entrySet()) {
+                List<BalanceCheckpoint> list = entry.getValue();
+                list.sort(Comparator.comparingLong(BalanceCheckpoint::timeMillis));
+                int length = 0;
+                for (BalanceCheckpoint checkpoint : list) {
+                    String line = toJson(checkpoint);
+                    out.write(line);
+                    out.write('\n');
+                    length += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                }
+                written.put(entry.getKey(), new Range(offset, length));
+                offset += length;
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to compact balance checkpoints: %s", e.getMessage());
+            return false;
+        }
+        try {
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to compact balance checkpoints: %s", e.getMessage());
+            return false;
+        }
+        ranges.putAll(written);
+        return true;
+    }
+
+    // ========== Serialization ==========
+
+    private static String toJson(BalanceCheckpoint checkpoint) {
+        JsonObject json = new JsonObject();
+        json.addProperty("uuid", checkpoint.player().toString());
+        json.addProperty("time", checkpoint.timeMillis());
+        json.addProperty("balance", checkpoint.balance());
+        json.addProperty("loggedAtTime", checkpoint.loggedAtTime());
+        return json.toString();
+    }
+
+    @Nullable
+    private static BalanceCheckpoint fromJson(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            return new BalanceCheckpoint(UUID.fromString(json.get("uuid").getAsString()),
+                json.get("time").getAsLong(), json.get("balance").getAsDouble(),
+                json.has("loggedAtTime") ? json.get("loggedAtTime").getAsInt() : -1);
+        } catch (RuntimeException e) {
+            return null; // Partial line still being appended
+        }
+    }
+}
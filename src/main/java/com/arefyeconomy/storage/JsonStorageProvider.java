@@ -3,18 +3,26 @@ package com.arefyeconomy.storage;
 import com.arefyeconomy.Main;
 import com.arefyeconomy.economy.PlayerBalance;
 import com.arefyeconomy.util.ArefyLogger;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.hypixel.hytale.codec.util.RawJsonReader;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.util.BsonUtil;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.stream.Stream;
 
@@ -23,9 +31,13 @@ import java.util.stream.Stream;
  * 
  * Storage Structure:
  *   Universe/ArefyEconomy/
+ *     names.json         <- UUID -> last known player name
  *     players/
  *       <uuid>.json      <- Current data
  *       <uuid>.json.bak  <- Previous save (backup)
+ *     archive/
+ *       <uuid>.json      <- Dormant account (not preloaded, restored on load)
+ *     transactions/      <- Transaction log segments (see JsonTransactionSink)
  * 
  * Features:
  * - Atomic writes via temp file + rename
@@ -37,6 +49,7 @@ import java.util.stream.Stream;
  * Thread Safety:
  * - All public methods return CompletableFuture for async execution
  * - Internal operations are atomic at file level
+ * - Archive moves take a write lock so a load never sees a half-moved account
  */
 public class JsonStorageProvider implements StorageProvider {
     
@@ -44,10 +57,26 @@ public class JsonStorageProvider implements StorageProvider {
     private static final Path AREFYECONOMY_PATH = Path.of("mods", "ArefyEconomy");
     private static final Path PLAYERS_PATH = AREFYECONOMY_PATH.resolve("players");
     private static final Path LEGACY_PATH = AREFYECONOMY_PATH.resolve("balances.json");
+    private static final Path NAMES_PATH = AREFYECONOMY_PATH.resolve("names.json");
+    private static final Path ARCHIVE_PATH = AREFYECONOMY_PATH.resolve("archive");
+    
+    /** Parallel writers used by the shutdown flush (per-player files are independent) */
+    private static final int WRITE_LANES = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    
+    private static final Gson GSON = new Gson();
+    private static final Type NAMES_TYPE = new TypeToken<Map<String, String>>() {}.getType();
     
     private final HytaleLogger logger;
     private final AtomicInteger playerCount = new AtomicInteger(0);
     
+    // Full name map backing names.json (file is rewritten from this on save)
+    private final Map<String, String> playerNames = new ConcurrentHashMap<>();
+    
+    // Loads share the read lock; moving files to/from the archive takes the write lock
+    private final ReentrantReadWriteLock archiveLock = new ReentrantReadWriteLock();
+    
+    private JsonTransactionSink transactionSink;
+    
     public JsonStorageProvider() {
         this.logger = HytaleLogger.getLogger().getSubLogger("ArefyEconomy-Storage");
     }
@@ -58,6 +87,7 @@ public class JsonStorageProvider implements StorageProvider {
             try {
                 // Create directories if needed
                 Files.createDirectories(PLAYERS_PATH);
+                Files.createDirectories(ARCHIVE_PATH);
                 
                 // Check for legacy migration
                 if (Files.exists(LEGACY_PATH)) {
@@ -70,6 +100,8 @@ public class JsonStorageProvider implements StorageProvider {
                     playerCount.set(count);
                 }
                 
+                transactionSink = new JsonTransactionSink();
+                
                 logger.at(Level.INFO).log("JsonStorageProvider initialized with %d players", playerCount.get());
             } catch (IOException e) {
                 logger.at(Level.SEVERE).log("Failed to initialize storage: %s", e.getMessage());
@@ -83,43 +115,60 @@ public class JsonStorageProvider implements StorageProvider {
         return CompletableFuture.supplyAsync(() -> {
             Path playerFile = getPlayerFile(playerUuid);
             
-            if (!Files.exists(playerFile)) {
-                // Create new account with starting balance
-                PlayerBalance newBalance = new PlayerBalance(playerUuid);
-                newBalance.setBalance(Main.CONFIG.get().getStartingBalance(), "Initial balance");
-                playerCount.incrementAndGet();
-                return newBalance;
+            // Dormant account - move it back from the archive first
+            if (!Files.exists(playerFile) && Files.exists(getArchiveFile(playerUuid))) {
+                restoreArchived(playerUuid);
             }
             
+            archiveLock.readLock().lock();
             try {
-                PlayerBalance balance = RawJsonReader.readSync(playerFile, PlayerBalance.CODEC, logger);
-                if (balance != null) {
-                    return balance;
-                }
-            } catch (Exception e) {
-                logger.at(Level.WARNING).log("Failed to load %s, trying backup: %s", playerUuid, e.getMessage());
-                
-                // Try backup file
-                Path backupFile = getBackupFile(playerUuid);
-                if (Files.exists(backupFile)) {
-                    try {
-                        PlayerBalance backup = RawJsonReader.readSync(backupFile, PlayerBalance.CODEC, logger);
-                        if (backup != null) {
-                            logger.at(Level.INFO).log("Restored %s from backup", playerUuid);
-                            return backup;
-                        }
-                    } catch (Exception e2) {
-                        logger.at(Level.SEVERE).log("Backup also failed for %s: %s", playerUuid, e2.getMessage());
+                return readPlayer(playerUuid, playerFile);
+            } finally {
+                archiveLock.readLock().unlock();
+            }
+        });
+    }
+    
+    /**
+     * Read a player file, falling back to the backup or a fresh account.
+     */
+    private PlayerBalance readPlayer(UUID playerUuid, Path playerFile) {
+        if (!Files.exists(playerFile)) {
+            // Create new account with starting balance
+            PlayerBalance newBalance = new PlayerBalance(playerUuid);
+            newBalance.setBalance(Main.CONFIG.get().getStartingBalance(), "Initial balance");
+            playerCount.incrementAndGet();
+            return newBalance;
+        }
+        
+        try {
+            PlayerBalance balance = RawJsonReader.readSync(playerFile, PlayerBalance.CODEC, logger);
+            if (balance != null) {
+                return balance;
+            }
+        } catch (Exception e) {
+            logger.at(Level.WARNING).log("Failed to load %s, trying backup: %s", playerUuid, e.getMessage());
+            
+            // Try backup file
+            Path backupFile = getBackupFile(playerUuid);
+            if (Files.exists(backupFile)) {
+                try {
+                    PlayerBalance backup = RawJsonReader.readSync(backupFile, PlayerBalance.CODEC, logger);
+                    if (backup != null) {
+                        logger.at(Level.INFO).log("Restored %s from backup", playerUuid);
+                        return backup;
                     }
+                } catch (Exception e2) {
+                    logger.at(Level.SEVERE).log("Backup also failed for %s: %s", playerUuid, e2.getMessage());
                 }
             }
-            
-            // Fallback: create new account
-            logger.at(Level.WARNING).log("Creating new account for %s after load failure", playerUuid);
-            PlayerBalance fallback = new PlayerBalance(playerUuid);
-            fallback.setBalance(Main.CONFIG.get().getStartingBalance(), "Recovery - initial balance");
-            return fallback;
-        });
+        }
+        
+        // Fallback: create new account
+        logger.at(Level.WARNING).log("Creating new account for %s after load failure", playerUuid);
+        PlayerBalance fallback = new PlayerBalance(playerUuid);
+        fallback.setBalance(Main.CONFIG.get().getStartingBalance(), "Recovery - initial balance");
+        return fallback;
     }
     
     @Override
@@ -130,17 +179,7 @@ public class JsonStorageProvider implements StorageProvider {
             Path tempFile = getTempFile(playerUuid);
             
             try {
-                // Step 1: Write to temp file first
-                BsonUtil.writeSync(tempFile, PlayerBalance.CODEC, balance, logger);
-                
-                // Step 2: Backup existing file (if any)
-                if (Files.exists(playerFile)) {
-                    Files.move(playerFile, backupFile, StandardCopyOption.REPLACE_EXISTING);
-                }
-                
-                // Step 3: Atomic rename temp -> final
-                Files.move(tempFile, playerFile, StandardCopyOption.ATOMIC_MOVE);
-                
+                writePlayerFile(playerUuid, balance);
             } catch (IOException e) {
                 logger.at(Level.SEVERE).log("Failed to save %s: %s", playerUuid, e.getMessage());
                 
@@ -162,6 +201,25 @@ public class JsonStorageProvider implements StorageProvider {
         });
     }
     
+    /**
+     * Atomic write with backup rotation, on the calling thread.
+     */
+    private void writePlayerFile(UUID playerUuid, PlayerBalance balance) throws IOException {
+        Path playerFile = getPlayerFile(playerUuid);
+        Path tempFile = getTempFile(playerUuid);
+        
+        // Step 1: Write to temp file first
+        BsonUtil.writeSync(tempFile, PlayerBalance.CODEC, balance, logger);
+        
+        // Step 2: Backup existing file (if any)
+        if (Files.exists(playerFile)) {
+            Files.move(playerFile, getBackupFile(playerUuid), StandardCopyOption.REPLACE_EXISTING);
+        }
+        
+        // Step 3: Atomic rename temp -> final
+        Files.move(tempFile, playerFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
     @Override
     public CompletableFuture<Void> saveAll(@Nonnull Map<UUID, PlayerBalance> dirtyPlayers) {
         if (dirtyPlayers.isEmpty()) {
@@ -178,6 +236,27 @@ public class JsonStorageProvider implements StorageProvider {
         });
     }
     
+    @Override
+    public int getWriteLanes() {
+        return WRITE_LANES;
+    }
+    
+    /**
+     * Write a chunk of player files on the calling thread.
+     * Files are independent, so lanes need no extra resources.
+     */
+    @Override
+    public void saveChunkSync(int lane, @Nonnull Map<UUID, PlayerBalance> players) throws IOException {
+        for (var entry : players.entrySet()) {
+            try {
+                writePlayerFile(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                Files.deleteIfExists(getTempFile(entry.getKey()));
+                throw e;
+            }
+        }
+    }
+    
     @Override
     public CompletableFuture<Map<UUID, PlayerBalance>> loadAll() {
         return CompletableFuture.supplyAsync(() -> {
@@ -200,6 +279,7 @@ public class JsonStorageProvider implements StorageProvider {
                      });
             } catch (IOException e) {
                 logger.at(Level.SEVERE).log("Failed to list player files: %s", e.getMessage());
+                throw new RuntimeException("Failed to list player files", e);
             }
             
             return allBalances;
@@ -208,7 +288,8 @@ public class JsonStorageProvider implements StorageProvider {
     
     @Override
     public CompletableFuture<Boolean> playerExists(@Nonnull UUID playerUuid) {
-        return CompletableFuture.supplyAsync(() -> Files.exists(getPlayerFile(playerUuid)));
+        return CompletableFuture.supplyAsync(() ->
+            Files.exists(getPlayerFile(playerUuid)) || Files.exists(getArchiveFile(playerUuid)));
     }
     
     @Override
@@ -218,6 +299,7 @@ public class JsonStorageProvider implements StorageProvider {
                 Files.deleteIfExists(getPlayerFile(playerUuid));
                 Files.deleteIfExists(getBackupFile(playerUuid));
                 Files.deleteIfExists(getTempFile(playerUuid));
+                Files.deleteIfExists(getArchiveFile(playerUuid));
                 playerCount.decrementAndGet();
                 logger.at(Level.INFO).log("Deleted player data: %s", playerUuid);
             } catch (IOException e) {
@@ -226,6 +308,161 @@ public class JsonStorageProvider implements StorageProvider {
         });
     }
     
+    @Override
+    public CompletableFuture<Map<UUID, String>> loadPlayerNames() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, String> result = new HashMap<>();
+            if (!Files.exists(NAMES_PATH)) {
+                return result;
+            }
+            
+            try (Reader reader = Files.newBufferedReader(NAMES_PATH, StandardCharsets.UTF_8)) {
+                Map<String, String> loaded = GSON.fromJson(reader, NAMES_TYPE);
+                if (loaded != null) {
+                    for (var entry : loaded.entrySet()) {
+                        try {
+                            result.put(UUID.fromString(entry.getKey()), entry.getValue());
+                            playerNames.put(entry.getKey(), entry.getValue());
+                        } catch (IllegalArgumentException e) {
+                            logger.at(Level.WARNING).log("Skipping invalid name entry: %s", entry.getKey());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                logger.at(Level.WARNING).log("Failed to load %s: %s", NAMES_PATH, e.getMessage());
+            }
+            return result;
+        });
+    }
+    
+    @Override
+    public CompletableFuture<Void> savePlayerNames(@Nonnull Map<UUID, String> names) {
+        if (names.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.runAsync(() -> {
+            names.forEach((uuid, name) -> playerNames.put(uuid.toString(), name));
+            writeNamesFile();
+        });
+    }
+    
+    /**
+     * Rewrite names.json atomically (temp file + rename).
+     * Synchronized so concurrent flushes never interleave writes.
+     */
+    private synchronized void writeNamesFile() {
+        Path tempFile = NAMES_PATH.resolveSibling("names.json.tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                GSON.toJson(new HashMap<>(playerNames), NAMES_TYPE, writer);
+            }
+            Files.move(tempFile, NAMES_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            ArefyLogger.debug("Saved %d player names", playerNames.size());
+        } catch (IOException e) {
+            logger.at(Level.SEVERE).log("Failed to save player names: %s", e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+    
+    // ========== Archival ==========
+    
+    @Override
+    public CompletableFuture<Void> archivePlayers(@Nonnull Map<UUID, PlayerBalance> dormantPlayers) {
+        if (dormantPlayers.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.runAsync(() -> {
+            int archived = 0;
+            archiveLock.writeLock().lock();
+            try {
+                for (var entry : dormantPlayers.entrySet()) {
+                    UUID uuid = entry.getKey();
+                    Path archiveFile = getArchiveFile(uuid);
+                    Path tempFile = ARCHIVE_PATH.resolve(uuid + ".json.tmp");
+                    try {
+                        // Write the archive copy first; the active file is only removed once it is safe
+                        BsonUtil.writeSync(tempFile, PlayerBalance.CODEC, entry.getValue(), logger);
+                        Files.move(tempFile, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        Files.deleteIfExists(getPlayerFile(uuid));
+                        Files.deleteIfExists(getBackupFile(uuid));
+                        archived++;
+                    } catch (IOException e) {
+                        logger.at(Level.WARNING).log("Failed to archive %s: %s", uuid, e.getMessage());
+                        try {
+                            Files.deleteIfExists(tempFile);
+                        } catch (IOException ignored) {}
+                    }
+                }
+            } finally {
+                archiveLock.writeLock().unlock();
+            }
+            playerCount.addAndGet(-archived);
+            ArefyLogger.debug("Archived %d dormant accounts", archived);
+        });
+    }
+    
+    @Override
+    public CompletableFuture<Map<UUID, PlayerBalance>> loadArchivedBalances() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, PlayerBalance> result = new HashMap<>();
+            archiveLock.readLock().lock();
+            try (Stream<Path> files = Files.list(ARCHIVE_PATH)) {
+                files.filter(p -> p.getFileName().toString().endsWith(".json"))
+                     .forEach(path -> {
+                         String name = path.getFileName().toString();
+                         UUID uuid;
+                         try {
+                             uuid = UUID.fromString(name.substring(0, name.length() - ".json".length()));
+                         } catch (IllegalArgumentException e) {
+                             logger.at(Level.WARNING).log("Skipping invalid archive file: %s", name);
+                             return;
+                         }
+                         PlayerBalance summary = null;
+                         try {
+                             PlayerBalance archived = RawJsonReader.readSync(path, PlayerBalance.CODEC, logger);
+                             if (archived != null) {
+                                 summary = PlayerBalance.restore(uuid, archived.getBalance(), archived.getTotalEarned(),
+                                     archived.getTotalSpent(), archived.getLastTransactionTime());
+                             }
+                         } catch (Exception e) {
+                             logger.at(Level.WARNING).log("Failed to read archived account %s: %s", uuid, e.getMessage());
+                         }
+                         // Unreadable: still an account, counted as empty until it is restored
+                         result.put(uuid, summary != null ? summary : PlayerBalance.restore(uuid, 0, 0, 0, 0));
+                     });
+            } catch (IOException e) {
+                logger.at(Level.WARNING).log("Failed to list archived accounts: %s", e.getMessage());
+                throw new RuntimeException("Failed to list archived accounts", e);
+            } finally {
+                archiveLock.readLock().unlock();
+            }
+            return result;
+        });
+    }
+    
+    /**
+     * Move an archived account back to the players directory.
+     */
+    private void restoreArchived(UUID playerUuid) {
+        archiveLock.writeLock().lock();
+        try {
+            Path archiveFile = getArchiveFile(playerUuid);
+            Path playerFile = getPlayerFile(playerUuid);
+            if (Files.exists(playerFile) || !Files.exists(archiveFile)) {
+                return; // Restored by another load in the meantime
+            }
+            Files.move(archiveFile, playerFile, StandardCopyOption.ATOMIC_MOVE);
+            playerCount.incrementAndGet();
+            ArefyLogger.debug("Restored archived account %s", playerUuid);
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to restore archived account %s: %s", playerUuid, e.getMessage());
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+    }
+    
     @Override
     public CompletableFuture<Void> shutdown() {
         return CompletableFuture.runAsync(() -> {
@@ -233,6 +470,11 @@ public class JsonStorageProvider implements StorageProvider {
         });
     }
     
+    @Override
+    public TransactionSink getTransactionSink() {
+        return transactionSink;
+    }
+    
     @Override
     public String getName() {
         return "JSON (per-player files)";
@@ -257,6 +499,10 @@ public class JsonStorageProvider implements StorageProvider {
         return PLAYERS_PATH.resolve(uuid.toString() + ".json.tmp");
     }
     
+    private Path getArchiveFile(UUID uuid) {
+        return ARCHIVE_PATH.resolve(uuid.toString() + ".json");
+    }
+    
     // ========== Legacy Migration ==========
     
     /**
@@ -0,0 +1,609 @@
+package com.arefyeconomy.storage;
+
+import com.arefyeconomy.economy.BalanceCheckpoint;
+import com.arefyeconomy.economy.TransactionEntry;
+import com.arefyeconomy.economy.TransactionRollup;
+import com.arefyeconomy.economy.TransactionType;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Transaction sink for the JSON provider: append-only NDJSON segments.
+ *
+ * Storage Structure:
+ *   mods/ArefyEconomy/transactions/
+ *     current.ndjson            <- Active segment (one JSON object per line)
+ *     tx-<millis>.ndjson.gz     <- Rotated, gzip-compressed segments
+ *     segments.ndjson           <- Entry count of each compressed segment
+ *     rollups.ndjson            <- Hourly rollup deltas, one line per row per batch
+ *     checkpoints.ndjson        <- Periodic per-account balances (JsonCheckpointStore)
+ *
+ * - Batches are appended with one write + flush
+ * - The active segment is rotated and compressed at SEGMENT_MAX_BYTES;
+ *   segments are never deleted (the log is the audit trail)
+ * - The total entry count is kept running from the per-segment counts, so
+ *   an unfiltered count() reads no segment
+ * - Queries scan segments newest first and stop once the page is filled
+ * - Time-bounded reads skip segments rotated before the lower bound
+ * - Rollups are kept merged in memory; the delta file is appended with each
+ *   batch and compacted to one line per row on startup
+ */
+class JsonTransactionSink extends BatchingTransactionSink {
+
+    private static final Path TRANSACTIONS_PATH = Path.of("mods", "ArefyEconomy", "transactions");
+    private static final Path CURRENT_PATH = TRANSACTIONS_PATH.resolve("current.ndjson");
+    private static final String SEGMENT_PREFIX = "tx-";
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    private static final Path SEGMENTS_PATH = TRANSACTIONS_PATH.resolve("segments.ndjson");
+    private static final Path ROLLUPS_PATH = TRANSACTIONS_PATH.resolve("rollups.ndjson");
+    private static final Path CHECKPOINTS_PATH = TRANSACTIONS_PATH.resolve("checkpoints.ndjson");
+
+    /** Rotate the active segment at this size (4 MB) */
+    private static final long SEGMENT_MAX_BYTES = 4L * 1024 * 1024;
+
+    // Rotation swaps files; queries must not list segments mid-rotation
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+
+    private BufferedWriter writer;
+    private long currentBytes;
+
+    // Entries in the active segment (writer thread) and in the whole log
+    private long currentEntries;
+    private final AtomicLong totalEntries = new AtomicLong();
+
+    // Merged rollups by TransactionRollup.key()
+    private final Map<String, TransactionRollup> rollupTotals = new ConcurrentHashMap<>();
+    private BufferedWriter rollupWriter;
+
+    private final JsonCheckpointStore checkpoints;
+
+    // Steps of the current batch already on disk; a retried batch resumes
+    // after them instead of appending its entries/rollups twice
+    private boolean entriesWritten;
+    private boolean rollupsWritten;
+
+    JsonTransactionSink() {
+        super("Json-TxLog");
+        loadRollups();
+        loadSegmentCounts();
+        checkpoints = new JsonCheckpointStore(CHECKPOINTS_PATH, logger);
+        start();
+    }
+
+    // ========== Writing ==========
+
+    @Override
+    protected void writeBatch(@Nonnull List<TransactionEntry> batch,
+                              @Nonnull List<TransactionRollup> rollups) throws IOException {
+        if (writer == null) {
+            Files.createDirectories(TRANSACTIONS_PATH);
+            currentBytes = Files.exists(CURRENT_PATH) ? Files.size(CURRENT_PATH) : 0;
+            writer = Files.newBufferedWriter(CURRENT_PATH, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        if (!entriesWritten) {
+            for (TransactionEntry entry : batch) {
+                String line = toJson(entry);
+                writer.write(line);
+                writer.newLine();
+                currentBytes += line.length() + 1;
+            }
+            writer.flush();
+            currentEntries += batch.size();
+            totalEntries.addAndGet(batch.size());
+            entriesWritten = true;
+        }
+
+        if (!rollupsWritten) {
+            if (rollupWriter == null) {
+                rollupWriter = Files.newBufferedWriter(ROLLUPS_PATH, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (TransactionRollup rollup : rollups) {
+                rollupWriter.write(toJson(rollup));
+                rollupWriter.newLine();
+            }
+            rollupWriter.flush();
+            for (TransactionRollup rollup : rollups) {
+                rollupTotals.merge(rollup.key(), rollup, TransactionRollup::merge);
+            }
+            rollupsWritten = true;
+        }
+
+        if (currentBytes >= SEGMENT_MAX_BYTES) {
+            rotate();
+        }
+        entriesWritten = false;
+        rollupsWritten = false;
+    }
+
+    @Override
+    protected void writeCheckpoints(@Nonnull List<BalanceCheckpoint> batch) throws IOException {
+        checkpoints.write(batch);
+    }
+
+    /**
+     * Merge the rollup delta file into memory and rewrite it compacted.
+     */
+    private void loadRollups() {
+        if (!Files.exists(ROLLUPS_PATH)) {
+            return;
+        }
+        long lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(ROLLUPS_PATH, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                TransactionRollup rollup = rollupFromJson(line);
+                if (rollup != null) {
+                    rollupTotals.merge(rollup.key(), rollup, TransactionRollup::merge);
+                    lines++;
+                }
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to load transaction rollups: %s", e.getMessage());
+            return;
+        }
+
+        if (lines > rollupTotals.size()) {
+            Path tempFile = ROLLUPS_PATH.resolveSibling(ROLLUPS_PATH.getFileName() + ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (TransactionRollup rollup : rollupTotals.values()) {
+                    out.write(toJson(rollup));
+                    out.newLine();
+                }
+            } catch (IOException e) {
+                logger.at(Level.WARNING).log("Failed to compact transaction rollups: %s", e.getMessage());
+                return;
+            }
+            try {
+                Files.move(tempFile, ROLLUPS_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                logger.at(Level.WARNING).log("Failed to compact transaction rollups: %s", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Load the per-segment entry counts and start the running total.
+     * Segments without a recorded count (older logs, or a crash right after
+     * rotating) are counted once and recorded.
+     */
+    private void loadSegmentCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        if (Files.exists(SEGMENTS_PATH)) {
+            try (BufferedReader reader = Files.newBufferedReader(SEGMENTS_PATH, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+                        counts.put(json.get("segment").getAsString(), json.get("count").getAsLong());
+                    } catch (RuntimeException e) {
+                        // Partial line from an interrupted append: that segment is recounted
+                    }
+                }
+            } catch (IOException e) {
+                logger.at(Level.WARNING).log("Failed to load segment counts: %s", e.getMessage());
+            }
+        }
+
+        long total = 0;
+        try {
+            for (Path segment : listSegments()) {
+                Long count = counts.get(segment.getFileName().toString());
+                if (count == null) {
+                    count = streamSegment(segment, entry -> true, entry -> {});
+                    recordSegmentCount(segment, count);
+                }
+                total += count;
+            }
+            if (Files.exists(CURRENT_PATH)) {
+                currentEntries = streamSegment(CURRENT_PATH, entry -> true, entry -> {});
+                total += currentEntries;
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to count transaction log entries: %s", e.getMessage());
+        }
+        totalEntries.set(total);
+    }
+
+    private void recordSegmentCount(Path segment, long count) throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("segment", segment.getFileName().toString());
+        json.addProperty("count", count);
+        Files.writeString(SEGMENTS_PATH, json + "\n", StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Compress the active segment into tx-<millis>.ndjson.gz and start a new one.
+     */
+    private void rotate() throws IOException {
+        rotationLock.writeLock().lock();
+        try {
+            writer.close();
+            writer = null;
+
+            Path segment = TRANSACTIONS_PATH.resolve(SEGMENT_PREFIX + System.currentTimeMillis() + SEGMENT_SUFFIX);
+            Path tempFile = segment.resolveSibling(segment.getFileName() + ".tmp");
+            try (InputStream in = Files.newInputStream(CURRENT_PATH);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                in.transferTo(out);
+            }
+            Files.move(tempFile, segment, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(CURRENT_PATH);
+            currentBytes = 0;
+            long count = currentEntries;
+            currentEntries = 0;
+            try {
+                recordSegmentCount(segment, count);
+            } catch (IOException e) {
+                // Recounted on the next startup
+                logger.at(Level.WARNING).log("Failed to record segment count: %s", e.getMessage());
+            }
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected void closeResources() {
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+            if (rollupWriter != null) {
+                rollupWriter.close();
+            }
+            checkpoints.close();
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Error closing transaction log: %s", e.getMessage());
+        }
+    }
+
+    // ========== Reading ==========
+
+    @Override
+    public CompletableFuture<List<TransactionEntry>> query(@Nullable String playerFilter, int limit, int offset) {
+        return read(() -> scan(nameFilter(playerFilter), limit, offset));
+    }
+
+    @Override
+    public CompletableFuture<Integer> count(@Nullable String playerFilter) {
+        if (playerFilter == null || playerFilter.isEmpty()) {
+            return CompletableFuture.completedFuture((int) Math.min(totalEntries.get(), Integer.MAX_VALUE));
+        }
+        return read(() -> countMatching(nameFilter(playerFilter)));
+    }
+
+    @Override
+    public CompletableFuture<List<TransactionEntry>> queryPlayer(@Nonnull UUID playerUuid, int limit, int offset) {
+        return read(() -> scan(entry -> entry.involvesPlayer(playerUuid), limit, offset));
+    }
+
+    /**
+     * Served from the checkpoint index: memory, then the player's range of the file.
+     */
+    @Override
+    public CompletableFuture<BalanceCheckpoint> latestCheckpoint(@Nonnull UUID playerUuid, long atMillis) {
+        return read(() -> checkpoints.latest(playerUuid, atMillis));
+    }
+
+    @Override
+    public CompletableFuture<List<TransactionEntry>> queryPlayerRange(@Nonnull UUID playerUuid, long fromMillis, long toMillis) {
+        return read(() -> {
+            List<TransactionEntry> result = new ArrayList<>();
+            try {
+                long to = toMillis == Long.MAX_VALUE ? toMillis : toMillis + 1;
+                stream(playerUuid, fromMillis, to, result::add);
+            } catch (IOException e) {
+                logger.at(Level.WARNING).log("Failed to read transaction log: %s", e.getMessage());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<TransactionRollup>> queryRollups(long fromMillis, long toMillis) {
+        List<TransactionRollup> result = new ArrayList<>();
+        for (TransactionRollup rollup : rollupTotals.values()) {
+            if (rollup.hourStart() >= fromMillis && rollup.hourStart() < toMillis) {
+                result.add(rollup);
+            }
+        }
+        result.sort(Comparator.comparingLong(TransactionRollup::hourStart));
+        return CompletableFuture.completedFuture(result);
+    }
+
+    private static Predicate<TransactionEntry> nameFilter(@Nullable String playerFilter) {
+        if (playerFilter == null || playerFilter.isEmpty()) {
+            return entry -> true;
+        }
+        String needle = playerFilter.toLowerCase(Locale.ROOT);
+        return entry -> entry.playerName() != null && entry.playerName().toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    /**
+     * Walk all segments newest first and collect one page of matches.
+     */
+    private List<TransactionEntry> scan(Predicate<TransactionEntry> filter, int limit, int offset) {
+        List<TransactionEntry> result = new ArrayList<>();
+        int skipped = 0;
+
+        rotationLock.readLock().lock();
+        try {
+            List<Path> sources = new ArrayList<>();
+            if (Files.exists(CURRENT_PATH)) {
+                sources.add(CURRENT_PATH);
+            }
+            sources.addAll(listSegments());
+
+            for (Path source : sources) {
+                List<TransactionEntry> entries = readSegment(source);
+                for (int i = entries.size() - 1; i >= 0; i--) {
+                    TransactionEntry entry = entries.get(i);
+                    if (!filter.test(entry)) continue;
+                    if (skipped < offset) {
+                        skipped++;
+                        continue;
+                    }
+                    result.add(entry);
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to read transaction log: %s", e.getMessage());
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Count matching entries without keeping them.
+     */
+    private int countMatching(Predicate<TransactionEntry> filter) {
+        long count = 0;
+        rotationLock.readLock().lock();
+        try {
+            for (Path segment : listSegments()) {
+                count += streamSegment(segment, filter, entry -> {});
+            }
+            if (Files.exists(CURRENT_PATH)) {
+                count += streamSegment(CURRENT_PATH, filter, entry -> {});
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).log("Failed to read transaction log: %s", e.getMessage());
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Stream entries oldest first: compressed segments, then the active one.
+     * Segments are read line by line without holding the rotation lock, so a
+     * long export never stalls the writer; only segments rotated meanwhile and
+     * the (small) active segment are read under the lock.
+     */
+    @Override
+    public long stream(@Nullable UUID playerUuid, long fromMillis, long toMillis,
+                       @Nonnull Consumer<TransactionEntry> consumer) throws IOException {
+        Predicate<TransactionEntry> filter = entry ->
+            entry.timestampMillis() >= fromMillis && entry.timestampMillis() < toMillis
+                && (playerUuid == null || entry.involvesPlayer(playerUuid));
+
+        List<Path> segments;
+        rotationLock.readLock().lock();
+        try {
+            segments = new ArrayList<>(listSegments());
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        Collections.reverse(segments);
+        // A segment only holds entries written before it was rotated
+        List<Path> listed = List.copyOf(segments);
+        segments.removeIf(segment -> segmentTime(segment) < fromMillis);
+
+        long count = 0;
+        for (Path segment : segments) {
+            try {
+                count += streamSegment(segment, filter, consumer);
+            } catch (NoSuchFileException e) {
+                // Removed by hand since listing
+            }
+        }
+
+        rotationLock.readLock().lock();
+        try {
+            // Segments rotated while we were reading, then the active segment
+            List<Path> rotated = new ArrayList<>(listSegments());
+            rotated.removeAll(listed);
+            Collections.reverse(rotated);
+            for (Path segment : rotated) {
+                count += streamSegment(segment, filter, consumer);
+            }
+            if (Files.exists(CURRENT_PATH)) {
+                count += streamSegment(CURRENT_PATH, filter, consumer);
+            }
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        return count;
+    }
+
+    private long streamSegment(Path segment, Predicate<TransactionEntry> filter,
+                               Consumer<TransactionEntry> consumer) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = openSegment(segment)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                TransactionEntry entry = fromJson(line);
+                if (entry != null && filter.test(entry)) {
+                    consumer.accept(entry);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compressed segments, newest first.
+     */
+    private List<Path> listSegments() throws IOException {
+        if (!Files.exists(TRANSACTIONS_PATH)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(TRANSACTIONS_PATH)) {
+            return files
+                .filter(p -> {
+                    String name = p.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .sorted((a, b) -> Long.compare(segmentTime(b), segmentTime(a)))
+                .toList();
+        }
+    }
+
+    private static long segmentTime(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Read a segment in file order. Unparseable lines (e.g. a line still
+     * being appended) are skipped.
+     */
+    private List<TransactionEntry> readSegment(Path segment) throws IOException {
+        List<TransactionEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = openSegment(segment)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                TransactionEntry entry = fromJson(line);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static BufferedReader openSegment(Path segment) throws IOException {
+        InputStream in = Files.newInputStream(segment);
+        if (segment.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    // ========== Serialization ==========
+
+    /**
+     * One NDJSON line (without newline). Also used by NDJSON exports.
+     */
+    static String toJson(TransactionEntry entry) {
+        JsonObject json = new JsonObject();
+        json.addProperty("time", entry.timestampMillis());
+        json.addProperty("type", entry.type().name());
+        if (entry.sourcePlayer() != null) json.addProperty("source", entry.sourcePlayer().toString());
+        if (entry.targetPlayer() != null) json.addProperty("target", entry.targetPlayer().toString());
+        json.addProperty("name", entry.playerName());
+        json.addProperty("amount", entry.amount());
+        if (entry.type() == TransactionType.PAY && entry.hasFee()) json.addProperty("fee", entry.fee());
+        return json.toString();
+    }
+
+    @Nullable
+    private static TransactionEntry fromJson(String line) {
+        try {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            Instant time = Instant.ofEpochMilli(json.get("time").getAsLong());
+            TransactionType type = TransactionType.valueOf(json.get("type").getAsString());
+            UUID source = json.has("source") ? UUID.fromString(json.get("source").getAsString()) : null;
+            UUID target = json.has("target") ? UUID.fromString(json.get("target").getAsString()) : null;
+            double amount = json.get("amount").getAsDouble();
+            String name = json.has("name") && !json.get("name").isJsonNull() ? json.get("name").getAsString() : null;
+            // Lines written before fees were recorded have no "fee"
+            return json.has("fee")
+                ? TransactionEntry.restore(time, type, source, target, amount, json.get("fee").getAsDouble(), name)
+                : TransactionEntry.restore(time, type, source, target, amount, name);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String toJson(TransactionRollup rollup) {
+        JsonObject json = new JsonObject();
+        json.addProperty("hour", rollup.hourStart());
+        json.addProperty("type", rollup.type().name());
+        json.addProperty("category", rollup.category());
+        json.addProperty("count", rollup.count());
+        json.addProperty("sum", rollup.sum());
+        json.addProperty("min", rollup.min());
+        json.addProperty("max", rollup.max());
+        return json.toString();
+    }
+
+    @Nullable
+    private static TransactionRollup rollupFromJson(String line) {
+        try {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            return new TransactionRollup(
+                json.get("hour").getAsLong(),
+                TransactionType.valueOf(json.get("type").getAsString()),
+                json.get("category").getAsString(),
+                json.get("count").getAsLong(),
+                json.get("sum").getAsDouble(),
+                json.get("min").getAsDouble(),
+                json.get("max").getAsDouble());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "NDJSON segments";
+    }
+}
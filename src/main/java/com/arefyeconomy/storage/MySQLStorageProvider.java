@@ -23,7 +23,9 @@ import java.util.logging.Level;
  * Features:
  * - Connection pooling via single persistent connection
  * - Automatic table creation with configurable prefix
+ * - Dormant accounts archived to %sarchived_balances (restored on load)
  * - Async operations via dedicated thread
+ * - Dedicated write-lane connections for the parallel shutdown flush
  * - Full StorageProvider interface implementation
  * 
  * @author michiweon
@@ -32,6 +34,15 @@ public class MySQLStorageProvider implements StorageProvider {
     
     private static final HytaleLogger LOGGER = HytaleLogger.getLogger().getSubLogger("ArefyEconomy-MySQL");
     
+    /** Parallel connections used by the shutdown flush */
+    private static final int WRITE_LANES = 4;
+    
+    /** schema_migrations version: backfill last_transaction_time of pre-archiving rows */
+    private static final int MIGRATION_BACKFILL_ACTIVITY = 1;
+    
+    /** schema_migrations version: roll up history logged before transaction_rollups existed */
+    private static final int MIGRATION_BACKFILL_ROLLUPS = 2;
+    
     private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
         Thread t = new Thread(r, "ArefyEconomy-MySQL-IO");
         t.setDaemon(false); // Must be non-daemon to ensure tasks complete during shutdown
@@ -39,6 +50,11 @@ public class MySQLStorageProvider implements StorageProvider {
     });
     
     private Connection connection;
+    private MySQLTransactionSink transactionSink;
+    private final Connection[] laneConnections = new Connection[WRITE_LANES];
+    private String jdbcUrl;
+    private String username;
+    private String password;
     private String tablePrefix;
     private int playerCount = 0;
     
@@ -52,11 +68,11 @@ public class MySQLStorageProvider implements StorageProvider {
                 String host = config.getMysqlHost();
                 int port = config.getMysqlPort();
                 String database = config.getMysqlDatabase();
-                String username = config.getMysqlUsername();
-                String password = config.getMysqlPassword();
+                username = config.getMysqlUsername();
+                password = config.getMysqlPassword();
                 
                 // Build JDBC URL
-                String url = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&allowPublicKeyRetrieval=true",
+                jdbcUrl = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&allowPublicKeyRetrieval=true",
                     host, port, database);
                 
                 LOGGER.at(Level.INFO).log("Connecting to MySQL: %s:%d/%s", host, port, database);
@@ -65,7 +81,7 @@ public class MySQLStorageProvider implements StorageProvider {
                 Class.forName("com.mysql.cj.jdbc.Driver");
                 
                 // Connect
-                connection = DriverManager.getConnection(url, username, password);
+                connection = openConnection();
                 
                 // Create tables
                 createTables();
@@ -78,6 +94,8 @@ public class MySQLStorageProvider implements StorageProvider {
                     }
                 }
                 
+                transactionSink = new MySQLTransactionSink(this, tablePrefix);
+                
                 LOGGER.at(Level.INFO).log("MySQL connected successfully (%d players)", playerCount);
                 
             } catch (ClassNotFoundException e) {
@@ -104,6 +122,46 @@ public class MySQLStorageProvider implements StorageProvider {
                 )
                 """.formatted(tablePrefix));
             
+            // Data migrations that must run exactly once, by version
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS %sschema_migrations (
+                    version INT PRIMARY KEY,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+                """.formatted(tablePrefix));
+            
+            // Migration: Track last activity for archiving. Existing rows start
+            // their inactivity clock now instead of being archived right away.
+            if (!columnExists(tablePrefix + "balances", "last_transaction_time")) {
+                stmt.execute("ALTER TABLE %sbalances ADD COLUMN last_transaction_time BIGINT DEFAULT 0"
+                    .formatted(tablePrefix));
+            }
+            if (!migrationApplied(stmt, MIGRATION_BACKFILL_ACTIVITY)) {
+                stmt.execute("UPDATE %sbalances SET last_transaction_time = %d WHERE last_transaction_time IS NULL OR last_transaction_time = 0"
+                    .formatted(tablePrefix, System.currentTimeMillis()));
+                // Another server may have recorded it concurrently
+                stmt.execute("INSERT IGNORE INTO %sschema_migrations (version) VALUES (%d)"
+                    .formatted(tablePrefix, MIGRATION_BACKFILL_ACTIVITY));
+            }
+            
+            // Migration: Active holds, saved with the account (archived accounts have none)
+            if (!columnExists(tablePrefix + "balances", "holds")) {
+                stmt.execute("ALTER TABLE %sbalances ADD COLUMN holds TEXT".formatted(tablePrefix));
+            }
+            
+            // Archived (dormant) accounts - not preloaded, restored on first access
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS %sarchived_balances (
+                    uuid VARCHAR(36) PRIMARY KEY,
+                    player_name VARCHAR(64),
+                    balance DOUBLE DEFAULT 0.0,
+                    total_earned DOUBLE DEFAULT 0.0,
+                    total_spent DOUBLE DEFAULT 0.0,
+                    last_transaction_time BIGINT DEFAULT 0,
+                    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+                """.formatted(tablePrefix));
+            
             // Transactions table
             stmt.execute("""
                 CREATE TABLE IF NOT EXISTS %stransactions (
@@ -114,11 +172,111 @@ public class MySQLStorageProvider implements StorageProvider {
                     target_uuid VARCHAR(36),
                     player_name VARCHAR(64),
                     amount DOUBLE,
+                    fee DOUBLE,
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                     INDEX idx_timestamp (timestamp DESC),
-                    INDEX idx_player (player_name)
+                    INDEX idx_player (player_name),
+                    INDEX idx_source (source_uuid, timestamp),
+                    INDEX idx_target (target_uuid, timestamp)
                 )
                 """.formatted(tablePrefix));
+            
+            // Migration: fee charged on each transfer (NULL for entries logged before)
+            if (!columnExists(tablePrefix + "transactions", "fee")) {
+                stmt.execute("ALTER TABLE %stransactions ADD COLUMN fee DOUBLE".formatted(tablePrefix));
+            }
+            
+            // Per-player history lookups (tables created before these indexes existed)
+            if (!indexExists(tablePrefix + "transactions", "idx_source")) {
+                stmt.execute("ALTER TABLE %stransactions ADD INDEX idx_source (source_uuid, timestamp)"
+                    .formatted(tablePrefix));
+            }
+            if (!indexExists(tablePrefix + "transactions", "idx_target")) {
+                stmt.execute("ALTER TABLE %stransactions ADD INDEX idx_target (target_uuid, timestamp)"
+                    .formatted(tablePrefix));
+            }
+            
+            // Hourly rollups (hour x type x reason category), written with each log batch
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS %stransaction_rollups (
+                    hour_start BIGINT NOT NULL,
+                    type VARCHAR(20) NOT NULL,
+                    category VARCHAR(32) NOT NULL,
+                    tx_count BIGINT NOT NULL,
+                    amount_sum DOUBLE NOT NULL,
+                    amount_min DOUBLE NOT NULL,
+                    amount_max DOUBLE NOT NULL,
+                    PRIMARY KEY (hour_start, type, category)
+                )
+                """.formatted(tablePrefix));
+            
+            // Periodic per-account balances for point-in-time reconstruction
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS %sbalance_checkpoints (
+                    uuid VARCHAR(36) NOT NULL,
+                    checkpoint_time BIGINT NOT NULL,
+                    balance DOUBLE NOT NULL,
+                    logged_at_time INT DEFAULT -1,
+                    INDEX idx_checkpoint_uuid (uuid, checkpoint_time)
+                )
+                """.formatted(tablePrefix));
+            // Migration: same-millisecond tiebreak for balance reconstruction
+            if (!columnExists(tablePrefix + "balance_checkpoints", "logged_at_time")) {
+                stmt.execute("ALTER TABLE %sbalance_checkpoints ADD COLUMN logged_at_time INT DEFAULT -1"
+                    .formatted(tablePrefix));
+            }
+            
+            // Migration: roll up history logged before the table existed (reasons were not stored).
+            // Databases that already have rollups only record the marker.
+            if (!migrationApplied(stmt, MIGRATION_BACKFILL_ROLLUPS)) {
+                boolean empty;
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM %stransaction_rollups".formatted(tablePrefix))) {
+                    empty = rs.next() && rs.getLong(1) == 0;
+                }
+                if (empty) {
+                    stmt.execute("""
+                        INSERT INTO %1$stransaction_rollups
+                        SELECT (timestamp DIV 3600000) * 3600000 AS hour_start, type, 'none',
+                               COUNT(*), SUM(amount), MIN(amount), MAX(amount)
+                        FROM %1$stransactions
+                        GROUP BY hour_start, type
+                        """.formatted(tablePrefix));
+                }
+                // Another server may have recorded it concurrently
+                stmt.execute("INSERT IGNORE INTO %sschema_migrations (version) VALUES (%d)"
+                    .formatted(tablePrefix, MIGRATION_BACKFILL_ROLLUPS));
+            }
+        }
+    }
+    
+    private boolean indexExists(String table, String index) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Open an additional connection to the database (write lanes, transaction sink).
+     */
+    Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+    
+    private boolean migrationApplied(Statement stmt, int version) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM %sschema_migrations WHERE version = %d"
+                .formatted(tablePrefix, version))) {
+            return rs.next();
+        }
+    }
+    
+    private boolean columnExists(String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return rs.next();
         }
     }
     
@@ -126,18 +284,22 @@ public class MySQLStorageProvider implements StorageProvider {
     public CompletableFuture<PlayerBalance> loadPlayer(@Nonnull UUID playerUuid) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                String sql = "SELECT balance, total_earned, total_spent FROM " + tablePrefix + "balances WHERE uuid = ?";
+                String sql = "SELECT balance, total_earned, total_spent, last_transaction_time, holds FROM " + tablePrefix + "balances WHERE uuid = ?";
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setString(1, playerUuid.toString());
                     try (ResultSet rs = ps.executeQuery()) {
                         if (rs.next()) {
-                            PlayerBalance pb = new PlayerBalance(playerUuid);
-                            pb.setBalance(rs.getDouble("balance"), "Loaded from MySQL");
-                            return pb;
+                            return resultSetToActiveBalance(playerUuid, rs);
                         }
                     }
                 }
                 
+                // Dormant account - move it back from the archive
+                PlayerBalance archived = restoreArchivedSync(playerUuid);
+                if (archived != null) {
+                    return archived;
+                }
+                
                 // Create new player
                 PlayerBalance newBalance = new PlayerBalance(playerUuid);
                 newBalance.setBalance(Main.CONFIG.get().getStartingBalance(), "Initial balance");
@@ -155,21 +317,8 @@ public class MySQLStorageProvider implements StorageProvider {
     public CompletableFuture<Void> savePlayer(@Nonnull UUID playerUuid, @Nonnull PlayerBalance balance) {
         return CompletableFuture.runAsync(() -> {
             try {
-                String sql = """
-                    INSERT INTO %sbalances (uuid, balance, total_earned, total_spent, updated_at)
-                    VALUES (?, ?, ?, ?, NOW())
-                    ON DUPLICATE KEY UPDATE 
-                        balance = VALUES(balance),
-                        total_earned = VALUES(total_earned),
-                        total_spent = VALUES(total_spent),
-                        updated_at = NOW()
-                    """.formatted(tablePrefix);
-                
-                try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                    ps.setString(1, playerUuid.toString());
-                    ps.setDouble(2, balance.getBalance());
-                    ps.setDouble(3, balance.getTotalEarned());
-                    ps.setDouble(4, balance.getTotalSpent());
+                try (PreparedStatement ps = connection.prepareStatement(balanceUpsertSql())) {
+                    bindBalance(ps, playerUuid, balance);
                     ps.executeUpdate();
                 }
             } catch (SQLException e) {
@@ -193,24 +342,87 @@ public class MySQLStorageProvider implements StorageProvider {
         });
     }
     
+    @Override
+    public int getWriteLanes() {
+        return WRITE_LANES;
+    }
+    
+    /**
+     * Save a chunk on a dedicated lane connection (opened on first use).
+     * Never touches the executor or the shared connection.
+     */
+    @Override
+    public void saveChunkSync(int lane, @Nonnull Map<UUID, PlayerBalance> players) throws SQLException {
+        if (players.isEmpty()) return;
+        
+        Connection laneConnection = laneConnections[lane];
+        if (laneConnection == null || laneConnection.isClosed()) {
+            laneConnection = openConnection();
+            laneConnections[lane] = laneConnection;
+        }
+        
+        try {
+            laneConnection.setAutoCommit(false);
+            try (PreparedStatement ps = laneConnection.prepareStatement(balanceUpsertSql())) {
+                for (var entry : players.entrySet()) {
+                    bindBalance(ps, entry.getKey(), entry.getValue());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            laneConnection.commit();
+        } catch (SQLException e) {
+            try {
+                laneConnection.rollback();
+            } catch (SQLException ignored) {}
+            throw e;
+        } finally {
+            try {
+                laneConnection.setAutoCommit(true);
+            } catch (SQLException ignored) {}
+        }
+    }
+    
+    private String balanceUpsertSql() {
+        return """
+            INSERT INTO %sbalances (uuid, balance, total_earned, total_spent, last_transaction_time, holds, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, NOW())
+            ON DUPLICATE KEY UPDATE 
+                balance = VALUES(balance),
+                total_earned = VALUES(total_earned),
+                total_spent = VALUES(total_spent),
+                last_transaction_time = VALUES(last_transaction_time),
+                holds = VALUES(holds),
+                updated_at = NOW()
+            """.formatted(tablePrefix);
+    }
+    
+    private void bindBalance(PreparedStatement ps, UUID playerUuid, PlayerBalance balance) throws SQLException {
+        ps.setString(1, playerUuid.toString());
+        ps.setDouble(2, balance.getBalance());
+        ps.setDouble(3, balance.getTotalEarned());
+        ps.setDouble(4, balance.getTotalSpent());
+        ps.setLong(5, balance.getLastTransactionTime());
+        ps.setString(6, balance.encodeHolds());
+    }
+    
     @Override
     public CompletableFuture<Map<UUID, PlayerBalance>> loadAll() {
         return CompletableFuture.supplyAsync(() -> {
             Map<UUID, PlayerBalance> allBalances = new HashMap<>();
             
             try {
-                String sql = "SELECT uuid, balance, total_earned, total_spent FROM " + tablePrefix + "balances";
+                String sql = "SELECT uuid, balance, total_earned, total_spent, last_transaction_time, holds FROM " + tablePrefix + "balances";
                 try (Statement stmt = connection.createStatement();
                      ResultSet rs = stmt.executeQuery(sql)) {
                     while (rs.next()) {
                         UUID uuid = UUID.fromString(rs.getString("uuid"));
-                        PlayerBalance pb = new PlayerBalance(uuid);
-                        pb.setBalance(rs.getDouble("balance"), "Loaded from MySQL");
-                        allBalances.put(uuid, pb);
+                        allBalances.put(uuid, resultSetToActiveBalance(uuid, rs));
                     }
                 }
             } catch (SQLException e) {
                 LOGGER.at(Level.SEVERE).log("Failed to load all players: %s", e.getMessage());
+                throw new RuntimeException("Failed to load all players", e);
             }
             
             return allBalances;
@@ -221,9 +433,14 @@ public class MySQLStorageProvider implements StorageProvider {
     public CompletableFuture<Boolean> playerExists(@Nonnull UUID playerUuid) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                String sql = "SELECT 1 FROM " + tablePrefix + "balances WHERE uuid = ?";
+                String sql = """
+                    SELECT 1 FROM %sbalances WHERE uuid = ?
+                    UNION ALL
+                    SELECT 1 FROM %sarchived_balances WHERE uuid = ?
+                    """.formatted(tablePrefix, tablePrefix);
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
                     ps.setString(1, playerUuid.toString());
+                    ps.setString(2, playerUuid.toString());
                     try (ResultSet rs = ps.executeQuery()) {
                         return rs.next();
                     }
@@ -250,6 +467,223 @@ public class MySQLStorageProvider implements StorageProvider {
         }, executor);
     }
     
+    @Override
+    public CompletableFuture<Map<UUID, String>> loadPlayerNames() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, String> names = new HashMap<>();
+            try {
+                String sql = """
+                    SELECT uuid, player_name FROM %sbalances WHERE player_name IS NOT NULL
+                    UNION ALL
+                    SELECT uuid, player_name FROM %sarchived_balances WHERE player_name IS NOT NULL
+                    """.formatted(tablePrefix, tablePrefix);
+                try (Statement stmt = connection.createStatement();
+                     ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        names.put(UUID.fromString(rs.getString("uuid")), rs.getString("player_name"));
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.at(Level.SEVERE).log("Failed to load player names: %s", e.getMessage());
+            }
+            return names;
+        }, executor);
+    }
+    
+    @Override
+    public CompletableFuture<Void> savePlayerNames(@Nonnull Map<UUID, String> playerNames) {
+        if (playerNames.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.runAsync(() -> {
+            // Archived players keep their name in the archive row
+            String archivedSql = "UPDATE %sarchived_balances SET player_name = ? WHERE uuid = ?".formatted(tablePrefix);
+            String activeSql = """
+                INSERT INTO %sbalances (uuid, player_name, balance, last_transaction_time)
+                VALUES (?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE player_name = VALUES(player_name)
+                """.formatted(tablePrefix);
+            
+            try (PreparedStatement archived = connection.prepareStatement(archivedSql);
+                 PreparedStatement active = connection.prepareStatement(activeSql)) {
+                List<Map.Entry<UUID, String>> entries = new ArrayList<>(playerNames.entrySet());
+                for (var entry : entries) {
+                    archived.setString(1, entry.getValue());
+                    archived.setString(2, entry.getKey().toString());
+                    archived.addBatch();
+                }
+                int[] archivedCounts = archived.executeBatch();
+                
+                double startingBalance = Main.CONFIG.get().getStartingBalance();
+                boolean hasActive = false;
+                for (int i = 0; i < entries.size(); i++) {
+                    if (archivedCounts[i] > 0) continue;
+                    active.setString(1, entries.get(i).getKey().toString());
+                    active.setString(2, entries.get(i).getValue());
+                    active.setDouble(3, startingBalance);
+                    active.setLong(4, System.currentTimeMillis());
+                    active.addBatch();
+                    hasActive = true;
+                }
+                if (hasActive) {
+                    active.executeBatch();
+                }
+                ArefyLogger.debug("Saved %d player names to MySQL", playerNames.size());
+            } catch (SQLException e) {
+                LOGGER.at(Level.WARNING).log("Failed to save player names: %s", e.getMessage());
+                throw new RuntimeException(e);
+            }
+        }, executor);
+    }
+    
+    // ========== Archival ==========
+    
+    @Override
+    public CompletableFuture<Void> archivePlayers(@Nonnull Map<UUID, PlayerBalance> dormantPlayers) {
+        if (dormantPlayers.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.runAsync(() -> {
+            String archiveSql = """
+                INSERT INTO %1$sarchived_balances
+                    (uuid, player_name, balance, total_earned, total_spent, last_transaction_time, archived_at)
+                VALUES (?, (SELECT player_name FROM %1$sbalances WHERE uuid = ?), ?, ?, ?, ?, NOW())
+                ON DUPLICATE KEY UPDATE
+                    player_name = VALUES(player_name),
+                    balance = VALUES(balance),
+                    total_earned = VALUES(total_earned),
+                    total_spent = VALUES(total_spent),
+                    last_transaction_time = VALUES(last_transaction_time),
+                    archived_at = NOW()
+                """.formatted(tablePrefix);
+            String deleteSql = "DELETE FROM %sbalances WHERE uuid = ?".formatted(tablePrefix);
+            
+            try {
+                connection.setAutoCommit(false);
+                try (PreparedStatement archive = connection.prepareStatement(archiveSql);
+                     PreparedStatement delete = connection.prepareStatement(deleteSql)) {
+                    for (var entry : dormantPlayers.entrySet()) {
+                        String uuid = entry.getKey().toString();
+                        PlayerBalance pb = entry.getValue();
+                        archive.setString(1, uuid);
+                        archive.setString(2, uuid);
+                        archive.setDouble(3, pb.getBalance());
+                        archive.setDouble(4, pb.getTotalEarned());
+                        archive.setDouble(5, pb.getTotalSpent());
+                        archive.setLong(6, pb.getLastTransactionTime());
+                        archive.addBatch();
+                        
+                        delete.setString(1, uuid);
+                        delete.addBatch();
+                    }
+                    archive.executeBatch();
+                    delete.executeBatch();
+                }
+                connection.commit();
+                playerCount -= dormantPlayers.size();
+                ArefyLogger.debug("Archived %d dormant accounts to MySQL", dormantPlayers.size());
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {}
+                LOGGER.at(Level.WARNING).log("Failed to archive accounts: %s", e.getMessage());
+                throw new RuntimeException(e);
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException ignored) {}
+            }
+        }, executor);
+    }
+    
+    @Override
+    public CompletableFuture<Map<UUID, PlayerBalance>> loadArchivedBalances() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, PlayerBalance> result = new HashMap<>();
+            String sql = "SELECT uuid, balance, total_earned, total_spent, last_transaction_time FROM "
+                + tablePrefix + "archived_balances";
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    UUID uuid = UUID.fromString(rs.getString("uuid"));
+                    result.put(uuid, resultSetToBalance(uuid, rs));
+                }
+            } catch (SQLException e) {
+                LOGGER.at(Level.WARNING).log("Failed to load archived accounts: %s", e.getMessage());
+                throw new RuntimeException("Failed to load archived accounts", e);
+            }
+            return result;
+        }, executor);
+    }
+    
+    /**
+     * Move an archived account back to the balances table.
+     * Runs on the executor (called from loadPlayer).
+     * 
+     * @return the restored balance, or null if the player is not archived
+     */
+    private PlayerBalance restoreArchivedSync(UUID playerUuid) throws SQLException {
+        PlayerBalance restored;
+        String selectSql = """
+            SELECT balance, total_earned, total_spent, last_transaction_time
+            FROM %sarchived_balances WHERE uuid = ?
+            """.formatted(tablePrefix);
+        try (PreparedStatement ps = connection.prepareStatement(selectSql)) {
+            ps.setString(1, playerUuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                restored = resultSetToBalance(playerUuid, rs);
+            }
+        }
+        
+        try {
+            connection.setAutoCommit(false);
+            String moveSql = """
+                INSERT INTO %1$sbalances (uuid, player_name, balance, total_earned, total_spent, last_transaction_time)
+                SELECT uuid, player_name, balance, total_earned, total_spent, last_transaction_time
+                FROM %1$sarchived_balances WHERE uuid = ?
+                """.formatted(tablePrefix);
+            try (PreparedStatement move = connection.prepareStatement(moveSql);
+                 PreparedStatement delete = connection.prepareStatement(
+                     "DELETE FROM " + tablePrefix + "archived_balances WHERE uuid = ?")) {
+                move.setString(1, playerUuid.toString());
+                move.executeUpdate();
+                delete.setString(1, playerUuid.toString());
+                delete.executeUpdate();
+            }
+            connection.commit();
+            playerCount++;
+            ArefyLogger.debug("Restored archived account %s", playerUuid);
+            return restored;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+    
+    private PlayerBalance resultSetToBalance(UUID playerUuid, ResultSet rs) throws SQLException {
+        return PlayerBalance.restore(playerUuid,
+            rs.getDouble("balance"),
+            rs.getDouble("total_earned"),
+            rs.getDouble("total_spent"),
+            rs.getLong("last_transaction_time"));
+    }
+    
+    /**
+     * Row of the balances table, including its holds.
+     */
+    private PlayerBalance resultSetToActiveBalance(UUID playerUuid, ResultSet rs) throws SQLException {
+        PlayerBalance balance = resultSetToBalance(playerUuid, rs);
+        balance.restoreHolds(rs.getString("holds"));
+        return balance;
+    }
+    
     @Override
     public CompletableFuture<Void> shutdown() {
         // All operations go through the single-threaded executor,
@@ -257,6 +691,16 @@ public class MySQLStorageProvider implements StorageProvider {
         // It will execute after all pending saves complete - no timeout needed.
         return CompletableFuture.runAsync(() -> {
             LOGGER.at(Level.INFO).log("MySQL shutdown: closing connection...");
+            for (int i = 0; i < laneConnections.length; i++) {
+                try {
+                    if (laneConnections[i] != null) {
+                        laneConnections[i].close();
+                    }
+                } catch (SQLException e) {
+                    LOGGER.at(Level.WARNING).log("Error closing MySQL write lane %d: %s", i, e.getMessage());
+                }
+                laneConnections[i] = null;
+            }
             try {
                 if (connection != null && !connection.isClosed()) {
                     connection.close();
@@ -271,6 +715,11 @@ public class MySQLStorageProvider implements StorageProvider {
         });
     }
     
+    @Override
+    public TransactionSink getTransactionSink() {
+        return transactionSink;
+    }
+    
     @Override
     public String getName() {
         return "MySQL (shared database)";
@@ -280,4 +729,9 @@ public class MySQLStorageProvider implements StorageProvider {
     public int getPlayerCount() {
         return playerCount;
     }
+    
+    @Override
+    public boolean isShared() {
+        return true;
+    }
 }
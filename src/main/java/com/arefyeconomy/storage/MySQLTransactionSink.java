@@ -0,0 +1,50 @@
+package com.arefyeconomy.storage;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Transaction sink for the shared MySQL database.
+ * Writes to the prefixed transactions table over its own connection,
+ * one multi-row INSERT per batch plus rollup upserts (ON DUPLICATE KEY UPDATE).
+ */
+class MySQLTransactionSink extends SqlTransactionSink {
+
+    private final MySQLStorageProvider provider;
+
+    MySQLTransactionSink(@Nonnull MySQLStorageProvider provider, @Nonnull String tablePrefix) {
+        super("MySQL-TxLog", tablePrefix);
+        this.provider = provider;
+        start();
+    }
+
+    @Override
+    protected Connection openConnection() throws SQLException {
+        return provider.openConnection();
+    }
+
+    @Override
+    protected String rollupUpsertSql(@Nonnull String rollupTable) {
+        return """
+            INSERT INTO %s (hour_start, type, category, tx_count, amount_sum, amount_min, amount_max)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                tx_count = tx_count + VALUES(tx_count),
+                amount_sum = amount_sum + VALUES(amount_sum),
+                amount_min = LEAST(amount_min, VALUES(amount_min)),
+                amount_max = GREATEST(amount_max, VALUES(amount_max))
+            """.formatted(rollupTable);
+    }
+
+    @Override
+    protected int prepareStreaming(@Nonnull Connection connection) {
+        // Connector/J only streams row by row with this fetch size; otherwise it buffers the full result
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public String getName() {
+        return "MySQL transactions table";
+    }
+}
@@ -0,0 +1,376 @@
+package com.arefyeconomy.storage;
+
+import com.arefyeconomy.economy.BalanceCheckpoint;
+import com.arefyeconomy.economy.TransactionEntry;
+import com.arefyeconomy.economy.TransactionRollup;
+import com.arefyeconomy.economy.TransactionType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Transaction sink for SQL databases sharing the transactions table layout
+ * (id, timestamp, type, source_uuid, target_uuid, player_name, amount, fee),
+ * plus the transaction_rollups and balance_checkpoints tables.
+ *
+ * - Owns a dedicated connection, so log writes never queue behind balance saves
+ * - Each batch is a single multi-row INSERT plus its hourly rollup upserts,
+ *   committed together (the rollups never disagree with the raw log)
+ * - Player history uses the (source_uuid, timestamp) / (target_uuid, timestamp) indexes
+ * - Checkpoint lookups use the (uuid, checkpoint_time) index
+ * - Exports stream over a separate connection with a forward-only cursor
+ */
+abstract class SqlTransactionSink extends BatchingTransactionSink {
+
+    private static final String COLUMNS = "(timestamp, type, source_uuid, target_uuid, player_name, amount, fee)";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    /** Rows per round-trip when streaming exports */
+    protected static final int STREAM_FETCH_SIZE = 1000;
+
+    private final String table;
+    private final String rollupTable;
+    private final String checkpointTable;
+    private Connection connection;
+
+    /**
+     * @param tablePrefix Prefix of the transactions, transaction_rollups and balance_checkpoints tables
+     */
+    protected SqlTransactionSink(@Nonnull String name, @Nonnull String tablePrefix) {
+        super(name);
+        this.table = tablePrefix + "transactions";
+        this.rollupTable = tablePrefix + "transaction_rollups";
+        this.checkpointTable = tablePrefix + "balance_checkpoints";
+    }
+
+    /**
+     * Open the sink's own connection to the database.
+     */
+    protected abstract Connection openConnection() throws SQLException;
+
+    /**
+     * Statement adding one rollup row to the stored totals (insert or merge).
+     * Parameters: hour_start, type, category, tx_count, amount_sum, amount_min, amount_max.
+     */
+    protected abstract String rollupUpsertSql(@Nonnull String rollupTable);
+
+    /**
+     * Prepare a connection for streaming a large result.
+     * 
+     * @return JDBC fetch size to use for the streaming query
+     */
+    protected int prepareStreaming(@Nonnull Connection connection) throws SQLException {
+        return STREAM_FETCH_SIZE;
+    }
+
+    private synchronized Connection connection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = openConnection();
+        }
+        return connection;
+    }
+
+    // ========== Writing ==========
+
+    @Override
+    protected void writeBatch(@Nonnull List<TransactionEntry> batch,
+                              @Nonnull List<TransactionRollup> rollups) throws SQLException {
+        Connection conn = connection();
+        conn.setAutoCommit(false);
+        try {
+            insertEntries(conn, batch);
+            upsertRollups(conn, rollups);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private void insertEntries(Connection conn, List<TransactionEntry> batch) throws SQLException {
+        StringBuilder sql = new StringBuilder(64 + batch.size() * 20)
+            .append("INSERT INTO ").append(table).append(' ').append(COLUMNS).append(" VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(ROW);
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int p = 1;
+            for (TransactionEntry entry : batch) {
+                ps.setLong(p++, entry.timestampMillis());
+                ps.setString(p++, entry.type().name());
+                ps.setString(p++, entry.sourcePlayer() != null ? entry.sourcePlayer().toString() : null);
+                ps.setString(p++, entry.targetPlayer() != null ? entry.targetPlayer().toString() : null);
+                ps.setString(p++, entry.playerName());
+                ps.setDouble(p++, entry.amount());
+                if (entry.hasFee()) {
+                    ps.setDouble(p++, entry.fee());
+                } else {
+                    ps.setNull(p++, Types.DOUBLE);
+                }
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    private void upsertRollups(Connection conn, List<TransactionRollup> rollups) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(rollupUpsertSql(rollupTable))) {
+            for (TransactionRollup rollup : rollups) {
+                ps.setLong(1, rollup.hourStart());
+                ps.setString(2, rollup.type().name());
+                ps.setString(3, rollup.category());
+                ps.setLong(4, rollup.count());
+                ps.setDouble(5, rollup.sum());
+                ps.setDouble(6, rollup.min());
+                ps.setDouble(7, rollup.max());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @Override
+    protected void writeCheckpoints(@Nonnull List<BalanceCheckpoint> batch) throws SQLException {
+        String sql = "INSERT INTO " + checkpointTable + " (uuid, checkpoint_time, balance, logged_at_time) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement ps = connection().prepareStatement(sql)) {
+            for (BalanceCheckpoint checkpoint : batch) {
+                ps.setString(1, checkpoint.player().toString());
+                ps.setLong(2, checkpoint.timeMillis());
+                ps.setDouble(3, checkpoint.balance());
+                ps.setInt(4, checkpoint.loggedAtTime());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @Override
+    protected void closeResources() {
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            logger.at(Level.WARNING).log("Error closing transaction log connection: %s", e.getMessage());
+        }
+    }
+
+    // ========== Reading ==========
+
+    @Override
+    public CompletableFuture<List<TransactionEntry>> query(@Nullable String playerFilter, int limit, int offset) {
+        return read(() -> {
+            boolean filtered = playerFilter != null && !playerFilter.isEmpty();
+            String sql = "SELECT * FROM " + table
+                + (filtered ? " WHERE LOWER(player_name) LIKE ?" : "")
+                + " ORDER BY timestamp DESC LIMIT ? OFFSET ?";
+            try (PreparedStatement ps = connection().prepareStatement(sql)) {
+                int p = 1;
+                if (filtered) {
+                    ps.setString(p++, "%" + playerFilter.toLowerCase(Locale.ROOT) + "%");
+                }
+                ps.setInt(p++, limit);
+                ps.setInt(p, offset);
+                return readEntries(ps);
+            } catch (SQLException e) {
+                logger.at(Level.WARNING).log("Failed to query transactions: %s", e.getMessage());
+                return List.of();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> count(@Nullable String playerFilter) {
+        return read(() -> {
+            boolean filtered = playerFilter != null && !playerFilter.isEmpty();
+            String sql = "SELECT COUNT(*) FROM " + table + (filtered ? " WHERE LOWER(player_name) LIKE ?" : "");
+            try (PreparedStatement ps = connection().prepareStatement(sql)) {
+                if (filtered) {
+                    ps.setString(1, "%" + playerFilter.toLowerCase(Locale.ROOT) + "%");
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            } catch (SQLException e) {
+                logger.at(Level.WARNING).log("Failed to count transactions: %s", e.getMessage());
+                return 0;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<TransactionEntry>> queryPlayer(@Nonnull UUID playerUuid, int limit, int offset) {
+        return read(() -> {
+            int window = offset + limit;
+            String sql = """
+                SELECT * FROM (
+                    (SELECT * FROM %1$s WHERE source_uuid = ? ORDER BY timestamp DESC LIMIT ?)
+                    UNION ALL
+                    (SELECT * FROM %1$s WHERE target_uuid = ? ORDER BY timestamp DESC LIMIT ?)
+                ) t
+                ORDER BY timestamp DESC, id DESC
+                LIMIT ? OFFSET ?
+                """.formatted(table);
+            try (PreparedStatement ps = connection().prepareStatement(sql)) {
+                ps.setString(1, playerUuid.toString());
+                ps.setInt(2, window);
+                ps.setString(3, playerUuid.toString());
+                ps.setInt(4, window);
+                ps.setInt(5, limit);
+                ps.setInt(6, offset);
+                return readEntries(ps);
+            } catch (SQLException e) {
+                logger.at(Level.WARNING).log("Failed to query player transactions: %s", e.getMessage());
+                return List.of();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<BalanceCheckpoint> latestCheckpoint(@Nonnull UUID playerUuid, long atMillis) {
+        return read(() -> {
+            String sql = "SELECT checkpoint_time, balance, logged_at_time FROM " + checkpointTable
+                + " WHERE uuid = ? AND checkpoint_time <= ? ORDER BY checkpoint_time DESC LIMIT 1";
+            try (PreparedStatement ps = connection().prepareStatement(sql)) {
+                ps.setString(1, playerUuid.toString());
+                ps.setLong(2, atMillis);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? new BalanceCheckpoint(playerUuid, rs.getLong("checkpoint_time"),
+                        rs.getDouble("balance"), rs.getInt("logged_at_time")) : null;
+                }
+            } catch (SQLException e) {
+                logger.at(Level.WARNING).log("Failed to query balance checkpoint: %s", e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<TransactionEntry>> queryPlayerRange(@Nonnull UUID playerUuid, long fromMillis, long toMillis) {
+        return read(() -> {
+            // Two index range scans; the second branch skips rows already matched as sender
+            String sql = """
+                SELECT * FROM (
+                    (SELECT * FROM %1$s WHERE source_uuid = ? AND timestamp >= ? AND timestamp <= ?)
+                    UNION ALL
+                    (SELECT * FROM %1$s WHERE target_uuid = ? AND timestamp >= ? AND timestamp <= ?
+                        AND (source_uuid IS NULL OR source_uuid <> ?))
+                ) t
+                ORDER BY timestamp, id
+                """.formatted(table);
+            try (PreparedStatement ps = connection().prepareStatement(sql)) {
+                ps.setString(1, playerUuid.toString());
+                ps.setLong(2, fromMillis);
+                ps.setLong(3, toMillis);
+                ps.setString(4, playerUuid.toString());
+                ps.setLong(5, fromMillis);
+                ps.setLong(6, toMillis);
+                ps.setString(7, playerUuid.toString());
+                return readEntries(ps);
+            } catch (SQLException e) {
+                logger.at(Level.WARNING).log("Failed to query player transactions: %s", e.getMessage());
+                return List.of();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<TransactionRollup>> queryRollups(long fromMillis, long toMillis) {
+        return read(() -> {
+            String sql = "SELECT * FROM " + rollupTable + " WHERE hour_start >= ? AND hour_start < ? ORDER BY hour_start";
+            try (PreparedStatement ps = connection().prepareStatement(sql)) {
+                ps.setLong(1, fromMillis);
+                ps.setLong(2, toMillis);
+                List<TransactionRollup> results = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        results.add(new TransactionRollup(
+                            rs.getLong("hour_start"),
+                            TransactionType.valueOf(rs.getString("type")),
+                            rs.getString("category"),
+                            rs.getLong("tx_count"),
+                            rs.getDouble("amount_sum"),
+                            rs.getDouble("amount_min"),
+                            rs.getDouble("amount_max")));
+                    }
+                }
+                return results;
+            } catch (SQLException e) {
+                logger.at(Level.WARNING).log("Failed to query transaction rollups: %s", e.getMessage());
+                return List.of();
+            }
+        });
+    }
+
+    @Override
+    public long stream(@Nullable UUID playerUuid, long fromMillis, long toMillis,
+                       @Nonnull Consumer<TransactionEntry> consumer) throws SQLException {
+        String sql = "SELECT * FROM " + table + " WHERE timestamp >= ? AND timestamp < ?"
+            + (playerUuid != null ? " AND (source_uuid = ? OR target_uuid = ?)" : "")
+            + " ORDER BY timestamp, id";
+        try (Connection conn = openConnection()) {
+            int fetchSize = prepareStreaming(conn);
+            try (PreparedStatement ps = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, fromMillis);
+                ps.setLong(2, toMillis);
+                if (playerUuid != null) {
+                    ps.setString(3, playerUuid.toString());
+                    ps.setString(4, playerUuid.toString());
+                }
+                long count = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(toEntry(rs));
+                        count++;
+                    }
+                }
+                return count;
+            }
+        }
+    }
+
+    private static List<TransactionEntry> readEntries(PreparedStatement ps) throws SQLException {
+        List<TransactionEntry> results = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                results.add(toEntry(rs));
+            }
+        }
+        return results;
+    }
+
+    private static TransactionEntry toEntry(ResultSet rs) throws SQLException {
+        String source = rs.getString("source_uuid");
+        String target = rs.getString("target_uuid");
+        double fee = rs.getDouble("fee");
+        if (rs.wasNull()) {
+            fee = Double.NaN; // Logged before fees were recorded
+        }
+        return TransactionEntry.restore(
+            Instant.ofEpochMilli(rs.getLong("timestamp")),
+            TransactionType.valueOf(rs.getString("type")),
+            source != null ? UUID.fromString(source) : null,
+            target != null ? UUID.fromString(target) : null,
+            rs.getDouble("amount"),
+            fee,
+            rs.getString("player_name"));
+    }
+}
@@ -16,7 +16,8 @@ import java.util.concurrent.CompletableFuture;
  * 
  * Available implementations:
  * - JsonStorageProvider: Per-player JSON files (default, zero deps)
- * - Future: SqliteStorageProvider, H2StorageProvider, etc.
+ * - H2StorageProvider: Embedded H2 database
+ * - MySQLStorageProvider: Shared MySQL database (multi-server)
  */
 public interface StorageProvider {
     
@@ -28,6 +29,7 @@ public interface StorageProvider {
     
     /**
      * Load a player's balance from storage.
+     * Restores the account from the archive if it was archived.
      * Creates a new account with starting balance if not exists.
      * 
      * @param playerUuid The player's UUID
@@ -53,10 +55,11 @@ public interface StorageProvider {
     CompletableFuture<Void> saveAll(@Nonnull Map<UUID, PlayerBalance> dirtyPlayers);
     
     /**
-     * Load all player balances.
+     * Load all active (non-archived) player balances.
      * Used for leaderboards and startup migration.
      * 
-     * @return Map of all player UUIDs to their balances
+     * @return Map of all player UUIDs to their balances; completes
+     *         exceptionally if the accounts could not be listed (never partial)
      */
     CompletableFuture<Map<UUID, PlayerBalance>> loadAll();
     
@@ -76,6 +79,44 @@ public interface StorageProvider {
      */
     CompletableFuture<Void> deletePlayer(@Nonnull UUID playerUuid);
     
+    /**
+     * Move dormant accounts to the archive tier.
+     * Archived accounts are skipped by loadAll() and restored by loadPlayer().
+     * 
+     * @param dormantPlayers Map of UUID to the latest balance data to archive
+     */
+    CompletableFuture<Void> archivePlayers(@Nonnull Map<UUID, PlayerBalance> dormantPlayers);
+    
+    /**
+     * Load a summary of every archived account (balance, lifetime totals,
+     * last activity; no holds). Used on startup so archived accounts stay in
+     * leaderboards, search and economy totals, and to rebuild the account
+     * index; completes exceptionally if the archive could not be listed
+     * (never partial).
+     */
+    CompletableFuture<Map<UUID, PlayerBalance>> loadArchivedBalances();
+    
+    /**
+     * Load the last known name of every player.
+     * Used to fill the NameDirectory on startup.
+     * 
+     * @return Map of player UUIDs to names (players without a name are omitted)
+     */
+    CompletableFuture<Map<UUID, String>> loadPlayerNames();
+    
+    /**
+     * Batch save changed player names.
+     * 
+     * @param playerNames Map of UUID to the player's current name
+     */
+    CompletableFuture<Void> savePlayerNames(@Nonnull Map<UUID, String> playerNames);
+    
+    /**
+     * Get the durable transaction log for this backend.
+     * Available once initialize() has completed.
+     */
+    TransactionSink getTransactionSink();
+    
     /**
      * Shutdown and cleanup resources.
      * Ensures all pending writes are flushed.
@@ -91,4 +132,33 @@ public interface StorageProvider {
      * Get the number of players with saved data.
      */
     int getPlayerCount();
+    
+    /**
+     * Whether other servers may write to the same storage.
+     * When true, in-memory account lookups must fall back to storage.
+     */
+    default boolean isShared() {
+        return false;
+    }
+    
+    /**
+     * Number of independent write lanes for the shutdown flush.
+     * Chunks on different lanes are written in parallel.
+     */
+    default int getWriteLanes() {
+        return 1;
+    }
+    
+    /**
+     * Save a chunk of players on the calling thread using the given lane.
+     * Used by the shutdown flush, which must not depend on provider executors.
+     * Each lane is used by one thread at a time.
+     * 
+     * @param lane Lane index (0 to getWriteLanes() - 1)
+     * @param players Players to save
+     * @throws Exception if the chunk was not saved
+     */
+    default void saveChunkSync(int lane, @Nonnull Map<UUID, PlayerBalance> players) throws Exception {
+        saveAll(players).get();
+    }
 }
@@ -0,0 +1,198 @@
+package com.arefyeconomy.storage;
+
+import com.arefyeconomy.economy.TransactionEntry;
+import com.arefyeconomy.economy.TransactionType;
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the transaction log to a file for audits.
+ *
+ * Pipeline (one background thread per export):
+ *   TransactionSink.stream() (forward-only cursor)
+ *     -> CSV / NDJSON encoder
+ *     -> BufferedWriter -> optional GZIP -> exports/<name>.part
+ *
+ * - Memory use is constant: entries are written as they are read
+ * - Progress is reported every PROGRESS_INTERVAL entries
+ * - The file appears under its final name only once complete
+ * - Only one export runs at a time
+ *
+ * Files are written to mods/ArefyEconomy/exports/.
+ */
+public class TransactionExporter {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.getLogger().getSubLogger("ArefyEconomy-Export");
+
+    private static final Path EXPORTS_PATH = Path.of("mods", "ArefyEconomy", "exports");
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** Entries between progress reports */
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    /** Output buffer size (bytes) */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER = "timestamp,type,source_uuid,target_uuid,player_name,amount,fee";
+
+    private static final AtomicBoolean exporting = new AtomicBoolean(false);
+
+    public enum Format {
+        CSV("csv"),
+        NDJSON("ndjson");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * What to export.
+     *
+     * @param format Output format
+     * @param compress Write a .gz file
+     * @param playerUuid Only entries involving this player, or null for all
+     * @param fromMillis Inclusive lower time bound (epoch ms)
+     * @param toMillis Exclusive upper time bound (epoch ms)
+     */
+    public record Request(Format format, boolean compress, @Nullable UUID playerUuid, long fromMillis, long toMillis) {}
+
+    /**
+     * Outcome of a finished export.
+     */
+    public record Result(Path file, long entries, long elapsedMs) {}
+
+    private final TransactionSink sink;
+
+    public TransactionExporter(@Nonnull TransactionSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Whether an export is currently running.
+     */
+    public static boolean isRunning() {
+        return exporting.get();
+    }
+
+    /**
+     * Start an export on a background thread.
+     *
+     * @param request What to export
+     * @param progress Called with the running entry count every PROGRESS_INTERVAL entries
+     * @return the result, or a failed future (IllegalStateException if an export is already running)
+     */
+    public CompletableFuture<Result> export(@Nonnull Request request, @Nonnull LongConsumer progress) {
+        if (!exporting.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("An export is already running"));
+        }
+
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        Thread worker = new Thread(() -> {
+            try {
+                future.complete(run(request, progress));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                exporting.set(false);
+            }
+        }, "ArefyEconomy-Export");
+        worker.setDaemon(true);
+        worker.start();
+        return future;
+    }
+
+    private Result run(Request request, LongConsumer progress) throws Exception {
+        long start = System.currentTimeMillis();
+        String name = "transactions-" + LocalDateTime.now().format(FILE_TIME) + "." + request.format().extension
+            + (request.compress() ? ".gz" : "");
+        Path file = EXPORTS_PATH.resolve(name);
+        Path partFile = file.resolveSibling(name + ".part");
+        Files.createDirectories(EXPORTS_PATH);
+
+        long count;
+        try (BufferedWriter writer = openWriter(partFile, request.compress())) {
+            if (request.format() == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+            long[] written = {0};
+            count = sink.stream(request.playerUuid(), request.fromMillis(), request.toMillis(), entry -> {
+                try {
+                    writer.write(request.format() == Format.CSV ? toCsv(entry) : JsonTransactionSink.toJson(entry));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++written[0] % PROGRESS_INTERVAL == 0) {
+                    progress.accept(written[0]);
+                }
+            });
+        } catch (Exception e) {
+            Files.deleteIfExists(partFile);
+            throw e instanceof UncheckedIOException u ? u.getCause() : e;
+        }
+
+        Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+        long elapsed = System.currentTimeMillis() - start;
+        LOGGER.at(Level.INFO).log("Exported %d transactions to %s in %d ms (via %s)",
+            count, file, elapsed, sink.getName());
+        return new Result(file, count, elapsed);
+    }
+
+    private static BufferedWriter openWriter(Path file, boolean compress) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (compress) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // ========== CSV ==========
+
+    private static String toCsv(TransactionEntry entry) {
+        UUID source = entry.sourcePlayer();
+        UUID target = entry.targetPlayer();
+        return entry.timestamp() + ","
+            + entry.type().name() + ","
+            + (source != null ? source : "") + ","
+            + (target != null ? target : "") + ","
+            + csvField(entry.playerName()) + ","
+            + entry.amount() + ","
+            + (entry.type() == TransactionType.PAY && entry.hasFee() ? String.valueOf(entry.fee()) : "");
+    }
+
+    /**
+     * Quote a field if it contains separators, quotes or line breaks (RFC 4180).
+     */
+    private static String csvField(@Nullable String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
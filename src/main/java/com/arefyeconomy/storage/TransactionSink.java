@@ -0,0 +1,112 @@
+package com.arefyeconomy.storage;
+
+import com.arefyeconomy.economy.BalanceCheckpoint;
+import com.arefyeconomy.economy.TransactionEntry;
+import com.arefyeconomy.economy.TransactionRollup;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Durable destination for the transaction log.
+ * 
+ * Every StorageProvider supplies one, so persistent history works with
+ * H2, MySQL and JSON alike. Writes are buffered and flushed in batches by a
+ * background writer; queries are async and must never run on the caller's thread
+ * (stream() is the exception: it is meant for a dedicated export worker).
+ * 
+ * Available implementations:
+ * - H2TransactionSink: transactions table in the H2 database
+ * - MySQLTransactionSink: shared transactions table (multi-row INSERT)
+ * - JsonTransactionSink: rotating, gzip-compressed NDJSON segments
+ */
+public interface TransactionSink {
+    
+    /**
+     * Queue an entry for writing. Never blocks on I/O.
+     */
+    void append(@Nonnull TransactionEntry entry);
+    
+    /**
+     * Queue balance checkpoints for writing. Never blocks on I/O.
+     */
+    void checkpoint(@Nonnull List<BalanceCheckpoint> checkpoints);
+    
+    /**
+     * Find a player's newest checkpoint at or before the given time.
+     * 
+     * @return the checkpoint, or null if there is none
+     */
+    CompletableFuture<BalanceCheckpoint> latestCheckpoint(@Nonnull UUID playerUuid, long atMillis);
+    
+    /**
+     * Query one player's transactions (as sender or receiver) in a time range, oldest first.
+     * 
+     * Entries with the same timestamp are returned in the order they were logged.
+     * 
+     * @param fromMillis Inclusive lower time bound (epoch ms)
+     * @param toMillis Inclusive upper time bound (epoch ms)
+     */
+    CompletableFuture<List<TransactionEntry>> queryPlayerRange(@Nonnull UUID playerUuid, long fromMillis, long toMillis);
+    
+    /**
+     * Query transactions, newest first.
+     * 
+     * @param playerFilter Case-insensitive substring of the player name, or null for all
+     * @param limit Maximum entries to return
+     * @param offset Number of newest matching entries to skip
+     */
+    CompletableFuture<List<TransactionEntry>> query(@Nullable String playerFilter, int limit, int offset);
+    
+    /**
+     * Count transactions matching the filter.
+     * 
+     * @param playerFilter Case-insensitive substring of the player name, or null for all
+     */
+    CompletableFuture<Integer> count(@Nullable String playerFilter);
+    
+    /**
+     * Query one player's transactions (as sender or receiver), newest first.
+     */
+    CompletableFuture<List<TransactionEntry>> queryPlayer(@Nonnull UUID playerUuid, int limit, int offset);
+    
+    /**
+     * Query hourly rollups (hour x type x reason category), oldest hour first.
+     * Reads only the rollup table, never the raw transaction log.
+     * 
+     * @param fromMillis Inclusive lower bound for the hour start (epoch ms)
+     * @param toMillis Exclusive upper bound for the hour start (epoch ms)
+     */
+    CompletableFuture<List<TransactionRollup>> queryRollups(long fromMillis, long toMillis);
+    
+    /**
+     * Stream matching transactions to the consumer, oldest first.
+     * Runs on the calling thread over a forward-only cursor, so memory use
+     * does not depend on the size of the log. Used by exports.
+     * 
+     * @param playerUuid Only entries involving this player, or null for all
+     * @param fromMillis Inclusive lower time bound (epoch ms)
+     * @param toMillis Exclusive upper time bound (epoch ms)
+     * @param consumer Receives each entry
+     * @return number of entries streamed
+     */
+    long stream(@Nullable UUID playerUuid, long fromMillis, long toMillis,
+                @Nonnull Consumer<TransactionEntry> consumer) throws Exception;
+    
+    /**
+     * Write all queued entries and release resources.
+     * Called on shutdown before the storage provider is shut down.
+     * 
+     * @param timeoutMs Maximum time to wait for queued entries
+     */
+    void close(long timeoutMs);
+    
+    /**
+     * Get the sink's display name for logging.
+     */
+    String getName();
+}
@@ -1,5 +1,7 @@
 package com.arefyeconomy.systems;
 
+import com.arefyeconomy.api.events.AccountSubscription;
+import com.arefyeconomy.api.events.ArefyEconomyEvents;
 import com.arefyeconomy.hud.BalanceHud;
 
 import java.util.UUID;
@@ -7,39 +9,39 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tracks active balance HUDs for updates
- * 
- * Uses static methods for easy access from EconomyManager
+ *
+ * Each HUD subscribes to its own account, so a balance change only
+ * touches the HUD of the player whose balance moved.
  */
 public class BalanceHudSystem {
-    
+
     // Track active HUDs for each player
     private static final ConcurrentHashMap<UUID, BalanceHud> activeHuds = new ConcurrentHashMap<>();
-    
+
+    // Balance subscription feeding each HUD
+    private static final ConcurrentHashMap<UUID, AccountSubscription> subscriptions = new ConcurrentHashMap<>();
+
     /**
-     * Register a HUD for a player
+     * Register a HUD for a player and subscribe it to their balance
      */
     public static void registerHud(UUID playerUuid, BalanceHud hud) {
         activeHuds.put(playerUuid, hud);
-    }
-    
-    /**
-     * Update a player's balance HUD when their balance changes
-     */
-    public static void updatePlayerHud(UUID playerUuid, double newBalance) {
-        BalanceHud hud = activeHuds.get(playerUuid);
-        if (hud != null) {
-            hud.updateBalance(newBalance);
+        AccountSubscription previous = subscriptions.put(playerUuid,
+            ArefyEconomyEvents.subscribe(playerUuid, (uuid, oldBalance, newBalance) -> hud.updateBalance(newBalance)));
+        if (previous != null) {
+            previous.close();
         }
     }
-    
-    /**
-     * Remove HUD tracking when player leaves
-     */
+
     /**
      * Remove HUD tracking when player leaves
      */
     public static void removePlayerHud(UUID playerUuid) {
         activeHuds.remove(playerUuid);
+        AccountSubscription subscription = subscriptions.remove(playerUuid);
+        if (subscription != null) {
+            subscription.close();
+        }
     }
 
     /**
@@ -48,7 +50,7 @@ public class BalanceHudSystem {
     public static BalanceHud getHud(UUID playerUuid) {
         return activeHuds.get(playerUuid);
     }
-    
+
     /**
      * Refresh all active HUDs (for config changes like symbol/formatting)
      */
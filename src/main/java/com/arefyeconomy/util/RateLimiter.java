@@ -2,36 +2,57 @@ package com.arefyeconomy.util;
 
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Token bucket rate limiter for economy operations.
- * 
+ * Rate limiter for economy operations (GCRA, equivalent to a token bucket).
+ *
  * Purpose:
  * - Allow legitimate bursts (e.g., mob farm giving 5 rewards quickly)
  * - Prevent infinite spam from malicious/buggy plugins
  * - Developer-friendly: high burst capacity, reasonable sustained rate
- * 
- * Algorithm:
- * - Each player has a "bucket" of tokens (default: 50)
- * - Each operation consumes 1 token
- * - Tokens refill continuously at REFILL_RATE per second
- * - If bucket is empty, operation is rejected
- * 
+ *
+ * Algorithm (Generic Cell Rate Algorithm):
+ * - Each player has one long: the theoretical arrival time (TAT) of the next operation
+ * - An operation is allowed if it would not push the TAT more than MAX_TOKENS
+ *   intervals past now; it then advances the TAT by one interval (1s / REFILL_RATE)
+ * - Updated with a single CAS on System.nanoTime(): no locks, no floating point
+ * - A rejected caller learns exactly how long until the next operation is allowed
+ *
+ * Expiry:
+ * - A player whose TAT has passed has a full bucket and needs no state
+ * - Idle players are dropped by a hierarchical timer wheel (1s ticks), advanced
+ *   in passing by callers and by cleanup(); no scan over all players
+ *
  * Configuration:
  * - MAX_TOKENS: 50 (burst capacity)
  * - REFILL_RATE: 10 tokens/second (sustained rate)
- * 
+ *
  * Example scenarios:
  * - Developer calls deposit() 30 times instantly → All succeed (burst)
  * - Developer calls deposit() 60 times in 1 second → First 50 succeed, 10 fail
  * - Developer waits 5 seconds → Bucket refills to 50 tokens
  */
 public class RateLimiter {
-    
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long TICK_NANOS = NANOS_PER_SECOND;
+
+    /** TAT of a key that is being removed; callers retry with a fresh key */
+    private static final long EXPIRED = Long.MAX_VALUE;
+
     private final int maxTokens;
     private final int refillRate;
-    private final ConcurrentHashMap<UUID, TokenBucket> buckets = new ConcurrentHashMap<>();
-    
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    private final ConcurrentHashMap<UUID, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final TimerWheel<UUID> expiry;
+    private final AtomicBoolean advancing = new AtomicBoolean(false);
+    private volatile long nextTickNanos;
+
     /**
      * Create a rate limiter with default settings.
      * Burst: 50 operations, Sustained: 10/second
@@ -39,99 +60,150 @@ public class RateLimiter {
     public RateLimiter() {
         this(50, 10);
     }
-    
+
     /**
      * Create a rate limiter with custom settings.
-     * 
+     *
      * @param maxTokens Maximum burst capacity
      * @param refillRate Tokens added per second
      */
     public RateLimiter(int maxTokens, int refillRate) {
-        this.maxTokens = maxTokens;
-        this.refillRate = refillRate;
+        this.maxTokens = Math.max(1, maxTokens);
+        this.refillRate = Math.max(1, refillRate);
+        this.intervalNanos = NANOS_PER_SECOND / this.refillRate;
+        this.burstNanos = intervalNanos * this.maxTokens;
+        long now = System.nanoTime();
+        this.expiry = new TimerWheel<>(TICK_NANOS, now);
+        this.nextTickNanos = now + TICK_NANOS;
     }
-    
+
     /**
      * Try to acquire a token for an operation.
-     * 
+     *
      * @param playerUuid The player's UUID
      * @return true if operation is allowed, false if rate limited
      */
     public boolean tryAcquire(UUID playerUuid) {
-        return buckets.computeIfAbsent(playerUuid, k -> new TokenBucket(maxTokens, refillRate))
-                      .tryConsume();
+        return tryAcquireOrRetryAfter(playerUuid) == 0;
+    }
+
+    /**
+     * Try to acquire a token for an operation.
+     *
+     * @param playerUuid The player's UUID
+     * @return 0 if the operation is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquireOrRetryAfter(UUID playerUuid) {
+        long now = System.nanoTime();
+        if (now - nextTickNanos >= 0) {
+            advanceExpiry(now);
+        }
+        while (true) {
+            AtomicLong cell = arrivals.get(playerUuid);
+            if (cell == null) {
+                cell = newCell(playerUuid, now);
+            }
+            long tat = cell.get();
+            if (tat == EXPIRED) {
+                arrivals.remove(playerUuid, cell);
+                continue;
+            }
+            long newTat = Math.max(tat - now, 0) + now + intervalNanos;
+            long wait = newTat - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (cell.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong newCell(UUID playerUuid, long now) {
+        AtomicLong cell = new AtomicLong(now);
+        AtomicLong existing = arrivals.putIfAbsent(playerUuid, cell);
+        if (existing != null) {
+            return existing;
+        }
+        expiry.schedule(playerUuid, now + burstNanos);
+        return cell;
     }
-    
+
     /**
      * Get remaining tokens for a player (for debugging/admin).
      */
     public int getRemainingTokens(UUID playerUuid) {
-        TokenBucket bucket = buckets.get(playerUuid);
-        if (bucket == null) {
+        AtomicLong cell = arrivals.get(playerUuid);
+        long tat = cell != null ? cell.get() : EXPIRED;
+        if (tat == EXPIRED) {
             return maxTokens;
         }
-        bucket.refill();
-        return (int) bucket.tokens;
+        long backlog = Math.max(tat - System.nanoTime(), 0);
+        return (int) ((burstNanos - backlog) / intervalNanos);
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getRefillRate() {
+        return refillRate;
+    }
+
+    /**
+     * Number of players currently tracked (not yet back to a full bucket).
+     */
+    public int getTrackedCount() {
+        return arrivals.size();
     }
-    
+
     /**
      * Reset a player's bucket to full (admin use).
      */
     public void resetBucket(UUID playerUuid) {
-        buckets.remove(playerUuid);
+        arrivals.remove(playerUuid);
     }
-    
+
     /**
-     * Cleanup old buckets (call periodically to free memory).
-     * Removes buckets that are full (haven't been used recently).
+     * Drop players whose bucket has refilled (call periodically when idle;
+     * busy limiters do this in passing). Only touches timers that are due.
      */
     public void cleanup() {
-        buckets.entrySet().removeIf(entry -> {
-            TokenBucket bucket = entry.getValue();
-            bucket.refill();
-            return bucket.tokens >= maxTokens;
-        });
+        advanceExpiry(System.nanoTime());
+    }
+
+    private void advanceExpiry(long now) {
+        if (!advancing.compareAndSet(false, true)) {
+            return; // Another thread is on it
+        }
+        try {
+            expiry.advance(now, this::expire);
+            nextTickNanos = now + TICK_NANOS;
+        } finally {
+            advancing.set(false);
+        }
     }
-    
+
     /**
-     * Individual token bucket for a player.
+     * Timer fired: drop the player if idle, otherwise check again when their TAT passes.
      */
-    private static class TokenBucket {
-        private final int maxTokens;
-        private final int refillRate;
-        private double tokens;
-        private long lastRefillTime;
-        
-        TokenBucket(int maxTokens, int refillRate) {
-            this.maxTokens = maxTokens;
-            this.refillRate = refillRate;
-            this.tokens = maxTokens; // Start full
-            this.lastRefillTime = System.currentTimeMillis();
+    private void expire(UUID playerUuid) {
+        AtomicLong cell = arrivals.get(playerUuid);
+        if (cell == null) {
+            return;
         }
-        
-        /**
-         * Try to consume a token.
-         * Thread-safe via synchronization.
-         */
-        synchronized boolean tryConsume() {
-            refill();
-            if (tokens >= 1.0) {
-                tokens -= 1.0;
-                return true;
+        while (true) {
+            long tat = cell.get();
+            if (tat == EXPIRED) {
+                return;
             }
-            return false;
-        }
-        
-        /**
-         * Refill tokens based on elapsed time.
-         */
-        void refill() {
-            long now = System.currentTimeMillis();
-            double elapsedSeconds = (now - lastRefillTime) / 1000.0;
-            
-            if (elapsedSeconds > 0) {
-                tokens = Math.min(maxTokens, tokens + elapsedSeconds * refillRate);
-                lastRefillTime = now;
+            if (tat - System.nanoTime() > 0) {
+                expiry.schedule(playerUuid, tat);
+                return;
+            }
+            if (cell.compareAndSet(tat, EXPIRED)) {
+                arrivals.remove(playerUuid, cell);
+                return;
             }
         }
     }
@@ -0,0 +1,140 @@
+package com.arefyeconomy.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel for expiring keys.
+ *
+ * Layout:
+ * - LEVELS wheels of SLOTS slots; a slot on level L spans SLOTS^L ticks
+ * - With a 1s tick: level 0 covers ~1 min, level 1 ~1 h, level 2 ~3 days, level 3 ~6 months
+ * - A timer is placed on the lowest level whose range covers its deadline and
+ *   cascades down one level each time the level above turns over
+ *
+ * Costs:
+ * - schedule(): O(1)
+ * - advance(): O(ticks elapsed + timers due); nothing is scanned that is not due
+ *
+ * Deadlines are System.nanoTime() values and fire at tick resolution, never early.
+ * Not thread-safe on its own: both methods are synchronized, keep them off hot paths.
+ *
+ * @param <K> Key type
+ */
+public final class TimerWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+    private final long originNanos;
+    private final List<List<Timer<K>>> wheels = new ArrayList<>(LEVELS * SLOTS);
+
+    /** Last tick that has been processed */
+    private long currentTick = 0;
+    private int size = 0;
+
+    /**
+     * @param tickNanos Resolution of the wheel
+     * @param originNanos Start time (System.nanoTime())
+     */
+    public TimerWheel(long tickNanos, long originNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos must be positive");
+        }
+        this.tickNanos = tickNanos;
+        this.originNanos = originNanos;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            wheels.add(new ArrayList<>(0));
+        }
+    }
+
+    /**
+     * Schedule a key to fire at or after a deadline.
+     * A key may be scheduled more than once; each schedule fires once.
+     */
+    public synchronized void schedule(K key, long deadlineNanos) {
+        // Round up so a timer never fires before its deadline
+        long deadlineTick = Math.max(currentTick + 1, Math.floorDiv(deadlineNanos - originNanos + tickNanos - 1, tickNanos));
+        insert(new Timer<>(key, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Process every tick up to now and hand each due key to the callback.
+     * The callback may schedule again (e.g. when the key turned out to be active).
+     */
+    public synchronized void advance(long nowNanos, Consumer<K> onExpire) {
+        long nowTick = Math.floorDiv(nowNanos - originNanos, tickNanos);
+        while (currentTick < nowTick) {
+            currentTick++;
+            // Turnover of a level: move the next slot of the level above down
+            for (int level = 1; level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+                cascade(level);
+            }
+            List<Timer<K>> slot = wheels.get((int) (currentTick & SLOT_MASK));
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<Timer<K>> due = new ArrayList<>(slot);
+            slot.clear();
+            for (Timer<K> timer : due) {
+                size--;
+                onExpire.accept(timer.key);
+            }
+        }
+    }
+
+    /** Number of scheduled timers */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        List<Timer<K>> slot = wheels.get(level * SLOTS + index);
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Timer<K>> moved = new ArrayList<>(slot);
+        slot.clear();
+        for (Timer<K> timer : moved) {
+            insert(timer);
+        }
+    }
+
+    private void insert(Timer<K> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            // Due in the tick being processed (cascaded exactly onto it)
+            timer.deadlineTick = currentTick;
+            wheels.get((int) (currentTick & SLOT_MASK)).add(timer);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int index = (int) ((timer.deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                wheels.get(level * SLOTS + index).add(timer);
+                return;
+            }
+        }
+        // Beyond the top level: park at the far end, re-placed when that slot cascades
+        int top = LEVELS - 1;
+        long parkTick = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+        int index = (int) ((parkTick >>> (SLOT_BITS * top)) & SLOT_MASK);
+        wheels.get(top * SLOTS + index).add(timer);
+    }
+
+    private static final class Timer<K> {
+        final K key;
+        long deadlineTick;
+
+        Timer(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.arefyeconomy.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountHoldsTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    void addAndRemoveKeepTotalAndSlots() {
+        AccountHolds holds = new AccountHolds();
+        Hold first = new Hold(1, PLAYER, 10, 1_000, "bid");
+        Hold second = new Hold(2, PLAYER, 20, 2_000, "order");
+        Hold third = new Hold(3, PLAYER, 30, 3_000, null);
+        holds.add(first);
+        holds.add(second);
+        holds.add(third);
+        assertEquals(3, holds.size());
+        assertEquals(60.0, holds.total());
+
+        // Removing from the middle swaps the last hold into its slot
+        assertTrue(holds.remove(first));
+        assertEquals(-1, first.slot);
+        assertEquals(0, third.slot);
+        assertEquals(2, holds.size());
+        assertEquals(50.0, holds.total());
+        assertEquals(List.of(third, second), holds.snapshot());
+
+        assertFalse(holds.remove(first), "already removed");
+        assertTrue(holds.remove(second));
+        assertTrue(holds.remove(third));
+        assertEquals(0, holds.size());
+        assertEquals(0.0, holds.total());
+    }
+
+    @Test
+    void holdOfAnotherAccountIsNotRemoved() {
+        AccountHolds mine = new AccountHolds();
+        AccountHolds other = new AccountHolds();
+        mine.add(new Hold(1, PLAYER, 5, 1_000, ""));
+        Hold foreign = new Hold(2, PLAYER, 7, 1_000, "");
+        other.add(foreign);
+
+        assertFalse(mine.remove(foreign));
+        assertEquals(1, mine.size());
+        assertEquals(5.0, mine.total());
+    }
+
+    @Test
+    void totalResetsToZeroInsteadOfRoundingNoise() {
+        AccountHolds holds = new AccountHolds();
+        Hold a = new Hold(1, PLAYER, 0.1, 1_000, "");
+        Hold b = new Hold(2, PLAYER, 0.2, 1_000, "");
+        holds.add(a);
+        holds.add(b);
+        holds.remove(a);
+        holds.remove(b);
+        assertEquals(0.0, holds.total());
+    }
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        AccountHolds holds = new AccountHolds();
+        holds.add(new Hold(7, PLAYER, 12.5, 1_700_000_000_000L, "auction #3: lot;1"));
+        holds.add(new Hold(8, PLAYER, 0.25, 1_700_000_360_000L, ""));
+
+        AccountHolds decoded = AccountHolds.decode(PLAYER, holds.encode());
+        List<Hold> list = decoded.snapshot();
+        assertEquals(2, list.size());
+        assertEquals(12.75, decoded.total());
+
+        Hold first = list.get(0);
+        assertEquals(7, first.getId());
+        assertEquals(PLAYER, first.getPlayerUuid());
+        assertEquals(12.5, first.getAmount());
+        assertEquals(1_700_000_000_000L, first.getExpiresAt());
+        assertEquals("auction #3: lot;1", first.getReason());
+        assertEquals("", list.get(1).getReason());
+    }
+
+    @Test
+    void decodeSkipsDamagedEntries() {
+        AccountHolds decoded = AccountHolds.decode(PLAYER, "1:5.0:1000:ok;garbage;2:x:1000:bad;3:2.0:2000");
+        assertEquals(2, decoded.size());
+        assertEquals(7.0, decoded.total());
+        assertEquals(0, AccountHolds.decode(PLAYER, "").size());
+    }
+}
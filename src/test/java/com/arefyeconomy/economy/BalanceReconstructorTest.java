@@ -0,0 +1,77 @@
+package com.arefyeconomy.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BalanceReconstructorTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Test
+    void replaysSingleEntries() {
+        List<TransactionEntry> entries = List.of(
+            single(TransactionType.GIVE, 50),
+            single(TransactionType.EARN, 5),
+            single(TransactionType.TAKE, 20),
+            single(TransactionType.SPEND, 10));
+
+        assertEquals(125.0, BalanceReconstructor.replay(ALICE, 100, entries, 0));
+    }
+
+    @Test
+    void setAndResetOverwriteClampedAtZero() {
+        List<TransactionEntry> set = List.of(single(TransactionType.GIVE, 50), single(TransactionType.SET, 7));
+        assertEquals(7.0, BalanceReconstructor.replay(ALICE, 100, set, 0));
+
+        List<TransactionEntry> negative = List.of(single(TransactionType.SET, -5), single(TransactionType.GIVE, 1));
+        assertEquals(1.0, BalanceReconstructor.replay(ALICE, 100, negative, 0));
+    }
+
+    @Test
+    void transferUsesTheStoredFee() {
+        List<TransactionEntry> entries = List.of(
+            TransactionEntry.transfer(1_000L, ALICE, "Alice", BOB, "Bob", 100, 2, null));
+
+        // The configured rate (here 50%) no longer matters once the fee is stored
+        assertEquals(898.0, BalanceReconstructor.replay(ALICE, 1_000, entries, 0.5));
+        assertEquals(1_100.0, BalanceReconstructor.replay(BOB, 1_000, entries, 0.5));
+    }
+
+    @Test
+    void legacyTransferFallsBackToTheConfiguredRate() {
+        TransactionEntry legacy = TransactionEntry.restore(Instant.ofEpochMilli(1_000L), TransactionType.PAY,
+            ALICE, BOB, 100, "Alice → Bob");
+
+        assertEquals(890.0, BalanceReconstructor.replay(ALICE, 1_000, List.of(legacy), 0.1));
+        assertEquals(1_100.0, BalanceReconstructor.replay(BOB, 1_000, List.of(legacy), 0.1));
+    }
+
+    @Test
+    void skipsEntriesTheCheckpointAlreadyContains() {
+        List<TransactionEntry> range = List.of(
+            at(1_000L, 1), at(1_000L, 2), at(1_000L, 4), at(2_000L, 8));
+
+        // Two of the three entries of the checkpoint's millisecond were logged before it
+        BalanceCheckpoint checkpoint = new BalanceCheckpoint(ALICE, 1_000L, 3, 2);
+        assertEquals(List.of(range.get(2), range.get(3)), BalanceReconstructor.after(checkpoint, range));
+
+        // Older checkpoints do not know: the whole millisecond is skipped
+        BalanceCheckpoint legacy = new BalanceCheckpoint(ALICE, 1_000L, 7, -1);
+        assertEquals(List.of(range.get(3)), BalanceReconstructor.after(legacy, range));
+    }
+
+    private static TransactionEntry single(TransactionType type, double amount) {
+        return TransactionEntry.single(type, ALICE, "Alice", amount);
+    }
+
+    private static TransactionEntry at(long timeMillis, double amount) {
+        return TransactionEntry.restore(Instant.ofEpochMilli(timeMillis), TransactionType.GIVE,
+            ALICE, null, amount, "Alice");
+    }
+}
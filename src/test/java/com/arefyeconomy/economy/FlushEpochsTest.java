@@ -0,0 +1,103 @@
+package com.arefyeconomy.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlushEpochsTest {
+
+    @Test
+    void waiterCompletesWithTheFlushThatSealsItsEpoch() {
+        FlushEpochs epochs = new FlushEpochs();
+        CompletableFuture<Void> waiter = epochs.whenDurable();
+        assertTrue(epochs.hasWaiters());
+
+        long epoch = epochs.seal();
+        assertFalse(waiter.isDone());
+        epochs.committed(epoch);
+
+        assertTrue(waiter.isDone());
+        assertFalse(waiter.isCompletedExceptionally());
+        assertFalse(epochs.hasWaiters());
+    }
+
+    @Test
+    void waitersOfTheSameEpochShareOneFuture() {
+        FlushEpochs epochs = new FlushEpochs();
+        assertSame(epochs.whenDurable(), epochs.whenDurable());
+    }
+
+    @Test
+    void waiterRegisteredAfterSealWaitsForTheNextFlush() {
+        FlushEpochs epochs = new FlushEpochs();
+        long first = epochs.seal();
+        CompletableFuture<Void> waiter = epochs.whenDurable();
+
+        epochs.committed(first);
+        assertFalse(waiter.isDone());
+
+        epochs.committed(epochs.seal());
+        assertTrue(waiter.isDone());
+    }
+
+    @Test
+    void outOfOrderCommitReleasesOnlyBelowOldestInFlight() {
+        FlushEpochs epochs = new FlushEpochs();
+        CompletableFuture<Void> early = epochs.whenDurable();
+        long first = epochs.seal();
+        CompletableFuture<Void> late = epochs.whenDurable();
+        long second = epochs.seal();
+
+        // The newer flush finishes first: the older one may still lose changes
+        epochs.committed(second);
+        assertFalse(early.isDone());
+        assertFalse(late.isDone());
+
+        epochs.committed(first);
+        assertTrue(early.isDone());
+        assertTrue(late.isDone());
+    }
+
+    @Test
+    void failedFlushMovesWaitersToTheRetry() {
+        FlushEpochs epochs = new FlushEpochs();
+        CompletableFuture<Void> waiter = epochs.whenDurable();
+        long failed = epochs.seal();
+
+        epochs.failed(failed);
+        assertFalse(waiter.isDone());
+        assertTrue(epochs.hasWaiters());
+
+        epochs.committed(epochs.seal());
+        assertTrue(waiter.isDone());
+        assertFalse(waiter.isCompletedExceptionally());
+    }
+
+    @Test
+    void failAllCompletesWaitersExceptionally() {
+        FlushEpochs epochs = new FlushEpochs();
+        CompletableFuture<Void> waiter = epochs.whenDurable();
+        epochs.seal();
+
+        epochs.failAll(new IllegalStateException("shutdown"));
+        assertTrue(waiter.isCompletedExceptionally());
+        assertFalse(epochs.hasWaiters());
+    }
+
+    @Test
+    void completeAllReleasesEveryWaiter() {
+        FlushEpochs epochs = new FlushEpochs();
+        CompletableFuture<Void> sealed = epochs.whenDurable();
+        epochs.seal();
+        CompletableFuture<Void> open = epochs.whenDurable();
+
+        epochs.completeAll();
+        assertTrue(sealed.isDone());
+        assertTrue(open.isDone());
+        assertFalse(sealed.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,69 @@
+package com.arefyeconomy.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoldRegistryTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    void indexAndUnindexById() {
+        HoldRegistry registry = new HoldRegistry();
+        Hold hold = new Hold(registry.nextId(), PLAYER, 10, System.currentTimeMillis() + 60_000, "bid");
+        registry.index(hold);
+        assertSame(hold, registry.get(hold.getId()));
+        assertEquals(1, registry.size());
+
+        registry.unindex(hold);
+        assertNull(registry.get(hold.getId()));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void unindexIgnoresAnotherHoldWithTheSameId() {
+        HoldRegistry registry = new HoldRegistry();
+        long id = registry.nextId();
+        Hold current = new Hold(id, PLAYER, 10, System.currentTimeMillis() + 60_000, "");
+        registry.index(current);
+
+        registry.unindex(new Hold(id, PLAYER, 10, 0, ""));
+        assertSame(current, registry.get(id));
+    }
+
+    @Test
+    void idsContinuePastLoadedHolds() {
+        HoldRegistry registry = new HoldRegistry();
+        long loadedId = registry.nextId() + 1_000;
+        registry.index(new Hold(loadedId, PLAYER, 1, System.currentTimeMillis() + 60_000, ""));
+
+        assertTrue(registry.nextId() > loadedId);
+    }
+
+    @Test
+    void expiredHoldBecomesDueOnlyAfterItsDeadline() throws InterruptedException {
+        HoldRegistry registry = new HoldRegistry();
+        Hold expiring = new Hold(registry.nextId(), PLAYER, 5, System.currentTimeMillis() + 500, "");
+        Hold later = new Hold(registry.nextId(), PLAYER, 5, System.currentTimeMillis() + 600_000, "");
+        registry.index(expiring);
+        registry.index(later);
+        assertTrue(registry.due().isEmpty(), "nothing is due before the deadline");
+
+        // The wheel ticks once a second and never fires early
+        List<Long> due = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (due.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            due.addAll(registry.due());
+        }
+        assertEquals(List.of(expiring.getId()), due);
+    }
+}
@@ -0,0 +1,52 @@
+package com.arefyeconomy.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionLoggerTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Test
+    void mergeKeepsEntriesInBothSourcesOnce() {
+        // The ring keeps the reason category and interned names; storage does not
+        TransactionEntry ringPay = TransactionEntry.transfer(3_000L, ALICE, "Alice", BOB, "Bob", 10, 0.5, "shop");
+        TransactionEntry storedPay = TransactionEntry.restore(Instant.ofEpochMilli(3_000L), TransactionType.PAY,
+            ALICE, BOB, 10, 0.5, "Alice → Bob");
+        TransactionEntry older = stored(1_000L, 4);
+
+        List<TransactionEntry> merged = TransactionLogger.merge(List.of(ringPay), List.of(storedPay, older));
+        assertEquals(List.of(ringPay, older), merged);
+    }
+
+    @Test
+    void mergeKeepsIdenticalEventsAsOftenAsStored() {
+        // Two real identical events in one millisecond; only one is still in the ring
+        TransactionEntry ring = stored(2_000L, 5);
+        List<TransactionEntry> stored = List.of(stored(2_000L, 5), stored(2_000L, 5));
+
+        assertEquals(2, TransactionLogger.merge(List.of(ring), stored).size());
+    }
+
+    @Test
+    void mergeSortsNewestFirst() {
+        TransactionEntry newest = stored(5_000L, 1);
+        TransactionEntry middle = stored(4_000L, 2);
+        TransactionEntry oldest = stored(1_000L, 3);
+
+        assertEquals(List.of(newest, middle, oldest),
+            TransactionLogger.merge(List.of(newest), List.of(oldest, middle)));
+        assertEquals(List.of(middle, oldest), TransactionLogger.merge(List.of(), List.of(middle, oldest)));
+    }
+
+    private static TransactionEntry stored(long timeMillis, double amount) {
+        return TransactionEntry.restore(Instant.ofEpochMilli(timeMillis), TransactionType.GIVE,
+            ALICE, null, amount, "Alice");
+    }
+}
@@ -0,0 +1,140 @@
+package com.arefyeconomy.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionRingTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new TransactionRing(5).getCapacity());
+        assertEquals(8, new TransactionRing(8).getCapacity());
+        assertEquals(2, new TransactionRing(0).getCapacity());
+    }
+
+    @Test
+    void getReturnsPublishedEntryWhole() {
+        TransactionRing ring = new TransactionRing(8);
+        TransactionEntry transfer = TransactionEntry.transfer(1_000L, ALICE, "Alice", BOB, "Bob", 25.5, 1.25, "shop");
+        long sequence = ring.publish(transfer);
+
+        TransactionEntry read = ring.get(sequence);
+        assertEquals(transfer, read);
+        assertEquals(ALICE, read.sourcePlayer());
+        assertEquals(BOB, read.targetPlayer());
+        assertEquals(25.5, read.amount());
+        assertEquals(1.25, read.fee());
+        assertEquals(transfer.category(), read.category());
+        assertEquals(transfer.playerName(), read.playerName());
+    }
+
+    @Test
+    void unpublishedAndNegativeSequencesReadAsNull() {
+        TransactionRing ring = new TransactionRing(4);
+        assertNull(ring.get(-1));
+        assertNull(ring.get(0));
+        ring.publish(TransactionEntry.single(TransactionType.GIVE, ALICE, "Alice", 1));
+        assertNull(ring.get(1));
+    }
+
+    @Test
+    void lappedSequencesAreOverwritten() {
+        TransactionRing ring = new TransactionRing(4);
+        for (int i = 0; i < 6; i++) {
+            ring.publish(TransactionEntry.single(TransactionType.GIVE, ALICE, "Alice", i));
+        }
+
+        assertNull(ring.get(0));
+        assertNull(ring.get(1));
+        assertTrue(ring.isOverwritten(1));
+        assertFalse(ring.isOverwritten(2));
+        assertEquals(2.0, ring.get(2).amount());
+        assertEquals(4, ring.size());
+        assertEquals(6, ring.getCursor());
+    }
+
+    @Test
+    void recentIsNewestFirstAndBounded() {
+        TransactionRing ring = new TransactionRing(4);
+        for (int i = 0; i < 6; i++) {
+            ring.publish(TransactionEntry.single(TransactionType.GIVE, ALICE, "Alice", i));
+        }
+
+        List<TransactionEntry> recent = ring.recent(10);
+        assertEquals(4, recent.size());
+        for (int i = 0; i < recent.size(); i++) {
+            assertEquals(5.0 - i, recent.get(i).amount());
+        }
+        assertEquals(2, ring.recent(2).size());
+    }
+
+    @Test
+    void concurrentProducersNeverTearEntries() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        TransactionRing ring = new TransactionRing(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    // Time, amount and fee all encode the same value, so a torn slot is detectable
+                    long value = producer * perProducer + i;
+                    ring.publish(TransactionEntry.transfer(value, ALICE, "Alice", BOB, "Bob", value, value, null));
+                }
+            });
+            threads[p].start();
+        }
+
+        // Read while producing: every entry returned must be consistent
+        start.countDown();
+        boolean running = true;
+        while (running) {
+            for (TransactionEntry entry : ring.recent(ring.getCapacity())) {
+                assertConsistent(entry);
+            }
+            running = false;
+            for (Thread thread : threads) {
+                running |= thread.isAlive();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * perProducer, ring.getCursor());
+        List<TransactionEntry> recent = ring.recent(ring.getCapacity());
+        assertEquals(ring.getCapacity(), recent.size());
+        Set<Long> seen = new HashSet<>();
+        for (TransactionEntry entry : recent) {
+            assertConsistent(entry);
+            assertTrue(seen.add(entry.timestampMillis()), "duplicate entry " + entry.timestampMillis());
+        }
+    }
+
+    private static void assertConsistent(TransactionEntry entry) {
+        assertEquals((double) entry.timestampMillis(), entry.amount());
+        assertEquals((double) entry.timestampMillis(), entry.fee());
+        assertEquals(ALICE, entry.sourcePlayer());
+        assertEquals(BOB, entry.targetPlayer());
+    }
+}
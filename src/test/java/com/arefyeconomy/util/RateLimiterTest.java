@@ -0,0 +1,108 @@
+package com.arefyeconomy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void allowsBurstThenRejects() {
+        // 1 token/s: no refill can sneak in while the test runs
+        RateLimiter limiter = new RateLimiter(5, 1);
+        UUID player = UUID.randomUUID();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(player), "operation " + i + " of the burst");
+        }
+        assertFalse(limiter.tryAcquire(player));
+    }
+
+    @Test
+    void rejectionReportsTimeUntilNextToken() {
+        RateLimiter limiter = new RateLimiter(1, 1);
+        UUID player = UUID.randomUUID();
+
+        assertEquals(0, limiter.tryAcquireOrRetryAfter(player));
+        long wait = limiter.tryAcquireOrRetryAfter(player);
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1), "retry after " + wait + "ns");
+    }
+
+    @Test
+    void refillsAtTheSustainedRate() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1, 20);
+        UUID player = UUID.randomUUID();
+
+        assertTrue(limiter.tryAcquire(player));
+        assertFalse(limiter.tryAcquire(player));
+        Thread.sleep(100); // Two intervals of 50ms
+        assertTrue(limiter.tryAcquire(player));
+    }
+
+    @Test
+    void playersHaveSeparateBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 1);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertTrue(limiter.tryAcquire(first));
+        assertFalse(limiter.tryAcquire(first));
+        assertTrue(limiter.tryAcquire(second));
+    }
+
+    @Test
+    void remainingTokensAndReset() {
+        RateLimiter limiter = new RateLimiter(5, 1);
+        UUID player = UUID.randomUUID();
+        assertEquals(5, limiter.getRemainingTokens(player));
+
+        limiter.tryAcquire(player);
+        limiter.tryAcquire(player);
+        assertEquals(3, limiter.getRemainingTokens(player));
+        assertEquals(1, limiter.getTrackedCount());
+
+        limiter.resetBucket(player);
+        assertEquals(5, limiter.getRemainingTokens(player));
+        assertEquals(0, limiter.getTrackedCount());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+        int burst = 100;
+        RateLimiter limiter = new RateLimiter(burst, 1);
+        UUID player = UUID.randomUUID();
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < burst; i++) {
+                    if (limiter.tryAcquire(player)) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // At most one extra token can refill during the run
+        int granted = allowed.get();
+        assertTrue(granted >= burst && granted <= burst + 1, "granted " + granted);
+    }
+}